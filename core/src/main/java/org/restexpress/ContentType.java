@@ -33,10 +33,17 @@ public abstract class ContentType
 	public static final String HTML = "text/html" + CHARSET_PARAMETER;
 	public static final String JAVASCRIPT = "application/javascript" + CHARSET_PARAMETER;
 	public static final String JSON = "application/json" + CHARSET_PARAMETER;
+	public static final String NDJSON = "application/x-ndjson" + CHARSET_PARAMETER;
 	public static final String TEXT_PLAIN = "text/plain" + CHARSET_PARAMETER;
 	public static final String TEXT_JAVASCRIPT = "text/javascript" + CHARSET_PARAMETER;
 	public static final String XML = "application/xml" + CHARSET_PARAMETER;
 	public static final String SIREN = "application/vnd.siren+json" + CHARSET_PARAMETER;
+
+	// Binary content types have no charset.
+	public static final String CBOR = "application/cbor";
+	public static final String MESSAGEPACK = "application/msgpack";
+	public static final String PROTOBUF = "application/x-protobuf";
+	public static final String SMILE = "application/x-jackson-smile";
 	
 	private ContentType()
 	{
@@ -29,9 +29,18 @@ public abstract class Format
 	public static final String HTML = "html";
 	public static final String JAVASCRIPT = "js";
 	public static final String JSON = "json";
+	public static final String NDJSON = "ndjson";
 	public static final String XML = "xml";
 
 
+	// BINARY FORMATS
+
+	public static final String CBOR = "cbor";
+	public static final String MESSAGEPACK = "msgpack";
+	public static final String PROTOBUF = "protobuf";
+	public static final String SMILE = "smile";
+
+
 	// ALTERNATIVE/SPECIALIZED FORMATS
 
 	public static final String WRAPPED_JSON = "wjson";
@@ -18,27 +18,37 @@
 package org.restexpress;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.restexpress.exception.BadRequestException;
 import org.restexpress.pipeline.FileUploadHandler;
+import org.restexpress.pipeline.MultipartHttpRequest;
+import org.restexpress.pipeline.PhaseTimings;
+import org.restexpress.pipeline.StreamingHttpRequest;
+import org.restexpress.pipeline.UploadDigest;
 import org.restexpress.route.Route;
 import org.restexpress.route.RouteResolver;
+import org.restexpress.serialization.SerializationProcessor;
 import org.restexpress.serialization.SerializationProvider;
 import org.restexpress.serialization.SerializationSettings;
+import org.restexpress.serialization.StreamingDeserializer;
 import org.restexpress.url.BaseUrlResolver;
 import org.restexpress.url.QueryStringParser;
 
@@ -46,11 +56,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.multipart.FileUpload;
 
 /**
  * @author toddf
@@ -75,6 +87,9 @@ public class Request
 	private Map<String, String> queryStringMap;
 
 	private SerializationSettings serializationSettings;
+	private final PhaseTimings phaseTimings = new PhaseTimings();
+	private boolean isReleased = false;
+	private Throwable releasedAt = null;
 
 	
 	// SECTION: CONSTRUCTOR
@@ -98,22 +113,104 @@ public class Request
 	 * @param serializationProvider
 	 */
 	public Request(FullHttpRequest request, RouteResolver routeResolver, SerializationProvider serializationProvider)
+	{
+		this(null, request, routeResolver, serializationProvider);
+	}
+
+	public Request(InetSocketAddress socketAddress, FullHttpRequest request, RouteResolver routes, SerializationProvider serializationProvider)
 	{
 		super();
+		initialize(socketAddress, request, routes, serializationProvider);
+	}
+
+
+	// SECTION: LIFECYCLE
+
+	/**
+	 * (Re)initializes this Request for an inbound message. Called by the constructors and,
+	 * when message pooling is on, to reuse a recycled Request for a new message.
+	 * <p/>
+	 * Not intended for use by controllers or processors.
+	 * 
+	 * @param socketAddress the remote address of the client. Possibly null.
+	 * @param request the inbound Netty request.
+	 * @param routes the RouteResolver for named routes.
+	 * @param serializationProvider the SerializationProvider used for content-type negotiation.
+	 */
+	public void initialize(InetSocketAddress socketAddress, FullHttpRequest request, RouteResolver routes, SerializationProvider serializationProvider)
+	{
+		this.isReleased = false;
+		this.releasedAt = null;
+		this.remoteAddress = socketAddress;
 		this.httpRequest = request;
 		this.httpVersion = request.protocolVersion();
 		this.effectiveHttpMethod = request.method();
-		this.routeResolver = routeResolver;
+		this.routeResolver = routes;
 		this.serializationProvider = serializationProvider;
-	    createCorrelationId();
-        this.queryStringMap = parseQueryString(request);
+		this.resolvedRoute = null;
+		this.serializationSettings = null;
+		this.correlationId = null;
+		this.queryStringMap = null;
+
+		if (attachments != null)
+		{
+			attachments.clear();
+		}
+
+		if (request instanceof MultipartHttpRequest)
+		{
+			List<UploadDigest> digests = ((MultipartHttpRequest) request).getUploadDigests();
+
+			if (!digests.isEmpty())
+			{
+				putAttachment(FileUploadHandler.DIGESTS_ATTACHMENT_KEY, digests);
+			}
+		}
+
 		determineEffectiveHttpMethod(request);
 	}
 
-	public Request(InetSocketAddress socketAddress, FullHttpRequest request, RouteResolver routes, SerializationProvider serializationProvider)
+	/**
+	 * Releases this Request at the end of its lifecycle (after the MessageObservers have been
+	 * notified of completion) so that it may be recycled. Any further use of this Request
+	 * before it is re-initialized results in an IllegalStateException.
+	 * <p/>
+	 * Not intended for use by controllers or processors.
+	 * 
+	 * @param shouldTrack if true, the call stack of this release is recorded and reported on misuse.
+	 */
+	public void release(boolean shouldTrack)
 	{
-		this(request, routes, serializationProvider);
-		this.remoteAddress = socketAddress;
+		this.isReleased = true;
+		this.releasedAt = (shouldTrack ? new Throwable("Request was released here") : null);
+		this.httpRequest = null;
+		this.remoteAddress = null;
+		this.resolvedRoute = null;
+		this.serializationSettings = null;
+		this.queryStringMap = Collections.emptyMap();
+
+		if (attachments != null)
+		{
+			attachments.clear();
+		}
+	}
+
+	/**
+	 * Answers whether this Request has completed and been released.
+	 * 
+	 * @return true if released. Otherwise, false.
+	 */
+	public boolean isReleased()
+	{
+		return isReleased;
+	}
+
+	private void ensureNotReleased()
+	{
+		if (isReleased)
+		{
+			throw new IllegalStateException("Request used after completion. Do not keep references to a Request beyond the life of its route.", releasedAt);
+		}
 	}
 
 
@@ -123,9 +220,18 @@ public class Request
 	 * Return the Correlation ID for this request.  The Correlation ID is unique for each request within
 	 * this VM instance.  Restarting the VM will reset the correlation ID to zero.  It is not a GUID.
 	 * It is useful, however, in correlating events in the pipeline (e.g. timing, etc.).  
+	 * <p/>
+	 * The Correlation ID is assigned on first access, so requests that never ask for it don't pay for it.
 	 */
 	public String getCorrelationId()
 	{
+		ensureNotReleased();
+
+		if (correlationId == null)
+		{
+			correlationId = String.valueOf(nextCorrelationId.incrementAndGet());
+		}
+
 		return correlationId;
 	}
 
@@ -136,6 +242,7 @@ public class Request
 	 */
 	public HttpMethod getHttpMethod()
 	{
+		ensureNotReleased();
 		return httpRequest.method();
 	}
 	
@@ -147,6 +254,7 @@ public class Request
 	 */
 	public HttpMethod getEffectiveHttpMethod()
 	{
+		ensureNotReleased();
 		return effectiveHttpMethod;
 	}
 
@@ -170,8 +278,22 @@ public class Request
 		return getEffectiveHttpMethod().equals(HttpMethod.PUT);
 	}
 
+	/**
+	 * Answer whether the request body is streamed (see RouteBuilder.streamRequestBody()). If so,
+	 * getBody() is empty and the body must be read via getBodyAsStream(), getBodyAsIterator()
+	 * or getBodyAsRecordStream() as it arrives.
+	 * 
+	 * @return true if the request body is streamed.
+	 */
+	public boolean isStreaming()
+	{
+		ensureNotReleased();
+		return (httpRequest instanceof StreamingHttpRequest);
+	}
+
 	public ByteBuf getBody()
     {
+		ensureNotReleased();
 		return httpRequest.content();
     }
 
@@ -206,6 +328,8 @@ public class Request
 	 */
 	public SerializationSettings getSerializationSettings()
 	{
+		ensureNotReleased();
+
 		if (serializationSettings == null)
 		{
 			serializationSettings = serializationProvider.resolveRequest(this);
@@ -237,12 +361,53 @@ public class Request
 	}
 
 	/**
-	 * Returns the request body as an InputStream.
+	 * Returns the records of a record-oriented request body (e.g. NDJSON), parsing each as the
+	 * Iterator advances rather than materializing the entire body at once. If the negotiated
+	 * serialization processor is not a {@link StreamingDeserializer}, the body is deserialized
+	 * as a single record.
+	 * 
+	 * @param type the type of each record.
+	 * @return an Iterator of records. Never null.
+	 */
+	public <T> Iterator<T> getBodyAsIterator(Class<T> type)
+	{
+		SerializationSettings settings = getSerializationSettings();
+		SerializationProcessor processor = settings.getResponseProcessor().getSerializer();
+
+		if (processor instanceof StreamingDeserializer)
+		{
+			return ((StreamingDeserializer) processor).deserializeRecords(getBodyAsStream(), type);
+		}
+
+		T record = settings.deserialize(this, type);
+		return (record == null ? Collections.<T>emptyIterator() : Collections.singletonList(record).iterator());
+	}
+
+	/**
+	 * Returns the records of a record-oriented request body (e.g. NDJSON) as a sequential,
+	 * lazily-parsed Stream. See {@link #getBodyAsIterator(Class)}.
+	 * 
+	 * @param type the type of each record.
+	 * @return a Stream of records. Never null.
+	 */
+	public <T> Stream<T> getBodyAsRecordStream(Class<T> type)
+	{
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(getBodyAsIterator(type), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Returns the request body as an InputStream. On a streaming route, this is the
+	 * body as it arrives, and reads block until content is available.
 	 * 
 	 * @return an InputStream
 	 */
 	public InputStream getBodyAsStream()
 	{
+		if (isStreaming())
+		{
+			return ((StreamingHttpRequest) httpRequest).getBodyStream();
+		}
+
 		return new ByteBufInputStream(getBody());
 	}
 
@@ -316,11 +481,13 @@ public class Request
 
 	public void setBody(ByteBuf body)
     {
+		ensureNotReleased();
 		httpRequest.content().setBytes(0, body);
     }
 
 	public void clearHeaders()
 	{
+		ensureNotReleased();
 		httpRequest.headers().clear();
 	}
 
@@ -339,9 +506,12 @@ public class Request
 	 */
 	public String getHeader(String name)
 	{
-		if (queryStringMap.containsKey(name))
+		ensureNotReleased();
+		String value = getQueryStringParameter(name);
+
+		if (value != null)
 		{
-			return queryStringMap.get(name);
+			return value;
 		}
 
 		return httpRequest.headers().get(name);
@@ -361,7 +531,8 @@ public class Request
 	 */
 	public List<String> getHeaders(String name)
 	{
-		return Stream.concat(Stream.ofNullable(queryStringMap.get(name)),
+		ensureNotReleased();
+		return Stream.concat(Stream.ofNullable(getQueryStringParameter(name)),
 			httpRequest.headers().getAll(name).stream()).toList();
 	}
 	
@@ -392,6 +563,19 @@ public class Request
 		return value;
 	}
 
+	/**
+	 * Returns the HTTP headers of the request as received, without query-string parameters.
+	 * Use this instead of getHeader() where a value must come from the client's HTTP request
+	 * itself (e.g. the proxy-supplied X-Forwarded-For).
+	 * 
+	 * @return the underlying Netty headers of the HTTP request.
+	 */
+	public HttpHeaders getHttpHeaders()
+	{
+		ensureNotReleased();
+		return httpRequest.headers();
+	}
+
 	/**
 	* Returns all header names in the request
 	* 
@@ -399,6 +583,7 @@ public class Request
 	*/
 	public Set<String> getHeaderNames()
 	{
+		ensureNotReleased();
 		return httpRequest.headers().names();
 	}
 	
@@ -412,6 +597,7 @@ public class Request
 	*/
 	public void addHeader(String name, String value)
     {
+		ensureNotReleased();
 		httpRequest.headers().add(name, value);
     }
 	
@@ -431,13 +617,28 @@ public class Request
     	}
 	}
 
+	/**
+	 * Returns the time this request has spent in each phase of processing (route resolution,
+	 * preprocessors, controller, etc.). Complete when MessageObservers are notified of
+	 * success or completion.
+	 * 
+	 * @return the PhaseTimings of this request.
+	 */
+	public PhaseTimings getPhaseTimings()
+	{
+		ensureNotReleased();
+		return phaseTimings;
+	}
+
 	public Route getResolvedRoute()
 	{
+		ensureNotReleased();
 		return resolvedRoute;
 	}
 	
 	public void setResolvedRoute(Route route)
 	{
+		ensureNotReleased();
 		this.resolvedRoute = route;
 	}
 
@@ -448,6 +649,7 @@ public class Request
 	 */
 	public String getPath()
 	{
+		ensureNotReleased();
 		return httpRequest.uri();
 	}
 	
@@ -469,6 +671,7 @@ public class Request
 
 	public String getForwarded()
 	{
+		ensureNotReleased();
 		return httpRequest.headers().get("forwarded");
 	}
 
@@ -503,6 +706,7 @@ public class Request
 	 */
 	public String getNamedUrl(HttpMethod method, String resourceName)
 	{
+		ensureNotReleased();
 		Route route = routeResolver.getNamedRoute(resourceName, method);
 		
 		if (route != null)
@@ -522,6 +726,7 @@ public class Request
 	 */
 	public String getNamedPath(HttpMethod method, String resourceName)
 	{
+		ensureNotReleased();
 		Route route = routeResolver.getNamedRoute(resourceName, method);
 		
 		if (route != null)
@@ -532,18 +737,34 @@ public class Request
 		return null;
 	}
 
+	/**
+	 * Returns the URL-decoded query-string parameters as a map. The map is built on first access.
+	 * If a parameter name occurs multiple times, only the first value is contained in the map.
+	 * 
+	 * @return a map of query-string parameters. Never null.
+	 */
 	public Map<String, String> getQueryStringMap()
 	{
+		ensureNotReleased();
+
+		if (queryStringMap == null)
+		{
+			queryStringMap = parseQueryString(httpRequest.uri());
+		}
+
 		return queryStringMap;
 	}
 
 	public boolean isKeepAlive()
 	{
+		ensureNotReleased();
 		return HttpUtil.isKeepAlive(httpRequest);
 	}
 
 	public boolean isChunked()
 	{
+		ensureNotReleased();
+
 		if (HttpUtil.isTransferEncodingChunked(httpRequest))
 			return true;
 		else
@@ -568,6 +789,7 @@ public class Request
 	 */
 	public String getHost()
 	{
+		ensureNotReleased();
 		return httpRequest.headers().get(HttpHeaderNames.HOST);
 	}
 
@@ -578,6 +800,7 @@ public class Request
 	 */
 	public String getXForwardedHost()
 	{
+		ensureNotReleased();
 		return httpRequest.headers().get("X-Forwarded-Host");
 	}
 
@@ -590,7 +813,7 @@ public class Request
 	 */
 	public String getProtocol()
 	{
-		
+		ensureNotReleased();
 		return httpRequest.protocolVersion().protocolName().toLowerCase();
 	}
 
@@ -653,6 +876,7 @@ public class Request
 	 */
 	public boolean isFlagged(String flag)
 	{
+		ensureNotReleased();
 		return resolvedRoute.isFlagged(flag);
 	}
 	
@@ -668,6 +892,7 @@ public class Request
 	 */
 	public Object getParameter(String name)
 	{
+		ensureNotReleased();
 		return resolvedRoute.getParameter(name);
 	}
 	
@@ -683,6 +908,8 @@ public class Request
 	 */
 	public Object getAttachment(String name)
 	{
+		ensureNotReleased();
+
 		if (attachments != null)
 		{
 			return attachments.get(name);
@@ -691,10 +918,92 @@ public class Request
 		return null;
 	}
 
+	/**
+	 * Returns the first uploaded file of a multipart upload (see RestExpress.setSupportFileUpload()),
+	 * moved to a file that outlives the request. The caller is responsible for deleting it.
+	 * 
+	 * @return the uploaded file, or null if this request has no file uploads.
+	 * @throws UncheckedIOException if the upload cannot be moved to a file.
+	 */
 	public File getUploadedFileAttachment()
 	{
 		String filePath = (String) getAttachment(FileUploadHandler.FILE_ATTACHMENT_KEY);
-		return (filePath != null ? new File(filePath) : null);
+
+		if (filePath == null)
+		{
+			List<FileUpload> uploads = getUploadedFiles();
+
+			if (uploads.isEmpty()) return null;
+
+			try
+			{
+				filePath = ((MultipartHttpRequest) httpRequest).keep(uploads.get(0)).getAbsolutePath();
+				putAttachment(FileUploadHandler.FILE_ATTACHMENT_KEY, filePath);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		return new File(filePath);
+	}
+
+	/**
+	 * Returns the uploaded files of a multipart upload (see RestExpress.setSupportFileUpload()),
+	 * in request order. Large uploads are backed by files that are deleted at the end of the
+	 * request; use FileUpload.renameTo() to keep one.
+	 * 
+	 * @return the uploaded files. Never null.
+	 */
+	public List<FileUpload> getUploadedFiles()
+	{
+		ensureNotReleased();
+
+		if (httpRequest instanceof MultipartHttpRequest)
+		{
+			return ((MultipartHttpRequest) httpRequest).getFileUploads();
+		}
+
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Returns the sizes and digests of the uploaded files of a multipart upload, computed
+	 * while the files were received (see RestExpress.setUploadDigestAlgorithms()).
+	 * 
+	 * @return the upload digests, in request order. Never null.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<UploadDigest> getUploadDigests()
+	{
+		List<UploadDigest> digests = (List<UploadDigest>) getAttachment(FileUploadHandler.DIGESTS_ATTACHMENT_KEY);
+		return (digests != null ? digests : Collections.<UploadDigest>emptyList());
+	}
+
+	/**
+	 * Returns the form fields of a multipart upload (see RestExpress.setSupportFileUpload()).
+	 * 
+	 * @return a map of form field name to value. Never null.
+	 * @throws UncheckedIOException if a form field stored on disk cannot be read.
+	 */
+	public Map<String, String> getFormAttributes()
+	{
+		ensureNotReleased();
+
+		if (httpRequest instanceof MultipartHttpRequest)
+		{
+			try
+			{
+				return ((MultipartHttpRequest) httpRequest).getAttributes();
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		return Collections.emptyMap();
 	}
 
 	/**
@@ -720,6 +1029,8 @@ public class Request
 	 */
 	public void putAttachment(String name, Object attachment)
 	{
+		ensureNotReleased();
+
 		if (attachments == null)
 		{
 			attachments = new HashMap<>();
@@ -730,6 +1041,7 @@ public class Request
 	
 	public HttpVersion getHttpVersion()
 	{
+		ensureNotReleased();
 		return httpVersion;
 	}
 	
@@ -740,6 +1052,7 @@ public class Request
 	
 	public InetSocketAddress getRemoteAddress()
 	{
+		ensureNotReleased();
 		return remoteAddress;
 	}
 
@@ -747,97 +1060,131 @@ public class Request
 	// SECTION: UTILITY - PRIVATE
 
 	/**
-	 * Add the query string parameters to the request as headers.
-	 * Also parses the query string into the queryStringMap, if applicable. Note, if the query string
-	 * contains multiple of the same parameter name, the headers will contain them all, but the
-	 * queryStringMap will only contain the first one.  This will be fixed in a future release.
+	 * Returns the URL-decoded value of the first query-string parameter named 'name', or null if
+	 * not present. Scans the raw URI in place unless the query-string map has already been built.
 	 */
-	private Map<String, String> parseQueryString(final HttpRequest request)
+	private String getQueryStringParameter(String name)
 	{
-		if (!request.uri().contains("?")) return Collections.emptyMap();
+		if (queryStringMap != null) return queryStringMap.get(name);
 
-		Map<String, List<String>> parameters = decodeQueryString(request.uri());
+		String uri = httpRequest.uri();
+		int start = uri.indexOf('?');
 
-		if (parameters == null || parameters.isEmpty()) return Collections.emptyMap();
+		if (start < 0) return null;
 
-		Map<String, String> parameterMap = HashMap.newHashMap(parameters.size());
-		
-		for (Entry<String, List<String>> entry : parameters.entrySet())
+		int end = queryStringEnd(uri, start);
+
+		for (int i = start + 1; i < end; )
 		{
-			String key = decode(entry.getKey());
-			parameterMap.put(key, entry.getValue().get(0));
+			int next = nextParameter(uri, i, end);
+			int equals = indexOf(uri, '=', i, next);
+			int nameEnd = (equals < 0 ? next : equals);
+
+			if (nameEnd > i && nameMatches(uri, i, nameEnd, name))
+			{
+				return (equals < 0 ? "" : decode(uri, equals + 1, next));
+			}
+
+			i = next + 1;
 		}
 
-		return parameterMap;
+		return null;
 	}
 
-	private Map<String, List<String>> decodeQueryString(String uri)
+	/**
+	 * Parses the query string into a map of URL-decoded names to URL-decoded values, in a single pass.
+	 * If the query string contains multiple of the same parameter name, the map only contains the first one.
+	 */
+	private static Map<String, String> parseQueryString(String uri)
 	{
-		try
-		{
-			return new QueryStringDecoder(uri).parameters();
-		}
-		catch (Exception e)
+		int start = uri.indexOf('?');
+
+		if (start < 0) return Collections.emptyMap();
+
+		int end = queryStringEnd(uri, start);
+		Map<String, String> parameterMap = null;
+
+		for (int i = start + 1; i < end; )
 		{
-			// Fallback for improperly encoded URIs
-			if (uri.contains("?"))
+			int next = nextParameter(uri, i, end);
+			int equals = indexOf(uri, '=', i, next);
+			int nameEnd = (equals < 0 ? next : equals);
+
+			if (nameEnd > i)
 			{
-				String rawQuery = uri.substring(uri.indexOf('?') + 1);
-				String encodedQuery = encodeQueryParameters(rawQuery);
-				return new QueryStringDecoder("?" + encodedQuery).parameters();
+				if (parameterMap == null) parameterMap = new HashMap<>();
+
+				parameterMap.putIfAbsent(decode(uri, i, nameEnd), (equals < 0 ? "" : decode(uri, equals + 1, next)));
 			}
 
-			return Collections.emptyMap();
+			i = next + 1;
 		}
+
+		return (parameterMap == null ? Collections.emptyMap() : parameterMap);
 	}
 
-	private String encodeQueryParameters(String rawQuery)
+	private static int queryStringEnd(String uri, int start)
 	{
-		String[] pairs = rawQuery.split("&");
-		StringBuilder encoded = new StringBuilder();
+		int fragment = uri.indexOf('#', start);
+		return (fragment < 0 ? uri.length() : fragment);
+	}
 
-		for (int i = 0; i < pairs.length; i++)
+	private static int nextParameter(String uri, int from, int end)
+	{
+		for (int i = from; i < end; i++)
 		{
-			String[] keyValue = pairs[i].split("=", 2);
-			if (keyValue.length == 2)
-			{
-				encoded.append(encode(keyValue[0])).append("=").append(encode(keyValue[1]));
-			}
-			else
-			{
-				encoded.append(encode(keyValue[0]));
-			}
+			char c = uri.charAt(i);
 
-			if (i < pairs.length - 1)
-			{
-				encoded.append("&");
-			}
+			if (c == '&' || c == ';') return i;
 		}
 
-		return encoded.toString();
+		return end;
 	}
 
-	private String decode(String encoded)
+	private static int indexOf(String uri, char c, int from, int end)
 	{
-		try
+		int i = uri.indexOf(c, from);
+		return (i < 0 || i >= end ? -1 : i);
+	}
+
+	private static boolean nameMatches(String uri, int from, int end, String name)
+	{
+		if (needsDecoding(uri, from, end))
 		{
-			return URLDecoder.decode(encoded, ContentType.ENCODING);
+			return name.equals(decode(uri, from, end));
 		}
-		catch (Exception e)
+
+		return (end - from == name.length() && uri.regionMatches(from, name, 0, name.length()));
+	}
+
+	private static boolean needsDecoding(String uri, int from, int end)
+	{
+		for (int i = from; i < end; i++)
 		{
-			return encoded;
+			char c = uri.charAt(i);
+
+			if (c == '%' || c == '+') return true;
 		}
+
+		return false;
 	}
 
-	private String encode(String decoded)
+	/**
+	 * URL-decodes the given region of the URI. Improperly encoded values are returned as-is.
+	 */
+	private static String decode(String uri, int from, int end)
 	{
+		String encoded = uri.substring(from, end);
+
+		if (!needsDecoding(uri, from, end)) return encoded;
+
 		try
 		{
-			return URLEncoder.encode(decoded, ContentType.ENCODING);
+			return QueryStringDecoder.decodeComponent(encoded, ContentType.CHARSET);
 		}
-		catch (Exception e)
+		catch (IllegalArgumentException e)
 		{
-			return decoded;
+			return encoded;
 		}
 	}
 
@@ -850,16 +1197,32 @@ public class Request
 	{
 		if (!HttpMethod.POST.equals(request.method())) return;
 
-		String methodString = getQueryStringMap().get(Parameters.Query.METHOD_TUNNEL);
+		effectiveHttpMethod = tunneledHttpMethod(request.method(), getQueryStringParameter(Parameters.Query.METHOD_TUNNEL));
+	}
+
+	/**
+	 * Answers the HTTP method a request with the given method and URI is dispatched with, applying
+	 * the same _method tunneling as getEffectiveHttpMethod(). For use before there is a Request,
+	 * such as when the request body has yet to arrive.
+	 * 
+	 * @param method the HTTP method of the request.
+	 * @param uri the request URI, including any query string.
+	 * @return the effective HTTP method.
+	 */
+	public static HttpMethod getEffectiveHttpMethod(HttpMethod method, String uri)
+	{
+		if (!HttpMethod.POST.equals(method)) return method;
+
+		return tunneledHttpMethod(method, parseQueryString(uri).get(Parameters.Query.METHOD_TUNNEL));
+	}
 
+	private static HttpMethod tunneledHttpMethod(HttpMethod method, String methodString)
+	{
 		if ("PUT".equalsIgnoreCase(methodString) || "DELETE".equalsIgnoreCase(methodString))
 		{
-			effectiveHttpMethod = HttpMethod.valueOf(methodString.toUpperCase());
+			return HttpMethod.valueOf(methodString.toUpperCase());
 		}
-	}
-	
-	private void createCorrelationId()
-	{
-		this.correlationId = String.valueOf(nextCorrelationId.incrementAndGet());
+
+		return method;
 	}
 }
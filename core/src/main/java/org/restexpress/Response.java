@@ -18,13 +18,12 @@ package org.restexpress;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+import io.netty.handler.codec.http.DefaultHttpHeadersFactory;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.restexpress.common.query.QueryRange;
 import org.restexpress.serialization.SerializationSettings;
@@ -39,10 +38,13 @@ public class Response
 
 	private HttpResponseStatus responseCode = OK;
 	private Object body;
-	private Map<String, List<String>> headers = new HashMap<>();
+	private final HttpHeaders headers = DefaultHttpHeadersFactory.headersFactory().newHeaders();
 	private boolean isSerialized = true;
 	private Throwable exception = null;
 	private SerializationSettings serializationSettings;
+	private long bytesWritten = -1L;
+	private boolean isReleased = false;
+	private Throwable releasedAt = null;
 	
 	// SECTION: CONSTRUCTORS
 
@@ -52,10 +54,62 @@ public class Response
 	}
 
 
+	// SECTION: LIFECYCLE
+
+	/**
+	 * Resets this Response so it may be reused for a new message when message pooling is on.
+	 * <p/>
+	 * Not intended for use by controllers or processors.
+	 */
+	public void reset()
+	{
+		this.isReleased = false;
+		this.releasedAt = null;
+		this.responseCode = OK;
+		this.body = null;
+		this.headers.clear();
+		this.isSerialized = true;
+		this.exception = null;
+		this.serializationSettings = null;
+		this.bytesWritten = -1L;
+	}
+
+	/**
+	 * Releases this Response at the end of its lifecycle so that it may be recycled. Any
+	 * further use of this Response before it is reset results in an IllegalStateException.
+	 * <p/>
+	 * Not intended for use by controllers or processors.
+	 * 
+	 * @param shouldTrack if true, the call stack of this release is recorded and reported on misuse.
+	 */
+	public void release(boolean shouldTrack)
+	{
+		this.isReleased = true;
+		this.releasedAt = (shouldTrack ? new Throwable("Response was released here") : null);
+		this.body = null;
+		this.exception = null;
+		this.serializationSettings = null;
+	}
+
+	public boolean isReleased()
+	{
+		return isReleased;
+	}
+
+	private void ensureNotReleased()
+	{
+		if (isReleased)
+		{
+			throw new IllegalStateException("Response used after completion. Do not keep references to a Response beyond the life of its route.", releasedAt);
+		}
+	}
+
+
 	// SECTION: ACCESSORS/MUTATORS
 
 	public Object getBody()
 	{
+		ensureNotReleased();
 		return body;
 	}
 
@@ -66,29 +120,33 @@ public class Response
 
 	public void setBody(Object body)
 	{
+		ensureNotReleased();
 		this.body = body;
 	}
 
 	public void clearHeaders()
 	{
+		ensureNotReleased();
 		headers.clear();
 	}
 
 	public String getHeader(String name)
 	{
-		List<String> list = headers.get(name);
-
-		if (list != null && !list.isEmpty())
-		{
-			return list.get(0);
-		}
-		
-		return null;
+		ensureNotReleased();
+		return headers.get(name);
 	}
 
+	/**
+	 * Get all the values for the named header. Header names are case-insensitive.
+	 * 
+	 * @param name
+	 * @return a List of header values, or null if the header is not present.
+	 */
 	public List<String> getHeaders(String name)
 	{
-		return headers.get(name);
+		ensureNotReleased();
+		List<String> values = headers.getAll(name);
+		return (values.isEmpty() ? null : values);
 	}
 	
 	public boolean hasHeader(String name)
@@ -98,12 +156,26 @@ public class Response
 
 	public boolean hasHeaders()
 	{
+		ensureNotReleased();
 		return !headers.isEmpty();
 	}
 
 	public Set<String> getHeaderNames()
 	{
-		return headers.keySet();
+		ensureNotReleased();
+		return headers.names();
+	}
+
+	/**
+	 * Returns the underlying Netty headers for this response, which are copied into the
+	 * outgoing HTTP response when it is written.
+	 * 
+	 * @return the HttpHeaders for this response.
+	 */
+	public HttpHeaders getHttpHeaders()
+	{
+		ensureNotReleased();
+		return headers;
 	}
 
 	/**
@@ -114,15 +186,8 @@ public class Response
 	 */
 	public void addHeader(String name, String value)
 	{
-		List<String> list = headers.get(name);
-		
-		if (list == null)
-		{
-			list = new ArrayList<>();
-			headers.put(name, list);
-		}
-		
-		list.add(value);
+		ensureNotReleased();
+		headers.add(name, value);
 	}
 
 	/**
@@ -209,6 +274,7 @@ public class Response
 	 */
 	public void setResponseStatus(HttpResponseStatus status)
 	{
+		ensureNotReleased();
 		this.responseCode = status;
 	}
 	
@@ -241,36 +307,31 @@ public class Response
 	 */
 	public HttpResponseStatus getResponseStatus()
 	{
+		ensureNotReleased();
 		return responseCode;
 	}
 
 	public String getContentType()
     {
-		return getHeader(HttpHeaderNames.CONTENT_TYPE.toString());
+		ensureNotReleased();
+		return headers.get(HttpHeaderNames.CONTENT_TYPE);
     }
 
 	public void setContentType(String contentType)
     {
-		List<String> list = headers.get(HttpHeaderNames.CONTENT_TYPE);
-
-		if (list != null && !list.isEmpty())
-		{
-			list.clear();
-			list.add(contentType);
-		}
-		else if (list == null)
-		{
-			addHeader(HttpHeaderNames.CONTENT_TYPE.toString(), contentType);
-		}
+		ensureNotReleased();
+		headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
     }
 
 	public boolean isSerialized()
 	{
+		ensureNotReleased();
 		return isSerialized;
 	}
 	
 	public void setIsSerialized(boolean value)
 	{
+		ensureNotReleased();
 		this.isSerialized = value;
 	}
 
@@ -286,6 +347,7 @@ public class Response
 
 	public Throwable getException()
     {
+		ensureNotReleased();
     	return exception;
     }
 	
@@ -296,16 +358,19 @@ public class Response
 
 	public void setException(Throwable exception)
     {
+		ensureNotReleased();
     	this.exception = exception;
     }
 	
 	public void setSerializationSettings(SerializationSettings settings)
 	{
+		ensureNotReleased();
 		this.serializationSettings = settings;
 	}
 	
 	public boolean hasSerializationSettings()
 	{
+		ensureNotReleased();
 		return (serializationSettings != null);
 	}
 
@@ -323,6 +388,33 @@ public class Response
 
 	public SerializationSettings getSerializationSettings()
 	{
+		ensureNotReleased();
 		return serializationSettings;
 	}
+
+	/**
+	 * Returns the size of the response body as written to the channel, which is zero for a
+	 * HEAD request or a status that allows no content. Set by the HttpResponseWriter, so only
+	 * available to MessageObservers (onSuccess() and onComplete()).
+	 * 
+	 * @return the number of body bytes written, or -1 if not written (or not reported by the writer).
+	 */
+	public long getBytesWritten()
+	{
+		ensureNotReleased();
+		return bytesWritten;
+	}
+
+	/**
+	 * Records the size of the response body as written.
+	 * <p/>
+	 * Not intended for use by controllers or processors.
+	 * 
+	 * @param bytes the number of body bytes written.
+	 */
+	public void setBytesWritten(long bytes)
+	{
+		ensureNotReleased();
+		this.bytesWritten = bytes;
+	}
 }
@@ -17,12 +17,18 @@
 package org.restexpress;
 
 import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.restexpress.common.exception.ConfigurationException;
 import org.restexpress.domain.metadata.RouteMetadata;
 import org.restexpress.domain.metadata.ServerMetadata;
 import org.restexpress.exception.DefaultExceptionMapper;
@@ -30,12 +36,15 @@ import org.restexpress.exception.ExceptionMapping;
 import org.restexpress.exception.ServiceException;
 import org.restexpress.pipeline.DefaultRequestHandler;
 import org.restexpress.pipeline.FileUploadHandler;
+import org.restexpress.pipeline.MessageContextPool;
 import org.restexpress.pipeline.MessageObserver;
 import org.restexpress.pipeline.PipelineInitializer;
 import org.restexpress.pipeline.Postprocessor;
 import org.restexpress.pipeline.Preprocessor;
+import org.restexpress.pipeline.UploadSyncPolicy;
 import org.restexpress.plugin.Plugin;
 import org.restexpress.response.DefaultHttpResponseWriter;
+import org.restexpress.response.ResponseHeaderCache;
 import org.restexpress.route.RouteBuilder;
 import org.restexpress.route.RouteDeclaration;
 import org.restexpress.route.RouteResolver;
@@ -50,18 +59,24 @@ import org.restexpress.util.Callback;
 import org.restexpress.util.DefaultShutdownHook;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.AdaptiveRecvByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.handler.ssl.SslContext;
+import io.netty.util.ResourceLeakDetector;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.GlobalEventExecutor;
 
@@ -85,6 +100,9 @@ public class RestExpress
     private static final ChannelGroup ALL_CHANNELS = new DefaultChannelGroup(DEFAULT_NAME, GlobalEventExecutor.INSTANCE);
 	public static final int DEFAULT_PORT = 8081;
 
+	// PooledByteBufAllocator limits a chunk to pageSize << 14.
+	private static final int MAX_ALLOCATOR_ORDER = 14;
+
 	private static SerializationProvider defaultSerializationProvider = null;
 
 	private SocketSettings socketSettings = new SocketSettings();
@@ -104,6 +122,11 @@ public class RestExpress
 	private SslContext sslContext = null;
 	private SerializationProvider serializationProvider = null;
 
+	// Set by bind(), for runtime statistics.
+	private final List<EventExecutorGroup> executorGroups = new CopyOnWriteArrayList<>();
+	private ByteBufAllocator allocator = null;
+	private final AtomicInteger connectionCount = new AtomicInteger();
+
 	/**
 	 * Change the default behavior for serialization.
 	 * If no SerializationProcessor is set, default of DefaultSerializationProcessor is used,
@@ -479,12 +502,343 @@ public class RestExpress
 		return serverSettings.shouldUseCompression();
 	}
 
+	/**
+	 * Turns on flush consolidation (write batching) for responses. Flushes are coalesced
+	 * until explicitFlushAfterFlushes flushes have been requested or the current read loop
+	 * completes, reducing the number of writev syscalls under pipelined, high-RPS load.
+	 * <p/>
+	 * When executor threads are in use, flushes issued outside of a read are consolidated
+	 * too, since responses complete off the event loop.
+	 * 
+	 * By default, flush consolidation is off.
+	 * 
+	 * @param explicitFlushAfterFlushes the maximum number of flushes to coalesce. Zero (0) turns consolidation off.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setFlushConsolidation(int explicitFlushAfterFlushes)
+	{
+		serverSettings.setFlushConsolidationLimit(explicitFlushAfterFlushes);
+		return this;
+	}
+
+	/**
+	 * Turns on flush consolidation (write batching) for responses.
+	 * 
+	 * @param explicitFlushAfterFlushes the maximum number of flushes to coalesce. Zero (0) turns consolidation off.
+	 * @param consolidateWhenNoReadInProgress true to also consolidate flushes issued outside of a read loop, even without executor threads.
+	 * @return this RestExpress instance.
+	 * @see io.netty.handler.flush.FlushConsolidationHandler
+	 */
+	public RestExpress setFlushConsolidation(int explicitFlushAfterFlushes, boolean consolidateWhenNoReadInProgress)
+	{
+		serverSettings.setFlushConsolidationLimit(explicitFlushAfterFlushes);
+		serverSettings.setConsolidateFlushesWhenNoReadInProgress(consolidateWhenNoReadInProgress);
+		return this;
+	}
+
+	/**
+	 * Answers whether the service is setup to consolidate (batch) response flushes.
+	 * 
+	 * @return true if flush consolidation is on. Otherwise, false.
+	 */
+	public boolean isUsingFlushConsolidation()
+	{
+		return serverSettings.shouldConsolidateFlushes();
+	}
+
+	/**
+	 * Add a Date header to every response. The value is encoded at most once per second
+	 * and shared across requests.
+	 * 
+	 * By default, no Date header is added.
+	 * 
+	 * @param value true to add a Date header to responses.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setIncludeDateHeader(boolean value)
+	{
+		serverSettings.setIncludeDateHeader(value);
+		return this;
+	}
+
+	public boolean isIncludingDateHeader()
+	{
+		return serverSettings.shouldIncludeDateHeader();
+	}
+
+	/**
+	 * Add a Server header with the given value to every response. The value is encoded
+	 * once for the server. Null turns the Server header off (the default).
+	 * 
+	 * @param value the Server header value (e.g. the service name and version).
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setServerHeader(String value)
+	{
+		serverSettings.setServerHeader(value);
+		return this;
+	}
+
+	public String getServerHeader()
+	{
+		return serverSettings.getServerHeader();
+	}
+
+	/**
+	 * Turns on pooled mode, where the per-message Request, Response and MessageContext
+	 * instances are recycled after the MessageObservers are notified of completion.
+	 * In pooled mode, controllers, processors and observers must NOT keep references
+	 * to a Request or Response beyond the life of the message.
+	 * 
+	 * By default, pooling is off.
+	 * 
+	 * @param value true to recycle per-message objects.
+	 * @return this RestExpress instance.
+	 * @see MessageContextPool
+	 */
+	public RestExpress setUsePooledMessages(boolean value)
+	{
+		serverSettings.setUsePooledMessages(value);
+		return this;
+	}
+
+	public boolean isUsingPooledMessages()
+	{
+		return serverSettings.shouldUsePooledMessages();
+	}
+
+	/**
+	 * Turns on leak detection for pooled mode. Released Request and Response instances
+	 * are not reused and any use of them after completion throws an IllegalStateException
+	 * that records where they were released. Intended for development and testing.
+	 * 
+	 * @param value true to detect use of Request and Response instances after completion.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setPooledMessageLeakDetection(boolean value)
+	{
+		serverSettings.setPooledMessageLeakDetection(value);
+		return this;
+	}
+
+	/**
+	 * Use the given ByteBuf allocator for client connections, for instance to share one
+	 * PooledByteBufAllocator (and its arenas and thread caches) between several servers,
+	 * or PooledByteBufAllocator.DEFAULT with the rest of the application. Overrides
+	 * setAllocatorArenas() and setAllocatorChunkSize().
+	 * 
+	 * By default, each server creates its own direct PooledByteBufAllocator on the first bind().
+	 * 
+	 * @param allocator the allocator for client connections.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setAllocator(ByteBufAllocator allocator)
+	{
+		serverSettings.setAllocator(allocator);
+		return this;
+	}
+
+	/**
+	 * Set the number of heap and direct arenas of the server's PooledByteBufAllocator. Fewer
+	 * arenas than I/O threads means more contention on allocation; more costs memory.
+	 * 
+	 * Default is the Netty default (normally 2 * number of processors, limited by memory).
+	 * 
+	 * @param arenas the number of arenas of each kind.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setAllocatorArenas(int arenas)
+	{
+		serverSettings.setAllocatorArenas(arenas);
+		return this;
+	}
+
+	public int getAllocatorArenas()
+	{
+		return serverSettings.getAllocatorArenas();
+	}
+
+	/**
+	 * Set the chunk size of the server's PooledByteBufAllocator: the unit of memory an arena
+	 * obtains at a time. Buffers larger than a chunk are not pooled.
+	 * 
+	 * Default is the Netty default (normally 4MB).
+	 * 
+	 * @param bytes the chunk size, a power of two no smaller than the allocator page size.
+	 * @return this RestExpress instance.
+	 * @throws ConfigurationException if the chunk size is not a valid power of two.
+	 */
+	public RestExpress setAllocatorChunkSize(int bytes)
+	{
+		int pageSize = PooledByteBufAllocator.defaultPageSize();
+
+		if (Integer.bitCount(bytes) != 1 || bytes < pageSize || bytes > (pageSize << MAX_ALLOCATOR_ORDER))
+		{
+			throw new ConfigurationException("Allocator chunk size must be a power of two between " + pageSize
+				+ " and " + (pageSize << MAX_ALLOCATOR_ORDER) + ": " + bytes);
+		}
+
+		serverSettings.setAllocatorChunkSize(bytes);
+		return this;
+	}
+
+	public int getAllocatorChunkSize()
+	{
+		return serverSettings.getAllocatorChunkSize();
+	}
+
+	/**
+	 * Set the level of Netty's ByteBuf leak detection. Unlike the other settings, this takes
+	 * effect immediately, even on a running server, and applies to every allocator in the JVM.
+	 * PARANOID tracks every buffer, so switch it on only long enough to catch a leak.
+	 * 
+	 * By default, the level is SIMPLE (or the io.netty.leakDetection.level system property).
+	 * 
+	 * @param level the leak detection level.
+	 * @return this RestExpress instance.
+	 * @see ResourceLeakDetector
+	 */
+	public RestExpress setLeakDetectionLevel(ResourceLeakDetector.Level level)
+	{
+		ResourceLeakDetector.setLevel(level);
+		return this;
+	}
+
+	public ResourceLeakDetector.Level getLeakDetectionLevel()
+	{
+		return ResourceLeakDetector.getLevel();
+	}
+
 	public RestExpress setSupportFileUpload(boolean value)
 	{
 		serverSettings.setSupportFileUpload(value);
 		return this;
 	}
 
+	public boolean isSupportFileUpload()
+	{
+		return serverSettings.isSupportFileUpload();
+	}
+
+	/**
+	 * Set the size above which an uploaded (multipart) part is written to disk instead of
+	 * being held in memory. Default is 16KB.
+	 * 
+	 * @param bytes the in-memory threshold, in bytes.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setUploadMemoryThreshold(long bytes)
+	{
+		serverSettings.setUploadMemoryThreshold(bytes);
+		return this;
+	}
+
+	public long getUploadMemoryThreshold()
+	{
+		return serverSettings.getUploadMemoryThreshold();
+	}
+
+	/**
+	 * Set the maximum size of a multipart upload request body. Larger uploads are rejected
+	 * with a 413 (Request Entity Too Large) and the remainder of the upload is discarded.
+	 * Default is -1 (unlimited).
+	 * 
+	 * @param bytes the maximum upload size, in bytes, or -1 for no limit.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setMaxUploadSize(long bytes)
+	{
+		serverSettings.setMaxUploadSize(bytes);
+		return this;
+	}
+
+	public long getMaxUploadSize()
+	{
+		return serverSettings.getMaxUploadSize();
+	}
+
+	/**
+	 * Set the directory to which uploaded parts above the in-memory threshold are written.
+	 * Default is null, which uses java.io.tmpdir.
+	 * 
+	 * @param directory the upload directory.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setUploadDirectory(String directory)
+	{
+		serverSettings.setUploadDirectory(directory);
+		return this;
+	}
+
+	public String getUploadDirectory()
+	{
+		return serverSettings.getUploadDirectory();
+	}
+
+	/**
+	 * Compute the given message digests (e.g. "SHA-256") and the byte count of each uploaded
+	 * file while it is received, so controllers need not re-read the file to fingerprint it.
+	 * The results are available via Request.getUploadDigests(). Default is none.
+	 * 
+	 * @param algorithms MessageDigest algorithm names.
+	 * @return this RestExpress instance.
+	 * @throws ConfigurationException if an algorithm is not supported.
+	 */
+	public RestExpress setUploadDigestAlgorithms(String... algorithms)
+	{
+		for (String algorithm : algorithms)
+		{
+			try
+			{
+				MessageDigest.getInstance(algorithm);
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				throw new ConfigurationException("Unsupported upload digest algorithm: " + algorithm, e);
+			}
+		}
+
+		serverSettings.setUploadDigestAlgorithms(Arrays.asList(algorithms));
+		return this;
+	}
+
+	public List<String> getUploadDigestAlgorithms()
+	{
+		return serverSettings.getUploadDigestAlgorithms();
+	}
+
+	/**
+	 * Write each uploaded file straight to a file in the upload directory as its chunks
+	 * arrive, with positional FileChannel writes, instead of holding it in memory up to the
+	 * upload memory threshold and copying it to disk beyond that. Every byte is written once,
+	 * and keeping an upload is a rename within the upload directory. Form attributes are
+	 * unaffected. Default is off.
+	 * 
+	 * <p/>
+	 * Upload files are written on the executor threads. A policy other than NONE therefore
+	 * requires executor threads (see setExecutorThreadCount()), so a device flush never
+	 * stalls an I/O thread; bind() fails otherwise.
+	 * 
+	 * @param syncPolicy when the files are forced to the storage device. Null turns direct
+	 * writes off.
+	 * @return this RestExpress instance.
+	 */
+	public RestExpress setDirectUploadWrites(UploadSyncPolicy syncPolicy)
+	{
+		serverSettings.setDirectUploadSyncPolicy(syncPolicy);
+		return this;
+	}
+
+	public boolean isDirectUploadWrites()
+	{
+		return (serverSettings.getDirectUploadSyncPolicy() != null);
+	}
+
+	public UploadSyncPolicy getDirectUploadSyncPolicy()
+	{
+		return serverSettings.getDirectUploadSyncPolicy();
+	}
+
 	public int getSoLinger()
 	{
 		return socketSettings.getSoLinger();
@@ -646,13 +1000,18 @@ public class RestExpress
 		// Set up the event pipeline factory.
 		DefaultRequestHandler requestHandler = new DefaultRequestHandler(
 		    createRouteResolver(), serializationProvider(),
-		    new DefaultHttpResponseWriter(), enforceHttpSpec);
+		    new DefaultHttpResponseWriter(createResponseHeaderCache()), enforceHttpSpec);
 
 		// Add MessageObservers to the request handler here, if desired...
 		requestHandler.addMessageObserver(messageObservers.toArray(new MessageObserver[0]));
 
 		requestHandler.setExceptionMap(exceptionMap);
 
+		if (serverSettings.shouldUsePooledMessages())
+		{
+			requestHandler.setMessageContextPool(new MessageContextPool(serverSettings.isPooledMessageLeakDetection()));
+		}
+
 		// Add pre/post processors to the request handler here...
 		addPreprocessors(requestHandler);
 		addPostprocessors(requestHandler);
@@ -661,14 +1020,17 @@ public class RestExpress
 		return requestHandler;
 	}
 
-	public FileUploadHandler buildFileUploadRequestHandler() {
-		FileUploadHandler fileUploadHandler = new FileUploadHandler(
-				createRouteResolver(), serializationProvider(),
-				new DefaultHttpResponseWriter(), enforceHttpSpec);
-
-		fileUploadHandler.setExceptionMap(exceptionMap);
-
-		return fileUploadHandler;
+	/**
+	 * Build a file upload handler for a single channel. The handler decodes multipart uploads
+	 * and passes them on to the request handler built by buildRequestHandler().
+	 *
+	 * @return a new FileUploadHandler
+	 */
+	public FileUploadHandler buildFileUploadRequestHandler()
+	{
+		return new FileUploadHandler(serverSettings.getUploadMemoryThreshold(),
+			serverSettings.getMaxUploadSize(), serverSettings.getUploadDirectory(),
+			serverSettings.getUploadDigestAlgorithms(), serverSettings.getDirectUploadSyncPolicy());
 	}
 
 
@@ -709,18 +1071,24 @@ public class RestExpress
 	throws Throwable
 	{
 		ServerBootstrap bootstrap = bootstrapFactory.newServerBootstrap(getIoThreadCount());
+		RouteResolver streamingRouteResolver = createStreamingRouteResolver();
+		validateUploadSettings();
+		EventExecutorGroup executorGroup = initializeExecutorGroup();
 		PipelineInitializer pi = new PipelineInitializer()
-			.setExecutionHandler(initializeExecutorGroup())
+			.setExecutionHandler(executorGroup)
 		    .addRequestHandler(DEFAULT_HANDLER_NAME, buildRequestHandler())
 		    .setSSLContext(sslContext)
 		    .setMaxContentLength(serverSettings.getMaxContentSize())
 		    .setReadTimeout(serverSettings.getReadTimeout(), serverSettings.getReadTimeoutUnit())
-		    .setUseCompression(serverSettings.shouldUseCompression());
+		    .setUseCompression(serverSettings.shouldUseCompression())
+		    .setFlushConsolidation(serverSettings.getFlushConsolidationLimit(),
+		    	serverSettings.shouldConsolidateFlushesWhenNoReadInProgress() || getExecutorThreadCount() > 0)
+		    .setStreamingRouteResolver(streamingRouteResolver)
+		    .setOpenConnectionCounter(connectionCount);
 
 		if (serverSettings.isSupportFileUpload())
 		{
-			pi.setSupportFileUpload(true)
-				.addRequestHandler(FILEUPLOAD_HANDLER_NAME, buildFileUploadRequestHandler());
+			pi.setFileUploadHandlerFactory(this::buildFileUploadRequestHandler);
 		}
 		
 		bootstrap.childHandler(pi);
@@ -756,11 +1124,50 @@ public class RestExpress
 		return channelFuture.channel();
 	}
 
+	/**
+	 * Returns a RouteResolver to identify requests on streaming routes, or null if there are none.
+	 * Streaming controllers block waiting for content, so they must not run on the I/O threads.
+	 */
+	private RouteResolver createStreamingRouteResolver()
+	{
+		RouteResolver resolver = createRouteResolver();
+
+		if (!resolver.hasStreamingRoutes()) return null;
+
+		if (getExecutorThreadCount() <= 0)
+		{
+			throw new ConfigurationException("Streaming routes require executor threads. See setExecutorThreadCount().");
+		}
+
+		return resolver;
+	}
+
+	/**
+	 * Forcing an upload file to the device blocks the thread running the file upload handler,
+	 * which is an I/O thread unless there are executor threads.
+	 */
+	private void validateUploadSettings()
+	{
+		UploadSyncPolicy syncPolicy = serverSettings.getDirectUploadSyncPolicy();
+
+		if (serverSettings.isSupportFileUpload() && syncPolicy != null && syncPolicy != UploadSyncPolicy.NONE
+			&& getExecutorThreadCount() <= 0)
+		{
+			throw new ConfigurationException("Upload sync policy " + syncPolicy + " requires executor threads. See setExecutorThreadCount().");
+		}
+	}
+
+	/**
+	 * Each bind() has its own executor threads, all of which are kept for runtime statistics
+	 * and shutdown().
+	 */
 	private EventExecutorGroup initializeExecutorGroup()
     {
 		if (getExecutorThreadCount() > 0)
 		{
-			return new DefaultEventExecutorGroup(getExecutorThreadCount(), Thread.ofVirtual().factory());
+			EventExecutorGroup executorGroup = new DefaultEventExecutorGroup(getExecutorThreadCount(), Thread.ofVirtual().factory());
+			executorGroups.add(executorGroup);
+			return executorGroup;
 		}
 
 		return null;
@@ -777,12 +1184,40 @@ public class RestExpress
 		bootstrap.childOption(ChannelOption.SO_KEEPALIVE, useKeepAlive());
 		bootstrap.childOption(ChannelOption.TCP_NODELAY, useTcpNoDelay());
 		bootstrap.childOption(ChannelOption.SO_LINGER, getSoLinger());
-		bootstrap.childOption(ChannelOption.ALLOCATOR, new PooledByteBufAllocator(true));
+		bootstrap.childOption(ChannelOption.ALLOCATOR, resolveAllocator());
 		bootstrap.option(ChannelOption.RECVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator());
 		bootstrap.childOption(ChannelOption.SO_RCVBUF, getReceiveBufferSize());
 		bootstrap.childOption(ChannelOption.SO_REUSEADDR, shouldReuseAddress());
 	}
 
+	/**
+	 * The allocator is created once and shared by every bind(), so its arenas, thread
+	 * caches and metrics cover all of the server's connections.
+	 */
+	private ByteBufAllocator resolveAllocator()
+	{
+		if (allocator != null) return allocator;
+
+		if (serverSettings.getAllocator() != null)
+		{
+			allocator = serverSettings.getAllocator();
+			return allocator;
+		}
+
+		int arenas = serverSettings.getAllocatorArenas();
+		int pageSize = PooledByteBufAllocator.defaultPageSize();
+		int chunkSize = serverSettings.getAllocatorChunkSize();
+		allocator = new PooledByteBufAllocator(true,
+			(arenas > 0 ? arenas : PooledByteBufAllocator.defaultNumHeapArena()),
+			(arenas > 0 ? arenas : PooledByteBufAllocator.defaultNumDirectArena()),
+			pageSize,
+			(chunkSize > 0 ? Integer.numberOfTrailingZeros(chunkSize / pageSize) : PooledByteBufAllocator.defaultMaxOrder()),
+			PooledByteBufAllocator.defaultSmallCacheSize(),
+			PooledByteBufAllocator.defaultNormalCacheSize(),
+			PooledByteBufAllocator.defaultUseCacheForAllThreads());
+		return allocator;
+	}
+
 	/**
 	 * Used in main() to install a default JVM shutdown hook and shut down the
 	 * server cleanly. Calls shutdown() when JVM termination detected. To
@@ -832,11 +1267,116 @@ public class RestExpress
 	public void shutdown(boolean shouldWait)
 	{
 		ChannelGroupFuture channelFuture = ALL_CHANNELS.close();
+		List<Future<?>> executorFutures = shutdownExecutorGroups();
 		bootstrapFactory.shutdownGracefully(shouldWait);
 		channelFuture.awaitUninterruptibly();
+
+		if (shouldWait)
+		{
+			for (Future<?> future : executorFutures)
+			{
+				future.awaitUninterruptibly();
+			}
+		}
+
 		shutdownPlugins();
 	}
 
+	/**
+	 * Shuts down the executor threads of every bind(), alongside the event loops.
+	 */
+	private List<Future<?>> shutdownExecutorGroups()
+	{
+		List<Future<?>> futures = new ArrayList<>(executorGroups.size());
+
+		for (EventExecutorGroup executorGroup : executorGroups)
+		{
+			futures.add(executorGroup.shutdownGracefully());
+		}
+
+		return futures;
+	}
+
+	/**
+	 * @return the event loops accepting connections. Null before bind().
+	 */
+	public EventLoopGroup getBossGroup()
+	{
+		return bootstrapFactory.getBossGroup();
+	}
+
+	/**
+	 * @return the event loops performing connection I/O. Null before bind().
+	 */
+	public EventLoopGroup getWorkerGroup()
+	{
+		return bootstrapFactory.getWorkerGroup();
+	}
+
+	/**
+	 * @return the ByteBuf allocator of client connections. Null before bind(), unless set
+	 * via setAllocator().
+	 */
+	public ByteBufAllocator getAllocator()
+	{
+		return (allocator != null ? allocator : serverSettings.getAllocator());
+	}
+
+	/**
+	 * @return the executor threads running the request handler for the most recent bind(). Null
+	 * before bind(), or if the server has no executor threads (see setExecutorThreadCount()).
+	 */
+	public EventExecutorGroup getExecutorGroup()
+	{
+		return (executorGroups.isEmpty() ? null : executorGroups.get(executorGroups.size() - 1));
+	}
+
+	/**
+	 * @return the executor threads running the request handler, one group per bind(). Empty
+	 * before bind(), or if the server has no executor threads.
+	 */
+	public List<EventExecutorGroup> getExecutorGroups()
+	{
+		return Collections.unmodifiableList(executorGroups);
+	}
+
+	/**
+	 * @return the number of open client connections, across every bound address. Zero before bind().
+	 */
+	public int getConnectionCount()
+	{
+		return connectionCount.get();
+	}
+
+	/**
+	 * @return the number of requests waiting for an executor thread, across every bind(). Zero
+	 * if the server has no executor threads or is not bound.
+	 */
+	public int getPendingExecutorTaskCount()
+	{
+		int count = 0;
+
+		for (EventExecutorGroup executorGroup : executorGroups)
+		{
+			for (EventExecutor executor : executorGroup)
+			{
+				if (executor instanceof SingleThreadEventExecutor)
+				{
+					count += ((SingleThreadEventExecutor) executor).pendingTasks();
+				}
+			}
+		}
+
+		return count;
+	}
+
+	private ResponseHeaderCache createResponseHeaderCache()
+	{
+		return new ResponseHeaderCache()
+			.setIncludeDate(serverSettings.shouldIncludeDateHeader())
+			.setServer(serverSettings.getServerHeader());
+	}
+
 	/**
 	 * @return
 	 */
@@ -43,6 +43,22 @@ public class ServerBootstrapFactory
 		return newNioServerBootstrap(ioThreadCount);
     }
 
+	/**
+	 * @return the event loops accepting connections. Null until a bootstrap is created.
+	 */
+	public EventLoopGroup getBossGroup()
+	{
+		return bossGroup;
+	}
+
+	/**
+	 * @return the event loops performing connection I/O. Null until a bootstrap is created.
+	 */
+	public EventLoopGroup getWorkerGroup()
+	{
+		return workerGroup;
+	}
+
 	public void shutdownGracefully(boolean shouldWait)
     {
 		Future<?> workerFuture = workerGroup.shutdownGracefully();
@@ -0,0 +1,158 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free ring of reusable log entries with many producers (the request
+ * threads) and a single consumer (the writer thread).
+ * <p/>
+ * Each slot carries a sequence number. A producer claims the slot at the tail with a CAS,
+ * formats its entry into the slot's own StringBuilder and publishes it by advancing the
+ * slot's sequence. The consumer takes published slots in order and hands each back by
+ * moving its sequence on a lap. A full ring is reported to the producer, which drops the
+ * entry rather than wait. Once the ring is sealed, on close, it is reported as full.
+ */
+class AccessLogBuffer
+{
+	private static final int INITIAL_ENTRY_CAPACITY = 256;
+
+	// Set on the tail by seal().
+	private static final long SEALED = Long.MIN_VALUE;
+
+	private final StringBuilder[] entries;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+
+	// Only read and written by the consumer.
+	private long head = 0L;
+
+	/**
+	 * @param capacity the number of entries held. Rounded up to a power of two.
+	 */
+	AccessLogBuffer(int capacity)
+	{
+		super();
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.entries = new StringBuilder[size];
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+
+		for (int i = 0; i < size; i++)
+		{
+			entries[i] = new StringBuilder(INITIAL_ENTRY_CAPACITY);
+			sequences.set(i, i);
+		}
+	}
+
+	int getCapacity()
+	{
+		return entries.length;
+	}
+
+	/**
+	 * Claims the next free slot. The caller must publish() it, whether or not it writes an entry.
+	 *
+	 * @return the sequence of the claimed slot, or -1 if the ring is full or sealed.
+	 */
+	long claim()
+	{
+		while (true)
+		{
+			long t = tail.get();
+
+			if (t < 0L) return -1L;
+
+			long sequence = sequences.get((int) t & mask);
+
+			if (sequence == t)
+			{
+				if (tail.compareAndSet(t, t + 1)) return t;
+			}
+			else if (sequence < t)
+			{
+				return -1L;
+			}
+		}
+	}
+
+	/**
+	 * @param claimed a sequence returned by claim().
+	 * @return the cleared entry of a claimed slot, to format into.
+	 */
+	StringBuilder entry(long claimed)
+	{
+		StringBuilder entry = entries[(int) claimed & mask];
+		entry.setLength(0);
+		return entry;
+	}
+
+	void publish(long claimed)
+	{
+		sequences.lazySet((int) claimed & mask, claimed + 1);
+	}
+
+	/**
+	 * Refuses any further claims.
+	 *
+	 * @return the sequence after the last slot claimed, which the consumer must reach to
+	 * take every claimed entry.
+	 */
+	long seal()
+	{
+		while (true)
+		{
+			long t = tail.get();
+
+			if (t < 0L) return t & ~SEALED;
+
+			if (tail.compareAndSet(t, t | SEALED)) return t;
+		}
+	}
+
+	/**
+	 * Consumer only.
+	 *
+	 * @return the sequence of the next entry to be taken.
+	 */
+	long getHead()
+	{
+		return head;
+	}
+
+	/**
+	 * Consumer only.
+	 *
+	 * @return the entry at the head of the ring, or null if it is not yet published.
+	 */
+	StringBuilder peek()
+	{
+		int index = (int) head & mask;
+		return (sequences.get(index) == head + 1 ? entries[index] : null);
+	}
+
+	/**
+	 * Consumer only. Frees the entry returned by peek() for reuse.
+	 */
+	void remove()
+	{
+		sequences.lazySet((int) head & mask, head + entries.length);
+		head++;
+	}
+}
@@ -0,0 +1,266 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.accesslog;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.common.exception.ConfigurationException;
+import org.restexpress.route.Route;
+
+/**
+ * Formats access log entries from a pattern of literal text and directives, in the style of
+ * the Apache HTTP server's LogFormat. The pattern is parsed once, when the format is created.
+ * <p/>
+ * Directives:
+ * <ul>
+ * <li>%h - the client IP address.</li>
+ * <li>%t - the time the request completed, e.g. [19/Oct/2026:14:05:09 +0000].</li>
+ * <li>%m - the (effective) HTTP method.</li>
+ * <li>%U - the request URI, including any query string.</li>
+ * <li>%H - the protocol, e.g. HTTP/1.1.</li>
+ * <li>%s - the response status code.</li>
+ * <li>%b - the size of the response body as written, or '-' if none was written.</li>
+ * <li>%D - the time taken to serve the request, in microseconds.</li>
+ * <li>%T - the time taken to serve the request, in milliseconds.</li>
+ * <li>%R - the matched route pattern, or '-' if no route matched.</li>
+ * <li>%{Name}i - the value of the named request header, or '-'.</li>
+ * <li>%{Name}o - the value of the named response header, or '-'.</li>
+ * <li>%% - a literal percent sign.</li>
+ * </ul>
+ */
+public class AccessLogFormat
+{
+	/**
+	 * The Common Log Format.
+	 */
+	public static final String COMMON = "%h - - %t \"%m %U %H\" %s %b";
+
+	/**
+	 * The Common Log Format, followed by the route pattern and the time taken in microseconds.
+	 */
+	public static final String DEFAULT = COMMON + " %R %D";
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+		.ofPattern("'['dd/MMM/yyyy:HH:mm:ss Z']'", Locale.US)
+		.withZone(ZoneOffset.UTC);
+
+	private final String pattern;
+	private final Element[] elements;
+
+	// The formatted timestamp for the current second, shared by all entries made within it.
+	private volatile Timestamp timestamp = new Timestamp(-1L, "");
+
+	public AccessLogFormat(String pattern)
+	{
+		super();
+		this.pattern = pattern;
+		this.elements = parse(pattern);
+	}
+
+	public String getPattern()
+	{
+		return pattern;
+	}
+
+	/**
+	 * Appends a log entry for the request to the buffer.
+	 *
+	 * @param request the completed request.
+	 * @param response its response.
+	 * @param durationNanos the time taken to serve the request.
+	 * @param out the buffer to append to.
+	 */
+	public void format(Request request, Response response, long durationNanos, StringBuilder out)
+	{
+		for (Element element : elements)
+		{
+			element.append(request, response, durationNanos, out);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return pattern;
+	}
+
+
+	// SECTION: UTILITY - PRIVATE
+
+	private Element[] parse(String pattern)
+	{
+		List<Element> parsed = new ArrayList<Element>();
+		StringBuilder literal = new StringBuilder();
+		int i = 0;
+
+		while (i < pattern.length())
+		{
+			char c = pattern.charAt(i++);
+
+			if (c != '%')
+			{
+				literal.append(c);
+				continue;
+			}
+
+			if (i >= pattern.length())
+			{
+				throw new ConfigurationException("Access log pattern ends with '%': " + pattern);
+			}
+
+			char directive = pattern.charAt(i++);
+
+			if (directive == '%')
+			{
+				literal.append('%');
+				continue;
+			}
+
+			String name = null;
+
+			if (directive == '{')
+			{
+				int end = pattern.indexOf('}', i);
+
+				if (end < 0 || end + 1 >= pattern.length())
+				{
+					throw new ConfigurationException("Unterminated %{...} in access log pattern: " + pattern);
+				}
+
+				name = pattern.substring(i, end);
+				directive = pattern.charAt(end + 1);
+				i = end + 2;
+			}
+
+			if (literal.length() > 0)
+			{
+				String text = literal.toString();
+				parsed.add((request, response, duration, out) -> out.append(text));
+				literal.setLength(0);
+			}
+
+			parsed.add(directive(directive, name, pattern));
+		}
+
+		if (literal.length() > 0)
+		{
+			String text = literal.toString();
+			parsed.add((request, response, duration, out) -> out.append(text));
+		}
+
+		return parsed.toArray(new Element[0]);
+	}
+
+	private Element directive(char directive, String name, String pattern)
+	{
+		if (name != null)
+		{
+			switch (directive)
+			{
+				case 'i': return (request, response, duration, out) -> orDash(request.getHeader(name), out);
+				case 'o': return (request, response, duration, out) -> orDash(response.getHeader(name), out);
+				default: throw new ConfigurationException("Unknown access log directive %{" + name + "}" + directive + " in: " + pattern);
+			}
+		}
+
+		switch (directive)
+		{
+			case 'h': return (request, response, duration, out) -> appendAddress(request.getRemoteAddress(), out);
+			case 't': return (request, response, duration, out) -> out.append(timestamp());
+			case 'm': return (request, response, duration, out) -> out.append(request.getEffectiveHttpMethod().name());
+			case 'U': return (request, response, duration, out) -> out.append(request.getPath());
+			case 'H': return (request, response, duration, out) -> out.append(request.getHttpVersion().text());
+			case 's': return (request, response, duration, out) -> out.append(response.getResponseStatus().code());
+			case 'b': return (request, response, duration, out) -> appendBytes(response.getBytesWritten(), out);
+			case 'D': return (request, response, duration, out) -> out.append(duration / 1000L);
+			case 'T': return (request, response, duration, out) -> out.append(duration / 1000000L);
+			case 'R': return (request, response, duration, out) -> appendRoute(request.getResolvedRoute(), out);
+			default: throw new ConfigurationException("Unknown access log directive %" + directive + " in: " + pattern);
+		}
+	}
+
+	private String timestamp()
+	{
+		long second = System.currentTimeMillis() / 1000L;
+		Timestamp current = timestamp;
+
+		if (current.second != second)
+		{
+			current = new Timestamp(second, TIMESTAMP.format(Instant.ofEpochSecond(second)));
+			timestamp = current;
+		}
+
+		return current.text;
+	}
+
+	private static void appendAddress(InetSocketAddress address, StringBuilder out)
+	{
+		if (address == null || address.getAddress() == null)
+		{
+			out.append('-');
+		}
+		else
+		{
+			out.append(address.getAddress().getHostAddress());
+		}
+	}
+
+	private static void appendRoute(Route route, StringBuilder out)
+	{
+		out.append(route != null ? route.getPattern() : "-");
+	}
+
+	/**
+	 * Like Apache's %b, writes '-' rather than zero when no body was written.
+	 */
+	private static void appendBytes(long bytes, StringBuilder out)
+	{
+		if (bytes > 0L) out.append(bytes);
+		else out.append('-');
+	}
+
+	private static void orDash(String value, StringBuilder out)
+	{
+		out.append(value != null ? value : "-");
+	}
+
+	@FunctionalInterface
+	private interface Element
+	{
+		void append(Request request, Response response, long durationNanos, StringBuilder out);
+	}
+
+	private static final class Timestamp
+	{
+		private final long second;
+		private final String text;
+
+		private Timestamp(long second, String text)
+		{
+			super();
+			this.second = second;
+			this.text = text;
+		}
+	}
+}
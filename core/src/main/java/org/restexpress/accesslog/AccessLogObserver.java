@@ -0,0 +1,322 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.accesslog;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.MessageObserver;
+
+/**
+ * Writes an access log entry for every completed request, without blocking the request
+ * threads on I/O or a lock. Unlike SimpleConsoleLogMessageObserver, which builds each line
+ * in a new StringBuffer and calls System.out.println() on the request thread, entries are
+ * formatted into reusable buffers in a lock-free ring (see {@link AccessLogFormat} for the
+ * pattern) and written out in batches by a background thread, which flushes once per batch.
+ * <p/>
+ * If the writer falls behind and the ring fills up, entries are dropped, not queued, and
+ * counted (see {@link #getDroppedCount()}).
+ * <p/>
+ * The request duration is taken from the request's PhaseTimings, so it covers the request from
+ * dispatch until the response is written.
+ * <p/>
+ * Usage:
+ * <pre>
+ * AccessLogObserver accessLog = new AccessLogObserver(new File("access.log"));
+ * server.addMessageObserver(accessLog);
+ * ...
+ * server.shutdown();
+ * accessLog.close();
+ * </pre>
+ */
+public class AccessLogObserver
+extends MessageObserver
+implements Closeable
+{
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final AccessLogFormat format;
+	private final AccessLogBuffer buffer;
+	private final Writer out;
+	private final boolean shouldCloseOutput;
+	private final Thread writerThread;
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private volatile boolean isRunning = true;
+
+	// Only used by the writer thread.
+	private char[] chars = new char[1024];
+
+	/**
+	 * Logs to the given stream (e.g. System.out) in the default format. The stream is
+	 * flushed, but not closed, by close().
+	 */
+	public AccessLogObserver(OutputStream out)
+	{
+		this(out, AccessLogFormat.DEFAULT, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param out the stream to log to. Flushed, but not closed, by close().
+	 * @param pattern the entry format. See {@link AccessLogFormat}.
+	 * @param capacity the number of entries that can be waiting to be written before entries
+	 * are dropped.
+	 */
+	public AccessLogObserver(OutputStream out, String pattern, int capacity)
+	{
+		this(out, false, pattern, capacity);
+	}
+
+	/**
+	 * Appends to the given file in the default format.
+	 */
+	public AccessLogObserver(File file)
+	throws FileNotFoundException
+	{
+		this(file, AccessLogFormat.DEFAULT, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param file the file to append to. Closed by close().
+	 * @param pattern the entry format. See {@link AccessLogFormat}.
+	 * @param capacity the number of entries that can be waiting to be written before entries
+	 * are dropped.
+	 */
+	public AccessLogObserver(File file, String pattern, int capacity)
+	throws FileNotFoundException
+	{
+		this(new FileOutputStream(file, true), true, pattern, capacity);
+	}
+
+	private AccessLogObserver(OutputStream out, boolean shouldCloseOutput, String pattern, int capacity)
+	{
+		super();
+		this.format = new AccessLogFormat(pattern);
+		this.buffer = new AccessLogBuffer(capacity);
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		this.shouldCloseOutput = shouldCloseOutput;
+		this.writerThread = new Thread(this::writeEntries, "access-log-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	public AccessLogFormat getFormat()
+	{
+		return format;
+	}
+
+	/**
+	 * @return the number of entries dropped because the ring was full (or the output failed).
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.sum();
+	}
+
+	/**
+	 * @return the number of entries written.
+	 */
+	public long getWrittenCount()
+	{
+		return written.sum();
+	}
+
+	@Override
+	protected void onComplete(Request request, Response response)
+	{
+		if (!isRunning) return;
+
+		long claimed = buffer.claim();
+
+		if (claimed < 0L)
+		{
+			dropped.increment();
+			return;
+		}
+
+		StringBuilder entry = buffer.entry(claimed);
+		boolean isFormatted = false;
+
+		try
+		{
+			format.format(request, response, request.getPhaseTimings().getTotalNanos(), entry);
+			entry.append('\n');
+			isFormatted = true;
+		}
+		finally
+		{
+			// A published slot must be consumed, so a failed entry is published empty.
+			if (!isFormatted) entry.setLength(0);
+
+			buffer.publish(claimed);
+		}
+	}
+
+	/**
+	 * Writes out the entries waiting in the ring, including any still being formatted, stops
+	 * the writer thread and, if the log was opened on a file, closes it. Entries completed
+	 * after this are dropped.
+	 */
+	@Override
+	public void close()
+	throws IOException
+	{
+		if (!isRunning) return;
+
+		isRunning = false;
+		LockSupport.unpark(writerThread);
+
+		try
+		{
+			writerThread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		if (shouldCloseOutput)
+		{
+			out.close();
+		}
+		else
+		{
+			out.flush();
+		}
+	}
+
+
+	// SECTION: UTILITY - PRIVATE
+
+	private void writeEntries()
+	{
+		while (true)
+		{
+			// Read the flag first so that entries published before close() are written.
+			boolean isStopping = !isRunning;
+			int count = writeBatch();
+
+			if (count > 0)
+			{
+				flush();
+			}
+			else if (isStopping)
+			{
+				drain();
+				return;
+			}
+			else
+			{
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+		}
+	}
+
+	/**
+	 * Seals the ring and writes every entry claimed before then, waiting for those that are
+	 * still being formatted to be published. Claims after the seal fail and are counted as
+	 * dropped by the producer.
+	 */
+	private void drain()
+	{
+		long end = buffer.seal();
+
+		while (buffer.getHead() < end)
+		{
+			if (writeBatch() == 0)
+			{
+				Thread.yield();
+			}
+		}
+
+		flush();
+	}
+
+	/**
+	 * Writes every published entry to the (buffered) output.
+	 *
+	 * @return the number of entries taken from the ring.
+	 */
+	private int writeBatch()
+	{
+		int count = 0;
+		int lines = 0;
+		StringBuilder entry;
+
+		while ((entry = buffer.peek()) != null)
+		{
+			int length = entry.length();
+
+			if (length > chars.length)
+			{
+				chars = new char[Math.max(length, chars.length * 2)];
+			}
+
+			entry.getChars(0, length, chars, 0);
+			buffer.remove();
+			count++;
+
+			if (length == 0) continue;
+
+			try
+			{
+				out.write(chars, 0, length);
+				lines++;
+			}
+			catch (IOException e)
+			{
+				dropped.increment();
+				reportFailure(e);
+			}
+		}
+
+		written.add(lines);
+		return count;
+	}
+
+	private void flush()
+	{
+		try
+		{
+			out.flush();
+		}
+		catch (IOException e)
+		{
+			reportFailure(e);
+		}
+	}
+
+	private void reportFailure(IOException e)
+	{
+		System.err.println("Access log write failed: " + e.getMessage());
+	}
+}
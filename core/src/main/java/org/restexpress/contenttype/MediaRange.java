@@ -15,11 +15,10 @@
 */
 package org.restexpress.contenttype;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A MediaRange is a single segment parsed from an Accept or Content-Type header.
@@ -29,16 +28,11 @@ import java.util.regex.Pattern;
  */
 public class MediaRange
 {
-	private static final String MEDIA_TYPE_REGEX = "(\\S+?|\\*)/(\\S+?|\\*)";
-	private static final Pattern MEDIA_TYPE_PATTERN = Pattern.compile(MEDIA_TYPE_REGEX);
-	private static final String PARAMETER_REGEX = "(\\w+?)(?:\\s*?=\\s*?(\\S+?))";
-	private static final Pattern PARAMETER_PATTERN = Pattern.compile(PARAMETER_REGEX);
-
 	String name;
 	String type;
 	String subtype;
 	float qvalue = 1.0f;
-	Map<String, String> parameters = new HashMap<>();
+	Map<String, String> parameters = Collections.emptyMap();
 
 	public MediaRange(String value)
 	{
@@ -47,38 +41,30 @@ public class MediaRange
 
 	public static MediaRange parse(String segment)
 	{
-		MediaRange r = new MediaRange(segment);
-		String[] pieces = segment.split("\\s*;\\s*");
-		Matcher x = MEDIA_TYPE_PATTERN.matcher(pieces[0]);
+		return parse(segment, 0, segment.length());
+	}
 
-		if (x.matches())
-		{
-			r.type = x.group(1);
-			r.subtype = x.group(2);
-		}
-		
-		for (int i = 1; i < pieces.length; ++i)
-		{
-			Matcher p = PARAMETER_PATTERN.matcher(pieces[i]);
-			
-			if (p.matches())
-			{
-				String token = p.group(1);
-				String value = p.group(2);
+	/**
+	 * Parses a single media range from the given region of an Accept or Content-Type header
+	 * (RFC 7231, section 5.3.2) in a single pass: type "/" subtype *( OWS ";" OWS parameter ).
+	 * Parameter values may be tokens or quoted-strings. A parameter without a value is ignored.
+	 * If the type/subtype is malformed, type and subtype are left null.
+	 * 
+	 * @param header the header value.
+	 * @param start the start index of the media range (inclusive).
+	 * @param end the end index of the media range (exclusive).
+	 * @return a new MediaRange.
+	 */
+	static MediaRange parse(String header, int start, int end)
+	{
+		start = skipWhitespace(header, start, end);
+		end = trimWhitespace(header, start, end);
+		MediaRange r = new MediaRange(header.substring(start, end));
+		int i = parseMediaType(r, header, start, end);
 
-				if ("q".equalsIgnoreCase(token))
-				{
-					r.qvalue = Float.parseFloat(value);
-				}
-				else if (value != null)
-				{
-					r.parameters.put(token, value);
-				}
-				else
-				{
-					r.parameters.put(token, null);
-				}
-			}
+		while (i < end)
+		{
+			i = parseParameter(r, header, i + 1, end);
 		}
 
 		return r;
@@ -104,7 +90,7 @@ public class MediaRange
 			if (entry.getValue() != null)
 			{
 				b.append("=");
-				b.append(entry.getValue());
+				appendValue(b, entry.getValue());
 			}
 		}
 
@@ -180,4 +166,240 @@ public class MediaRange
 	{
 		return this.getClass().hashCode() + name.hashCode() + parameters.hashCode() + (int) (qvalue * 10.0);
 	}
+
+
+	// SECTION: TOKENIZER
+
+	/**
+	 * Parses the type/subtype from the region, setting them on the MediaRange if well-formed.
+	 * 
+	 * @return the index of the first parameter delimiter (';'), or end.
+	 */
+	private static int parseMediaType(MediaRange r, String header, int start, int end)
+	{
+		int slash = -1;
+		boolean isValid = true;
+		int i = start;
+
+		for (; i < end; i++)
+		{
+			char c = header.charAt(i);
+
+			if (c == ';') break;
+
+			if (c == '/' && slash < 0)
+			{
+				slash = i;
+			}
+			else if (isWhitespace(c))
+			{
+				// Whitespace is only allowed before the parameter delimiter.
+				int next = skipWhitespace(header, i, end);
+				isValid &= (next == end || header.charAt(next) == ';');
+				i = next - 1;
+			}
+		}
+
+		int typeEnd = trimWhitespace(header, start, i);
+
+		if (isValid && slash > start && slash < typeEnd - 1)
+		{
+			r.type = header.substring(start, slash);
+			r.subtype = header.substring(slash + 1, typeEnd);
+		}
+
+		return i;
+	}
+
+	/**
+	 * Parses a single name=value parameter starting at 'start', adding it to the MediaRange.
+	 * Malformed parameters are skipped.
+	 * 
+	 * @return the index of the next parameter delimiter (';'), or end.
+	 */
+	private static int parseParameter(MediaRange r, String header, int start, int end)
+	{
+		int nameStart = skipWhitespace(header, start, end);
+		int i = nameStart;
+
+		while (i < end && isTokenChar(header.charAt(i)))
+		{
+			i++;
+		}
+
+		int nameEnd = i;
+		i = skipWhitespace(header, i, end);
+
+		if (nameEnd == nameStart || i == end || header.charAt(i) != '=')
+		{
+			return nextDelimiter(header, i, end);
+		}
+
+		i = skipWhitespace(header, i + 1, end);
+		String value;
+
+		if (i < end && header.charAt(i) == '"')
+		{
+			StringBuilder b = new StringBuilder();
+
+			for (i++; i < end && header.charAt(i) != '"'; i++)
+			{
+				char c = header.charAt(i);
+
+				if (c == '\\' && i + 1 < end)
+				{
+					c = header.charAt(++i);
+				}
+
+				b.append(c);
+			}
+
+			if (i == end)
+			{
+				return end;	// Unterminated quoted-string.
+			}
+
+			value = b.toString();
+			i++;
+		}
+		else
+		{
+			int valueStart = i;
+
+			while (i < end && header.charAt(i) != ';' && !isWhitespace(header.charAt(i)))
+			{
+				i++;
+			}
+
+			if (i == valueStart)
+			{
+				return nextDelimiter(header, i, end);
+			}
+
+			value = header.substring(valueStart, i);
+		}
+
+		i = skipWhitespace(header, i, end);
+
+		if (i < end && header.charAt(i) != ';')
+		{
+			return nextDelimiter(header, i, end);
+		}
+
+		String name = header.substring(nameStart, nameEnd);
+
+		if ("q".equalsIgnoreCase(name))
+		{
+			r.qvalue = Float.parseFloat(value);
+		}
+		else
+		{
+			if (r.parameters.isEmpty())
+			{
+				r.parameters = new HashMap<>(4);
+			}
+
+			r.parameters.put(name, value);
+		}
+
+		return i;
+	}
+
+	/**
+	 * Returns the index of the next ';' at or after 'start' that is not within a quoted-string, or end.
+	 */
+	private static int nextDelimiter(String header, int start, int end)
+	{
+		boolean isQuoted = false;
+
+		for (int i = start; i < end; i++)
+		{
+			char c = header.charAt(i);
+
+			if (c == '"')
+			{
+				isQuoted = !isQuoted;
+			}
+			else if (c == '\\' && isQuoted)
+			{
+				i++;
+			}
+			else if (c == ';' && !isQuoted)
+			{
+				return i;
+			}
+		}
+
+		return end;
+	}
+
+	private static void appendValue(StringBuilder b, String value)
+	{
+		for (int i = 0; i < value.length(); i++)
+		{
+			if (!isTokenChar(value.charAt(i)))
+			{
+				b.append('"');
+
+				for (int j = 0; j < value.length(); j++)
+				{
+					char c = value.charAt(j);
+
+					if (c == '"' || c == '\\')
+					{
+						b.append('\\');
+					}
+
+					b.append(c);
+				}
+
+				b.append('"');
+				return;
+			}
+		}
+
+		b.append(value);
+	}
+
+	static int skipWhitespace(String s, int start, int end)
+	{
+		while (start < end && isWhitespace(s.charAt(start)))
+		{
+			start++;
+		}
+
+		return start;
+	}
+
+	static int trimWhitespace(String s, int start, int end)
+	{
+		while (end > start && isWhitespace(s.charAt(end - 1)))
+		{
+			end--;
+		}
+
+		return end;
+	}
+
+	private static boolean isWhitespace(char c)
+	{
+		return (c == ' ' || c == '\t');
+	}
+
+	/**
+	 * RFC 7230 tchar.
+	 */
+	private static boolean isTokenChar(char c)
+	{
+		if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9') return true;
+
+		switch (c)
+		{
+			case '!': case '#': case '$': case '%': case '&': case '\'': case '*':
+			case '+': case '-': case '.': case '^': case '_': case '`': case '|': case '~':
+				return true;
+			default:
+				return false;
+		}
+	}
 }
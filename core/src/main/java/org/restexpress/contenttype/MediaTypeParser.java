@@ -37,7 +37,8 @@ public class MediaTypeParser
 	/**
 	 * Parses a Content-Type or Accept header into an ordered List of MediaRange
 	 * instances, which in turn can be used to determine which media type is most
-	 * appropriate for serialization.
+	 * appropriate for serialization. Commas within quoted-string parameter values
+	 * do not separate media ranges.
 	 * 
 	 * @param mediaType
 	 * @return a List of MediaRange instances parsed from the mediaType string.
@@ -46,17 +47,45 @@ public class MediaTypeParser
 	{
 		if (mediaType == null) return Collections.emptyList();
 
-		String[] segments = mediaType.split("\\s*,\\s*");
-		List<MediaRange> items = new ArrayList<>();
+		List<MediaRange> items = new ArrayList<>(4);
+		int length = mediaType.length();
+		int start = 0;
+		boolean isQuoted = false;
 
-		for (String segment : segments)
+		for (int i = 0; i < length; i++)
 		{
-			items.add(MediaRange.parse(segment));
+			char c = mediaType.charAt(i);
+
+			if (c == '"')
+			{
+				isQuoted = !isQuoted;
+			}
+			else if (c == '\\' && isQuoted)
+			{
+				i++;
+			}
+			else if (c == ',' && !isQuoted)
+			{
+				addMediaRange(items, mediaType, start, i);
+				start = i + 1;
+			}
 		}
 
+		addMediaRange(items, mediaType, start, length);
 		return items;
 	}
 
+	/**
+	 * Parses the media range in the given region, ignoring empty list elements (RFC 7230, section 7).
+	 */
+	private static void addMediaRange(List<MediaRange> items, String mediaType, int start, int end)
+	{
+		if (MediaRange.skipWhitespace(mediaType, start, end) < end)
+		{
+			items.add(MediaRange.parse(mediaType, start, end));
+		}
+	}
+
 	/**
 	 * Given a List of supported MediaRanges and requested MediaRanges, returns the single best
 	 * match in Content-Type header format.
@@ -0,0 +1,62 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for an exception thrown in the pipeline and the exception (and
+ * HTTP status) it was mapped to for the response.
+ */
+@Name(ExceptionMappingEvent.NAME)
+@Label("Exception Mapping")
+@Category("RestExpress")
+@Description("An exception mapped to an HTTP response")
+public class ExceptionMappingEvent
+extends jdk.jfr.Event
+{
+	public static final String NAME = "org.restexpress.ExceptionMapping";
+
+	@Label("Exception")
+	@Description("The exception thrown")
+	public Class<?> exception;
+
+	@Label("Mapped To")
+	@Description("The ServiceException it was mapped to, or the root cause if unmapped")
+	public Class<?> mapped;
+
+	@Label("Status")
+	public int status;
+
+	/**
+	 * Record an exception mapping, if the event is enabled.
+	 */
+	public static void emit(Throwable exception, Throwable mapped, int status)
+	{
+		ExceptionMappingEvent event = new ExceptionMappingEvent();
+
+		if (event.shouldCommit())
+		{
+			event.exception = exception.getClass();
+			event.mapped = (mapped != null ? mapped.getClass() : null);
+			event.status = status;
+			event.commit();
+		}
+	}
+}
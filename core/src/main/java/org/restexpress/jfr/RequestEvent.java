@@ -0,0 +1,63 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event spanning a request, from the request handler receiving it to the
+ * response being written and the observers notified. Its duration covers the whole pipeline
+ * (routing, processors, controller, serialization and write), so it lines up against GC,
+ * allocation and lock events in the same recording.
+ * <p/>
+ * Created per request and only populated if {@link #shouldCommit()}, so with Flight Recorder
+ * off (or the event disabled) the cost is a branch.
+ */
+@Name(RequestEvent.NAME)
+@Label("HTTP Request")
+@Category("RestExpress")
+@Description("An HTTP request processed by the RestExpress pipeline")
+public class RequestEvent
+extends jdk.jfr.Event
+{
+	public static final String NAME = "org.restexpress.Request";
+
+	@Label("Method")
+	public String method;
+
+	@Label("Path")
+	public String path;
+
+	@Label("Route")
+	@Description("The matched route pattern, or null if no route matched")
+	public String route;
+
+	@Label("Status")
+	public int status;
+
+	@Label("Request Bytes")
+	@DataAmount
+	public long requestBytes;
+
+	@Label("Response Bytes")
+	@DataAmount
+	@Description("The response body size, or -1 if unknown")
+	public long responseBytes;
+}
@@ -0,0 +1,60 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for a request that matched no route, answered with a 404 (Not Found)
+ * or, if the path matched for other methods, a 405 (Method Not Allowed).
+ */
+@Name(RouteMissEvent.NAME)
+@Label("Route Miss")
+@Category("RestExpress")
+@Description("A request that could not be resolved to a route")
+public class RouteMissEvent
+extends jdk.jfr.Event
+{
+	public static final String NAME = "org.restexpress.RouteMiss";
+
+	@Label("Method")
+	public String method;
+
+	@Label("Path")
+	public String path;
+
+	@Label("Status")
+	public int status;
+
+	/**
+	 * Record a route miss, if the event is enabled.
+	 */
+	public static void emit(String method, String path, int status)
+	{
+		RouteMissEvent event = new RouteMissEvent();
+
+		if (event.shouldCommit())
+		{
+			event.method = method;
+			event.path = path;
+			event.status = status;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event spanning the serialization of a response body.
+ */
+@Name(SerializationEvent.NAME)
+@Label("Response Serialization")
+@Category("RestExpress")
+@Description("Serialization of a response body")
+public class SerializationEvent
+extends jdk.jfr.Event
+{
+	public static final String NAME = "org.restexpress.Serialization";
+
+	@Label("Processor")
+	@Description("The SerializationProcessor implementation")
+	public Class<?> processor;
+
+	@Label("Type")
+	@Description("The class of the serialized body, or null for an empty body")
+	public Class<?> type;
+
+	@Label("Media Type")
+	public String mediaType;
+
+	@Label("Size")
+	@DataAmount
+	public long bytes;
+}
@@ -0,0 +1,140 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Count-Min Sketch: estimates how often each key was added, in fixed memory (depth rows of
+ * width counters) however many distinct keys there are. Adding a key increments one counter
+ * per row, chosen by hashing; its estimate is the smallest of those counters. Estimates never
+ * fall short of the true count and exceed it by at most e/width of the total, with probability
+ * 1 - e^-depth.
+ * <p/>
+ * Counters are incremented atomically, so adding is lock-free.
+ */
+class CountMinSketch
+{
+	private static final int SEED_STEP = 0x9e3779b9;
+
+	private final AtomicLongArray counters;
+	private final int[] seeds;
+	private final int mask;
+
+	/**
+	 * @param depth the number of rows (hash functions).
+	 * @param width the number of counters per row, rounded up to a power of two.
+	 */
+	CountMinSketch(int depth, int width)
+	{
+		super();
+		int size = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+		this.mask = size - 1;
+		this.counters = new AtomicLongArray(depth * size);
+		this.seeds = new int[depth];
+
+		for (int row = 0; row < depth; row++)
+		{
+			seeds[row] = fmix((row + 1) * SEED_STEP);
+		}
+	}
+
+	/**
+	 * Counts one occurrence of the key.
+	 * 
+	 * @return the estimated count of the key, including this occurrence.
+	 */
+	long add(String key)
+	{
+		long estimate = Long.MAX_VALUE;
+
+		for (int row = 0; row < seeds.length; row++)
+		{
+			estimate = Math.min(estimate, counters.incrementAndGet(index(row, key)));
+		}
+
+		return estimate;
+	}
+
+	/**
+	 * @return the estimated count of the key.
+	 */
+	long estimate(String key)
+	{
+		long estimate = Long.MAX_VALUE;
+
+		for (int row = 0; row < seeds.length; row++)
+		{
+			estimate = Math.min(estimate, counters.get(index(row, key)));
+		}
+
+		return estimate;
+	}
+
+	/**
+	 * Each row hashes the key's characters with its own seed, within its own range of counters.
+	 * Keys whose String.hashCode() collide (e.g. "Aa" and "BB") still land independently in
+	 * each row.
+	 */
+	private int index(int row, String key)
+	{
+		return (row * (mask + 1)) + (hash(key, seeds[row]) & mask);
+	}
+
+	/**
+	 * MurmurHash3 (x86, 32-bit) over the UTF-16 characters of the key, two per block.
+	 */
+	private static int hash(String key, int seed)
+	{
+		int h = seed;
+		int length = key.length();
+		int i = 0;
+
+		for (; i + 1 < length; i += 2)
+		{
+			h ^= mixK(key.charAt(i) | (key.charAt(i + 1) << 16));
+			h = Integer.rotateLeft(h, 13);
+			h = (h * 5) + 0xe6546b64;
+		}
+
+		if (i < length)
+		{
+			h ^= mixK(key.charAt(i));
+		}
+
+		return fmix(h ^ (length * 2));
+	}
+
+	private static int mixK(int k)
+	{
+		k *= 0xcc9e2d51;
+		k = Integer.rotateLeft(k, 15);
+		return k * 0x1b873593;
+	}
+
+	/**
+	 * The MurmurHash3 finalizer, spreading the hash over all bits.
+	 */
+	private static int fmix(int h)
+	{
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
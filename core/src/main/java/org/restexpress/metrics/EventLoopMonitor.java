@@ -0,0 +1,152 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * Watches for event loops that stop responding: blocking work running on a Netty I/O
+ * thread, or an executor group too busy to keep up. Every probe interval, a background thread
+ * submits an {@link EventLoopProbe} to each monitored event loop, measuring how long it waits
+ * to run (scheduling delay) and how many tasks are queued ahead of it.
+ * <p/>
+ * A probe still waiting after the stall threshold is counted as a stall and, if a stall
+ * output is set, the stack of the stalled thread is printed to it, then again each threshold
+ * period for as long as the stall lasts.
+ * <p/>
+ * Usage, with the {@link MetricsPlugin} monitoring the server's groups and exporting the results:
+ * <pre>
+ * new MetricsPlugin()
+ *     .eventLoopMonitor(new EventLoopMonitor(100, 1000, TimeUnit.MILLISECONDS).logStalls(System.err))
+ *     .register(server);
+ * </pre>
+ */
+public class EventLoopMonitor
+{
+	private final long intervalNanos;
+	private final long stallNanos;
+	private final List<EventLoopProbe> probes = new CopyOnWriteArrayList<EventLoopProbe>();
+	private PrintStream stallOutput = null;
+	private ScheduledExecutorService scheduler = null;
+
+	/**
+	 * @param probeInterval how often each event loop is probed.
+	 * @param stallThreshold how long a probe may wait before its event loop is considered stalled.
+	 * @param unit the unit of the interval and threshold.
+	 */
+	public EventLoopMonitor(long probeInterval, long stallThreshold, TimeUnit unit)
+	{
+		super();
+		this.intervalNanos = unit.toNanos(probeInterval);
+		this.stallNanos = unit.toNanos(stallThreshold);
+	}
+
+	/**
+	 * Print the stack of stalled threads to the given stream (e.g. System.err). Null, the
+	 * default, only counts stalls.
+	 */
+	public EventLoopMonitor logStalls(PrintStream out)
+	{
+		this.stallOutput = out;
+		return this;
+	}
+
+	/**
+	 * Probe every event loop in the group. Null groups are ignored.
+	 *
+	 * @param name the group name, reported with each of its event loops (e.g. "worker").
+	 * @param group the event loops to probe.
+	 */
+	public EventLoopMonitor monitor(String name, EventExecutorGroup group)
+	{
+		if (group == null) return this;
+
+		int index = 0;
+
+		for (EventExecutor executor : group)
+		{
+			probes.add(new EventLoopProbe(name, index++, executor));
+		}
+
+		return this;
+	}
+
+	/**
+	 * @return a probe for each monitored event loop, in the order monitored.
+	 */
+	public List<EventLoopProbe> getProbes()
+	{
+		return Collections.unmodifiableList(probes);
+	}
+
+	/**
+	 * @return the number of stalls detected across all event loops.
+	 */
+	public long getStallCount()
+	{
+		long count = 0L;
+
+		for (EventLoopProbe probe : probes)
+		{
+			count += probe.getStallCount();
+		}
+
+		return count;
+	}
+
+	public synchronized void start()
+	{
+		if (scheduler != null) return;
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "event-loop-monitor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::probe, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public synchronized void stop()
+	{
+		if (scheduler != null)
+		{
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Probes each event loop once. Called by the monitor thread every interval.
+	 */
+	void probe()
+	{
+		long now = System.nanoTime();
+
+		for (EventLoopProbe probe : probes)
+		{
+			probe.probe(now, stallNanos, stallOutput);
+		}
+	}
+}
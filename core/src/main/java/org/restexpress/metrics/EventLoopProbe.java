@@ -0,0 +1,206 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * Measures the responsiveness of a single event loop (or executor thread) for the
+ * {@link EventLoopMonitor}. Each probe submits a no-op task to the executor and records how
+ * long it waited to run: the scheduling delay. A loop busy with blocking work, or an executor
+ * with a backlog of requests, shows up as a growing delay and pending task count.
+ * <p/>
+ * A probe still waiting to run after the stall threshold counts as a stall. The thread that
+ * last ran the probe is remembered so its stack can be sampled while it is stalled.
+ */
+public class EventLoopProbe
+implements Runnable
+{
+	private final String group;
+	private final String index;
+	private final EventExecutor executor;
+	private final LatencyHistogram delays = new LatencyHistogram(1);
+
+	// Written by the monitor thread.
+	private volatile long submittedAt = 0L;
+	private volatile boolean isPending = false;
+	private long nextSampleAt = 0L;
+	private volatile long stallCount = 0L;
+	private volatile int pendingTasks = 0;
+
+	// Written by the probed thread.
+	private volatile long lastDelayNanos = 0L;
+	private volatile Thread thread = null;
+
+	public EventLoopProbe(String group, int index, EventExecutor executor)
+	{
+		super();
+		this.group = group;
+		this.index = String.valueOf(index);
+		this.executor = executor;
+	}
+
+	public String getGroup()
+	{
+		return group;
+	}
+
+	public String getIndex()
+	{
+		return index;
+	}
+
+	public EventExecutor getExecutor()
+	{
+		return executor;
+	}
+
+	/**
+	 * @return the histogram of scheduling delays.
+	 */
+	public LatencyHistogram getDelays()
+	{
+		return delays;
+	}
+
+	/**
+	 * @return the scheduling delay of the latest probe to run, in nanoseconds.
+	 */
+	public long getLastDelayNanos()
+	{
+		return lastDelayNanos;
+	}
+
+	/**
+	 * @return the number of tasks waiting in the executor's queue when last probed, or -1 if
+	 * the executor does not report it.
+	 */
+	public int getPendingTasks()
+	{
+		return pendingTasks;
+	}
+
+	/**
+	 * @return the number of stalls detected: probes found still waiting past the stall threshold.
+	 */
+	public long getStallCount()
+	{
+		return stallCount;
+	}
+
+	/**
+	 * @return true if a probe is waiting to run.
+	 */
+	public boolean isPending()
+	{
+		return isPending;
+	}
+
+	@Override
+	public void run()
+	{
+		lastDelayNanos = System.nanoTime() - submittedAt;
+		thread = Thread.currentThread();
+		delays.recordNanos(lastDelayNanos);
+		isPending = false;
+	}
+
+	/**
+	 * Called by the monitor each interval: samples the pending task count and submits a new
+	 * probe, unless the previous one is still waiting, in which case it checks for a stall.
+	 *
+	 * @param now the current System.nanoTime().
+	 * @param stallNanos the stall threshold.
+	 * @param out where to print the stack of a stalled thread, or null for none.
+	 */
+	void probe(long now, long stallNanos, PrintStream out)
+	{
+		pendingTasks = (executor instanceof SingleThreadEventExecutor
+			? ((SingleThreadEventExecutor) executor).pendingTasks()
+			: -1);
+
+		if (isPending)
+		{
+			checkStall(now, stallNanos, out);
+			return;
+		}
+
+		if (executor.isShuttingDown()) return;
+
+		submittedAt = now;
+		nextSampleAt = now + stallNanos;
+		isPending = true;
+
+		try
+		{
+			executor.execute(this);
+		}
+		catch (RejectedExecutionException e)
+		{
+			isPending = false;
+		}
+	}
+
+	/**
+	 * A stall is counted once, when the probe first passes the threshold. While it remains
+	 * stalled, the thread's stack is sampled once per threshold period.
+	 */
+	private void checkStall(long now, long stallNanos, PrintStream out)
+	{
+		if (now < nextSampleAt) return;
+
+		if (nextSampleAt == submittedAt + stallNanos)
+		{
+			stallCount++;
+		}
+
+		nextSampleAt += stallNanos;
+
+		if (out != null)
+		{
+			printStack(now, out);
+		}
+	}
+
+	private void printStack(long now, PrintStream out)
+	{
+		Thread stalled = thread;
+		StringBuilder sb = new StringBuilder(1024)
+			.append("Event loop ").append(group).append('-').append(index)
+			.append(" stalled for ").append(TimeUnit.NANOSECONDS.toMillis(now - submittedAt)).append("ms");
+
+		if (stalled == null)
+		{
+			sb.append(" (thread not yet known)");
+		}
+		else
+		{
+			sb.append(" in thread \"").append(stalled.getName()).append('"');
+
+			for (StackTraceElement element : stalled.getStackTrace())
+			{
+				sb.append("\n\tat ").append(element);
+			}
+		}
+
+		out.println(sb);
+	}
+}
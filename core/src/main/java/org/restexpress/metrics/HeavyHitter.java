@@ -0,0 +1,50 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+/**
+ * A key (route, client address or user agent) found among the most frequent by a
+ * {@link HeavyHitterTracker}, with its estimated request count. The estimate comes from a
+ * Count-Min Sketch, so it may overstate the true count, never understate it.
+ */
+public class HeavyHitter
+{
+	private final String key;
+	private final long count;
+
+	public HeavyHitter(String key, long count)
+	{
+		super();
+		this.key = key;
+		this.count = count;
+	}
+
+	public String getKey()
+	{
+		return key;
+	}
+
+	public long getCount()
+	{
+		return count;
+	}
+
+	@Override
+	public String toString()
+	{
+		return key + "=" + count;
+	}
+}
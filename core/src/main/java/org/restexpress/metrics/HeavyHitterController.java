@@ -0,0 +1,70 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.metrics.HeavyHitterTracker.Dimension;
+
+/**
+ * Serves the admin route of the {@link HeavyHitterPlugin}:
+ * <ul>
+ * <li>GET returns the window length (windowSeconds) and, for the current window (current) and
+ * the last complete one (previous), the request count (requests) and the top routes (route),
+ * client addresses (client) and user agents (userAgent), most frequent first.</li>
+ * <li>DELETE discards the counts.</li>
+ * </ul>
+ */
+public class HeavyHitterController
+{
+	private final HeavyHitterTracker tracker;
+
+	public HeavyHitterController(HeavyHitterTracker tracker)
+	{
+		super();
+		this.tracker = tracker;
+	}
+
+	public Map<String, Object> read(Request request, Response response)
+	{
+		Map<String, Object> current = new LinkedHashMap<String, Object>();
+		Map<String, Object> previous = new LinkedHashMap<String, Object>();
+		current.put("requests", tracker.getRequestCount());
+		previous.put("requests", tracker.getPreviousRequestCount());
+
+		for (Dimension dimension : Dimension.values())
+		{
+			current.put(dimension.getLabel(), tracker.getTop(dimension));
+			previous.put(dimension.getLabel(), tracker.getPreviousTop(dimension));
+		}
+
+		Map<String, Object> report = new LinkedHashMap<String, Object>();
+		report.put("windowSeconds", tracker.getWindow(TimeUnit.SECONDS));
+		report.put("current", current);
+		report.put("previous", previous);
+		return report;
+	}
+
+	public void clear(Request request, Response response)
+	{
+		tracker.clear();
+		response.setResponseNoContent();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.restexpress.RestExpress;
+import org.restexpress.plugin.RoutePlugin;
+import org.restexpress.route.RouteBuilder;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Tracks the top routes, client addresses and user agents with a {@link HeavyHitterTracker}
+ * and reports them on an admin route, "/heavy-hitters" by default. See
+ * {@link HeavyHitterController} for the report. To also export them as metrics, hand the
+ * tracker to the {@link MetricsPlugin}.
+ * <p/>
+ * Usage:
+ * <pre>
+ * HeavyHitterPlugin heavyHitters = new HeavyHitterPlugin().top(20);
+ * heavyHitters.flag("internal")
+ *     .register(server);
+ * new MetricsPlugin()
+ *     .heavyHitters(heavyHitters.getTracker())
+ *     .register(server);
+ * </pre>
+ */
+public class HeavyHitterPlugin
+extends RoutePlugin
+{
+	private static final String DEFAULT_URI = "/heavy-hitters";
+	private static final int DEFAULT_TOP_COUNT = 10;
+	private static final long DEFAULT_WINDOW_SECONDS = 60L;
+
+	private final String uri;
+	private int topCount = DEFAULT_TOP_COUNT;
+	private long windowSeconds = DEFAULT_WINDOW_SECONDS;
+	private int trustedProxies = 0;
+	private HeavyHitterTracker tracker;
+
+	public HeavyHitterPlugin()
+	{
+		this(DEFAULT_URI);
+	}
+
+	public HeavyHitterPlugin(String uri)
+	{
+		super();
+		this.uri = uri;
+	}
+
+	/**
+	 * Sets the number of keys reported per dimension. Defaults to 10.
+	 */
+	public HeavyHitterPlugin top(int count)
+	{
+		this.topCount = count;
+		return this;
+	}
+
+	/**
+	 * Sets the length of the counting window. Defaults to one minute.
+	 */
+	public HeavyHitterPlugin window(long window, TimeUnit unit)
+	{
+		this.windowSeconds = Math.max(1L, unit.toSeconds(window));
+		return this;
+	}
+
+	/**
+	 * Sets whether client addresses are taken from the X-Forwarded-For and Forwarded headers,
+	 * as added by a single trusted proxy. Defaults to false. Only turn on when every request
+	 * reaches the server through that proxy.
+	 */
+	public HeavyHitterPlugin trustForwardedHeaders(boolean value)
+	{
+		return trustedProxies(value ? 1 : 0);
+	}
+
+	/**
+	 * Sets the number of trusted proxies in front of the server. Defaults to zero, where the
+	 * forwarding headers are ignored. See {@link HeavyHitterTracker#trustedProxies(int)}.
+	 */
+	public HeavyHitterPlugin trustedProxies(int count)
+	{
+		this.trustedProxies = count;
+		return this;
+	}
+
+	/**
+	 * @return the tracker, or null before register().
+	 */
+	public HeavyHitterTracker getTracker()
+	{
+		return tracker;
+	}
+
+	@Override
+	public HeavyHitterPlugin register(RestExpress server)
+	{
+		if (isRegistered()) return this;
+
+		super.register(server);
+		tracker = new HeavyHitterTracker(topCount, windowSeconds, TimeUnit.SECONDS)
+			.trustedProxies(trustedProxies);
+		server.addMessageObserver(tracker);
+
+		HeavyHitterController controller = new HeavyHitterController(tracker);
+		RouteBuilder builder = server.uri(uri, controller)
+			.action("read", HttpMethod.GET)
+			.action("clear", HttpMethod.DELETE)
+			.name("heavy-hitters");
+		applyFlags(builder);
+		applyParameters(builder);
+		return this;
+	}
+}
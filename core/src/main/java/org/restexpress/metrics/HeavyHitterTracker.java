@@ -0,0 +1,348 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.MessageObserver;
+import org.restexpress.route.Route;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * Finds what is driving load: the routes, client addresses and user agents with the most
+ * requests, in fixed-length windows (one minute by default). Each is counted in a Count-Min
+ * Sketch with the top K held in a fixed set of slots (see {@link HeavyHitters}), so memory is
+ * bounded however many distinct clients there are, and counting is lock-free. The counts are
+ * estimates: they may overstate, never understate, the true count.
+ * <p/>
+ * The current window and the last complete one are reported. The client address is the
+ * connection's remote address unless the server is behind trusted proxies (see
+ * trustedProxies()). Then it is the address added to X-Forwarded-For by the outermost trusted
+ * proxy, counting from the right, else the 'for' parameter of the same Forwarded element. The
+ * entries to the left of it are supplied by the client and are never used.
+ * <p/>
+ * Usage, standalone or via the {@link HeavyHitterPlugin}:
+ * <pre>
+ * HeavyHitterTracker tracker = new HeavyHitterTracker(10, 1, TimeUnit.MINUTES);
+ * server.addMessageObserver(tracker);
+ * ...
+ * tracker.getTop(HeavyHitterTracker.Dimension.CLIENT);
+ * </pre>
+ */
+public class HeavyHitterTracker
+extends MessageObserver
+{
+	/**
+	 * What requests are counted by.
+	 */
+	public enum Dimension
+	{
+		ROUTE("route"),
+		CLIENT("client"),
+		USER_AGENT("userAgent");
+
+		private final String label;
+
+		private Dimension(String label)
+		{
+			this.label = label;
+		}
+
+		/**
+		 * @return the name used in reports and metric labels.
+		 */
+		public String getLabel()
+		{
+			return label;
+		}
+	}
+
+	public static final String UNKNOWN_CLIENT = "unknown";
+	public static final String NO_USER_AGENT = "none";
+	private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+	private static final String FORWARDED = "Forwarded";
+	private static final String USER_AGENT = "User-Agent";
+
+	// With e/width of the window's requests as the error bound (about 0.27%), at 1 - e^-depth.
+	private static final int SKETCH_DEPTH = 4;
+	private static final int SKETCH_WIDTH = 1024;
+
+	// Keeps a flood of distinct, long user agents from bloating the slots and labels.
+	private static final int MAX_KEY_LENGTH = 256;
+
+	private final int count;
+	private final long windowNanos;
+	private final AtomicReference<Window> current;
+	private final Map<Route, String> routeKeys = new ConcurrentHashMap<Route, String>();
+	private volatile Window previous = null;
+	private int trustedProxies = 0;
+
+	/**
+	 * @param count the number of keys reported per dimension (K).
+	 * @param window the length of a window.
+	 * @param unit the unit of the window length.
+	 */
+	public HeavyHitterTracker(int count, long window, TimeUnit unit)
+	{
+		super();
+		this.count = count;
+		this.windowNanos = unit.toNanos(window);
+		this.current = new AtomicReference<Window>(new Window(System.nanoTime()));
+	}
+
+	/**
+	 * Sets whether the client address is taken from the X-Forwarded-For and Forwarded headers,
+	 * when present, as added by a single trusted proxy. Defaults to false. Equivalent to
+	 * trustedProxies(1) or trustedProxies(0).
+	 */
+	public HeavyHitterTracker trustForwardedHeaders(boolean value)
+	{
+		return trustedProxies(value ? 1 : 0);
+	}
+
+	/**
+	 * Sets the number of trusted proxies in front of the server, each of which appends the
+	 * address it received the request from to X-Forwarded-For (or Forwarded). The client
+	 * address is then that many entries from the right. Defaults to zero, where the forwarding
+	 * headers are ignored.
+	 */
+	public HeavyHitterTracker trustedProxies(int count)
+	{
+		this.trustedProxies = Math.max(0, count);
+		return this;
+	}
+
+	public long getWindow(TimeUnit unit)
+	{
+		return unit.convert(windowNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the most frequent keys of the current window, most frequent first.
+	 */
+	public List<HeavyHitter> getTop(Dimension dimension)
+	{
+		return currentWindow(System.nanoTime()).hitters.get(dimension).list();
+	}
+
+	/**
+	 * @return the number of requests in the current window.
+	 */
+	public long getRequestCount()
+	{
+		return currentWindow(System.nanoTime()).hitters.get(Dimension.ROUTE).getTotal();
+	}
+
+	/**
+	 * @return the most frequent keys of the last complete window, most frequent first. Empty
+	 * if the window before the current one had no requests.
+	 */
+	public List<HeavyHitter> getPreviousTop(Dimension dimension)
+	{
+		currentWindow(System.nanoTime());
+		Window window = previous;
+		return (window != null ? window.hitters.get(dimension).list() : Collections.<HeavyHitter>emptyList());
+	}
+
+	/**
+	 * @return the number of requests in the last complete window.
+	 */
+	public long getPreviousRequestCount()
+	{
+		currentWindow(System.nanoTime());
+		Window window = previous;
+		return (window != null ? window.hitters.get(Dimension.ROUTE).getTotal() : 0L);
+	}
+
+	/**
+	 * Discards the counts, starting a new window.
+	 */
+	public void clear()
+	{
+		current.set(new Window(System.nanoTime()));
+		previous = null;
+	}
+
+	@Override
+	protected void onComplete(Request request, Response response)
+	{
+		Window window = currentWindow(System.nanoTime());
+		window.hitters.get(Dimension.ROUTE).add(routeKey(request.getResolvedRoute()));
+		window.hitters.get(Dimension.CLIENT).add(clientOf(request, trustedProxies));
+		window.hitters.get(Dimension.USER_AGENT).add(userAgentOf(request));
+	}
+
+	/**
+	 * @return the window for the given time, starting a new one if the current one has ended.
+	 */
+	private Window currentWindow(long now)
+	{
+		while (true)
+		{
+			Window window = current.get();
+
+			if (now - window.startNanos < windowNanos) return window;
+
+			if (current.compareAndSet(window, new Window(now)))
+			{
+				// A window that ended before the last one began is too old to report.
+				previous = (now - window.startNanos < 2 * windowNanos ? window : null);
+				return current.get();
+			}
+		}
+	}
+
+	private String routeKey(Route route)
+	{
+		if (route == null) return RouteLatency.UNMATCHED;
+
+		return routeKeys.computeIfAbsent(route, r -> r.getMethod().name() + " " + r.getPattern());
+	}
+
+	/**
+	 * @return the client address of the request, see the class comment.
+	 */
+	static String clientOf(Request request, int trustedProxies)
+	{
+		if (trustedProxies > 0)
+		{
+			HttpHeaders headers = request.getHttpHeaders();
+			String client = fromRight(headers.getAll(X_FORWARDED_FOR), trustedProxies);
+
+			if (client != null && !client.isEmpty()) return truncate(client);
+
+			String forwarded = fromRight(headers.getAll(FORWARDED), trustedProxies);
+
+			if (forwarded != null)
+			{
+				client = forwardedFor(forwarded);
+
+				if (client != null) return truncate(client);
+			}
+		}
+
+		InetSocketAddress remote = request.getRemoteAddress();
+
+		if (remote == null) return UNKNOWN_CLIENT;
+
+		return (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+	}
+
+	/**
+	 * Finds an element of a comma-separated list header, which may be repeated, counting from
+	 * the right without splitting the whole list.
+	 * 
+	 * @param values the values of the header, in the order received.
+	 * @param position the position from the right, starting at one.
+	 * @return the trimmed element, the left-most one if there are fewer, or null if none.
+	 */
+	static String fromRight(List<String> values, int position)
+	{
+		String element = null;
+		int remaining = position;
+
+		for (int i = values.size() - 1; i >= 0; i--)
+		{
+			String value = values.get(i);
+			int end = value.length();
+
+			while (end >= 0)
+			{
+				int comma = value.lastIndexOf(',', end - 1);
+				element = value.substring(comma + 1, end).trim();
+
+				if (--remaining == 0) return element;
+
+				end = comma;
+			}
+		}
+
+		return element;
+	}
+
+	/**
+	 * @return the node of the 'for' parameter of the first element of a Forwarded header (RFC
+	 * 7239), without quotes, brackets or port, or null if there is none.
+	 */
+	static String forwardedFor(String forwarded)
+	{
+		int end = forwarded.indexOf(',');
+		String element = (end < 0 ? forwarded : forwarded.substring(0, end));
+
+		for (String pair : element.split(";"))
+		{
+			String trimmed = pair.trim();
+
+			if (!trimmed.toLowerCase(Locale.ROOT).startsWith("for=")) continue;
+
+			String node = trimmed.substring(4).replace("\"", "");
+
+			if (node.startsWith("["))
+			{
+				int bracket = node.indexOf(']');
+				return (bracket > 0 ? node.substring(1, bracket) : null);
+			}
+
+			int colon = node.indexOf(':');
+			node = (colon >= 0 && colon == node.lastIndexOf(':') ? node.substring(0, colon) : node);
+			return (node.isEmpty() ? null : node);
+		}
+
+		return null;
+	}
+
+	private static String userAgentOf(Request request)
+	{
+		String userAgent = request.getHttpHeaders().get(USER_AGENT);
+		return (userAgent == null || userAgent.isEmpty() ? NO_USER_AGENT : truncate(userAgent));
+	}
+
+	private static String truncate(String key)
+	{
+		return (key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+	}
+
+	/**
+	 * The counts of one window, per dimension.
+	 */
+	private final class Window
+	{
+		final long startNanos;
+		final Map<Dimension, HeavyHitters> hitters = new EnumMap<Dimension, HeavyHitters>(Dimension.class);
+
+		Window(long startNanos)
+		{
+			super();
+			this.startNanos = startNanos;
+
+			for (Dimension dimension : Dimension.values())
+			{
+				hitters.put(dimension, new HeavyHitters(count, SKETCH_DEPTH, SKETCH_WIDTH));
+			}
+		}
+	}
+}
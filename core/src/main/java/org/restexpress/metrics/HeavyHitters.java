@@ -0,0 +1,192 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The K most frequent keys of a stream, in bounded memory: every key is counted in a
+ * {@link CountMinSketch}, and a key whose estimated count beats the smallest one held in a
+ * fixed array of K slots takes that slot, with a CAS. As in SlowestRequests, the smallest count
+ * held is kept as a floor once the slots are full, so the common case, an infrequent key, costs
+ * the sketch update and a single read.
+ * <p/>
+ * Updates are lock-free. Racing threads may briefly hold the same key in two slots; list()
+ * reports it once.
+ */
+class HeavyHitters
+{
+	private static final Comparator<HeavyHitter> MOST_FIRST =
+		Comparator.comparingLong(HeavyHitter::getCount).reversed();
+
+	private final CountMinSketch sketch;
+	private final AtomicReferenceArray<Candidate> slots;
+	private final LongAdder total = new LongAdder();
+	private volatile long floor = -1L;
+
+	/**
+	 * @param count the number of keys reported (K).
+	 * @param depth the depth of the sketch.
+	 * @param width the width of the sketch.
+	 */
+	HeavyHitters(int count, int depth, int width)
+	{
+		super();
+		this.sketch = new CountMinSketch(depth, width);
+		this.slots = new AtomicReferenceArray<Candidate>(count);
+	}
+
+	void add(String key)
+	{
+		total.increment();
+		long estimate = sketch.add(key);
+
+		if (estimate > floor)
+		{
+			offer(key, estimate);
+		}
+	}
+
+	/**
+	 * @return the number of keys added.
+	 */
+	long getTotal()
+	{
+		return total.sum();
+	}
+
+	/**
+	 * @return the keys held, most frequent first.
+	 */
+	List<HeavyHitter> list()
+	{
+		Map<String, HeavyHitter> held = new HashMap<String, HeavyHitter>();
+
+		for (int i = 0; i < slots.length(); i++)
+		{
+			Candidate slot = slots.get(i);
+
+			if (slot == null) continue;
+
+			HeavyHitter current = held.get(slot.key);
+
+			if (current == null || current.getCount() < slot.count.get())
+			{
+				held.put(slot.key, new HeavyHitter(slot.key, slot.count.get()));
+			}
+		}
+
+		List<HeavyHitter> hitters = new ArrayList<HeavyHitter>(held.values());
+		hitters.sort(MOST_FIRST);
+		return hitters;
+	}
+
+	private void offer(String key, long estimate)
+	{
+		while (true)
+		{
+			int smallest = -1;
+			Candidate held = null;
+
+			for (int i = 0; i < slots.length(); i++)
+			{
+				Candidate slot = slots.get(i);
+
+				if (slot == null)
+				{
+					if (held != null || smallest < 0)
+					{
+						smallest = i;
+						held = null;
+					}
+
+					continue;
+				}
+
+				if (slot.key.equals(key))
+				{
+					slot.raise(estimate);
+					updateFloor();
+					return;
+				}
+
+				if (smallest < 0 || (held != null && slot.count.get() < held.count.get()))
+				{
+					smallest = i;
+					held = slot;
+				}
+			}
+
+			if (smallest < 0) return;
+
+			if (held != null && held.count.get() >= estimate) return;
+
+			if (slots.compareAndSet(smallest, held, new Candidate(key, estimate)))
+			{
+				updateFloor();
+				return;
+			}
+		}
+	}
+
+	private void updateFloor()
+	{
+		long smallest = Long.MAX_VALUE;
+
+		for (int i = 0; i < slots.length(); i++)
+		{
+			Candidate slot = slots.get(i);
+
+			if (slot == null)
+			{
+				smallest = -1L;
+				break;
+			}
+
+			smallest = Math.min(smallest, slot.count.get());
+		}
+
+		floor = smallest;
+	}
+
+	/**
+	 * A key held in a slot, with the largest estimate seen for it.
+	 */
+	private static final class Candidate
+	{
+		final String key;
+		final AtomicLong count;
+
+		Candidate(String key, long count)
+		{
+			super();
+			this.key = key;
+			this.count = new AtomicLong(count);
+		}
+
+		void raise(long estimate)
+		{
+			count.accumulateAndGet(estimate, Math::max);
+		}
+	}
+}
@@ -0,0 +1,275 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent latency histogram, recorded in microseconds into log-linear buckets in the
+ * manner of an HdrHistogram: each power-of-two range is divided into 32 linear sub-buckets,
+ * so any recorded value is within about 3% of its bucket's bounds, from 1 microsecond up to
+ * about 19 hours (larger values are clamped).
+ * <p/>
+ * Recording never locks. Writers are spread over a set of stripes, chosen by thread, each a
+ * lazily-allocated AtomicLongArray of bucket counts updated with atomic increments, so
+ * threads rarely touch the same cache lines. Reading merges the stripes into an immutable
+ * {@link LatencySnapshot}; a snapshot taken while recording is in progress may include part
+ * of a concurrent recording (e.g. its count but not its bucket), which is harmless for
+ * monitoring.
+ */
+public class LatencyHistogram
+{
+	static final int SUB_BUCKET_BITS = 6;
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+	static final long MAX_VALUE = (1L << 36) - 1;
+	static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+	// Each stripe holds the bucket counts, followed by the total count, sum and maximum.
+	private static final int COUNT = BUCKET_COUNT;
+	private static final int SUM = BUCKET_COUNT + 1;
+	private static final int MAX = BUCKET_COUNT + 2;
+	private static final int STRIPE_LENGTH = BUCKET_COUNT + 3;
+	private static final int DEFAULT_STRIPES = stripesFor(Runtime.getRuntime().availableProcessors());
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes;
+	private final int stripeMask;
+
+	public LatencyHistogram()
+	{
+		this(DEFAULT_STRIPES);
+	}
+
+	/**
+	 * @param stripeCount the number of stripes recording is spread over. Rounded up to a power of two,
+	 * at most 64.
+	 */
+	public LatencyHistogram(int stripeCount)
+	{
+		super();
+		int count = stripesFor(stripeCount);
+		this.stripes = new AtomicReferenceArray<AtomicLongArray>(count);
+		this.stripeMask = count - 1;
+	}
+
+	/**
+	 * Record a latency.
+	 * 
+	 * @param duration the latency.
+	 * @param unit the unit of the duration.
+	 */
+	public void record(long duration, TimeUnit unit)
+	{
+		recordMicros(unit.toMicros(duration));
+	}
+
+	/**
+	 * Record a latency measured with System.nanoTime().
+	 * 
+	 * @param nanos the latency in nanoseconds.
+	 */
+	public void recordNanos(long nanos)
+	{
+		recordMicros(nanos / 1000L);
+	}
+
+	private void recordMicros(long micros)
+	{
+		long value = Math.max(0L, Math.min(micros, MAX_VALUE));
+		AtomicLongArray stripe = stripe();
+		stripe.incrementAndGet(indexOf(value));
+		stripe.incrementAndGet(COUNT);
+		stripe.addAndGet(SUM, value);
+
+		long max;
+
+		while (value > (max = stripe.get(MAX)))
+		{
+			if (stripe.compareAndSet(MAX, max, value)) break;
+		}
+	}
+
+	/**
+	 * Merges the stripes into a point-in-time snapshot.
+	 */
+	public LatencySnapshot snapshot()
+	{
+		long[] counts = new long[BUCKET_COUNT];
+		long count = 0L;
+		long sum = 0L;
+		long max = 0L;
+
+		for (int i = 0; i < stripes.length(); i++)
+		{
+			AtomicLongArray stripe = stripes.get(i);
+
+			if (stripe == null) continue;
+
+			for (int j = 0; j < BUCKET_COUNT; j++)
+			{
+				counts[j] += stripe.get(j);
+			}
+
+			count += stripe.get(COUNT);
+			sum += stripe.get(SUM);
+			max = Math.max(max, stripe.get(MAX));
+		}
+
+		return new LatencySnapshot(counts, count, sum, max);
+	}
+
+	/**
+	 * @return the number of latencies recorded, read without taking a snapshot.
+	 */
+	public long getCount()
+	{
+		return sumStripes(COUNT);
+	}
+
+	/**
+	 * @return true if no latency has been recorded, read without taking a snapshot.
+	 */
+	public boolean isEmpty()
+	{
+		return (getCount() == 0L);
+	}
+
+	/**
+	 * @return the sum of the latencies recorded, in microseconds, read without taking a snapshot.
+	 */
+	public long getSum()
+	{
+		return sumStripes(SUM);
+	}
+
+	/**
+	 * Reads cumulative bucket counts without taking a snapshot, for periodic exposition
+	 * without allocation. Each count includes the whole histogram bucket containing its
+	 * bound (see LatencySnapshot.getCountAtOrBelow()).
+	 * 
+	 * @param upperBounds ascending latencies, in microseconds.
+	 * @param counts receives, for each bound, the number of latencies at or below it.
+	 */
+	public void getCumulativeCounts(long[] upperBounds, long[] counts)
+	{
+		for (int i = 0; i < upperBounds.length; i++)
+		{
+			counts[i] = 0L;
+		}
+
+		for (int s = 0; s < stripes.length(); s++)
+		{
+			AtomicLongArray stripe = stripes.get(s);
+
+			if (stripe == null) continue;
+
+			long seen = 0L;
+			int bucket = 0;
+
+			for (int i = 0; i < upperBounds.length; i++)
+			{
+				int last = (upperBounds[i] < 0L ? -1 : indexOf(Math.min(upperBounds[i], MAX_VALUE)));
+
+				for (; bucket <= last; bucket++)
+				{
+					seen += stripe.get(bucket);
+				}
+
+				counts[i] += seen;
+			}
+		}
+	}
+
+	private long sumStripes(int slot)
+	{
+		long total = 0L;
+
+		for (int i = 0; i < stripes.length(); i++)
+		{
+			AtomicLongArray stripe = stripes.get(i);
+
+			if (stripe != null)
+			{
+				total += stripe.get(slot);
+			}
+		}
+
+		return total;
+	}
+
+	private AtomicLongArray stripe()
+	{
+		int i = (int) Thread.currentThread().threadId() & stripeMask;
+		AtomicLongArray stripe = stripes.get(i);
+
+		if (stripe == null)
+		{
+			stripes.compareAndSet(i, null, new AtomicLongArray(STRIPE_LENGTH));
+			stripe = stripes.get(i);
+		}
+
+		return stripe;
+	}
+
+
+	// SECTION: BUCKETS
+
+	/**
+	 * Values below SUB_BUCKET_COUNT have a bucket each. Above that, each power-of-two range
+	 * [2^m, 2^(m+1)) is split into SUB_BUCKET_HALF buckets of width 2^(m - SUB_BUCKET_BITS + 1).
+	 */
+	static int indexOf(long value)
+	{
+		if (value < SUB_BUCKET_COUNT) return (int) value;
+
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+		return (shift * SUB_BUCKET_HALF) + (int) (value >>> shift);
+	}
+
+	/**
+	 * @return the lowest value that falls in the bucket.
+	 */
+	static long lowestValueAt(int index)
+	{
+		if (index < SUB_BUCKET_COUNT) return index;
+
+		int shift = (index / SUB_BUCKET_HALF) - 1;
+		long subBucket = (index % SUB_BUCKET_HALF) + SUB_BUCKET_HALF;
+		return subBucket << shift;
+	}
+
+	/**
+	 * @return the highest value that falls in the bucket.
+	 */
+	static long highestValueAt(int index)
+	{
+		return lowestValueAt(index + 1) - 1;
+	}
+
+	int getStripeCount()
+	{
+		return stripes.length();
+	}
+
+	private static int stripesFor(int count)
+	{
+		int capped = Math.max(1, Math.min(count, 64));
+		int stripes = Integer.highestOneBit(capped);
+		return (stripes < capped ? stripes << 1 : stripes);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+/**
+ * An immutable, merged copy of a {@link LatencyHistogram}. All values are in microseconds.
+ * Percentiles are reported as the highest value of the bucket they fall in (but never more
+ * than the maximum recorded), so they err high by at most the bucket width.
+ */
+public class LatencySnapshot
+{
+	private final long[] counts;
+	private final long count;
+	private final long sum;
+	private final long max;
+
+	LatencySnapshot(long[] counts, long count, long sum, long max)
+	{
+		super();
+		this.counts = counts;
+		this.count = count;
+		this.sum = sum;
+		this.max = max;
+	}
+
+	/**
+	 * @return a new snapshot combining the latencies of this snapshot and the other.
+	 */
+	public LatencySnapshot merge(LatencySnapshot other)
+	{
+		long[] merged = counts.clone();
+
+		for (int i = 0; i < merged.length; i++)
+		{
+			merged[i] += other.counts[i];
+		}
+
+		return new LatencySnapshot(merged, count + other.count, sum + other.sum, Math.max(max, other.max));
+	}
+
+	/**
+	 * @return the number of latencies recorded.
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * @return the sum of the latencies recorded, in microseconds.
+	 */
+	public long getSum()
+	{
+		return sum;
+	}
+
+	/**
+	 * @return the largest latency recorded, in microseconds.
+	 */
+	public long getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * @return the mean latency, in microseconds, or zero if none were recorded.
+	 */
+	public double getMean()
+	{
+		return (count == 0L ? 0.0 : (double) sum / count);
+	}
+
+	public long getP50()
+	{
+		return getValueAtPercentile(50.0);
+	}
+
+	public long getP99()
+	{
+		return getValueAtPercentile(99.0);
+	}
+
+	public long getP999()
+	{
+		return getValueAtPercentile(99.9);
+	}
+
+	/**
+	 * @param percentile a percentile between 0.0 and 100.0.
+	 * @return the latency, in microseconds, at or below which the given percentage of the
+	 * recorded latencies fall. Zero if none were recorded.
+	 */
+	public long getValueAtPercentile(double percentile)
+	{
+		long total = 0L;
+
+		for (long c : counts)
+		{
+			total += c;
+		}
+
+		if (total == 0L) return 0L;
+
+		double clamped = Math.max(0.0, Math.min(percentile, 100.0));
+		long target = Math.max(1L, (long) Math.ceil(clamped / 100.0 * total));
+		long seen = 0L;
+
+		for (int i = 0; i < counts.length; i++)
+		{
+			seen += counts[i];
+
+			if (seen >= target)
+			{
+				return Math.min(LatencyHistogram.highestValueAt(i), max);
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * @param micros a latency in microseconds.
+	 * @return the number of recorded latencies at or below the given value. Exact when the value
+	 * is the top of a bucket; otherwise includes the whole bucket containing it.
+	 */
+	public long getCountAtOrBelow(long micros)
+	{
+		if (micros < 0L) return 0L;
+
+		int last = LatencyHistogram.indexOf(Math.min(micros, LatencyHistogram.MAX_VALUE));
+		long seen = 0L;
+
+		for (int i = 0; i <= last; i++)
+		{
+			seen += counts[i];
+		}
+
+		return seen;
+	}
+}
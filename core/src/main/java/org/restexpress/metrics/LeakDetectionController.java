@@ -0,0 +1,61 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.exception.BadRequestException;
+
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * Serves the leak detection route of the {@link MetricsPlugin}, switching Netty's ByteBuf
+ * leak detection level on a running server:
+ * <ul>
+ * <li>GET returns the current level (level).</li>
+ * <li>PUT sets the level to the 'level' query parameter: disabled, simple, advanced or paranoid.</li>
+ * </ul>
+ * The level is JVM-wide (see ResourceLeakDetector.setLevel()).
+ */
+public class LeakDetectionController
+{
+	public static final String LEVEL_PARAMETER = "level";
+
+	public Map<String, Object> read(Request request, Response response)
+	{
+		return Collections.<String, Object>singletonMap(LEVEL_PARAMETER, ResourceLeakDetector.getLevel().name());
+	}
+
+	public Map<String, Object> update(Request request, Response response)
+	{
+		String level = request.getHeader(LEVEL_PARAMETER, "Missing query parameter: " + LEVEL_PARAMETER);
+
+		try
+		{
+			ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.valueOf(level.trim().toUpperCase(Locale.ROOT)));
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new BadRequestException("Unknown leak detection level: " + level);
+		}
+
+		return read(request, response);
+	}
+}
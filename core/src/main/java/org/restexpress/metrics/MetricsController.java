@@ -0,0 +1,394 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.List;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.RestExpress;
+import org.restexpress.metrics.HeavyHitterTracker.Dimension;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Serves the scrape route of the {@link MetricsPlugin}, rendering OpenMetrics text:
+ * <ul>
+ * <li>restexpress_request_duration_seconds: a histogram per route (method, route pattern)
+ * and status class. Its _count is the request count.</li>
+ * <li>restexpress_requests_in_flight: requests received but not yet completed.</li>
+ * <li>restexpress_executor_pending_tasks: requests waiting for an executor thread.</li>
+ * <li>restexpress_connections: open client connections.</li>
+ * <li>restexpress_allocator_used_bytes: heap and direct memory used by the ByteBuf allocator.</li>
+ * <li>restexpress_direct_memory_used_bytes, restexpress_direct_memory_max_bytes: direct memory
+ * reserved by Netty (when it tracks it) and the limit.</li>
+ * <li>restexpress_leak_detection_level: the ByteBuf leak detection level, as a label.</li>
+ * </ul>
+ * With a PooledByteBufAllocator (the default), by memory type (heap, direct):
+ * <ul>
+ * <li>restexpress_allocator_pinned_bytes: memory of buffers in use, as opposed to cached.</li>
+ * <li>restexpress_allocator_arenas, restexpress_allocator_chunk_size_bytes and
+ * restexpress_allocator_thread_caches: the shape of the pool.</li>
+ * <li>restexpress_allocator_arena_allocations_total: allocations by size class (small, normal,
+ * huge) that went to an arena. Small and normal allocations served by a thread cache are not
+ * counted, so a rate that rises with the request rate means the thread caches are missing.</li>
+ * <li>restexpress_allocator_arena_active_allocations: arena allocations not yet deallocated.</li>
+ * </ul>
+ * With an {@link EventLoopMonitor}, per event loop (group, loop index):
+ * <ul>
+ * <li>restexpress_event_loop_delay_seconds: a histogram of probe scheduling delays.</li>
+ * <li>restexpress_event_loop_pending_tasks: tasks queued on the event loop.</li>
+ * <li>restexpress_event_loop_stalls_total: probes found waiting past the stall threshold.</li>
+ * </ul>
+ * With a {@link HeavyHitterTracker}, for the current window:
+ * <ul>
+ * <li>restexpress_heavy_hitter_requests: the estimated requests of each top key, by dimension
+ * (route, client, userAgent) and key.</li>
+ * <li>restexpress_heavy_hitter_window_requests: all requests in the window.</li>
+ * </ul>
+ * The text is rendered into a buffer that is reused from scrape to scrape (it is only
+ * replaced if the previous response is still being written, or it must grow), so scraping
+ * creates next to no garbage.
+ */
+public class MetricsController
+{
+	private static final String DURATION = "restexpress_request_duration_seconds";
+	private static final String DELAY = "restexpress_event_loop_delay_seconds";
+	private static final String PENDING = "restexpress_event_loop_pending_tasks";
+	private static final String STALLS = "restexpress_event_loop_stalls";
+	private static final String ARENA_ALLOCATIONS = "restexpress_allocator_arena_allocations";
+	private static final String ARENA_ACTIVE = "restexpress_allocator_arena_active_allocations";
+	private static final String HEAVY_HITTERS = "restexpress_heavy_hitter_requests";
+	private static final String WINDOW_REQUESTS = "restexpress_heavy_hitter_window_requests";
+	private static final int INITIAL_CAPACITY = 16 * 1024;
+
+	// Histogram bucket bounds, in microseconds, and their le labels, in seconds.
+	private static final long[] BOUNDS = {1000L, 2500L, 5000L, 10000L, 25000L, 50000L, 100000L,
+		250000L, 500000L, 1000000L, 2500000L, 5000000L, 10000000L};
+	private static final String[] BOUND_LABELS = {"0.001", "0.0025", "0.005", "0.01", "0.025", "0.05", "0.1",
+		"0.25", "0.5", "1.0", "2.5", "5.0", "10.0"};
+
+	// Scheduling delays are normally well under a millisecond.
+	private static final long[] DELAY_BOUNDS = {50L, 100L, 250L, 500L, 1000L, 2500L, 5000L, 10000L,
+		25000L, 50000L, 100000L, 250000L, 1000000L};
+	private static final String[] DELAY_BOUND_LABELS = {"0.00005", "0.0001", "0.00025", "0.0005", "0.001", "0.0025",
+		"0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "1.0"};
+
+	private final RestExpress server;
+	private final RouteLatencyObserver latencies;
+	private final ByteBufAllocator allocator;
+	private final EventLoopMonitor eventLoopMonitor;
+	private final HeavyHitterTracker heavyHitters;
+	private final OpenMetricsWriter writer = new OpenMetricsWriter();
+	private final long[] counts = new long[BOUNDS.length];
+	private ByteBuf buffer = Unpooled.buffer(INITIAL_CAPACITY);
+
+	public MetricsController(RestExpress server, RouteLatencyObserver latencies, ByteBufAllocator allocator)
+	{
+		this(server, latencies, allocator, null);
+	}
+
+	/**
+	 * @param allocator the allocator whose memory use is exported, or null for the server's.
+	 * @param eventLoopMonitor the monitor whose measurements are exported, or null for none.
+	 */
+	public MetricsController(RestExpress server, RouteLatencyObserver latencies, ByteBufAllocator allocator,
+		EventLoopMonitor eventLoopMonitor)
+	{
+		this(server, latencies, allocator, eventLoopMonitor, null);
+	}
+
+	/**
+	 * @param allocator the allocator whose memory use is exported, or null for the server's.
+	 * @param eventLoopMonitor the monitor whose measurements are exported, or null for none.
+	 * @param heavyHitters the tracker whose top talkers are exported, or null for none.
+	 */
+	public MetricsController(RestExpress server, RouteLatencyObserver latencies, ByteBufAllocator allocator,
+		EventLoopMonitor eventLoopMonitor, HeavyHitterTracker heavyHitters)
+	{
+		super();
+		this.server = server;
+		this.latencies = latencies;
+		this.allocator = allocator;
+		this.eventLoopMonitor = eventLoopMonitor;
+		this.heavyHitters = heavyHitters;
+	}
+
+	public ByteBuf scrape(Request request, Response response)
+	{
+		response.setContentType(OpenMetricsWriter.CONTENT_TYPE);
+		response.noSerialization();
+		return render();
+	}
+
+	/**
+	 * Renders the metrics.
+	 * 
+	 * @return a retained duplicate of the exposition buffer, released when written.
+	 */
+	synchronized ByteBuf render()
+	{
+		// A reference beyond ours means the previous scrape's response is still in flight.
+		if (buffer.refCnt() > 1)
+		{
+			int capacity = buffer.capacity();
+			buffer.release();
+			buffer = Unpooled.buffer(capacity);
+		}
+
+		buffer.clear();
+		writer.into(buffer);
+		writeLatencies();
+		writeGauges();
+
+		if (eventLoopMonitor != null)
+		{
+			writeEventLoops();
+		}
+
+		if (heavyHitters != null)
+		{
+			writeHeavyHitters();
+		}
+
+		writer.eof();
+		return buffer.retainedDuplicate();
+	}
+
+	private void writeLatencies()
+	{
+		writer.family(DURATION, "histogram", "Request latency by route and response status class.");
+
+		for (RouteLatency route : latencies.getMatchedRouteLatencies())
+		{
+			writeRouteLatency(route);
+		}
+
+		RouteLatency unmatched = latencies.getUnmatchedLatency();
+
+		if (!unmatched.isEmpty())
+		{
+			writeRouteLatency(unmatched);
+		}
+	}
+
+	private void writeRouteLatency(RouteLatency route)
+	{
+		for (int statusClass = 1; statusClass <= 5; statusClass++)
+		{
+			LatencyHistogram histogram = route.getHistogram(statusClass);
+
+			if (histogram != null)
+			{
+				writeHistogram(route, statusClass, histogram);
+			}
+		}
+	}
+
+	private void writeHistogram(RouteLatency route, int statusClass, LatencyHistogram histogram)
+	{
+		long count = histogram.getCount();
+		long sum = histogram.getSum();
+		histogram.getCumulativeCounts(BOUNDS, counts);
+
+		for (int i = 0; i < BOUNDS.length; i++)
+		{
+			labels(writer.sample(DURATION, "_bucket"), route, statusClass)
+				.label("le", BOUND_LABELS[i])
+				.value(Math.min(counts[i], count));
+		}
+
+		labels(writer.sample(DURATION, "_bucket"), route, statusClass)
+			.label("le", "+Inf")
+			.value(count);
+		labels(writer.sample(DURATION, "_count"), route, statusClass).value(count);
+		labels(writer.sample(DURATION, "_sum"), route, statusClass).valueMicros(sum);
+	}
+
+	private OpenMetricsWriter labels(OpenMetricsWriter w, RouteLatency route, int statusClass)
+	{
+		return w.label("method", route.getMethod())
+			.label("route", route.getPattern())
+			.label("status", RouteLatency.statusClassLabel(statusClass));
+	}
+
+	private void writeGauges()
+	{
+		writer.family("restexpress_requests_in_flight", "gauge", "Requests received but not yet completed.")
+			.sample("restexpress_requests_in_flight").value(latencies.getInFlightCount());
+		writer.family("restexpress_executor_pending_tasks", "gauge", "Requests waiting for an executor thread.")
+			.sample("restexpress_executor_pending_tasks").value(server.getPendingExecutorTaskCount());
+		writer.family("restexpress_connections", "gauge", "Open client connections.")
+			.sample("restexpress_connections").value(server.getConnectionCount());
+
+		ByteBufAllocator allocator = (this.allocator != null ? this.allocator : server.getAllocator());
+
+		if (allocator instanceof ByteBufAllocatorMetricProvider)
+		{
+			ByteBufAllocatorMetric metric = ((ByteBufAllocatorMetricProvider) allocator).metric();
+			writer.family("restexpress_allocator_used_bytes", "gauge", "Memory used by the ByteBuf allocator.")
+				.sample("restexpress_allocator_used_bytes").label("memory", "heap").value(metric.usedHeapMemory())
+				.sample("restexpress_allocator_used_bytes").label("memory", "direct").value(metric.usedDirectMemory());
+		}
+
+		if (allocator instanceof PooledByteBufAllocator)
+		{
+			writePooledAllocator((PooledByteBufAllocator) allocator);
+		}
+
+		if (PlatformDependent.usedDirectMemory() >= 0)
+		{
+			writer.family("restexpress_direct_memory_used_bytes", "gauge", "Direct memory reserved by Netty, across all allocators.")
+				.sample("restexpress_direct_memory_used_bytes").value(PlatformDependent.usedDirectMemory());
+		}
+
+		writer.family("restexpress_direct_memory_max_bytes", "gauge", "Maximum direct memory available to Netty.")
+			.sample("restexpress_direct_memory_max_bytes").value(PlatformDependent.maxDirectMemory());
+		writer.family("restexpress_leak_detection_level", "gauge", "The ByteBuf leak detection level in effect.")
+			.sample("restexpress_leak_detection_level").label("level", ResourceLeakDetector.getLevel().name()).value(1);
+	}
+
+	private void writePooledAllocator(PooledByteBufAllocator allocator)
+	{
+		PooledByteBufAllocatorMetric metric = allocator.metric();
+		writer.family("restexpress_allocator_pinned_bytes", "gauge", "Memory of buffers currently in use (not merely cached) by the ByteBuf allocator.")
+			.sample("restexpress_allocator_pinned_bytes").label("memory", "heap").value(allocator.pinnedHeapMemory())
+			.sample("restexpress_allocator_pinned_bytes").label("memory", "direct").value(allocator.pinnedDirectMemory());
+		writer.family("restexpress_allocator_chunk_size_bytes", "gauge", "Chunk size of the pooled arenas.")
+			.sample("restexpress_allocator_chunk_size_bytes").value(metric.chunkSize());
+		writer.family("restexpress_allocator_thread_caches", "gauge", "Thread-local caches of the ByteBuf allocator.")
+			.sample("restexpress_allocator_thread_caches").value(metric.numThreadLocalCaches());
+		writer.family("restexpress_allocator_arenas", "gauge", "Pooled arenas of the ByteBuf allocator.")
+			.sample("restexpress_allocator_arenas").label("memory", "heap").value(metric.numHeapArenas())
+			.sample("restexpress_allocator_arenas").label("memory", "direct").value(metric.numDirectArenas());
+
+		writer.family(ARENA_ALLOCATIONS, "counter", "Allocations served by the arenas, i.e. thread cache misses for small and normal sizes.");
+		writeArenaAllocations("heap", metric.heapArenas());
+		writeArenaAllocations("direct", metric.directArenas());
+
+		writer.family(ARENA_ACTIVE, "gauge", "Allocations from the arenas not yet deallocated.");
+		writer.sample(ARENA_ACTIVE).label("memory", "heap").value(activeAllocations(metric.heapArenas()));
+		writer.sample(ARENA_ACTIVE).label("memory", "direct").value(activeAllocations(metric.directArenas()));
+	}
+
+	private void writeArenaAllocations(String memory, List<PoolArenaMetric> arenas)
+	{
+		long small = 0L;
+		long normal = 0L;
+		long huge = 0L;
+
+		for (PoolArenaMetric arena : arenas)
+		{
+			small += arena.numSmallAllocations();
+			normal += arena.numNormalAllocations();
+			huge += arena.numHugeAllocations();
+		}
+
+		writer.sample(ARENA_ALLOCATIONS, "_total").label("memory", memory).label("size", "small").value(small)
+			.sample(ARENA_ALLOCATIONS, "_total").label("memory", memory).label("size", "normal").value(normal)
+			.sample(ARENA_ALLOCATIONS, "_total").label("memory", memory).label("size", "huge").value(huge);
+	}
+
+	private long activeAllocations(List<PoolArenaMetric> arenas)
+	{
+		long active = 0L;
+
+		for (PoolArenaMetric arena : arenas)
+		{
+			active += arena.numActiveAllocations();
+		}
+
+		return active;
+	}
+
+	private void writeEventLoops()
+	{
+		List<EventLoopProbe> probes = eventLoopMonitor.getProbes();
+		writer.family(DELAY, "histogram", "Event loop scheduling delay, measured by probe tasks.");
+
+		for (EventLoopProbe probe : probes)
+		{
+			LatencyHistogram delays = probe.getDelays();
+			long count = delays.getCount();
+			long sum = delays.getSum();
+			delays.getCumulativeCounts(DELAY_BOUNDS, counts);
+
+			for (int i = 0; i < DELAY_BOUNDS.length; i++)
+			{
+				labels(writer.sample(DELAY, "_bucket"), probe)
+					.label("le", DELAY_BOUND_LABELS[i])
+					.value(Math.min(counts[i], count));
+			}
+
+			labels(writer.sample(DELAY, "_bucket"), probe)
+				.label("le", "+Inf")
+				.value(count);
+			labels(writer.sample(DELAY, "_count"), probe).value(count);
+			labels(writer.sample(DELAY, "_sum"), probe).valueMicros(sum);
+		}
+
+		writer.family(PENDING, "gauge", "Tasks queued on the event loop.");
+
+		for (EventLoopProbe probe : probes)
+		{
+			if (probe.getPendingTasks() >= 0)
+			{
+				labels(writer.sample(PENDING), probe).value(probe.getPendingTasks());
+			}
+		}
+
+		writer.family(STALLS, "counter", "Probes found waiting past the stall threshold.");
+
+		for (EventLoopProbe probe : probes)
+		{
+			labels(writer.sample(STALLS, "_total"), probe).value(probe.getStallCount());
+		}
+	}
+
+	private void writeHeavyHitters()
+	{
+		writer.family(HEAVY_HITTERS, "gauge", "Estimated requests of the top routes, clients and user agents in the current window.");
+
+		for (Dimension dimension : Dimension.values())
+		{
+			for (HeavyHitter hitter : heavyHitters.getTop(dimension))
+			{
+				writer.sample(HEAVY_HITTERS)
+					.label("dimension", dimension.getLabel())
+					.label("key", hitter.getKey())
+					.value(hitter.getCount());
+			}
+		}
+
+		writer.family(WINDOW_REQUESTS, "gauge", "Requests in the current heavy hitter window.")
+			.sample(WINDOW_REQUESTS).value(heavyHitters.getRequestCount());
+	}
+
+	private OpenMetricsWriter labels(OpenMetricsWriter w, EventLoopProbe probe)
+	{
+		return w.label("group", probe.getGroup())
+			.label("loop", probe.getIndex());
+	}
+}
@@ -0,0 +1,173 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import org.restexpress.RestExpress;
+import org.restexpress.plugin.RoutePlugin;
+import org.restexpress.route.RouteBuilder;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Exposes server metrics for Prometheus (or any OpenMetrics scraper) on an internal route,
+ * "/metrics" by default: per-route latency histograms and request counts (recorded by a
+ * {@link RouteLatencyObserver}), in-flight requests, executor queue depth, open connections,
+ * ByteBuf allocator memory and pooled arena statistics. Optionally, the scheduling delay, queue
+ * depth and stalls of the server's event loops and executor threads, as measured by an
+ * {@link EventLoopMonitor}, the top talkers found by a {@link HeavyHitterTracker}, and a route to switch the ByteBuf leak detection level at runtime
+ * (see {@link #leakDetectionRoute()}). See {@link MetricsController} for the metric names.
+ * <p/>
+ * Usage:
+ * <pre>
+ * new MetricsPlugin()
+ *     .flag("internal")
+ *     .register(server);
+ * </pre>
+ */
+public class MetricsPlugin
+extends RoutePlugin
+{
+	private static final String DEFAULT_URI = "/metrics";
+
+	private final String uri;
+	private final RouteLatencyObserver latencies = new RouteLatencyObserver();
+	private ByteBufAllocator allocator = null;
+	private EventLoopMonitor eventLoopMonitor = null;
+	private HeavyHitterTracker heavyHitters = null;
+	private boolean isLeakDetectionRoute = false;
+
+	public MetricsPlugin()
+	{
+		this(DEFAULT_URI);
+	}
+
+	public MetricsPlugin(String uri)
+	{
+		super();
+		this.uri = uri;
+	}
+
+	/**
+	 * Sets the allocator whose memory use is reported. Defaults to the server's allocator
+	 * (see RestExpress.getAllocator()).
+	 */
+	public MetricsPlugin allocator(ByteBufAllocator allocator)
+	{
+		this.allocator = allocator;
+		return this;
+	}
+
+	/**
+	 * Monitors the server's boss, worker and executor groups with the given monitor, started
+	 * when the server is bound and stopped at shutdown. Off by default.
+	 */
+	public MetricsPlugin eventLoopMonitor(EventLoopMonitor monitor)
+	{
+		this.eventLoopMonitor = monitor;
+		return this;
+	}
+
+	/**
+	 * Exports the top routes, client addresses and user agents of the tracker's current
+	 * window (see HeavyHitterPlugin.getTracker()). Off by default.
+	 */
+	public MetricsPlugin heavyHitters(HeavyHitterTracker tracker)
+	{
+		this.heavyHitters = tracker;
+		return this;
+	}
+
+	/**
+	 * Adds a route, "{uri}/leak-detection", to read (GET) and switch (PUT ?level=paranoid)
+	 * the ByteBuf leak detection level of the running server. It carries the same flags
+	 * and parameters as the scrape route. Off by default.
+	 * 
+	 * @see LeakDetectionController
+	 */
+	public MetricsPlugin leakDetectionRoute()
+	{
+		this.isLeakDetectionRoute = true;
+		return this;
+	}
+
+	/**
+	 * @return the event loop monitor, or null if none.
+	 */
+	public EventLoopMonitor getEventLoopMonitor()
+	{
+		return eventLoopMonitor;
+	}
+
+	/**
+	 * @return the observer recording the per-route latencies.
+	 */
+	public RouteLatencyObserver getLatencies()
+	{
+		return latencies;
+	}
+
+	@Override
+	public MetricsPlugin register(RestExpress server)
+	{
+		if (isRegistered()) return this;
+
+		super.register(server);
+		server.addMessageObserver(latencies);
+
+		RouteBuilder builder = server.uri(uri, new MetricsController(server, latencies, allocator, eventLoopMonitor, heavyHitters))
+			.action("scrape", HttpMethod.GET)
+			.name("metrics")
+			.noSerialization();
+		applyFlags(builder);
+		applyParameters(builder);
+
+		if (isLeakDetectionRoute)
+		{
+			builder = server.uri(uri + "/leak-detection", new LeakDetectionController())
+				.action("read", HttpMethod.GET)
+				.action("update", HttpMethod.PUT)
+				.name("metrics.leak-detection");
+			applyFlags(builder);
+			applyParameters(builder);
+		}
+
+		return this;
+	}
+
+	@Override
+	public void bind(RestExpress server)
+	{
+		if (eventLoopMonitor != null)
+		{
+			eventLoopMonitor.monitor("boss", server.getBossGroup())
+				.monitor("worker", server.getWorkerGroup())
+				.monitor("executor", server.getExecutorGroup())
+				.start();
+		}
+	}
+
+	@Override
+	public void shutdown(RestExpress server)
+	{
+		if (eventLoopMonitor != null)
+		{
+			eventLoopMonitor.stop();
+		}
+
+		super.shutdown(server);
+	}
+}
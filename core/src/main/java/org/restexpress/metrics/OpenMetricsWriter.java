@@ -0,0 +1,194 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Writes OpenMetrics (Prometheus) text exposition directly into a ByteBuf, without creating
+ * intermediate Strings: names and label values are copied straight from their CharSequences
+ * and numbers are formatted digit by digit. Label values are escaped per the OpenMetrics
+ * specification.
+ * <p/>
+ * Not thread safe.
+ */
+public class OpenMetricsWriter
+{
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+	private final byte[] digits = new byte[20];
+	private ByteBuf out;
+	private boolean hasLabels = false;
+
+	/**
+	 * Direct subsequent output to the given buffer.
+	 */
+	public OpenMetricsWriter into(ByteBuf buffer)
+	{
+		this.out = buffer;
+		return this;
+	}
+
+	/**
+	 * Writes the TYPE and HELP lines of a metric family.
+	 * 
+	 * @param name the family name (without a _total suffix for counters).
+	 * @param type the metric type, e.g. "gauge", "counter" or "histogram".
+	 * @param help the help text.
+	 */
+	public OpenMetricsWriter family(CharSequence name, String type, String help)
+	{
+		ByteBufUtil.writeAscii(out, "# TYPE ");
+		ByteBufUtil.writeAscii(out, name);
+		out.writeByte(' ');
+		ByteBufUtil.writeAscii(out, type);
+		ByteBufUtil.writeAscii(out, "\n# HELP ");
+		ByteBufUtil.writeAscii(out, name);
+		out.writeByte(' ');
+		ByteBufUtil.writeUtf8(out, help);
+		out.writeByte('\n');
+		return this;
+	}
+
+	/**
+	 * Begins a sample line with the metric name. Follow with labels (optional), then value().
+	 */
+	public OpenMetricsWriter sample(CharSequence name)
+	{
+		ByteBufUtil.writeAscii(out, name);
+		return this;
+	}
+
+	/**
+	 * Begins a sample line with a metric name and suffix (e.g. "_bucket").
+	 */
+	public OpenMetricsWriter sample(CharSequence name, String suffix)
+	{
+		ByteBufUtil.writeAscii(out, name);
+		ByteBufUtil.writeAscii(out, suffix);
+		return this;
+	}
+
+	/**
+	 * Adds a label to the current sample. Null values are written as empty strings.
+	 */
+	public OpenMetricsWriter label(String name, CharSequence value)
+	{
+		out.writeByte(hasLabels ? ',' : '{');
+		hasLabels = true;
+		ByteBufUtil.writeAscii(out, name);
+		out.writeByte('=');
+		out.writeByte('"');
+
+		if (value != null)
+		{
+			escape(value);
+		}
+
+		out.writeByte('"');
+		return this;
+	}
+
+	/**
+	 * Ends the current sample with an integer value.
+	 */
+	public OpenMetricsWriter value(long value)
+	{
+		endLabels();
+		out.writeByte(' ');
+		writeLong(value);
+		out.writeByte('\n');
+		return this;
+	}
+
+	/**
+	 * Ends the current sample with a value given in millionths (e.g. microseconds as
+	 * seconds), written in exponent form, e.g. 1500e-6.
+	 */
+	public OpenMetricsWriter valueMicros(long micros)
+	{
+		endLabels();
+		out.writeByte(' ');
+		writeLong(micros);
+		ByteBufUtil.writeAscii(out, "e-6\n");
+		return this;
+	}
+
+	/**
+	 * Writes the terminating # EOF line.
+	 */
+	public OpenMetricsWriter eof()
+	{
+		ByteBufUtil.writeAscii(out, "# EOF\n");
+		return this;
+	}
+
+	private void endLabels()
+	{
+		if (hasLabels)
+		{
+			out.writeByte('}');
+			hasLabels = false;
+		}
+	}
+
+	private void escape(CharSequence value)
+	{
+		int start = 0;
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			if (c == '\\' || c == '"' || c == '\n')
+			{
+				ByteBufUtil.writeUtf8(out, value, start, i);
+				out.writeByte('\\');
+				out.writeByte(c == '\n' ? 'n' : c);
+				start = i + 1;
+			}
+		}
+
+		ByteBufUtil.writeUtf8(out, value, start, value.length());
+	}
+
+	private void writeLong(long value)
+	{
+		if (value == Long.MIN_VALUE)
+		{
+			ByteBufUtil.writeAscii(out, "-9223372036854775808");
+			return;
+		}
+
+		if (value < 0L)
+		{
+			out.writeByte('-');
+			value = -value;
+		}
+
+		int i = digits.length;
+
+		do
+		{
+			digits[--i] = (byte) ('0' + (value % 10L));
+			value /= 10L;
+		}
+		while (value != 0L);
+
+		out.writeBytes(digits, i, digits.length - i);
+	}
+}
@@ -0,0 +1,165 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.restexpress.route.Route;
+
+/**
+ * The latency histograms of a single route, one per response status class (2xx, 4xx, etc.),
+ * each created on its first recording.
+ */
+public class RouteLatency
+{
+	/**
+	 * The route pattern reported for requests that matched no route (e.g. 404s).
+	 */
+	public static final String UNMATCHED = "unmatched";
+
+	private static final String[] STATUS_CLASS_LABELS = {"", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+	private final String method;
+	private final String pattern;
+	private final String name;
+	private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<LatencyHistogram>(6);
+
+	public RouteLatency(Route route)
+	{
+		this(route.getMethod().name(), route.getPattern(), route.getName());
+	}
+
+	public RouteLatency(String method, String pattern, String name)
+	{
+		super();
+		this.method = method;
+		this.pattern = pattern;
+		this.name = name;
+	}
+
+	/**
+	 * @return the HTTP method of the route, or null for unmatched requests.
+	 */
+	public String getMethod()
+	{
+		return method;
+	}
+
+	public String getPattern()
+	{
+		return pattern;
+	}
+
+	/**
+	 * @return the route name, or null if the route is unnamed.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Record a latency for a response with the given status.
+	 * 
+	 * @param statusCode the HTTP status code of the response.
+	 * @param nanos the latency in nanoseconds.
+	 */
+	public void record(int statusCode, long nanos)
+	{
+		int statusClass = statusClassOf(statusCode);
+		LatencyHistogram histogram = histograms.get(statusClass);
+
+		if (histogram == null)
+		{
+			histograms.compareAndSet(statusClass, null, new LatencyHistogram());
+			histogram = histograms.get(statusClass);
+		}
+
+		histogram.recordNanos(nanos);
+	}
+
+	/**
+	 * @param statusClass a status class, 1 through 5 (e.g. 2 for 2xx).
+	 * @return the histogram of the latencies of responses in the status class, or null if
+	 * there have been none.
+	 */
+	public LatencyHistogram getHistogram(int statusClass)
+	{
+		if (statusClass < 1 || statusClass > 5) return null;
+
+		return histograms.get(statusClass);
+	}
+
+	/**
+	 * @return true if no latency has been recorded, read without taking a snapshot.
+	 */
+	public boolean isEmpty()
+	{
+		for (int i = 1; i <= 5; i++)
+		{
+			LatencyHistogram histogram = histograms.get(i);
+
+			if (histogram != null && !histogram.isEmpty()) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param statusClass a status class, 1 through 5 (e.g. 2 for 2xx).
+	 * @return a snapshot of the latencies of responses in the status class, or null if there
+	 * have been none.
+	 */
+	public LatencySnapshot getSnapshot(int statusClass)
+	{
+		LatencyHistogram histogram = getHistogram(statusClass);
+		return (histogram == null ? null : histogram.snapshot());
+	}
+
+	/**
+	 * @return a snapshot of the latencies of all responses, whatever their status.
+	 */
+	public LatencySnapshot getSnapshot()
+	{
+		LatencySnapshot merged = null;
+
+		for (int i = 1; i <= 5; i++)
+		{
+			LatencySnapshot snapshot = getSnapshot(i);
+
+			if (snapshot != null)
+			{
+				merged = (merged == null ? snapshot : merged.merge(snapshot));
+			}
+		}
+
+		return merged;
+	}
+
+	/**
+	 * @param statusClass a status class, 1 through 5.
+	 * @return the status class label (e.g. "2xx").
+	 */
+	public static String statusClassLabel(int statusClass)
+	{
+		return STATUS_CLASS_LABELS[statusClass];
+	}
+
+	private static int statusClassOf(int statusCode)
+	{
+		return Math.max(1, Math.min(statusCode / 100, 5));
+	}
+}
@@ -0,0 +1,134 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.MessageObserver;
+import org.restexpress.route.Route;
+
+/**
+ * Records the latency of every request, from being queued for an executor thread to the
+ * response being written (the total of Request.getPhaseTimings()), into per-route,
+ * per-status-class {@link LatencyHistogram}s, from which p50/p99/p999 latencies are read.
+ * <p/>
+ * Unlike SimpleConsoleLogMessageObserver, no shared map of timers is kept: the timings
+ * travel with the request, the histograms are found by the resolved route
+ * (Request.getResolvedRoute()) with a lock-free map lookup, and recording is lock-free. Requests that match no route are recorded under
+ * {@link RouteLatency#UNMATCHED}.
+ * <p/>
+ * Usage:
+ * <pre>
+ * RouteLatencyObserver latencies = new RouteLatencyObserver();
+ * server.addMessageObserver(latencies);
+ * ...
+ * for (RouteLatency route : latencies.getRouteLatencies()) ...
+ * </pre>
+ */
+public class RouteLatencyObserver
+extends MessageObserver
+{
+	private final Map<Route, RouteLatency> routes = new ConcurrentHashMap<Route, RouteLatency>();
+	private final RouteLatency unmatched = new RouteLatency(null, RouteLatency.UNMATCHED, null);
+	private final LongAdder inFlight = new LongAdder();
+
+	@Override
+	protected void onReceived(Request request, Response response)
+	{
+		inFlight.increment();
+	}
+
+	@Override
+	protected void onComplete(Request request, Response response)
+	{
+		inFlight.decrement();
+		long elapsed = request.getPhaseTimings().getTotalNanos();
+		routeLatency(request.getResolvedRoute()).record(response.getResponseStatus().code(), elapsed);
+	}
+
+	/**
+	 * @return the latencies of each route that has received a request, plus the unmatched
+	 * requests if there have been any.
+	 */
+	public Collection<RouteLatency> getRouteLatencies()
+	{
+		List<RouteLatency> latencies = new ArrayList<RouteLatency>(routes.values());
+
+		if (!unmatched.isEmpty())
+		{
+			latencies.add(unmatched);
+		}
+
+		return latencies;
+	}
+
+	/**
+	 * For iteration without copying (e.g. when scraping).
+	 * 
+	 * @return a live view of the latencies of each route that has received a request, not
+	 * including the unmatched requests.
+	 */
+	Collection<RouteLatency> getMatchedRouteLatencies()
+	{
+		return routes.values();
+	}
+
+	/**
+	 * @return the latencies of requests that matched no route. Possibly empty.
+	 */
+	RouteLatency getUnmatchedLatency()
+	{
+		return unmatched;
+	}
+
+	/**
+	 * @return the number of requests received but not yet completed.
+	 */
+	public long getInFlightCount()
+	{
+		return inFlight.sum();
+	}
+
+	/**
+	 * @param route a route.
+	 * @return the latencies of the route, or null if it has not received a request.
+	 */
+	public RouteLatency getRouteLatency(Route route)
+	{
+		return routes.get(route);
+	}
+
+	private RouteLatency routeLatency(Route route)
+	{
+		if (route == null) return unmatched;
+
+		RouteLatency latency = routes.get(route);
+
+		if (latency == null)
+		{
+			latency = routes.computeIfAbsent(route, RouteLatency::new);
+		}
+
+		return latency;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.PhaseTimings;
+import org.restexpress.pipeline.RequestPhase;
+import org.restexpress.route.Route;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+
+/**
+ * A copy of the details of a completed request captured by the {@link SlowRequestTracker}:
+ * what was asked, how it was answered and where the time went. Taken when the request
+ * completes, so it stays valid after the Request and Response are released or recycled.
+ */
+public class SlowRequest
+{
+	private final String time;
+	private final String method;
+	private final String url;
+	private final String route;
+	private final int status;
+	private final long durationMicros;
+	private final long requestBytes;
+	private final long responseBytes;
+	private final Map<String, Long> phaseMicros;
+
+	public SlowRequest(Request request, Response response, long durationNanos)
+	{
+		super();
+		Route resolved = request.getResolvedRoute();
+		this.time = Instant.now().toString();
+		this.method = request.getEffectiveHttpMethod().name();
+		this.url = request.getPath();
+		this.route = (resolved != null ? resolved.getPattern() : RouteLatency.UNMATCHED);
+		this.status = response.getResponseStatus().code();
+		this.durationMicros = durationNanos / 1000L;
+		this.requestBytes = requestBytes(request);
+		this.responseBytes = response.getBytesWritten();
+		this.phaseMicros = copy(request.getPhaseTimings());
+	}
+
+	/**
+	 * @return when the request completed, in ISO-8601 format.
+	 */
+	public String getTime()
+	{
+		return time;
+	}
+
+	public String getMethod()
+	{
+		return method;
+	}
+
+	/**
+	 * @return the request URI, including any query string.
+	 */
+	public String getUrl()
+	{
+		return url;
+	}
+
+	/**
+	 * @return the matched route pattern, or RouteLatency.UNMATCHED.
+	 */
+	public String getRoute()
+	{
+		return route;
+	}
+
+	public int getStatus()
+	{
+		return status;
+	}
+
+	public long getDurationMicros()
+	{
+		return durationMicros;
+	}
+
+	public long getRequestBytes()
+	{
+		return requestBytes;
+	}
+
+	/**
+	 * @return the size of the response body as written, or -1 if unknown.
+	 */
+	public long getResponseBytes()
+	{
+		return responseBytes;
+	}
+
+	/**
+	 * @return the time spent in each {@link RequestPhase}, in microseconds, in processing order.
+	 */
+	public Map<String, Long> getPhaseMicros()
+	{
+		return phaseMicros;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder(256)
+			.append(method).append(' ').append(url)
+			.append(" (route ").append(route).append(") responded with ").append(status)
+			.append(" in ").append(durationMicros).append("us")
+			.append(", request bytes=").append(requestBytes)
+			.append(", response bytes=").append(responseBytes)
+			.append(", phases:");
+
+		for (Map.Entry<String, Long> phase : phaseMicros.entrySet())
+		{
+			sb.append(' ').append(phase.getKey()).append('=').append(phase.getValue()).append("us");
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * The aggregated body size or, for a streamed body, the declared Content-Length.
+	 */
+	private static long requestBytes(Request request)
+	{
+		int readable = request.getBody().readableBytes();
+
+		if (readable > 0) return readable;
+
+		return Math.max(0L, parseLength(request.getHeader(HttpHeaderNames.CONTENT_LENGTH.toString())));
+	}
+
+	private static long parseLength(String value)
+	{
+		try
+		{
+			return (value != null ? Long.parseLong(value) : -1L);
+		}
+		catch (NumberFormatException e)
+		{
+			return -1L;
+		}
+	}
+
+	private static Map<String, Long> copy(PhaseTimings timings)
+	{
+		Map<String, Long> micros = new LinkedHashMap<String, Long>();
+
+		for (RequestPhase phase : RequestPhase.values())
+		{
+			micros.put(phase.name().toLowerCase(), timings.getNanos(phase) / 1000L);
+		}
+
+		return micros;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+
+/**
+ * Serves the admin route of the {@link SlowRequestPlugin}:
+ * <ul>
+ * <li>GET returns the threshold (thresholdMillis), the number of slow requests (slowCount),
+ * the recent slow requests, newest first (recent) and the slowest requests by route (slowest).</li>
+ * <li>DELETE discards the requests held.</li>
+ * </ul>
+ */
+public class SlowRequestController
+{
+	private final SlowRequestTracker tracker;
+
+	public SlowRequestController(SlowRequestTracker tracker)
+	{
+		super();
+		this.tracker = tracker;
+	}
+
+	public Map<String, Object> read(Request request, Response response)
+	{
+		Map<String, Object> report = new LinkedHashMap<String, Object>();
+		report.put("thresholdMillis", tracker.getThreshold(TimeUnit.MILLISECONDS));
+		report.put("slowCount", tracker.getSlowCount());
+		report.put("recent", tracker.getRecent());
+		report.put("slowest", tracker.getSlowest());
+		return report;
+	}
+
+	public void clear(Request request, Response response)
+	{
+		tracker.clear();
+		response.setResponseNoContent();
+	}
+}
@@ -0,0 +1,129 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.restexpress.RestExpress;
+import org.restexpress.plugin.RoutePlugin;
+import org.restexpress.route.RouteBuilder;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Tracks slow requests with a {@link SlowRequestTracker} and reports them on an admin route,
+ * "/slow-requests" by default. See {@link SlowRequestController} for the report.
+ * <p/>
+ * Usage:
+ * <pre>
+ * new SlowRequestPlugin()
+ *     .threshold(500, TimeUnit.MILLISECONDS)
+ *     .dumpTo(System.err)
+ *     .flag("internal")
+ *     .register(server);
+ * </pre>
+ */
+public class SlowRequestPlugin
+extends RoutePlugin
+{
+	private static final String DEFAULT_URI = "/slow-requests";
+	private static final long DEFAULT_THRESHOLD_MICROS = TimeUnit.SECONDS.toMicros(1);
+	private static final int DEFAULT_RECENT_COUNT = 100;
+	private static final int DEFAULT_SLOWEST_COUNT = 10;
+
+	private final String uri;
+	private long thresholdMicros = DEFAULT_THRESHOLD_MICROS;
+	private int recentCount = DEFAULT_RECENT_COUNT;
+	private int slowestCount = DEFAULT_SLOWEST_COUNT;
+	private PrintStream dumpStream = null;
+	private SlowRequestTracker tracker;
+
+	public SlowRequestPlugin()
+	{
+		this(DEFAULT_URI);
+	}
+
+	public SlowRequestPlugin(String uri)
+	{
+		super();
+		this.uri = uri;
+	}
+
+	/**
+	 * Sets the duration above which a request is slow. Defaults to one second.
+	 */
+	public SlowRequestPlugin threshold(long threshold, TimeUnit unit)
+	{
+		this.thresholdMicros = unit.toMicros(threshold);
+		return this;
+	}
+
+	/**
+	 * Sets the number of recent slow requests kept. Defaults to 100.
+	 */
+	public SlowRequestPlugin recent(int count)
+	{
+		this.recentCount = count;
+		return this;
+	}
+
+	/**
+	 * Sets the number of slowest requests kept per route. Defaults to 10.
+	 */
+	public SlowRequestPlugin slowest(int count)
+	{
+		this.slowestCount = count;
+		return this;
+	}
+
+	/**
+	 * Print each slow request to the given stream (e.g. System.err) as it completes.
+	 */
+	public SlowRequestPlugin dumpTo(PrintStream out)
+	{
+		this.dumpStream = out;
+		return this;
+	}
+
+	/**
+	 * @return the tracker, or null before register().
+	 */
+	public SlowRequestTracker getTracker()
+	{
+		return tracker;
+	}
+
+	@Override
+	public SlowRequestPlugin register(RestExpress server)
+	{
+		if (isRegistered()) return this;
+
+		super.register(server);
+		tracker = new SlowRequestTracker(thresholdMicros, TimeUnit.MICROSECONDS, recentCount, slowestCount)
+			.dumpTo(dumpStream);
+		server.addMessageObserver(tracker);
+
+		SlowRequestController controller = new SlowRequestController(tracker);
+		RouteBuilder builder = server.uri(uri, controller)
+			.action("read", HttpMethod.GET)
+			.action("clear", HttpMethod.DELETE)
+			.name("slow-requests");
+		applyFlags(builder);
+		applyParameters(builder);
+		return this;
+	}
+}
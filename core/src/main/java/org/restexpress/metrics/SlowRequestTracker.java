@@ -0,0 +1,203 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.MessageObserver;
+import org.restexpress.route.Route;
+
+/**
+ * Catches rare slow requests without verbose logging: keeps the last N requests slower than
+ * a threshold and, per route, the K slowest requests seen, each as a {@link SlowRequest} with
+ * its method, URL, route, status, body sizes and phase timings.
+ * <p/>
+ * Both are bounded and lock-free: the recent requests in a ring overwritten in turn, the
+ * slowest in a fixed set of slots per route (see {@link SlowestRequests}). Only requests that
+ * are kept are captured, so a fast request costs a map lookup and a comparison.
+ * <p/>
+ * Optionally, each request over the threshold is printed to a stream as it completes.
+ * <p/>
+ * Usage, standalone or via the {@link SlowRequestPlugin}:
+ * <pre>
+ * SlowRequestTracker tracker = new SlowRequestTracker(500, TimeUnit.MILLISECONDS, 100, 10);
+ * server.addMessageObserver(tracker);
+ * </pre>
+ */
+public class SlowRequestTracker
+extends MessageObserver
+{
+	private final long thresholdMicros;
+	private final int slowestCount;
+	private final AtomicReferenceArray<SlowRequest> recent;
+	private final AtomicLong recentIndex = new AtomicLong();
+	private final Map<Route, SlowestRequests> slowest = new ConcurrentHashMap<Route, SlowestRequests>();
+	private final SlowestRequests unmatched;
+	private final LongAdder slowCount = new LongAdder();
+	private volatile PrintStream dumpStream = null;
+
+	/**
+	 * @param threshold the duration above which a request is slow.
+	 * @param unit the unit of the threshold.
+	 * @param recentCount the number of recent slow requests kept.
+	 * @param slowestCount the number of slowest requests kept per route.
+	 */
+	public SlowRequestTracker(long threshold, TimeUnit unit, int recentCount, int slowestCount)
+	{
+		super();
+		this.thresholdMicros = unit.toMicros(threshold);
+		this.slowestCount = slowestCount;
+		this.recent = new AtomicReferenceArray<SlowRequest>(recentCount);
+		this.unmatched = new SlowestRequests(slowestCount);
+	}
+
+	/**
+	 * Print each slow request to the given stream (e.g. System.err) as it completes. Null, the
+	 * default, prints nothing.
+	 */
+	public SlowRequestTracker dumpTo(PrintStream out)
+	{
+		this.dumpStream = out;
+		return this;
+	}
+
+	public long getThreshold(TimeUnit unit)
+	{
+		return unit.convert(thresholdMicros, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * @return the number of requests over the threshold since creation (or the last clear()).
+	 */
+	public long getSlowCount()
+	{
+		return slowCount.sum();
+	}
+
+	/**
+	 * @return the most recent requests over the threshold, newest first.
+	 */
+	public List<SlowRequest> getRecent()
+	{
+		int length = recent.length();
+		long end = recentIndex.get();
+		List<SlowRequest> requests = new ArrayList<SlowRequest>(length);
+
+		for (long i = end - 1; i >= 0 && i >= end - length; i--)
+		{
+			SlowRequest request = recent.get((int) (i % length));
+
+			if (request != null) requests.add(request);
+		}
+
+		return requests;
+	}
+
+	/**
+	 * @return the slowest requests for each route with any, slowest first, keyed by
+	 * "METHOD /pattern" (or RouteLatency.UNMATCHED).
+	 */
+	public Map<String, List<SlowRequest>> getSlowest()
+	{
+		Map<String, List<SlowRequest>> byRoute = new LinkedHashMap<String, List<SlowRequest>>();
+
+		for (Map.Entry<Route, SlowestRequests> entry : slowest.entrySet())
+		{
+			Route route = entry.getKey();
+			byRoute.put(route.getMethod().name() + " " + route.getPattern(), entry.getValue().list());
+		}
+
+		List<SlowRequest> unmatchedRequests = unmatched.list();
+
+		if (!unmatchedRequests.isEmpty())
+		{
+			byRoute.put(RouteLatency.UNMATCHED, unmatchedRequests);
+		}
+
+		return byRoute;
+	}
+
+	/**
+	 * Discards the requests held.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < recent.length(); i++)
+		{
+			recent.set(i, null);
+		}
+
+		slowest.clear();
+		unmatched.clear();
+		slowCount.reset();
+	}
+
+	@Override
+	protected void onComplete(Request request, Response response)
+	{
+		long durationNanos = request.getPhaseTimings().getTotalNanos();
+		long durationMicros = durationNanos / 1000L;
+		boolean isSlow = (durationMicros > thresholdMicros);
+		SlowestRequests routeSlowest = slowestFor(request.getResolvedRoute());
+
+		if (!isSlow && !routeSlowest.accepts(durationMicros)) return;
+
+		SlowRequest captured = new SlowRequest(request, response, durationNanos);
+		routeSlowest.offer(captured);
+
+		if (isSlow)
+		{
+			slowCount.increment();
+
+			if (recent.length() > 0)
+			{
+				recent.set((int) (recentIndex.getAndIncrement() % recent.length()), captured);
+			}
+
+			PrintStream out = dumpStream;
+
+			if (out != null)
+			{
+				out.println("Slow request: " + captured);
+			}
+		}
+	}
+
+	private SlowestRequests slowestFor(Route route)
+	{
+		if (route == null) return unmatched;
+
+		SlowestRequests requests = slowest.get(route);
+
+		if (requests == null)
+		{
+			requests = slowest.computeIfAbsent(route, r -> new SlowestRequests(slowestCount));
+		}
+
+		return requests;
+	}
+}
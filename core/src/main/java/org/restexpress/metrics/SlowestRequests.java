@@ -0,0 +1,135 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The K slowest requests seen on a route, held lock-free in a fixed array of slots. A new
+ * request replaces the fastest one held, with a CAS, if it is slower. Once the slots are full,
+ * the duration of the fastest one held is kept as a floor, so the common case, a request
+ * faster than the floor, is rejected with a single read and nothing is captured.
+ */
+class SlowestRequests
+{
+	private static final Comparator<SlowRequest> SLOWEST_FIRST =
+		Comparator.comparingLong(SlowRequest::getDurationMicros).reversed();
+
+	private final AtomicReferenceArray<SlowRequest> slots;
+	private volatile long floorMicros = -1L;
+
+	SlowestRequests(int count)
+	{
+		super();
+		this.slots = new AtomicReferenceArray<SlowRequest>(count);
+	}
+
+	/**
+	 * @return true if a request taking this long would be kept.
+	 */
+	boolean accepts(long durationMicros)
+	{
+		return (durationMicros > floorMicros);
+	}
+
+	void offer(SlowRequest request)
+	{
+		while (true)
+		{
+			int fastest = -1;
+			SlowRequest held = null;
+
+			for (int i = 0; i < slots.length(); i++)
+			{
+				SlowRequest slot = slots.get(i);
+
+				if (slot == null)
+				{
+					fastest = i;
+					held = null;
+					break;
+				}
+
+				if (held == null || slot.getDurationMicros() < held.getDurationMicros())
+				{
+					fastest = i;
+					held = slot;
+				}
+			}
+
+			if (fastest < 0) return;
+
+			if (held != null && held.getDurationMicros() >= request.getDurationMicros()) return;
+
+			if (slots.compareAndSet(fastest, held, request))
+			{
+				updateFloor();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the requests held, slowest first.
+	 */
+	List<SlowRequest> list()
+	{
+		List<SlowRequest> requests = new ArrayList<SlowRequest>(slots.length());
+
+		for (int i = 0; i < slots.length(); i++)
+		{
+			SlowRequest slot = slots.get(i);
+
+			if (slot != null) requests.add(slot);
+		}
+
+		requests.sort(SLOWEST_FIRST);
+		return requests;
+	}
+
+	void clear()
+	{
+		for (int i = 0; i < slots.length(); i++)
+		{
+			slots.set(i, null);
+		}
+
+		floorMicros = -1L;
+	}
+
+	private void updateFloor()
+	{
+		long floor = Long.MAX_VALUE;
+
+		for (int i = 0; i < slots.length(); i++)
+		{
+			SlowRequest slot = slots.get(i);
+
+			if (slot == null)
+			{
+				floor = -1L;
+				break;
+			}
+
+			floor = Math.min(floor, slot.getDurationMicros());
+		}
+
+		floorMicros = floor;
+	}
+}
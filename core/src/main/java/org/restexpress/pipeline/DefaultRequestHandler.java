@@ -16,17 +16,18 @@
  */
 package org.restexpress.pipeline;
 
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.util.AttributeKey;
 
 import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
+import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,6 +38,9 @@ import org.restexpress.exception.DefaultExceptionMapper;
 import org.restexpress.exception.ExceptionMapping;
 import org.restexpress.exception.ExceptionUtils;
 import org.restexpress.exception.ServiceException;
+import org.restexpress.jfr.ExceptionMappingEvent;
+import org.restexpress.jfr.RequestEvent;
+import org.restexpress.jfr.SerializationEvent;
 import org.restexpress.response.HttpResponseWriter;
 import org.restexpress.route.Action;
 import org.restexpress.route.RouteResolver;
@@ -66,6 +70,7 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 	private ExceptionMapping exceptionMap = new DefaultExceptionMapper();
 	private List<MessageObserver> messageObservers = new ArrayList<MessageObserver>();
 	private boolean shouldEnforceHttpSpec = true;
+	private MessageContextPool contextPool = null;
 
 
 	// SECTION: CONSTRUCTORS
@@ -106,6 +111,19 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 		return this;
 	}
 
+	/**
+	 * Turn on pooled mode, where the per-message MessageContext, Request and Response
+	 * instances are recycled via the given pool after completion. Null turns pooling off.
+	 * 
+	 * @param pool a MessageContextPool, or null.
+	 * @return this DefaultRequestHandler for method chaining.
+	 */
+	public DefaultRequestHandler setMessageContextPool(MessageContextPool pool)
+	{
+		this.contextPool = pool;
+		return this;
+	}
+
 	public HttpResponseWriter getResponseWriter()
 	{
 		return this.responseWriter;
@@ -123,7 +141,11 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 	public void channelRead0(ChannelHandlerContext ctx, FullHttpRequest event)
 	throws Exception
 	{
+		RequestEvent requestEvent = new RequestEvent();
+		requestEvent.begin();
 		MessageContext context = createInitialContext(ctx, event);
+		PhaseTimings timings = context.getRequest().getPhaseTimings();
+		timings.start(DispatchTimer.poll(ctx.channel()));
 
 		try
 		{
@@ -136,7 +158,17 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 		}
 		finally
 		{
-			notifyComplete(context);
+			try
+			{
+				timings.finish();
+				releaseBody(event);
+				notifyComplete(context);
+				commitRequestEvent(requestEvent, event, context);
+			}
+			finally
+			{
+				releaseContext(ctx, context);
+			}
 		}
 	}
 
@@ -151,10 +183,14 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 	private void processRequest(ChannelHandlerContext ctx, MessageContext context)
 	throws Throwable
 	{
+		PhaseTimings timings = context.getRequest().getPhaseTimings();
 		notifyReceived(context);
+		timings.enter(RequestPhase.ROUTE);
 		resolveRoute(context);
 		resolveResponseProcessor(context);
+		timings.enter(RequestPhase.PREPROCESS);
 		invokePreprocessors(preprocessors, context.getRequest());
+		timings.enter(RequestPhase.CONTROLLER);
 		Object result = context.getAction().invoke(context.getRequest(), context.getResponse());
 
 		if (result != null)
@@ -162,11 +198,16 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 			context.getResponse().setBody(result);
 		}
 
+		timings.enter(RequestPhase.POSTPROCESS);
 		invokePostprocessors(postprocessors, context.getRequest(), context.getResponse());
-		serializeResponse(context, false);
+		timings.enter(RequestPhase.SERIALIZE);
+		serializeResponse(ctx, context, false);
 		enforceHttpSpecification(context);
+		timings.enter(RequestPhase.FINALLY);
 		invokeFinallyProcessors(finallyProcessors, context.getRequest(), context.getResponse());
+		timings.enter(RequestPhase.WRITE);
 		writeResponse(ctx, context);
+		timings.finish();
 		notifySuccess(context);
 	}
 
@@ -190,7 +231,9 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 	private void handleRestExpressException(ChannelHandlerContext ctx, Throwable cause)
 	throws Exception
 	{
-		MessageContext context = (MessageContext) ctx.attr(CONTEXT_KEY).get();
+		MessageContext context = (MessageContext) ctx.channel().attr(CONTEXT_KEY).get();
+		PhaseTimings timings = context.getRequest().getPhaseTimings();
+		timings.enter(RequestPhase.SERIALIZE);
 		Throwable rootCause = mapServiceException(cause);
 
 		if (rootCause != null) // was/is a ServiceException
@@ -208,11 +251,16 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 			context.setHttpStatus(HttpResponseStatus.INTERNAL_SERVER_ERROR);
 		}
 
+		ExceptionMappingEvent.emit(cause, rootCause, context.getResponse().getResponseStatus().code());
 		context.setException(rootCause);
 		notifyException(context);
-		serializeResponse(context, true);
+		context.releaseSerializedBody();
+		serializeResponse(ctx, context, true);
+		timings.enter(RequestPhase.FINALLY);
 		invokeFinallyProcessors(finallyProcessors, context.getRequest(), context.getResponse());
+		timings.enter(RequestPhase.WRITE);
 		writeResponse(ctx, context);
+		timings.finish();
 	}
 
 	@Override
@@ -221,7 +269,7 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 	{
 		try
 		{
-			MessageContext messageContext = (MessageContext) ctx.attr(CONTEXT_KEY).get();
+			MessageContext messageContext = (MessageContext) ctx.channel().attr(CONTEXT_KEY).get();
 
 			if (messageContext != null)
 			{
@@ -242,13 +290,54 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 
 	private MessageContext createInitialContext(ChannelHandlerContext ctx, FullHttpRequest httpRequest)
 	{
+		if (contextPool != null)
+		{
+			MessageContext context = contextPool.acquire(getRemoteAddress(ctx), httpRequest, routeResolver, serializationProvider);
+			ctx.channel().attr(CONTEXT_KEY).set(context);
+			return context;
+		}
+
 		Request request = createRequest(httpRequest, ctx);
 		Response response = createResponse();
 		MessageContext context = new MessageContext(request, response);
-		ctx.attr(CONTEXT_KEY).set(context);
+		ctx.channel().attr(CONTEXT_KEY).set(context);
 		return context;
 	}
 
+	/**
+	 * On a streaming route, discards whatever part of the request body the controller did not read.
+	 * For a multipart upload, deletes the uploaded parts the controller did not keep.
+	 */
+	private void releaseBody(FullHttpRequest httpRequest)
+	{
+		if (httpRequest instanceof StreamingHttpRequest)
+		{
+			((StreamingHttpRequest) httpRequest).getBodyStream().close();
+		}
+		else if (httpRequest instanceof MultipartHttpRequest)
+		{
+			((MultipartHttpRequest) httpRequest).destroy();
+		}
+	}
+
+	/**
+	 * In pooled mode, releases the context at the end of its lifecycle.
+	 */
+	private void releaseContext(ChannelHandlerContext ctx, MessageContext context)
+	{
+		if (contextPool != null)
+		{
+			ctx.channel().attr(CONTEXT_KEY).compareAndSet(context, null);
+			contextPool.release(context);
+		}
+	}
+
+	private InetSocketAddress getRemoteAddress(ChannelHandlerContext ctx)
+	{
+		SocketAddress address = ctx.channel().remoteAddress();
+		return (address instanceof InetSocketAddress ? (InetSocketAddress) address : null);
+	}
+
 	private void resolveRoute(MessageContext context)
     {
 	    Action action = routeResolver.resolve(context.getRequest());
@@ -256,6 +345,36 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
     }
 
 
+    /**
+     * Populates and commits the request's Flight Recorder event, if it is enabled. Called after
+     * the response is written, but before the context is released.
+     */
+    private void commitRequestEvent(RequestEvent requestEvent, FullHttpRequest httpRequest, MessageContext context)
+    {
+    	if (!requestEvent.shouldCommit()) return;
+
+    	Request request = context.getRequest();
+    	Response response = context.getResponse();
+    	requestEvent.method = request.getEffectiveHttpMethod().name();
+    	requestEvent.path = request.getPath();
+    	requestEvent.route = (request.getResolvedRoute() != null ? request.getResolvedRoute().getFullPattern() : null);
+    	requestEvent.status = response.getResponseStatus().code();
+    	requestEvent.requestBytes = HttpUtil.getContentLength(httpRequest, (long) httpRequest.content().readableBytes());
+    	requestEvent.responseBytes = response.getBytesWritten();
+    	requestEvent.commit();
+    }
+
+    private void commitSerializationEvent(SerializationEvent serializationEvent, SerializationSettings settings, Object body, ByteBuf serialized)
+    {
+    	if (!serializationEvent.shouldCommit()) return;
+
+    	serializationEvent.processor = settings.getResponseProcessor().getSerializer().getClass();
+    	serializationEvent.type = (body != null ? body.getClass() : null);
+    	serializationEvent.mediaType = settings.getMediaType();
+    	serializationEvent.bytes = (serialized != null ? serialized.readableBytes() : 0L);
+    	serializationEvent.commit();
+    }
+
     private void notifyReceived(MessageContext context)
     {
     	for (MessageObserver observer : messageObservers)
@@ -384,10 +503,18 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 
     private void writeResponse(ChannelHandlerContext ctx, MessageContext context)
     {
-    	getResponseWriter().write(ctx, context.getRequest(), context.getResponse());
+    	Response response = context.getResponse();
+    	ByteBuf serialized = context.handOffSerializedBody();
+    	getResponseWriter().write(ctx, context.getRequest(), response);
+
+    	// The serialized body now belongs to the outgoing message, so observers must not see it.
+    	if (serialized != null && response.getBody() == serialized)
+    	{
+    		response.setBody(null);
+    	}
     }
 
-	private void serializeResponse(MessageContext context, boolean force)
+	private void serializeResponse(ChannelHandlerContext ctx, MessageContext context, boolean force)
 	{
 		Response response = context.getResponse();
 
@@ -408,11 +535,16 @@ extends SimpleChannelInboundHandler<FullHttpRequest>
 			{
 				if (response.isSerialized())
 				{
-					ByteBuffer serialized = settings.serialize(response);
+					SerializationEvent serializationEvent = new SerializationEvent();
+					serializationEvent.begin();
+					Object body = response.getBody();
+					ByteBuf serialized = settings.serialize(response, ctx.alloc());
+					commitSerializationEvent(serializationEvent, settings, body, serialized);
 
 					if (serialized != null)
 					{
-                        response.setBody(Unpooled.wrappedBuffer(serialized));
+						response.setBody(serialized);
+						context.setSerializedBody(serialized);
 
 						if (!response.hasHeader(HttpHeaderNames.CONTENT_TYPE.toString()))
 						{
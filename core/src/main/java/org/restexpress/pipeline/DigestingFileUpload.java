@@ -0,0 +1,55 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.multipart.MixedFileUpload;
+
+/**
+ * A file upload that updates its message digests and byte count with each chunk as the
+ * decoder adds it, before the chunk is written to memory or disk.
+ */
+class DigestingFileUpload
+extends MixedFileUpload
+implements DigestedUpload
+{
+	private final UploadDigester digester;
+
+	public DigestingFileUpload(String name, String filename, String contentType, String contentTransferEncoding,
+		Charset charset, long size, long memoryThreshold, String baseDir, List<String> algorithms)
+	{
+		super(name, filename, contentType, contentTransferEncoding, charset, size, memoryThreshold, baseDir, false);
+		this.digester = new UploadDigester(algorithms);
+	}
+
+	@Override
+	public void addContent(ByteBuf buffer, boolean last)
+	throws IOException
+	{
+		digester.update(buffer);
+		super.addContent(buffer, last);
+	}
+
+	@Override
+	public UploadDigest getUploadDigest()
+	{
+		return (isCompleted() ? digester.finish(getName(), getFilename()) : null);
+	}
+}
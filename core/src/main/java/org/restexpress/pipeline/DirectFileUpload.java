@@ -0,0 +1,208 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.multipart.DiskFileUpload;
+
+/**
+ * A file upload written straight to its file in the upload directory, whatever its size.
+ * Each chunk is written once, with a positional FileChannel write, as the decoder adds it:
+ * there is no in-memory phase to copy from when the threshold is crossed, and keeping the
+ * upload (MultipartHttpRequest.keep()) is a rename within the upload directory rather than
+ * a copy. The file is forced to the device according to the {@link UploadSyncPolicy}.
+ * <p/>
+ * Once complete, the file is handed to DiskFileUpload, which serves reads and renames. It is
+ * deleted when the upload is released, unless it has been renamed.
+ */
+class DirectFileUpload
+extends DiskFileUpload
+implements DigestedUpload
+{
+	private static final String PREFIX = "FUp_";
+	private static final String POSTFIX = ".tmp";
+
+	private final File directory;
+	private final UploadSyncPolicy syncPolicy;
+	private final UploadDigester digester;
+	private File target = null;
+	private FileChannel channel = null;
+	private long position = 0L;
+	private boolean isRenamed = false;
+
+	/**
+	 * @param algorithms the digests to compute while receiving. Empty for none.
+	 */
+	public DirectFileUpload(String name, String filename, String contentType, String contentTransferEncoding,
+		Charset charset, long size, String directory, UploadSyncPolicy syncPolicy, List<String> algorithms)
+	{
+		super(name, filename, contentType, contentTransferEncoding, charset, size, directory, false);
+		this.directory = new File(directory);
+		this.syncPolicy = syncPolicy;
+		this.digester = (algorithms.isEmpty() ? null : new UploadDigester(algorithms));
+	}
+
+	@Override
+	public void addContent(ByteBuf buffer, boolean last)
+	throws IOException
+	{
+		if (buffer != null)
+		{
+			try
+			{
+				write(buffer);
+			}
+			finally
+			{
+				buffer.release();
+			}
+		}
+
+		if (last)
+		{
+			complete();
+		}
+	}
+
+	@Override
+	public boolean renameTo(File dest)
+	throws IOException
+	{
+		boolean isSuccess = super.renameTo(dest);
+		isRenamed |= isSuccess;
+		return isSuccess;
+	}
+
+	@Override
+	public void delete()
+	{
+		closeChannel();
+
+		if (target != null && !isRenamed)
+		{
+			target.delete();
+		}
+
+		target = null;
+		super.delete();
+	}
+
+	@Override
+	public UploadDigest getUploadDigest()
+	{
+		return (digester != null && isCompleted() ? digester.finish(getName(), getFilename()) : null);
+	}
+
+	private void write(ByteBuf buffer)
+	throws IOException
+	{
+		int length = buffer.readableBytes();
+
+		if (length == 0) return;
+
+		checkSize(position + length);
+
+		if (definedSize > 0 && definedSize < position + length)
+		{
+			throw new IOException("Out of size: " + (position + length) + " > " + definedSize);
+		}
+
+		if (digester != null)
+		{
+			digester.update(buffer);
+		}
+
+		FileChannel out = openChannel();
+		int index = buffer.readerIndex();
+		int remaining = length;
+
+		while (remaining > 0)
+		{
+			int written = buffer.getBytes(index, out, position, remaining);
+			index += written;
+			position += written;
+			remaining -= written;
+		}
+
+		size = position;
+
+		if (syncPolicy == UploadSyncPolicy.EVERY_CHUNK)
+		{
+			out.force(false);
+		}
+	}
+
+	private void complete()
+	throws IOException
+	{
+		FileChannel out = openChannel();
+
+		try
+		{
+			if (syncPolicy != UploadSyncPolicy.NONE)
+			{
+				out.force(false);
+			}
+		}
+		finally
+		{
+			closeChannel();
+		}
+
+		// Hands the file to DiskFileUpload and marks the upload completed.
+		super.setContent(target);
+	}
+
+	private FileChannel openChannel()
+	throws IOException
+	{
+		if (channel == null)
+		{
+			if (target == null)
+			{
+				target = Files.createTempFile(directory.toPath(), PREFIX, POSTFIX).toFile();
+			}
+
+			channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE);
+		}
+
+		return channel;
+	}
+
+	private void closeChannel()
+	{
+		if (channel == null) return;
+
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			// nothing more to do with it.
+		}
+
+		channel = null;
+	}
+}
@@ -0,0 +1,132 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * Notes the time each complete request leaves the I/O thread for the executor group, so
+ * the request handler can report the time it spent queued (see {@link RequestPhase#QUEUE}).
+ * The request handler processes a channel's requests in order, so the timestamps are kept
+ * in a small per-channel ring of primitive longs, written by the I/O thread and read by the
+ * channel's executor thread. A request pipelined behind more than the ring holds is reported
+ * as not timed rather than paired with another request's timestamp.
+ * <p/>
+ * Installed immediately before the request handlers only when an executor group is used.
+ */
+@Sharable
+public class DispatchTimer
+extends ChannelInboundHandlerAdapter
+{
+	public static final DispatchTimer INSTANCE = new DispatchTimer();
+
+	private static final AttributeKey<Timestamps> TIMESTAMPS_KEY = AttributeKey.valueOf("dispatchTimestamps");
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+	throws Exception
+	{
+		if (msg instanceof FullHttpRequest)
+		{
+			Attribute<Timestamps> attribute = ctx.channel().attr(TIMESTAMPS_KEY);
+			Timestamps timestamps = attribute.get();
+
+			if (timestamps == null)
+			{
+				timestamps = new Timestamps();
+				attribute.set(timestamps);
+			}
+
+			timestamps.offer(System.nanoTime());
+		}
+
+		ctx.fireChannelRead(msg);
+	}
+
+	/**
+	 * @param channel a channel.
+	 * @return the dispatch time of the channel's next request, or zero if it was not timed.
+	 */
+	static long poll(Channel channel)
+	{
+		Timestamps timestamps = channel.attr(TIMESTAMPS_KEY).get();
+		return (timestamps == null ? 0L : timestamps.poll());
+	}
+
+	/**
+	 * A single-producer, single-consumer ring of timestamps. Each slot also holds the sequence
+	 * number of the request it was written for, so a slot that could not be written (the ring
+	 * was full) is detected by the reader instead of being read as another request's time.
+	 */
+	static class Timestamps
+	{
+		private static final int SIZE = 16;
+		private static final int MASK = SIZE - 1;
+
+		private final long[] times = new long[SIZE];
+		private final long[] sequences = new long[SIZE];
+		private volatile long offered = 0L;
+		private volatile long polled = 0L;
+
+		Timestamps()
+		{
+			super();
+
+			for (int i = 0; i < SIZE; i++)
+			{
+				sequences[i] = -1L;
+			}
+		}
+
+		/**
+		 * Called by the I/O thread only.
+		 */
+		void offer(long time)
+		{
+			long sequence = offered;
+			int slot = (int) (sequence & MASK);
+
+			if (sequence - polled < SIZE)
+			{
+				times[slot] = time;
+				sequences[slot] = sequence;
+			}
+
+			offered = sequence + 1;
+		}
+
+		/**
+		 * Called by the channel's executor thread only.
+		 */
+		long poll()
+		{
+			long sequence = polled;
+
+			if (sequence >= offered) return 0L;
+
+			int slot = (int) (sequence & MASK);
+			long time = (sequences[slot] == sequence ? times[slot] : 0L);
+			polled = sequence + 1;
+			return time;
+		}
+	}
+}
@@ -16,349 +16,307 @@
 package org.restexpress.pipeline;
 
 import java.io.File;
-import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
-import java.nio.file.Paths;
-import java.util.UUID;
-
-import org.restexpress.ContentType;
-import org.restexpress.Request;
-import org.restexpress.Response;
-import org.restexpress.exception.DefaultExceptionMapper;
+import java.util.Collections;
+import java.util.List;
+
 import org.restexpress.exception.ExceptionMapping;
-import org.restexpress.exception.ServiceException;
 import org.restexpress.response.HttpResponseWriter;
-import org.restexpress.route.Action;
 import org.restexpress.route.RouteResolver;
-import org.restexpress.serialization.DefaultSerializationProvider;
 import org.restexpress.serialization.SerializationProvider;
-import org.restexpress.serialization.SerializationSettings;
-import org.restexpress.util.HttpSpecification;
 
 import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
-import io.netty.handler.codec.http.HttpHeaders;
-import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
-import io.netty.handler.codec.http.multipart.FileUpload;
-import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
-import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.EndOfDataDecoderException;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder.ErrorDataDecoderException;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData.HttpDataType;
-import io.netty.util.AttributeKey;
 
 /***
  * @author - Murali S Rao
  *
  * An upload handler to handle large file uploads in Rest Express.
- * Involves adding a decoder to "divert" POST Multipart requests towards this handler
- * and pass the rest of messages to the Default Request Handler. (See RequestURLDecoder.java)
+ * Multipart POST requests are decoded here, chunk by chunk, as they arrive: parts
+ * larger than the in-memory threshold are written to the upload directory, so an
+ * upload never sits fully in memory. Once the request is complete, it is passed on
+ * as a {@link MultipartHttpRequest} (bypassing the aggregator) to the request handler,
+ * which invokes the controller. Every other request passes through untouched.
+ *
+ * The controller accesses the uploaded parts via Request.getUploadedFiles() and
+ * Request.getFormAttributes(), or the first file via Request.getUploadedFileAttachment().
+ * If digest algorithms are configured, the size and digests of each file are computed
+ * as it is received and attached to the Request as a list of {@link UploadDigest}s
+ * (see Request.getUploadDigests()). With a direct-write sync policy, files bypass memory
+ * altogether and are written once, straight to the upload directory (see {@link DirectFileUpload}).
  *
- * The controller can access the file received by this handler
- * by retrieving the path of the file using an "attachment" named "FILE_ATTACHMENT_KEY"
+ * Uploads larger than the maximum upload size are rejected with a 413 (Request Entity
+ * Too Large). On a keep-alive connection the rest of the upload is read and discarded
+ * so the connection can be reused; otherwise the connection is closed.
  *
+ * Holds per-connection state, so a new instance is required for each channel.
  */
-@Sharable
 public class FileUploadHandler
-extends SimpleChannelInboundHandler<HttpObject>
+extends ChannelInboundHandlerAdapter
 {
-
-	private static final AttributeKey<MessageContext> CONTEXT_KEY = AttributeKey.valueOf("context");
 	public static final String FILE_ATTACHMENT_KEY = "filePath";
-	private final RouteResolver routeResolver;
-	private final SerializationProvider serializationProvider;
-	private HttpResponseWriter responseWriter;
-	private HttpPostRequestDecoder decoder;
-	private static final HttpDataFactory factory = new DefaultHttpDataFactory(DefaultHttpDataFactory.MINSIZE);
-	private File filePath;
-	private boolean shouldEnforceHttpSpec = true;
-	private static SerializationProvider DEFAULT_SERIALIZATION_PROVIDER = null;
-
-	// Save a reference to request and the context since we accumulate chunks in between
-	private FullHttpRequest fullHttpRequest = null;
-	private MessageContext messageContext = null;
-	private ExceptionMapping exceptionMap = new DefaultExceptionMapper();
+	public static final String DIGESTS_ATTACHMENT_KEY = "uploadDigests";
 
-	public FileUploadHandler(RouteResolver routeResolver, SerializationProvider serializationProvider, HttpResponseWriter responseWriter, boolean enforceHttpSpec)
-	{
-		super();
-		this.routeResolver = routeResolver;
-		this.serializationProvider = serializationProvider;
-		setResponseWriter(responseWriter);
-		this.shouldEnforceHttpSpec = enforceHttpSpec;
-	}
+	private static final long DEFAULT_MEMORY_THRESHOLD = 16384L;
 
-	@Override
-	public void channelReadComplete(ChannelHandlerContext ctx) throws Exception
+	private final UploadDataFactory factory;
+	private final long maxUploadSize;
+	private final File uploadDirectory;
+
+	// The upload in progress on this channel, if any.
+	private HttpRequest request = null;
+	private HttpPostRequestDecoder decoder = null;
+	private long received = 0L;
+	private boolean isDiscarding = false;
+
+	/**
+	 * Parts above 16KB are written to java.io.tmpdir, with no limit on the upload size.
+	 */
+	public FileUploadHandler()
 	{
-		ctx.flush();
-		super.channelReadComplete(ctx);
+		this(DEFAULT_MEMORY_THRESHOLD, -1L, null);
 	}
 
-	public void channelRead0(ChannelHandlerContext channelHandlerContext, HttpObject object)
-	throws Exception
+	/**
+	 * The handler no longer routes, serializes or writes responses itself: completed uploads
+	 * are passed on to the DefaultRequestHandler. The arguments are ignored and the default
+	 * settings are used. The handler holds per-connection state, so use one instance per channel.
+	 * 
+	 * @deprecated use PipelineInitializer.setFileUploadHandlerFactory() with one of the other
+	 * constructors.
+	 */
+	@Deprecated
+	public FileUploadHandler(RouteResolver routeResolver, SerializationProvider serializationProvider, HttpResponseWriter responseWriter, boolean enforceHttpSpec)
 	{
-		try
-		{
-			processRequest(channelHandlerContext, object);
-		}
-		catch (Exception e)
-		{
-			e.printStackTrace();
-		}
+		this();
 	}
 
-	private void processRequest(ChannelHandlerContext channelHandlerContext, HttpObject object)
+	/**
+	 * @param memoryThreshold the size above which a part is written to disk.
+	 * @param maxUploadSize the maximum size of an upload request body, or -1 for no limit.
+	 * @param uploadDirectory the directory for parts written to disk. Null for java.io.tmpdir.
+	 */
+	public FileUploadHandler(long memoryThreshold, long maxUploadSize, String uploadDirectory)
 	{
-		if (object instanceof HttpRequest)
-		{
-			HttpRequest request = (HttpRequest) object;
-			fullHttpRequest = new DefaultFullHttpRequest(request.protocolVersion(), request.method(), request.uri());
-			fullHttpRequest.headers().set(request.headers());
-			String uuid = UUID.randomUUID().toString();
-			filePath = Paths.get(System.getProperty("java.io.tmpdir"), uuid).toFile();
-			messageContext = createInitialContext(channelHandlerContext, fullHttpRequest);
-
-			try
-			{
-				decoder = new HttpPostRequestDecoder(factory, request);
-			}
-			catch (ErrorDataDecoderException e1)
-			{
-				e1.printStackTrace();
-				channelHandlerContext.channel().close();
-				return;
-			}
-		}
-
-		if (object instanceof HttpContent)
-		{
-			HttpContent chunk = (HttpContent) object;
-			decoder.offer(chunk);
-			readChunk();
-
-			if (object instanceof LastHttpContent)
-			{
-				prepareResponse(channelHandlerContext);
-				reset();
-			}
-		}
+		this(memoryThreshold, maxUploadSize, uploadDirectory, Collections.<String>emptyList(), null);
 	}
 
-	private void prepareResponse(ChannelHandlerContext channelHandlerContext)
+	/**
+	 * @param memoryThreshold the size above which a part is written to disk.
+	 * @param maxUploadSize the maximum size of an upload request body, or -1 for no limit.
+	 * @param uploadDirectory the directory for parts written to disk. Null for java.io.tmpdir.
+	 * @param digestAlgorithms the MessageDigest algorithms (e.g. "SHA-256") computed over each file
+	 * as it is received, made available as {@link UploadDigest}s. Empty for none.
+	 */
+	public FileUploadHandler(long memoryThreshold, long maxUploadSize, String uploadDirectory, List<String> digestAlgorithms)
 	{
-		resolveRoute(messageContext);
-		resolveResponseProcessor(messageContext);
-		messageContext.getRequest().putAttachment(FILE_ATTACHMENT_KEY, filePath.getAbsolutePath());
-		Object result = messageContext.getAction().invoke(messageContext.getRequest(), messageContext.getResponse());
-
-		if (result != null)
-		{
-			messageContext.getResponse().setBody(result);
-		}
-
-		serializeResponse(messageContext, false);
-		enforceHttpSpecification(messageContext);
-		writeResponse(channelHandlerContext, messageContext);
+		this(memoryThreshold, maxUploadSize, uploadDirectory, digestAlgorithms, null);
 	}
 
-	private void reset()
+	/**
+	 * @param memoryThreshold the size above which a part is written to disk.
+	 * @param maxUploadSize the maximum size of an upload request body, or -1 for no limit.
+	 * @param uploadDirectory the directory for parts written to disk. Null for java.io.tmpdir.
+	 * @param digestAlgorithms the MessageDigest algorithms (e.g. "SHA-256") computed over each file
+	 * as it is received, made available as {@link UploadDigest}s. Empty for none.
+	 * @param directWriteSyncPolicy if not null, every file is written straight to the upload
+	 * directory as it arrives, regardless of the memory threshold, and synced per this policy.
+	 */
+	public FileUploadHandler(long memoryThreshold, long maxUploadSize, String uploadDirectory, List<String> digestAlgorithms,
+		UploadSyncPolicy directWriteSyncPolicy)
 	{
-		// destroy the decoder to release all resources
-		decoder.destroy();
-		decoder = null;
-		fullHttpRequest = null;
-		messageContext = null;
+		super();
+		this.maxUploadSize = maxUploadSize;
+		this.uploadDirectory = new File(uploadDirectory != null ? uploadDirectory : System.getProperty("java.io.tmpdir"));
+		this.factory = new UploadDataFactory(memoryThreshold, this.uploadDirectory.getAbsolutePath(), digestAlgorithms,
+			directWriteSyncPolicy);
 	}
 
-	private void readChunk()
+	/**
+	 * Exceptions are mapped by the DefaultRequestHandler, which now dispatches uploads.
+	 * 
+	 * @return this FileUploadHandler.
+	 * @deprecated has no effect. Use RestExpress.mapException() to map exceptions.
+	 */
+	@Deprecated
+	public FileUploadHandler setExceptionMap(ExceptionMapping map)
 	{
-		try
-		{
-			while (decoder.hasNext())
-			{
-				InterfaceHttpData data = decoder.next();
-				if (data != null)
-				{
-					try
-					{
-						writeData(data);
-					}
-					finally
-					{
-						data.release();
-					}
-				}
-			}
-		}
-		catch (EndOfDataDecoderException e)
-		{
-			e.printStackTrace();
-		}
+		return this;
 	}
 
-	private void writeData(InterfaceHttpData data)
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+	throws Exception
 	{
-		if (data.getHttpDataType() == HttpDataType.Attribute)
+		if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest))
 		{
-			Attribute attribute = (Attribute) data;
-			String value;
-			try
-			{
-				value = attribute.getValue();
-			}
-			catch (IOException e)
+			HttpRequest httpRequest = (HttpRequest) msg;
+			isDiscarding = false;
+
+			if (isUpload(httpRequest))
 			{
-				e.printStackTrace();
+				startUpload(ctx, httpRequest);
+				return;
 			}
-
 		}
-		else
+		else if (msg instanceof HttpContent && (decoder != null || isDiscarding))
 		{
-			FileUpload fileUpload = (FileUpload) data;
-
-			if (fileUpload.isCompleted())
-			{
-				try
-				{
-					fileUpload.renameTo(filePath);
-				}
-				catch (IOException e)
-				{
-					e.printStackTrace();
-				}
-			}
+			offer(ctx, (HttpContent) msg);
+			return;
 		}
+
+		ctx.fireChannelRead(msg);
 	}
 
-	private MessageContext createInitialContext(ChannelHandlerContext ctx, FullHttpRequest httpRequest)
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx)
+	throws Exception
 	{
-		Request request = createRequest(httpRequest, ctx);
-		Response response = createResponse();
-		MessageContext context = new MessageContext(request, response);
-		ctx.attr(CONTEXT_KEY).set(context);
-		return context;
+		reset();
+		super.channelInactive(ctx);
 	}
 
-	public HttpResponseWriter getResponseWriter()
+	@Override
+	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+	throws Exception
 	{
-		return this.responseWriter;
+		reset();
+		super.exceptionCaught(ctx, cause);
 	}
 
-	public void setResponseWriter(HttpResponseWriter writer)
+	private boolean isUpload(HttpRequest httpRequest)
 	{
-		this.responseWriter = writer;
+		return (httpRequest.decoderResult().isSuccess()
+			&& HttpMethod.POST.equals(httpRequest.method())
+			&& HttpPostRequestDecoder.isMultipart(httpRequest));
 	}
 
-	private Request createRequest(FullHttpRequest request, ChannelHandlerContext context)
+	private void startUpload(ChannelHandlerContext ctx, HttpRequest httpRequest)
 	{
+		if (isTooLarge(HttpUtil.getContentLength(httpRequest, -1L)))
+		{
+			reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, HttpUtil.isKeepAlive(httpRequest));
+			isDiscarding = true;
+			return;
+		}
+
 		try
 		{
-			return new Request((InetSocketAddress) context.channel().remoteAddress(), request,
-			    routeResolver, serializationProvider);
+			decoder = new HttpPostRequestDecoder(factory, httpRequest);
+			// Compact the undecoded buffer as we go instead of the default 10MB.
+			decoder.setDiscardThreshold(0);
 		}
-		catch (Throwable t)
+		catch (ErrorDataDecoderException e)
 		{
-			return new Request(request, routeResolver, serializationProvider);
+			reject(ctx, HttpResponseStatus.BAD_REQUEST, false);
+			isDiscarding = true;
+			return;
 		}
-	}
-
-	private Response createResponse()
-	{
-		return new Response();
-	}
 
-	private void writeResponse(ChannelHandlerContext ctx, MessageContext context)
-	{
-		getResponseWriter().write(ctx, context.getRequest(), context.getResponse());
-	}
-
-	private void resolveResponseProcessor(MessageContext context)
-	{
-		SerializationSettings s = serializationProvider.resolveResponse(context.getRequest(), context.getResponse(), false);
-		context.setSerializationSettings(s);
-	}
-
-	private void resolveRoute(MessageContext context)
-	{
-		Action action = routeResolver.resolve(context.getRequest());
-		context.setAction(action);
-	}
-
-	private void enforceHttpSpecification(MessageContext context)
-	{
-		if (shouldEnforceHttpSpec)
+		if (HttpUtil.is100ContinueExpected(httpRequest))
 		{
-			HttpSpecification.enforce(context.getResponse());
+			ctx.writeAndFlush(new DefaultFullHttpResponse(httpRequest.protocolVersion(), HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+			HttpUtil.set100ContinueExpected(httpRequest, false);
 		}
+
+		request = httpRequest;
+		received = 0L;
 	}
 
-	private void serializeResponse(MessageContext context, boolean force)
+	private void offer(ChannelHandlerContext ctx, HttpContent content)
 	{
-		Response response = context.getResponse();
+		boolean isLast = (content instanceof LastHttpContent);
 
-		if (HttpSpecification.isContentTypeAllowed(response))
+		try
 		{
-			SerializationSettings settings = null;
-
-			if (response.hasSerializationSettings())
+			if (isDiscarding)
 			{
-				settings = response.getSerializationSettings();
-			}
-			else if (force)
-			{
-				settings = serializationProvider.resolveResponse(context.getRequest(), response, force);
+				isDiscarding = !isLast;
+				return;
 			}
 
-			if (settings != null)
-			{
-				if (response.isSerialized())
-				{
-					ByteBuffer serialized = settings.serialize(response);
-
-					if (serialized != null)
-					{
-						response.setBody(Unpooled.wrappedBuffer(serialized));
-
-						if (!response.hasHeader(HttpHeaders.Names.CONTENT_TYPE))
-						{
-							response.setContentType(settings.getMediaType());
-						}
-					}
-				}
-			}
+			received += content.content().readableBytes();
 
-			if (!response.hasHeader(HttpHeaders.Names.CONTENT_TYPE))
+			if (isTooLarge(received))
 			{
-				response.setContentType(ContentType.TEXT_PLAIN);
+				reject(ctx, HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, HttpUtil.isKeepAlive(request));
+				isDiscarding = !isLast;
+				return;
 			}
+
+			decoder.offer(content);
+		}
+		catch (ErrorDataDecoderException e)
+		{
+			reject(ctx, HttpResponseStatus.BAD_REQUEST, false);
+			isDiscarding = !isLast;
+			return;
+		}
+		finally
+		{
+			content.release();
+		}
+
+		if (isLast)
+		{
+			MultipartHttpRequest upload = new MultipartHttpRequest(request, decoder, uploadDirectory);
+			request = null;
+			decoder = null;
+			ctx.fireChannelRead(upload);
 		}
 	}
 
-	public FileUploadHandler setExceptionMap(ExceptionMapping map)
+	private boolean isTooLarge(long size)
 	{
-		this.exceptionMap = map;
-		return this;
+		return (maxUploadSize >= 0 && size > maxUploadSize);
 	}
 
-	public SerializationProvider getDefaultSerializationProvider()
+	/**
+	 * Responds to the upload in progress with an error status. On a keep-alive connection, the
+	 * rest of the request body is read and discarded (without buffering) so the connection can be
+	 * reused; otherwise the connection is closed.
+	 */
+	private void reject(ChannelHandlerContext ctx, HttpResponseStatus status, boolean isKeepAlive)
+	{
+		reset();
+		FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+		response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+
+		if (isKeepAlive)
+		{
+			ctx.writeAndFlush(response);
+		}
+		else
+		{
+			response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+			ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+		}
+	}
+
+	private void reset()
 	{
-		if (DEFAULT_SERIALIZATION_PROVIDER == null)
+		if (decoder != null)
 		{
-			DEFAULT_SERIALIZATION_PROVIDER = new DefaultSerializationProvider();
+			decoder.destroy();
+			decoder = null;
 		}
 
-		return DEFAULT_SERIALIZATION_PROVIDER;
+		request = null;
+		received = 0L;
 	}
 }
@@ -15,17 +15,24 @@
  */
 package org.restexpress.pipeline;
 
+import java.net.InetSocketAddress;
 import java.net.URLDecoder;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map.Entry;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.Recycler.Handle;
+
 import org.restexpress.ContentType;
 import org.restexpress.Parameters;
 import org.restexpress.Request;
 import org.restexpress.Response;
 import org.restexpress.route.Action;
+import org.restexpress.route.RouteResolver;
+import org.restexpress.serialization.SerializationProvider;
 import org.restexpress.serialization.SerializationSettings;
 
 /**
@@ -37,12 +44,115 @@ public class MessageContext
 	private Request request;
 	private Response response;
 	private Action action = null;
+	private ByteBuf serializedBody = null;
+	private final Handle<MessageContext> handle;
 
 	public MessageContext(Request request, Response response)
 	{
 		super();
 		this.request = request;
 		this.response = response;
+		this.handle = null;
+	}
+
+	/**
+	 * Creates an empty, recyclable MessageContext. See {@link MessageContextPool}.
+	 */
+	MessageContext(Handle<MessageContext> handle)
+	{
+		super();
+		this.handle = handle;
+	}
+
+	/**
+	 * (Re)initialize a recyclable MessageContext for a new inbound message, reusing
+	 * its Request and Response instances.
+	 */
+	void initialize(InetSocketAddress remoteAddress, FullHttpRequest httpRequest, RouteResolver routeResolver,
+		SerializationProvider serializationProvider)
+	{
+		if (request == null)
+		{
+			request = new Request(remoteAddress, httpRequest, routeResolver, serializationProvider);
+			response = new Response();
+		}
+		else
+		{
+			request.initialize(remoteAddress, httpRequest, routeResolver, serializationProvider);
+			response.reset();
+		}
+
+		action = null;
+		serializedBody = null;
+	}
+
+	/**
+	 * Release the Request and Response at the end of the message lifecycle, returning
+	 * this MessageContext to its pool if it is recyclable and shouldRecycle is true.
+	 */
+	void release(boolean shouldTrack, boolean shouldRecycle)
+	{
+		releaseSerializedBody();
+		request.release(shouldTrack);
+		response.release(shouldTrack);
+		action = null;
+
+		if (shouldRecycle && handle != null)
+		{
+			handle.recycle(this);
+		}
+	}
+
+	/**
+	 * Remember the serialized response body, which may be a pooled buffer, until it is
+	 * handed off to the response writer (at which point this is set to null).
+	 */
+	void setSerializedBody(ByteBuf body)
+	{
+		this.serializedBody = body;
+	}
+
+	/**
+	 * Relinquish the serialized response body to the response writer, which then owns it and
+	 * must write or release it. If the body was replaced after serialization (e.g. by a finally
+	 * processor), the serialized buffer is released here instead.
+	 * 
+	 * @return the serialized body being handed to the writer, or null.
+	 */
+	ByteBuf handOffSerializedBody()
+	{
+		if (serializedBody == null) return null;
+
+		if (response.getBody() != serializedBody)
+		{
+			releaseSerializedBody();
+			return null;
+		}
+
+		ByteBuf body = serializedBody;
+		serializedBody = null;
+		return body;
+	}
+
+	/**
+	 * Release a serialized response body that was not written (e.g. an exception occurred
+	 * after serialization), removing it from the Response.
+	 */
+	void releaseSerializedBody()
+	{
+		if (serializedBody == null) return;
+
+		if (response.getBody() == serializedBody)
+		{
+			response.setBody(null);
+		}
+
+		if (serializedBody.refCnt() > 0)
+		{
+			serializedBody.release();
+		}
+
+		serializedBody = null;
 	}
 
 	public Request getRequest()
@@ -0,0 +1,80 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.net.InetSocketAddress;
+
+import org.restexpress.route.RouteResolver;
+import org.restexpress.serialization.SerializationProvider;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.util.Recycler;
+
+/**
+ * Recycles the per-message MessageContext, Request and Response instances using a Netty
+ * {@link Recycler}, reducing object churn at high request rates.
+ * <p/>
+ * The lifecycle is strict: a MessageContext is acquired when a message is received and released
+ * after the MessageObservers have been notified of completion. After release, the Request and
+ * Response must not be used--controllers, processors and observers must not keep references to
+ * them beyond the life of the message.
+ * <p/>
+ * With leak detection on, released instances are never reused. Instead, any later use of a released
+ * Request or Response throws an IllegalStateException whose cause records where it was released,
+ * making such misuse easy to find. Use it in development and testing.
+ */
+public class MessageContextPool
+{
+	private static final Recycler<MessageContext> RECYCLER = new Recycler<MessageContext>()
+	{
+		@Override
+		protected MessageContext newObject(Handle<MessageContext> handle)
+		{
+			return new MessageContext(handle);
+		}
+	};
+
+	private boolean isLeakDetection;
+
+	public MessageContextPool()
+	{
+		this(false);
+	}
+
+	public MessageContextPool(boolean isLeakDetection)
+	{
+		super();
+		this.isLeakDetection = isLeakDetection;
+	}
+
+	public boolean isLeakDetection()
+	{
+		return isLeakDetection;
+	}
+
+	public MessageContext acquire(InetSocketAddress remoteAddress, FullHttpRequest httpRequest, RouteResolver routeResolver,
+		SerializationProvider serializationProvider)
+	{
+		MessageContext context = RECYCLER.get();
+		context.initialize(remoteAddress, httpRequest, routeResolver, serializationProvider);
+		return context;
+	}
+
+	public void release(MessageContext context)
+	{
+		context.release(isLeakDetection, !isLeakDetection);
+	}
+}
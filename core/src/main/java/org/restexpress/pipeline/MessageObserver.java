@@ -61,6 +61,7 @@ public class MessageObserver
 
 	/**
 	 * Sent after either an exception or successful response is written from a route.
+	 * Request.getPhaseTimings() holds the time spent in each phase of processing.
 	 * 
      * @param request
      * @param response
@@ -0,0 +1,158 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.multipart.Attribute;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+
+/**
+ * A fully-received multipart upload, decoded by the {@link FileUploadHandler}. It is a
+ * FullHttpRequest (so it passes through the aggregator untouched) with empty content; the
+ * decoded parts are available via getFileUploads() and getAttributes(). Parts above the
+ * in-memory threshold are backed by files in the upload directory, which are deleted by
+ * destroy() at the end of the request unless kept via keep().
+ */
+public class MultipartHttpRequest
+extends DefaultFullHttpRequest
+{
+	private final HttpPostRequestDecoder decoder;
+	private final File uploadDirectory;
+	private boolean isDestroyed = false;
+
+	public MultipartHttpRequest(HttpRequest request, HttpPostRequestDecoder decoder, File uploadDirectory)
+	{
+		super(request.protocolVersion(), request.method(), request.uri(), Unpooled.EMPTY_BUFFER, request.headers(), new DefaultHttpHeaders());
+		this.decoder = decoder;
+		this.uploadDirectory = uploadDirectory;
+	}
+
+	/**
+	 * @return the decoded parts (file uploads and form attributes), in request order.
+	 */
+	public List<InterfaceHttpData> getParts()
+	{
+		return (isDestroyed ? Collections.<InterfaceHttpData>emptyList() : decoder.getBodyHttpDatas());
+	}
+
+	/**
+	 * @return the file upload parts, in request order. Never null.
+	 */
+	public List<FileUpload> getFileUploads()
+	{
+		List<FileUpload> uploads = new ArrayList<FileUpload>();
+
+		for (InterfaceHttpData part : getParts())
+		{
+			if (part instanceof FileUpload)
+			{
+				uploads.add((FileUpload) part);
+			}
+		}
+
+		return uploads;
+	}
+
+	/**
+	 * @return the sizes and digests of the file upload parts, computed as they were received,
+	 * in request order. Empty if no digest algorithms are configured.
+	 */
+	public List<UploadDigest> getUploadDigests()
+	{
+		List<UploadDigest> digests = new ArrayList<UploadDigest>();
+
+		for (InterfaceHttpData part : getParts())
+		{
+			if (part instanceof DigestedUpload)
+			{
+				UploadDigest digest = ((DigestedUpload) part).getUploadDigest();
+
+				if (digest != null)
+				{
+					digests.add(digest);
+				}
+			}
+		}
+
+		return digests;
+	}
+
+	/**
+	 * @return the form attribute parts as a map of name to value. For repeated names, the first value wins.
+	 * @throws IOException if an attribute stored on disk cannot be read.
+	 */
+	public Map<String, String> getAttributes()
+	throws IOException
+	{
+		Map<String, String> attributes = new LinkedHashMap<String, String>();
+
+		for (InterfaceHttpData part : getParts())
+		{
+			if (part instanceof Attribute)
+			{
+				attributes.putIfAbsent(part.getName(), ((Attribute) part).getValue());
+			}
+		}
+
+		return attributes;
+	}
+
+	/**
+	 * Moves an uploaded part to a new file in the upload directory that outlives the
+	 * request. The caller is responsible for deleting it.
+	 * 
+	 * @param upload one of the file uploads of this request.
+	 * @return the file containing the upload.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public File keep(FileUpload upload)
+	throws IOException
+	{
+		File file = new File(uploadDirectory, UUID.randomUUID().toString());
+
+		if (!upload.renameTo(file))
+		{
+			throw new IOException("Unable to move upload to " + file.getAbsolutePath());
+		}
+
+		return file;
+	}
+
+	/**
+	 * Releases the decoded parts, deleting any of their files that were not kept.
+	 */
+	public void destroy()
+	{
+		if (isDestroyed) return;
+
+		isDestroyed = true;
+		decoder.destroy();
+	}
+}
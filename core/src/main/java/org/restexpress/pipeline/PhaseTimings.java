@@ -0,0 +1,169 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time a request spent in each {@link RequestPhase}, measured with System.nanoTime() by
+ * the DefaultRequestHandler. Available via Request.getPhaseTimings() and complete by the time
+ * MessageObserver.onSuccess() and onComplete() are called, so slow requests can be attributed
+ * to the phase that made them slow.
+ * <p/>
+ * If a phase throws, the time up to the exception is charged to that phase and the phases it
+ * skipped stay at zero.
+ */
+public class PhaseTimings
+{
+	private static final RequestPhase[] PHASES = RequestPhase.values();
+
+	private final long[] nanos = new long[PHASES.length];
+	private RequestPhase current = null;
+	private long mark = 0L;
+
+	public PhaseTimings()
+	{
+		super();
+	}
+
+	/**
+	 * @param phase a request phase.
+	 * @return the time spent in the phase, in nanoseconds.
+	 */
+	public long getNanos(RequestPhase phase)
+	{
+		return nanos[phase.ordinal()];
+	}
+
+	/**
+	 * @param phase a request phase.
+	 * @param unit the unit of the result.
+	 * @return the time spent in the phase, in the given unit.
+	 */
+	public long get(RequestPhase phase, TimeUnit unit)
+	{
+		return unit.convert(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the total time spent in all phases, in nanoseconds.
+	 */
+	public long getTotalNanos()
+	{
+		long total = 0L;
+
+		for (long n : nanos)
+		{
+			total += n;
+		}
+
+		return total;
+	}
+
+	/**
+	 * @return the phase in which the most time was spent.
+	 */
+	public RequestPhase getSlowestPhase()
+	{
+		RequestPhase slowest = PHASES[0];
+
+		for (RequestPhase phase : PHASES)
+		{
+			if (nanos[phase.ordinal()] > nanos[slowest.ordinal()])
+			{
+				slowest = phase;
+			}
+		}
+
+		return slowest;
+	}
+
+	/**
+	 * Returns the timings in microseconds, e.g. "queue=12us route=3us preprocess=0us ...".
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (RequestPhase phase : PHASES)
+		{
+			if (sb.length() > 0) sb.append(' ');
+
+			sb.append(phase.name().toLowerCase());
+			sb.append('=');
+			sb.append(nanos[phase.ordinal()] / 1000L);
+			sb.append("us");
+		}
+
+		return sb.toString();
+	}
+
+
+	// SECTION: RECORDING (DefaultRequestHandler)
+
+	/**
+	 * Resets the timings for a new request.
+	 * 
+	 * @param dispatchedAt the System.nanoTime() at which the request was dispatched to the
+	 * executor, or zero if it was not.
+	 */
+	void start(long dispatchedAt)
+	{
+		long now = System.nanoTime();
+
+		for (int i = 0; i < nanos.length; i++)
+		{
+			nanos[i] = 0L;
+		}
+
+		if (dispatchedAt != 0L)
+		{
+			nanos[RequestPhase.QUEUE.ordinal()] = Math.max(0L, now - dispatchedAt);
+		}
+
+		current = null;
+		mark = now;
+	}
+
+	/**
+	 * Ends the current phase, if any, and begins the given one.
+	 */
+	void enter(RequestPhase phase)
+	{
+		long now = System.nanoTime();
+
+		if (current != null)
+		{
+			nanos[current.ordinal()] += now - mark;
+		}
+
+		current = phase;
+		mark = now;
+	}
+
+	/**
+	 * Ends the current phase, if any.
+	 */
+	void finish()
+	{
+		if (current != null)
+		{
+			nanos[current.ordinal()] += System.nanoTime() - mark;
+			current = null;
+		}
+	}
+}
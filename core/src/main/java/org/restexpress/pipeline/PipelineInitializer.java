@@ -5,12 +5,15 @@ package org.restexpress.pipeline;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.restexpress.RestExpress;
+import org.restexpress.route.RouteResolver;
 
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
@@ -20,6 +23,7 @@ import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
@@ -48,7 +52,12 @@ extends ChannelInitializer<SocketChannel>
 	private boolean useCompression = true;
 	private long readTimeout = -1L;
 	private TimeUnit readTimeoutUnit = TimeUnit.SECONDS;
-	private boolean supportFileUpload = false;
+	private Supplier<? extends ChannelHandler> fileUploadHandlerFactory = null;
+	private int flushConsolidationLimit = 0;
+	private boolean consolidateWhenNoReadInProgress = false;
+	private RouteResolver streamingRouteResolver = null;
+	private AtomicInteger openConnections = new AtomicInteger();
+	private final ChannelFutureListener connectionClosed = future -> openConnections.decrementAndGet();
 
 	// SECTION: CONSTRUCTORS
 
@@ -110,13 +119,51 @@ extends ChannelInitializer<SocketChannel>
 		return sslContext;
 	}
 
+	/**
+	 * Install a Netty FlushConsolidationHandler at the head of the pipeline, which
+	 * coalesces flushes so that pipelined (or concurrently-completed) responses are
+	 * written to the socket in fewer syscalls.
+	 * 
+	 * @param explicitFlushAfterFlushes the number of flushes after which an explicit flush is done. Zero (0) disables consolidation.
+	 * @param consolidateWhenNoReadInProgress whether to also consolidate flushes issued outside of a read loop (e.g. from executor threads).
+	 * @return this PipelineInitializer for method chaining.
+	 */
+	public PipelineInitializer setFlushConsolidation(int explicitFlushAfterFlushes, boolean consolidateWhenNoReadInProgress)
+	{
+		this.flushConsolidationLimit = explicitFlushAfterFlushes;
+		this.consolidateWhenNoReadInProgress = consolidateWhenNoReadInProgress;
+		return this;
+	}
+
+	/**
+	 * Divert the request bodies of streaming routes around the aggregator. The given
+	 * RouteResolver determines, from the request head, whether a request is on a streaming route.
+	 * Null (the default) aggregates every request.
+	 * 
+	 * @param routeResolver the RouteResolver for the server's routes, or null.
+	 * @return this PipelineInitializer for method chaining.
+	 */
+	public PipelineInitializer setStreamingRouteResolver(RouteResolver routeResolver)
+	{
+		this.streamingRouteResolver = routeResolver;
+		return this;
+	}
+
 	// SECTION: CHANNEL PIPELINE FACTORY
 
 	@Override
 	public void initChannel(SocketChannel ch) throws Exception
 	{
+		openConnections.incrementAndGet();
+		ch.closeFuture().addListener(connectionClosed);
 		ChannelPipeline pipeline = ch.pipeline();
 
+		// Must be closest to the socket so it sees every flush.
+		if (flushConsolidationLimit > 0)
+		{
+			pipeline.addLast("flushConsolidator", new FlushConsolidationHandler(flushConsolidationLimit, consolidateWhenNoReadInProgress));
+		}
+
 		if (null != sslContext)
 		{
 			pipeline.addLast("ssl", sslContext.newHandler(ByteBufAllocator.DEFAULT));
@@ -132,12 +179,6 @@ extends ChannelInitializer<SocketChannel>
 		pipeline.addLast("decoder", new HttpRequestDecoder());
 		pipeline.addLast("inflater", new HttpContentDecompressor());
 
-		// Routes request to either the default handler or the file upload one
-		if (supportFileUpload)
-		{
-			pipeline.addLast("URLDecoder", new RequestURLDecoder());
-		}
-
 		// Outbound handlers
 		pipeline.addLast("encoder", new HttpResponseEncoder());
 		pipeline.addLast("chunkWriter", new ChunkedWriteHandler());
@@ -147,58 +188,106 @@ extends ChannelInitializer<SocketChannel>
 			pipeline.addLast("deflater", new HttpContentCompressor());
 		}
 
+		// Streams request bodies for streaming routes, bypassing the aggregator. Placed after the
+		// encoder and deflater so the responses these handlers write themselves are encoded.
+		if (streamingRouteResolver != null)
+		{
+			pipeline.addLast("streamer", new StreamingRequestHandler(streamingRouteResolver));
+		}
+
+		// Decodes multipart uploads, bypassing the aggregator. Holds per-channel state. Runs on
+		// the executor group, if any, so decoding and disk writes never block the I/O thread.
+		if (fileUploadHandlerFactory != null)
+		{
+			if (eventExecutorGroup != null)
+			{
+				pipeline.addLast(eventExecutorGroup, RestExpress.FILEUPLOAD_HANDLER_NAME, fileUploadHandlerFactory.get());
+			}
+			else
+			{
+				pipeline.addLast(RestExpress.FILEUPLOAD_HANDLER_NAME, fileUploadHandlerFactory.get());
+			}
+		}
+
 		// Aggregator MUST be added last, otherwise results are not correct
 		pipeline.addLast(AGGREGATOR, new HttpObjectAggregator(maxContentLength));
 
+		// Times the hand-off of each request to the executor group (see RequestPhase.QUEUE).
+		if (eventExecutorGroup != null)
+		{
+			pipeline.addLast("dispatchTimer", DispatchTimer.INSTANCE);
+		}
+
 		addAllHandlers(pipeline);
 	}
 
 	private void addAllHandlers(ChannelPipeline pipeline)
 	{
-		for (Entry<String, ChannelHandler> entry : requestHandlers.entrySet())
+		for (ChannelHandler handler : requestHandlers.values())
 		{
-			String name = entry.getKey();
-			ChannelHandler handler = entry.getValue();
-
-			if (supportFileUpload && isFileUploadHandler(name))
+			if (eventExecutorGroup != null)
 			{
-				if (eventExecutorGroup != null)
-				{
-					pipeline.addBefore(eventExecutorGroup, AGGREGATOR, handler.getClass().getSimpleName(), handler);
-				}
-				else
-				{
-					pipeline.addBefore(AGGREGATOR, handler.getClass().getSimpleName(), handler);
-				}
+				pipeline.addLast(eventExecutorGroup, handler.getClass().getSimpleName(), handler);
 			}
 			else
 			{
-				if (eventExecutorGroup != null)
-				{
-					pipeline.addLast(eventExecutorGroup, handler.getClass().getSimpleName(), handler);
-				}
-				else
-				{
-					pipeline.addLast(handler.getClass().getSimpleName(), handler);
-				}
+				pipeline.addLast(handler.getClass().getSimpleName(), handler);
 			}
 		}
 	}
 
+	/**
+	 * Count open connections with the given counter, which may be shared by several
+	 * PipelineInitializers to count the connections of every bound address together.
+	 * Set it before the first channel is initialized.
+	 * 
+	 * @param counter the count of open connections.
+	 * @return this PipelineInitializer for method chaining.
+	 */
+	public PipelineInitializer setOpenConnectionCounter(AtomicInteger counter)
+	{
+		this.openConnections = counter;
+		return this;
+	}
+
+	/**
+	 * @return the number of channels initialized by this PipelineInitializer that are still open,
+	 * or by all those sharing its counter.
+	 */
+	public int getOpenConnectionCount()
+	{
+		return openConnections.get();
+	}
+
 	public PipelineInitializer setUseCompression(boolean shouldUseCompression)
 	{
 		this.useCompression = shouldUseCompression;
 		return this;
 	}
 
+	/**
+	 * Support multipart file uploads using a FileUploadHandler with default settings.
+	 * 
+	 * @param shouldSupportFileUpload true to decode multipart uploads.
+	 * @return this PipelineInitializer for method chaining.
+	 * @deprecated use setFileUploadHandlerFactory(), as the handler holds per-channel state.
+	 */
+	@Deprecated
 	public PipelineInitializer setSupportFileUpload(boolean shouldSupportFileUpload)
 	{
-		this.supportFileUpload = shouldSupportFileUpload;
-		return this;
+		return setFileUploadHandlerFactory(shouldSupportFileUpload ? FileUploadHandler::new : null);
 	}
 
-	private boolean isFileUploadHandler(String name)
+	/**
+	 * Support multipart file uploads. The factory is called once per channel, as the file
+	 * upload handler holds per-connection state. Null (the default) disables file upload support.
+	 * 
+	 * @param factory creates a file upload handler (e.g. a FileUploadHandler) for each channel.
+	 * @return this PipelineInitializer for method chaining.
+	 */
+	public PipelineInitializer setFileUploadHandlerFactory(Supplier<? extends ChannelHandler> factory)
 	{
-		return RestExpress.FILEUPLOAD_HANDLER_NAME.equals(name);
+		this.fileUploadHandlerFactory = factory;
+		return this;
 	}
 }
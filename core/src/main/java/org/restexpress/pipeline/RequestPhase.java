@@ -0,0 +1,64 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+/**
+ * The phases of request processing timed by {@link PhaseTimings}, in processing order.
+ */
+public enum RequestPhase
+{
+	/**
+	 * Waiting for an executor thread, from the request leaving the I/O thread's decoder to the
+	 * request handler picking it up. Zero when no executor threads are configured.
+	 */
+	QUEUE,
+
+	/**
+	 * Route resolution and response content-type negotiation.
+	 */
+	ROUTE,
+
+	/**
+	 * The preprocessors.
+	 */
+	PREPROCESS,
+
+	/**
+	 * The controller (route action).
+	 */
+	CONTROLLER,
+
+	/**
+	 * The postprocessors.
+	 */
+	POSTPROCESS,
+
+	/**
+	 * Serializing the response body, including serializing an exception response.
+	 */
+	SERIALIZE,
+
+	/**
+	 * The finally processors.
+	 */
+	FINALLY,
+
+	/**
+	 * Writing the response to the channel. With executor threads, this is the hand-off of the
+	 * response to the I/O thread rather than the socket write itself.
+	 */
+	WRITE
+}
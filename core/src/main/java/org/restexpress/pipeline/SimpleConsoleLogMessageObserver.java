@@ -24,6 +24,9 @@ import org.restexpress.pipeline.MessageObserver;
 
 /**
  * Provides simple System.out.println() details about basic timing.
+ * <p/>
+ * Logs on the request thread, contending on the System.out lock under load. For production
+ * access logging, see org.restexpress.accesslog.AccessLogObserver.
  * 
  * @author toddf
  * @since Dec 16, 2010
@@ -0,0 +1,43 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+
+/**
+ * A request on a streaming route. It is a FullHttpRequest (so it passes through the
+ * aggregator untouched) with empty content; the body is delivered through its
+ * {@link StreamingRequestBody} as it arrives.
+ */
+public class StreamingHttpRequest
+extends DefaultFullHttpRequest
+{
+	private final StreamingRequestBody body;
+
+	public StreamingHttpRequest(HttpRequest request, StreamingRequestBody body)
+	{
+		super(request.protocolVersion(), request.method(), request.uri(), Unpooled.EMPTY_BUFFER, request.headers(), new DefaultHttpHeaders());
+		this.body = body;
+	}
+
+	public StreamingRequestBody getBodyStream()
+	{
+		return body;
+	}
+}
@@ -0,0 +1,305 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * The body of a request on a streaming route, as an InputStream. Content chunks are offered
+ * by the channel's event loop as they arrive and read, blocking, by the controller on an
+ * executor thread.
+ * <p/>
+ * Back-pressure is applied through the channel's auto-read setting: once more than the
+ * high-water mark of unread content is queued, the channel stops reading from the socket
+ * until the controller has consumed the queue down to the low-water mark.
+ * <p/>
+ * Closing the stream releases any queued content and discards the remainder of the body
+ * as it arrives.
+ */
+public class StreamingRequestBody
+extends InputStream
+{
+	public static final int DEFAULT_HIGH_WATER_MARK = 64 * 1024;
+	public static final int DEFAULT_LOW_WATER_MARK = 16 * 1024;
+
+	private final Channel channel;
+	private final int highWaterMark;
+	private final int lowWaterMark;
+	private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<ByteBuf>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	private int queuedBytes = 0;
+	private boolean isComplete = false;
+	private boolean isClosed = false;
+	private boolean isPaused = false;
+	private Throwable failure = null;
+
+	public StreamingRequestBody(Channel channel)
+	{
+		this(channel, DEFAULT_HIGH_WATER_MARK, DEFAULT_LOW_WATER_MARK);
+	}
+
+	public StreamingRequestBody(Channel channel, int highWaterMark, int lowWaterMark)
+	{
+		super();
+		this.channel = channel;
+		this.highWaterMark = highWaterMark;
+		this.lowWaterMark = lowWaterMark;
+	}
+
+	/**
+	 * Queue a content chunk for reading. Takes ownership of the buffer. Called on the event loop.
+	 *
+	 * @param content a chunk of the request body.
+	 * @param isLast true if this is the last chunk of the body.
+	 */
+	public void offer(ByteBuf content, boolean isLast)
+	{
+		lock.lock();
+
+		try
+		{
+			if (isClosed || isComplete || failure != null)
+			{
+				content.release();
+			}
+			else if (content.isReadable())
+			{
+				chunks.add(content);
+				queuedBytes += content.readableBytes();
+			}
+			else
+			{
+				content.release();
+			}
+
+			if (isLast)
+			{
+				isComplete = true;
+			}
+
+			if (!isPaused && !isComplete && queuedBytes > highWaterMark)
+			{
+				isPaused = true;
+				channel.config().setAutoRead(false);
+			}
+
+			available.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Fail the stream (e.g. the connection closed before the body was complete). Readers
+	 * receive an IOException once the content queued so far has been read.
+	 *
+	 * @param cause the reason the body cannot be completed.
+	 */
+	public void fail(Throwable cause)
+	{
+		lock.lock();
+
+		try
+		{
+			if (!isComplete && failure == null)
+			{
+				failure = cause;
+				available.signalAll();
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return true if the last chunk of the body has been received.
+	 */
+	public boolean isComplete()
+	{
+		lock.lock();
+
+		try
+		{
+			return isComplete;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int read()
+	throws IOException
+	{
+		byte[] b = new byte[1];
+		int count = read(b, 0, 1);
+		return (count < 0 ? -1 : (b[0] & 0xff));
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length)
+	throws IOException
+	{
+		if (length == 0) return 0;
+
+		lock.lock();
+
+		try
+		{
+			ByteBuf chunk = awaitChunk();
+
+			if (chunk == null) return -1;
+
+			int count = Math.min(length, chunk.readableBytes());
+			chunk.readBytes(bytes, offset, count);
+			queuedBytes -= count;
+
+			if (!chunk.isReadable())
+			{
+				chunks.remove().release();
+			}
+
+			resumeIfDrained();
+			return count;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int available()
+	{
+		lock.lock();
+
+		try
+		{
+			return queuedBytes;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Releases any queued content and discards the remainder of the body. Reading from the
+	 * channel is resumed so the connection can proceed to the next request.
+	 */
+	@Override
+	public void close()
+	{
+		lock.lock();
+
+		try
+		{
+			if (isClosed) return;
+
+			isClosed = true;
+			releaseChunks();
+			resume();
+			available.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+
+	// SECTION: UTILITY - PRIVATE
+
+	/**
+	 * Waits for a readable chunk. Must be called holding the lock.
+	 *
+	 * @return the chunk at the head of the queue, or null at the end of the body.
+	 * @throws IOException if the stream is closed, failed or the wait is interrupted.
+	 */
+	private ByteBuf awaitChunk()
+	throws IOException
+	{
+		while (true)
+		{
+			if (isClosed) throw new IOException("Request body stream is closed");
+
+			ByteBuf chunk = chunks.peek();
+
+			if (chunk != null) return chunk;
+
+			if (isComplete) return null;
+
+			if (failure != null) throw new IOException("Request body is incomplete", failure);
+
+			if (channel.eventLoop().inEventLoop())
+			{
+				throw new IllegalStateException("Reading a streaming request body would block the event loop. Set an executor thread count.");
+			}
+
+			try
+			{
+				available.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted waiting for request body", e);
+			}
+		}
+	}
+
+	private void resumeIfDrained()
+	{
+		if (isPaused && queuedBytes <= lowWaterMark)
+		{
+			resume();
+		}
+	}
+
+	private void resume()
+	{
+		if (isPaused)
+		{
+			isPaused = false;
+			channel.config().setAutoRead(true);
+		}
+	}
+
+	private void releaseChunks()
+	{
+		ByteBuf chunk;
+
+		while ((chunk = chunks.poll()) != null)
+		{
+			chunk.release();
+		}
+
+		queuedBytes = 0;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.nio.channels.ClosedChannelException;
+
+import org.restexpress.route.RouteResolver;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Diverts requests on streaming routes (see RouteBuilder.streamRequestBody()) around the
+ * aggregator. The request head is passed on immediately as a {@link StreamingHttpRequest} and
+ * the content chunks that follow are fed to its {@link StreamingRequestBody} instead of being
+ * accumulated in memory. Requests on any other route pass through untouched.
+ * <p/>
+ * Holds per-connection state, so a new instance is required for each channel.
+ */
+public class StreamingRequestHandler
+extends ChannelInboundHandlerAdapter
+{
+	private final RouteResolver routeResolver;
+	private StreamingRequestBody body = null;
+
+	public StreamingRequestHandler(RouteResolver routeResolver)
+	{
+		super();
+		this.routeResolver = routeResolver;
+	}
+
+	@Override
+	public void channelRead(ChannelHandlerContext ctx, Object msg)
+	throws Exception
+	{
+		if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest))
+		{
+			HttpRequest request = (HttpRequest) msg;
+
+			if (request.decoderResult().isSuccess()
+				&& routeResolver.isStreamingRequestBody(request.method(), request.uri()))
+			{
+				startStreaming(ctx, request);
+				return;
+			}
+		}
+		else if (body != null && msg instanceof HttpContent)
+		{
+			HttpContent content = (HttpContent) msg;
+			boolean isLast = (msg instanceof LastHttpContent);
+			body.offer(content.content(), isLast);
+
+			if (isLast)
+			{
+				body = null;
+			}
+
+			return;
+		}
+
+		ctx.fireChannelRead(msg);
+	}
+
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx)
+	throws Exception
+	{
+		failBody(new ClosedChannelException());
+		super.channelInactive(ctx);
+	}
+
+	@Override
+	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+	throws Exception
+	{
+		failBody(cause);
+		super.exceptionCaught(ctx, cause);
+	}
+
+	private void startStreaming(ChannelHandlerContext ctx, HttpRequest request)
+	{
+		if (HttpUtil.is100ContinueExpected(request))
+		{
+			ctx.writeAndFlush(new DefaultFullHttpResponse(request.protocolVersion(), HttpResponseStatus.CONTINUE, Unpooled.EMPTY_BUFFER));
+			HttpUtil.set100ContinueExpected(request, false);
+		}
+
+		body = new StreamingRequestBody(ctx.channel());
+		StreamingHttpRequest streaming = new StreamingHttpRequest(request, body);
+		ReferenceCountUtil.release(request);
+		ctx.fireChannelRead(streaming);
+	}
+
+	private void failBody(Throwable cause)
+	{
+		if (body != null)
+		{
+			body.fail(cause);
+			body = null;
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+
+/**
+ * The HttpDataFactory of the {@link FileUploadHandler}. Keeps parts in memory up to a
+ * threshold and on disk beyond it. If a direct-write sync policy is given, file uploads are
+ * {@link DirectFileUpload}s, written straight to disk; otherwise, if digest algorithms are
+ * given, they are {@link DigestingFileUpload}s. This factory tracks those for cleanup itself
+ * (the DefaultHttpDataFactory only tracks the uploads it creates).
+ */
+class UploadDataFactory
+extends DefaultHttpDataFactory
+{
+	private final long memoryThreshold;
+	private final String baseDir;
+	private final List<String> digestAlgorithms;
+	private final UploadSyncPolicy directWriteSyncPolicy;
+	private final Map<HttpRequest, List<FileUpload>> uploads = Collections.synchronizedMap(new IdentityHashMap<HttpRequest, List<FileUpload>>());
+
+	public UploadDataFactory(long memoryThreshold, String baseDir, List<String> digestAlgorithms,
+		UploadSyncPolicy directWriteSyncPolicy)
+	{
+		super(memoryThreshold);
+		this.memoryThreshold = memoryThreshold;
+		this.baseDir = baseDir;
+		this.digestAlgorithms = new ArrayList<String>(digestAlgorithms);
+		this.directWriteSyncPolicy = directWriteSyncPolicy;
+		setBaseDir(baseDir);
+		// Files are deleted at the end of each request; deleteOnExit() would leak per-file memory.
+		setDeleteOnExit(false);
+	}
+
+	@Override
+	public FileUpload createFileUpload(HttpRequest request, String name, String filename, String contentType,
+		String contentTransferEncoding, Charset charset, long size)
+	{
+		FileUpload upload;
+
+		if (directWriteSyncPolicy != null)
+		{
+			upload = new DirectFileUpload(name, filename, contentType, contentTransferEncoding, charset,
+				size, baseDir, directWriteSyncPolicy, digestAlgorithms);
+		}
+		else if (!digestAlgorithms.isEmpty())
+		{
+			upload = new DigestingFileUpload(name, filename, contentType, contentTransferEncoding, charset,
+				size, memoryThreshold, baseDir, digestAlgorithms);
+		}
+		else
+		{
+			return super.createFileUpload(request, name, filename, contentType, contentTransferEncoding, charset, size);
+		}
+
+		uploads.computeIfAbsent(request, k -> new ArrayList<FileUpload>()).add(upload);
+		return upload;
+	}
+
+	@Override
+	public void removeHttpDataFromClean(HttpRequest request, InterfaceHttpData data)
+	{
+		List<FileUpload> list = uploads.get(request);
+
+		if (list != null)
+		{
+			list.remove(data);
+		}
+
+		super.removeHttpDataFromClean(request, data);
+	}
+
+	@Override
+	public void cleanRequestHttpData(HttpRequest request)
+	{
+		List<FileUpload> list = uploads.remove(request);
+
+		if (list != null)
+		{
+			for (FileUpload upload : list)
+			{
+				release(upload);
+			}
+		}
+
+		super.cleanRequestHttpData(request);
+	}
+
+	@Override
+	public void cleanAllHttpData()
+	{
+		synchronized (uploads)
+		{
+			for (List<FileUpload> list : uploads.values())
+			{
+				for (FileUpload upload : list)
+				{
+					release(upload);
+				}
+			}
+
+			uploads.clear();
+		}
+
+		super.cleanAllHttpData();
+	}
+
+	private void release(FileUpload upload)
+	{
+		// Might already have been released by the decoder or the controller.
+		if (upload.refCnt() > 0)
+		{
+			upload.release();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The size and message digests of an uploaded file, computed by the {@link FileUploadHandler}
+ * while the file was being received (see RestExpress.setUploadDigestAlgorithms()), so the
+ * upload does not have to be read back from disk to fingerprint it.
+ */
+public class UploadDigest
+{
+	private final String name;
+	private final String filename;
+	private final long size;
+	private final Map<String, byte[]> digests;
+
+	public UploadDigest(String name, String filename, long size, Map<String, byte[]> digests)
+	{
+		super();
+		this.name = name;
+		this.filename = filename;
+		this.size = size;
+		this.digests = Collections.unmodifiableMap(digests);
+	}
+
+	/**
+	 * @return the form field name of the upload.
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return the client-supplied filename of the upload.
+	 */
+	public String getFilename()
+	{
+		return filename;
+	}
+
+	/**
+	 * @return the number of bytes received for the upload.
+	 */
+	public long getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * @return the names of the digest algorithms computed (e.g. "SHA-256").
+	 */
+	public Set<String> getAlgorithms()
+	{
+		return digests.keySet();
+	}
+
+	/**
+	 * @param algorithm a digest algorithm name (e.g. "SHA-256").
+	 * @return the digest for the algorithm, or null if it was not computed.
+	 */
+	public byte[] getDigest(String algorithm)
+	{
+		byte[] digest = digests.get(algorithm);
+		return (digest == null ? null : digest.clone());
+	}
+
+	/**
+	 * @param algorithm a digest algorithm name (e.g. "SHA-256").
+	 * @return the digest for the algorithm as a lower-case hex string, or null if it was not computed.
+	 */
+	public String getHexDigest(String algorithm)
+	{
+		byte[] digest = digests.get(algorithm);
+		return (digest == null ? null : HexFormat.of().formatHex(digest));
+	}
+
+	@Override
+	public String toString()
+	{
+		return "UploadDigest{name=" + name + ", filename=" + filename + ", size=" + size + ", algorithms=" + digests.keySet() + "}";
+	}
+}
@@ -0,0 +1,108 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Accumulates the message digests and byte count of a file upload, chunk by chunk, for
+ * the file upload implementations that compute {@link UploadDigest}s as they receive.
+ */
+class UploadDigester
+{
+	private final Map<String, MessageDigest> digests = new LinkedHashMap<String, MessageDigest>();
+	private long received = 0L;
+	private UploadDigest result = null;
+
+	public UploadDigester(List<String> algorithms)
+	{
+		super();
+
+		for (String algorithm : algorithms)
+		{
+			digests.put(algorithm, newDigest(algorithm));
+		}
+	}
+
+	/**
+	 * Updates the digests with the readable bytes of the buffer, without consuming them.
+	 */
+	public void update(ByteBuf buffer)
+	{
+		if (buffer == null || !buffer.isReadable()) return;
+
+		received += buffer.readableBytes();
+
+		if (buffer.hasArray())
+		{
+			for (MessageDigest digest : digests.values())
+			{
+				digest.update(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), buffer.readableBytes());
+			}
+
+			return;
+		}
+
+		ByteBuffer[] nioBuffers = buffer.nioBuffers();
+
+		for (MessageDigest digest : digests.values())
+		{
+			for (ByteBuffer nioBuffer : nioBuffers)
+			{
+				digest.update(nioBuffer.duplicate());
+			}
+		}
+	}
+
+	/**
+	 * Completes the digests. Only the first call computes the result; later calls return it.
+	 */
+	public UploadDigest finish(String name, String filename)
+	{
+		if (result == null)
+		{
+			Map<String, byte[]> values = new LinkedHashMap<String, byte[]>();
+
+			for (Map.Entry<String, MessageDigest> digest : digests.entrySet())
+			{
+				values.put(digest.getKey(), digest.getValue().digest());
+			}
+
+			result = new UploadDigest(name, filename, received, values);
+		}
+
+		return result;
+	}
+
+	private static MessageDigest newDigest(String algorithm)
+	{
+		try
+		{
+			return MessageDigest.getInstance(algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, e);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+/**
+ * When uploaded files written directly to the upload directory are forced (fsync'd) to the
+ * storage device. See RestExpress.setDirectUploadWrites().
+ */
+public enum UploadSyncPolicy
+{
+	/**
+	 * Never forced; the operating system flushes the file in its own time. The fastest,
+	 * but a completed upload may be lost on a power failure.
+	 */
+	NONE,
+
+	/**
+	 * Forced once, when the upload is complete and before the controller is invoked.
+	 */
+	ON_COMPLETE,
+
+	/**
+	 * Forced after every chunk is written. Bounds the data at risk to a single chunk, at
+	 * the cost of a device flush per chunk.
+	 */
+	EVERY_CHUNK
+}
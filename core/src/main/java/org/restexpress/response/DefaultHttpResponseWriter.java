@@ -10,9 +10,9 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpHeadersFactory;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpMethod;
-import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
 import org.restexpress.ContentType;
@@ -28,26 +28,52 @@ import org.restexpress.util.HttpSpecification;
 public class DefaultHttpResponseWriter
 implements HttpResponseWriter
 {
+	private ResponseHeaderCache headerCache;
+
+	public DefaultHttpResponseWriter()
+	{
+		this(new ResponseHeaderCache());
+	}
+
+	public DefaultHttpResponseWriter(ResponseHeaderCache headerCache)
+	{
+		super();
+		this.headerCache = headerCache;
+	}
+
 	@Override
 	public void write(ChannelHandlerContext ctx, Request request, Response response)
 	{
 		// The DefaultHttpResponseWriter will include the provided response body (if provided),
-		// else the default empty body (from the DefaultFullHttpResponse class) will be included.
-		FullHttpResponse httpResponse = response.hasBody()
-		    && HttpSpecification.isContentAllowed(response)
-		    ? new DefaultFullHttpResponse(request.getHttpVersion(),
-		        getHttpResponseStatusFrom(request, response),
-		        getResponseBodyByteBuf(response))
-		    : new DefaultFullHttpResponse(request.getHttpVersion(),
-		        getHttpResponseStatusFrom(request, response));
-		addHeaders(response, httpResponse);
+		// else an empty body will be included.
+		// The writer owns a ByteBuf body: it is either written or released here.
+		// The response headers are copied flat into the outgoing response's Netty headers, so
+		// the headers added here (e.g. Content-Length, Connection, Date) don't alter the Response.
+		ByteBuf content;
+
+		if (response.hasBody() && HttpSpecification.isContentAllowed(response))
+		{
+			content = getResponseBodyByteBuf(response);
+		}
+		else
+		{
+			releaseUnwrittenBody(response);
+			content = Unpooled.buffer(0);
+		}
+
+		FullHttpResponse httpResponse = new DefaultFullHttpResponse(request.getHttpVersion(),
+		    getHttpResponseStatusFrom(request, response),
+		    content,
+		    DefaultHttpHeadersFactory.headersFactory().newHeaders().set(response.getHttpHeaders()),
+		    DefaultHttpHeadersFactory.trailersFactory().newHeaders());
+		headerCache.addTo(request.getResolvedRoute(), httpResponse.headers());
 
 		if (request.isKeepAlive())
 		{
 			// Add 'Content-Length' header only for a keep-alive connection.
 			if (HttpSpecification.isContentLengthAllowed(response))
 			{
-				httpResponse.headers().set(CONTENT_LENGTH, String.valueOf(httpResponse.content().readableBytes()));
+				httpResponse.headers().setInt(CONTENT_LENGTH, httpResponse.content().readableBytes());
 			}
 
 			// Support "Connection: Keep-Alive" for HTTP 1.0 requests.
@@ -57,6 +83,7 @@ implements HttpResponseWriter
 			}
 
 			enforceEmptyHeadResponseBody(request, httpResponse);
+			response.setBytesWritten(httpResponse.content().readableBytes());
 			ctx.channel().write(httpResponse)
 			    .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
 		}
@@ -64,6 +91,7 @@ implements HttpResponseWriter
 		{
 			httpResponse.headers().set(CONNECTION, "close");
 			enforceEmptyHeadResponseBody(request, httpResponse);
+			response.setBytesWritten(httpResponse.content().readableBytes());
 
 			// Close the connection as soon as the message is sent.
 			ctx.channel().write(httpResponse)
@@ -82,28 +110,28 @@ implements HttpResponseWriter
 		            .getBytes(ContentType.CHARSET));
 	}
 
-	private HttpResponseStatus getHttpResponseStatusFrom(Request request,
-	    Response response)
-	{
-		return request.getHeader(Parameters.Query.IGNORE_HTTP_STATUS) == null
-		    ? response.getResponseStatus() : HttpResponseStatus.OK;
-	}
-
 	/**
+	 * Release a ByteBuf body that is not written (e.g. the status doesn't allow content).
+	 * 
 	 * @param response
-	 * @param httpResponse
 	 */
-	private void addHeaders(Response response, HttpResponse httpResponse)
+	private void releaseUnwrittenBody(Response response)
 	{
-		for (String name : response.getHeaderNames())
+		Object body = response.getBody();
+
+		if (body instanceof ByteBuf && ((ByteBuf) body).refCnt() > 0)
 		{
-			for (String value : response.getHeaders(name))
-			{
-				httpResponse.headers().add(name, value);
-			}
+			((ByteBuf) body).release();
 		}
 	}
 
+	private HttpResponseStatus getHttpResponseStatusFrom(Request request,
+	    Response response)
+	{
+		return request.getHeader(Parameters.Query.IGNORE_HTTP_STATUS) == null
+		    ? response.getResponseStatus() : HttpResponseStatus.OK;
+	}
+
 	/**
 	 * Clear out the content for HEAD calls.
 	 * 
@@ -0,0 +1,163 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.response;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.function.LongSupplier;
+
+import org.restexpress.route.Route;
+
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.AsciiString;
+
+/**
+ * Holds pre-encoded response header values that do not change from request to request:
+ * the Date header (recomputed at most once per second), the Server header (computed once
+ * per server) and the static headers of the resolved {@link Route} (computed once per route).
+ * <p/>
+ * Values are stored as {@link AsciiString}s so they are added to the outgoing response
+ * without any per-request string building. A header that is already present on the
+ * response is never overwritten.
+ */
+public class ResponseHeaderCache
+{
+	private final LongSupplier clock;
+	private boolean includeDate = false;
+	private AsciiString server = null;
+	private volatile CachedDate cachedDate = new CachedDate(0L);
+
+	public ResponseHeaderCache()
+	{
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock supplies the current time in milliseconds, for the Date header.
+	 */
+	ResponseHeaderCache(LongSupplier clock)
+	{
+		super();
+		this.clock = clock;
+	}
+
+	/**
+	 * Set whether a Date header is added to each response.
+	 *
+	 * @param value true to add a Date header.
+	 * @return this ResponseHeaderCache for method chaining.
+	 */
+	public ResponseHeaderCache setIncludeDate(boolean value)
+	{
+		this.includeDate = value;
+		return this;
+	}
+
+	public boolean isIncludingDate()
+	{
+		return includeDate;
+	}
+
+	/**
+	 * Set the Server header value added to each response. Null turns the Server header off.
+	 *
+	 * @param value the Server header value, or null.
+	 * @return this ResponseHeaderCache for method chaining.
+	 */
+	public ResponseHeaderCache setServer(String value)
+	{
+		this.server = (value == null ? null : AsciiString.cached(value));
+		return this;
+	}
+
+	public boolean hasServer()
+	{
+		return (server != null);
+	}
+
+	/**
+	 * Add the cached headers, plus the static headers of the given route (if not null), to the
+	 * outgoing headers. Headers already set on the outgoing response are left as-is.
+	 *
+	 * @param route the resolved route for the request. Possibly null.
+	 * @param headers the outgoing response headers.
+	 */
+	public void addTo(Route route, HttpHeaders headers)
+	{
+		if (includeDate && !headers.contains(HttpHeaderNames.DATE))
+		{
+			headers.set(HttpHeaderNames.DATE, currentDate());
+		}
+
+		if (server != null && !headers.contains(HttpHeaderNames.SERVER))
+		{
+			headers.set(HttpHeaderNames.SERVER, server);
+		}
+
+		if (route != null && route.hasHeaders())
+		{
+			Iterator<Entry<CharSequence, CharSequence>> i = route.getHeaders().iteratorCharSequence();
+
+			while (i.hasNext())
+			{
+				Entry<CharSequence, CharSequence> header = i.next();
+
+				if (!headers.contains(header.getKey()))
+				{
+					headers.set(header.getKey(), header.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the current HTTP date, re-encoding it only when the second has changed.
+	 *
+	 * @return the current HTTP date as an AsciiString.
+	 */
+	AsciiString currentDate()
+	{
+		long second = clock.getAsLong() / 1000L;
+		CachedDate date = cachedDate;
+
+		if (date.second != second)
+		{
+			date = new CachedDate(second);
+			cachedDate = date;
+		}
+
+		return date.value;
+	}
+
+
+	// SECTION: INNER CLASS
+
+	private static class CachedDate
+	{
+		private final long second;
+		private final AsciiString value;
+
+		public CachedDate(long second)
+		{
+			super();
+			this.second = second;
+			this.value = new AsciiString(DateFormatter.format(new Date(second * 1000L)));
+		}
+	}
+}
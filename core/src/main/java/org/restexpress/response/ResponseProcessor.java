@@ -21,8 +21,13 @@ import java.util.List;
 import org.restexpress.Request;
 import org.restexpress.Response;
 import org.restexpress.contenttype.MediaRange;
+import org.restexpress.serialization.ByteBufSerializer;
 import org.restexpress.serialization.SerializationProcessor;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author toddf
  * @since May 14, 2012
@@ -70,4 +75,27 @@ public class ResponseProcessor
 		
 		return null;
 	}
+
+	/**
+	 * Serialize the wrapped response into a ByteBuf. If the serializer is a {@link ByteBufSerializer},
+	 * it writes directly into a buffer from the allocator. Otherwise, the serialized bytes are wrapped.
+	 * 
+	 * @param response the Response to serialize.
+	 * @param allocator the allocator for direct serialization.
+	 * @return a ByteBuf owned by the caller, or null if there's nothing to serialize.
+	 */
+	public ByteBuf serialize(Response response, ByteBufAllocator allocator)
+	{
+		Object wrapped = wrapper.wrap(response);
+
+		if (wrapped == null) return null;
+
+		if (serializer instanceof ByteBufSerializer)
+		{
+			return ((ByteBufSerializer) serializer).serialize(wrapped, allocator);
+		}
+
+		ByteBuffer serialized = serializer.serialize(wrapped);
+		return (serialized == null ? null : Unpooled.wrappedBuffer(serialized));
+	}
 }
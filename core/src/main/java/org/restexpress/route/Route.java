@@ -35,7 +35,11 @@ import org.restexpress.exception.ServiceException;
 import org.restexpress.url.UrlMatch;
 import org.restexpress.url.UrlMatcher;
 
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.ReadOnlyHttpHeaders;
+import io.netty.util.AsciiString;
 
 
 /**
@@ -59,6 +63,8 @@ public abstract class Route
 	private String defaultFormat;
 	private Set<String> flags = new HashSet<String>();
 	private Map<String, Object> parameters = new HashMap<String, Object>();
+	private HttpHeaders headers = EmptyHttpHeaders.INSTANCE;
+	private boolean isStreamingRequestBody = false;
 
 	/**
 	 * @param urlMatcher
@@ -152,6 +158,64 @@ public abstract class Route
 		return parameters.get(name);
 	}
 
+	/**
+	 * Answer whether the route has static response headers.
+	 * 
+	 * @return true if the route contains static headers. Otherwise false.
+	 */
+	public boolean hasHeaders()
+	{
+		return !headers.isEmpty();
+	}
+
+	/**
+	 * Retrieve the static response headers for this route. The names and values are
+	 * pre-encoded and the returned headers are read-only.
+	 * 
+	 * @return the static response headers. Never null.
+	 */
+	public HttpHeaders getHeaders()
+	{
+		return headers;
+	}
+
+	/**
+	 * Set the static response headers for this route, encoding the names and values once.
+	 * 
+	 * @param headers a map of header name/value pairs.
+	 */
+	void setHeaders(Map<String, String> headers)
+	{
+		if (headers == null || headers.isEmpty()) return;
+
+		CharSequence[] pairs = new CharSequence[headers.size() * 2];
+		int i = 0;
+
+		for (Map.Entry<String, String> entry : headers.entrySet())
+		{
+			pairs[i++] = AsciiString.of(entry.getKey());
+			pairs[i++] = AsciiString.of(entry.getValue());
+		}
+
+		this.headers = new ReadOnlyHttpHeaders(true, pairs);
+	}
+
+	/**
+	 * Answer whether the request body for this route is streamed to the controller,
+	 * rather than aggregated before the controller is invoked.
+	 * 
+	 * @return true if the request body is streamed.
+	 */
+	public boolean isStreamingRequestBody()
+	{
+		return isStreamingRequestBody;
+	}
+
+	void setStreamingRequestBody(boolean value)
+	{
+		this.isStreamingRequestBody = value;
+	}
+
 	public Method getAction()
 	{
 		return action;
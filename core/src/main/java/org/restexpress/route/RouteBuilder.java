@@ -10,10 +10,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.restexpress.Flags;
 import org.restexpress.Request;
 import org.restexpress.Response;
 import org.restexpress.common.exception.ConfigurationException;
@@ -21,6 +23,8 @@ import org.restexpress.domain.metadata.RouteMetadata;
 import org.restexpress.domain.metadata.UriMetadata;
 import org.restexpress.settings.RouteDefaults;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
 
 /**
@@ -63,6 +67,8 @@ public abstract class RouteBuilder
 	private String baseUrl;
 	private Set<String> flags = new HashSet<String>();
 	private Map<String, Object> parameters = new HashMap<String, Object>();
+	private Map<String, String> headers = new LinkedHashMap<String, String>();
+	private boolean isStreamingRequestBody = false;
 	
 	/**
 	 * Create a RouteBuilder instance for the given URI pattern. URIs that match the pattern
@@ -234,16 +240,53 @@ public abstract class RouteBuilder
 	}
 
 	/**
-	 * NOT IMPLEMENTED.
+	 * Static headers are response headers whose values are known at route definition time
+	 * (e.g. Cache-Control). They are encoded once, when the route is built, and added to every
+	 * response from the route unless the response already contains a header by that name.
+	 * <p/>
+	 * If the route is flagged with {@link Flags.Cache#DONT_CACHE} and no Cache-Control header
+	 * is set here, 'Cache-Control: no-cache' is added.
 	 * 
-	 * @return
-	 * @deprecated
+	 * @param name the name of the header.
+	 * @param value the header value.
+	 * @return this RouteBuilder to facilitate method chaining.
 	 */
-	public RouteBuilder useStreamingMultipartUpload()
+	public RouteBuilder header(String name, String value)
+	{
+		headers.put(name, value);
+		return this;
+	}
+
+	/**
+	 * Stream the request body to the controller instead of aggregating it in memory first.
+	 * The controller reads the body via {@link org.restexpress.Request#getBodyAsStream()} (or
+	 * getBodyAsIterator() for record-oriented content) while it is still arriving. Reading is
+	 * back-pressured: the server stops reading from the socket while unread content is
+	 * buffered. The maximum content length does not apply to streaming routes, and getBody()
+	 * is empty.
+	 * <p/>
+	 * Because the controller blocks waiting for content, streaming routes require an executor
+	 * thread pool (see RestExpress.setExecutorThreadCount()).
+	 * 
+	 * @return this RouteBuilder to facilitate method chaining.
+	 */
+	public RouteBuilder streamRequestBody()
 	{
-		// TODO: complete supportMultipart()
+		this.isStreamingRequestBody = true;
 		return this;
 	}
+
+	/**
+	 * Stream the raw (undecoded) multipart request body to the controller.
+	 * Same as {@link #streamRequestBody()}.
+	 * 
+	 * @return this RouteBuilder to facilitate method chaining.
+	 * @deprecated use {@link #streamRequestBody()}, which applies to any request body.
+	 */
+	public RouteBuilder useStreamingMultipartUpload()
+	{
+		return streamRequestBody();
+	}
 	
 	/**
 	 * NOT IMPLEMENTED.
@@ -274,6 +317,7 @@ public abstract class RouteBuilder
 
 		List<Route> routes = new ArrayList<Route>();
 		String pattern = toRegexPattern(uri);
+		Map<String, String> staticHeaders = getStaticHeaders();
 		
 		for (HttpMethod method : methods)
 		{
@@ -290,7 +334,10 @@ public abstract class RouteBuilder
 			}
 			
 			Method action = determineActionMethod(controller, actionName);
-			routes.add(newRoute(pattern, controller, action, method, shouldSerializeResponse, name, supportedFormats, defaultFormat, flags, parameters, baseUrl));
+			Route route = newRoute(pattern, controller, action, method, shouldSerializeResponse, name, supportedFormats, defaultFormat, flags, parameters, baseUrl);
+			route.setHeaders(staticHeaders);
+			route.setStreamingRequestBody(isStreamingRequestBody);
+			routes.add(route);
 		}
 		
 		return routes;
@@ -348,6 +395,20 @@ public abstract class RouteBuilder
 
 	// SECTION: UTILITY - PRIVATE
 
+	private Map<String, String> getStaticHeaders()
+	{
+		if (!flags.contains(Flags.Cache.DONT_CACHE)) return headers;
+
+		for (String name : headers.keySet())
+		{
+			if (HttpHeaderNames.CACHE_CONTROL.contentEqualsIgnoreCase(name)) return headers;
+		}
+
+		Map<String, String> result = new LinkedHashMap<String, String>(headers);
+		result.put(HttpHeaderNames.CACHE_CONTROL.toString(), HttpHeaderValues.NO_CACHE.toString());
+		return result;
+	}
+
 	/**
 	 * Attempts to find the actionName on the controller, assuming a signature of actionName(Request, Response), 
 	 * and returns the action as a Method to be used later when the route is invoked.
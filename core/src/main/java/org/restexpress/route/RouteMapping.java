@@ -110,6 +110,24 @@ public class RouteMapping
 		return null;
 	}
 
+	/**
+	 * Answer whether any route streams its request body.
+	 * 
+	 * @return true if at least one route streams its request body.
+	 */
+	public boolean hasStreamingRoutes()
+	{
+		for (List<Route> routesFor : routes.values())
+		{
+			for (Route route : routesFor)
+			{
+				if (route.isStreamingRequestBody()) return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Returns a list of Route instances that the given path resolves to.
 	 * 
@@ -21,6 +21,7 @@ import io.netty.handler.codec.http.HttpMethod;
 import org.restexpress.Request;
 import org.restexpress.exception.MethodNotAllowedException;
 import org.restexpress.exception.NotFoundException;
+import org.restexpress.jfr.RouteMissEvent;
 import org.restexpress.util.Resolver;
 
 /**
@@ -43,6 +44,34 @@ implements Resolver<Action>
 		return routeMapping.getNamedRoute(name, method);
 	}
 	
+	/**
+	 * Answer whether any route streams its request body.
+	 */
+	public boolean hasStreamingRoutes()
+	{
+		return routeMapping.hasStreamingRoutes();
+	}
+
+	/**
+	 * Answer whether the route matching the given method and path (the request URI) streams
+	 * its request body. Unlike resolve(), an unresolvable request simply returns false. As with
+	 * resolve(), a POST tunneling PUT or DELETE via the _method query-string parameter matches
+	 * the tunneled method's routes.
+	 * 
+	 * @param method the HTTP method of the request.
+	 * @param path the request URI.
+	 * @return true if the matching route streams its request body.
+	 */
+	public boolean isStreamingRequestBody(HttpMethod method, String path)
+	{
+		HttpMethod effectiveMethod = Request.getEffectiveHttpMethod(method, path);
+
+		if (routeMapping.getRoutesFor(effectiveMethod).isEmpty()) return false;
+
+		Action action = routeMapping.getActionFor(effectiveMethod, path);
+		return (action != null && action.getRoute().isStreamingRequestBody());
+	}
+
 	@Override
 	public Action resolve(Request request)
 	{
@@ -54,9 +83,11 @@ implements Resolver<Action>
 
 		if (allowedMethods != null && !allowedMethods.isEmpty())
 		{
+			RouteMissEvent.emit(request.getEffectiveHttpMethod().name(), request.getPath(), 405);
 			throw new MethodNotAllowedException(request.getUrl(), allowedMethods);
 		}
 
+		RouteMissEvent.emit(request.getEffectiveHttpMethod().name(), request.getPath(), 404);
 		throw new NotFoundException("Unresolvable URL: " + request.getUrl());
 	}
 }
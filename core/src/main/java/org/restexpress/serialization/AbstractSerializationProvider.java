@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.restexpress.Request;
@@ -39,11 +40,26 @@ import org.restexpress.response.ResponseWrapper;
 public abstract class AbstractSerializationProvider
 implements SerializationProvider
 {
+	/**
+	 * The maximum number of distinct Content-Type (or Accept) header values for which
+	 * negotiation results are remembered. Beyond this, negotiation is simply performed
+	 * on each request, so unusual or hostile header values cannot grow the memo.
+	 */
+	private static final int MAX_CACHED_NEGOTIATIONS = 512;
+
+	/**
+	 * The memo key for a missing Content-Type (or Accept) header. Header values cannot
+	 * contain a NUL character, so this never collides with a value a client sends.
+	 */
+	private static final String MISSING_HEADER = "\0";
+
 	private Map<String, ResponseProcessor> processorsByFormat = new HashMap<String, ResponseProcessor>();
 	private Map<String, ResponseProcessor> processorsByMediaType = new HashMap<String, ResponseProcessor>();
 	private List<MediaRange> supportedMediaRanges = new ArrayList<MediaRange>();
 	private ResponseProcessor defaultProcessor;
 	private List<Alias> aliases = new ArrayList<Alias>();
+	private Map<String, Negotiation> requestNegotiations = new ConcurrentHashMap<String, Negotiation>();
+	private Map<String, Negotiation> responseNegotiations = new ConcurrentHashMap<String, Negotiation>();
 
 	/**
 	 * Add a SerializationProcessor to this SerializationProvider, along with ResponseWrapper to use
@@ -96,6 +112,8 @@ implements SerializationProvider
 		{
 			defaultProcessor = responseProcessor;
 		}
+
+		clearNegotiations();
 	}
 
 	@Override
@@ -121,6 +139,7 @@ implements SerializationProvider
 		}
 		
 		defaultProcessor = processor;
+		clearNegotiations();
 	}
 	
 	/**
@@ -146,7 +165,6 @@ implements SerializationProvider
 	{
 		ResponseProcessor processor = null;
 	    String format = request.getFormat();
-	    String bestMatch = null;
 
 		if (format != null)
 		{
@@ -158,23 +176,14 @@ implements SerializationProvider
 			}
 		}
 
-		if (processor == null)
-		{
-			List<MediaRange> requestedMediaRanges = MediaTypeParser.parse(request.getHeader(HttpHeaderNames.CONTENT_TYPE.toString()));
-			bestMatch = MediaTypeParser.getBestMatch(supportedMediaRanges, requestedMediaRanges);
-	
-			if (bestMatch != null)
-			{
-				processor = processorsByMediaType.get(bestMatch);
-			}
-		}
-		
-		if (processor == null)
+		String contentType = request.getHeader(HttpHeaderNames.CONTENT_TYPE.toString());
+
+		if (processor != null)
 		{
-			processor = defaultProcessor;
+			return new SerializationSettings(contentType, processor);
 		}
 
-		return new SerializationSettings((bestMatch == null ? request.getHeader(HttpHeaderNames.CONTENT_TYPE.toString()) : bestMatch), processor);
+		return negotiateRequest(contentType).settings;
 	}
 
 	@Override
@@ -204,33 +213,95 @@ implements SerializationProvider
 			}
 		}
 
-		if (processor == null)
+		if (processor != null)
 		{
-			List<MediaRange> requestedMediaRanges = MediaTypeParser.parse(request.getHeader(HttpHeaderNames.ACCEPT.toString()));
-			bestMatch = MediaTypeParser.getBestMatch(supportedMediaRanges, requestedMediaRanges);
-	
-			if (bestMatch != null)
-			{
-				processor = processorsByMediaType.get(bestMatch);
-			}
-			else if (!shouldForce && !requestedMediaRanges.isEmpty())
-			{
-				throw new NotAcceptableException("Supported Media Types: " + StringUtils.join(", ", supportedMediaRanges));
-			}
+			return new SerializationSettings(bestMatch, processor);
 		}
-		
-		if (processor == null)
+
+		Negotiation negotiation = negotiateResponse(request.getHeader(HttpHeaderNames.ACCEPT.toString()));
+
+		if (!shouldForce && !negotiation.isAcceptable)
 		{
-			processor = defaultProcessor;
-			bestMatch = processor.getSupportedMediaRanges().get(0).asMediaType();
+			throw new NotAcceptableException("Supported Media Types: " + StringUtils.join(", ", supportedMediaRanges));
 		}
-		
-		return new SerializationSettings(bestMatch, processor);
+
+		return negotiation.settings;
     }
 
 
 	// SECTION: CONVENIENCE/SUPPORT
 
+	/**
+	 * Negotiates the request (Content-Type) SerializationSettings, consulting the memo first.
+	 */
+	private Negotiation negotiateRequest(String contentType)
+	{
+		Negotiation negotiation = requestNegotiations.get(memoKey(contentType));
+
+		if (negotiation == null)
+		{
+			List<MediaRange> requestedMediaRanges = MediaTypeParser.parse(contentType);
+			String bestMatch = MediaTypeParser.getBestMatch(supportedMediaRanges, requestedMediaRanges);
+			ResponseProcessor processor = (bestMatch == null ? null : processorsByMediaType.get(bestMatch));
+			negotiation = new Negotiation(new SerializationSettings((bestMatch == null ? contentType : bestMatch),
+				(processor == null ? defaultProcessor : processor)), true);
+			remember(requestNegotiations, memoKey(contentType), negotiation);
+		}
+
+		return negotiation;
+	}
+
+	/**
+	 * Negotiates the response (Accept) SerializationSettings, consulting the memo first.
+	 * The resulting Negotiation is not acceptable if the client requested media ranges
+	 * but none of them are supported.
+	 */
+	private Negotiation negotiateResponse(String accept)
+	{
+		Negotiation negotiation = responseNegotiations.get(memoKey(accept));
+
+		if (negotiation == null)
+		{
+			List<MediaRange> requestedMediaRanges = MediaTypeParser.parse(accept);
+			String bestMatch = MediaTypeParser.getBestMatch(supportedMediaRanges, requestedMediaRanges);
+			ResponseProcessor processor = (bestMatch == null ? null : processorsByMediaType.get(bestMatch));
+			boolean isAcceptable = (bestMatch != null || requestedMediaRanges.isEmpty());
+
+			if (processor == null)
+			{
+				processor = defaultProcessor;
+				bestMatch = processor.getSupportedMediaRanges().get(0).asMediaType();
+			}
+
+			negotiation = new Negotiation(new SerializationSettings(bestMatch, processor), isAcceptable);
+			remember(responseNegotiations, memoKey(accept), negotiation);
+		}
+
+		return negotiation;
+	}
+
+	private void remember(Map<String, Negotiation> negotiations, String key, Negotiation negotiation)
+	{
+		if (negotiations.size() < MAX_CACHED_NEGOTIATIONS)
+		{
+			negotiations.put(key, negotiation);
+		}
+	}
+
+	private static String memoKey(String headerValue)
+	{
+		return (headerValue == null ? MISSING_HEADER : headerValue);
+	}
+
+	/**
+	 * Forget any remembered negotiation results, as the supported media ranges or default processor changed.
+	 */
+	private void clearNegotiations()
+	{
+		requestNegotiations.clear();
+		responseNegotiations.clear();
+	}
+
 	private void addMediaRanges(List<MediaRange> mediaRanges)
     {
 		if (mediaRanges == null) return;
@@ -282,7 +353,23 @@ implements SerializationProvider
     }
 
 
-	// SECTION: INNER CLASS
+	// SECTION: INNER CLASSES
+
+	/**
+	 * The remembered outcome of negotiating a single Content-Type or Accept header value.
+	 */
+	private static class Negotiation
+	{
+		private final SerializationSettings settings;
+		private final boolean isAcceptable;
+
+		public Negotiation(SerializationSettings settings, boolean isAcceptable)
+		{
+			super();
+			this.settings = settings;
+			this.isAcceptable = isAcceptable;
+		}
+	}
 
 	private static class Alias
 	{
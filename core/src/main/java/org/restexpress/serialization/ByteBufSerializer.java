@@ -0,0 +1,37 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * An optional extension to {@link Serializer} for processors that can write their output
+ * directly into a (typically pooled) buffer from the channel's allocator, instead of into
+ * an intermediate byte array.
+ */
+public interface ByteBufSerializer
+{
+	/**
+	 * Serialize the object into a buffer obtained from the allocator. The caller
+	 * owns (and must eventually release) the returned buffer.
+	 * 
+	 * @param object the object to serialize. Possibly null.
+	 * @param allocator the allocator to obtain the buffer from.
+	 * @return a ByteBuf containing the serialized object.
+	 */
+	public ByteBuf serialize(Object object, ByteBufAllocator allocator);
+}
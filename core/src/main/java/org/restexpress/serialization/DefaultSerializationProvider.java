@@ -16,11 +16,16 @@
 package org.restexpress.serialization;
 
 import org.restexpress.response.RawResponseWrapper;
+import org.restexpress.serialization.binary.JacksonCborProcessor;
+import org.restexpress.serialization.binary.JacksonMessagePackProcessor;
+import org.restexpress.serialization.binary.JacksonSmileProcessor;
 import org.restexpress.serialization.json.JacksonJsonProcessor;
+import org.restexpress.serialization.json.JacksonNdjsonProcessor;
 
 
 /**
- * The default serialization provider that uses Jackson for JSON and XStream for XML serialization/deserialization.
+ * The default serialization provider that uses Jackson for JSON (the default), NDJSON, CBOR, Smile
+ * and MessagePack serialization/deserialization.
  * 
  * @author toddf
  * @since Jul 18, 2013
@@ -32,5 +37,9 @@ extends AbstractSerializationProvider
     {
 		super();
 		add(new JacksonJsonProcessor(), new RawResponseWrapper(), true);
+		add(new JacksonNdjsonProcessor(), new RawResponseWrapper());
+		add(new JacksonCborProcessor(), new RawResponseWrapper());
+		add(new JacksonSmileProcessor(), new RawResponseWrapper());
+		add(new JacksonMessagePackProcessor(), new RawResponseWrapper());
     }
 }
@@ -17,6 +17,8 @@ package org.restexpress.serialization;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.restexpress.Request;
 import org.restexpress.Response;
@@ -65,4 +67,18 @@ public class SerializationSettings
 
 		return processor.serialize(response);
     }
+
+    /**
+     * Serialize the response into a ByteBuf, which may come from the allocator (see {@link ByteBufSerializer}).
+     * The caller owns the returned buffer.
+     */
+    public ByteBuf serialize(Response response, ByteBufAllocator allocator)
+    {
+		if (!response.hasHeader(HttpHeaderNames.CONTENT_TYPE.toString()))
+		{
+			response.setContentType(mediaType);
+		}
+
+		return processor.serialize(response, allocator);
+    }
 }
@@ -0,0 +1,38 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization;
+
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * An optional extension to {@link Deserializer} for record-oriented formats (e.g. NDJSON),
+ * where a body contains a sequence of independent records. Records are parsed lazily, as
+ * the iterator is advanced, so memory use is proportional to a single record rather than
+ * the entire body.
+ */
+public interface StreamingDeserializer
+{
+	/**
+	 * Returns an Iterator that parses one record of the given type from the input per call to next().
+	 * The iterator throws {@link DeserializationException} if a record cannot be parsed.
+	 * 
+	 * @param input the serialized records.
+	 * @param type the type of each record.
+	 * @return an Iterator of records. Never null.
+	 */
+	public <T> Iterator<T> deserializeRecords(InputStream input, Class<T> type);
+}
@@ -0,0 +1,153 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.restexpress.contenttype.MediaTypeParser;
+import org.restexpress.serialization.AbstractSerializationProcessor;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.SerializationException;
+import org.restexpress.serialization.json.JacksonJsonProcessor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * Base SerializationProcessor for the binary Jackson data formats (CBOR, Smile,
+ * MessagePack). Mappers are configured the same way as {@link JacksonJsonProcessor}:
+ * fields only, nulls omitted, unknown properties ignored and dates as ISO 8601 time points,
+ * so a client may switch between JSON and a binary format without model changes.
+ * <p/>
+ * Unlike the JSON processor, strings are not HTML-encoded on the way out, as binary
+ * payloads are not rendered by browsers.
+ */
+public abstract class JacksonBinaryProcessor
+extends AbstractSerializationProcessor
+{
+	private static final byte[] EMPTY_BYTES = new byte[0];
+	private ObjectMapper mapper;
+
+	/**
+	 * Creates a processor with a new, default-configured ObjectMapper for the data format.
+	 * 
+	 * @param factory the JsonFactory for the binary data format.
+	 * @param format the format name (e.g. "cbor") that selects this processor.
+	 * @param mediaTypes the supported media types, comma-separated.
+	 */
+	protected JacksonBinaryProcessor(JsonFactory factory, String format, String mediaTypes)
+	{
+		this(new ObjectMapper(factory), format, mediaTypes);
+		SimpleModule module = new SimpleModule();
+		initializeModule(module);
+		mapper.registerModule(module);
+		initializeMapper(mapper);
+	}
+
+	/**
+	 * Creates a processor that uses the given ObjectMapper as-is.
+	 * 
+	 * @param mapper a configured ObjectMapper for the binary data format.
+	 * @param format the format name (e.g. "cbor") that selects this processor.
+	 * @param mediaTypes the supported media types, comma-separated.
+	 */
+	protected JacksonBinaryProcessor(ObjectMapper mapper, String format, String mediaTypes)
+	{
+		super(Arrays.asList(format), MediaTypeParser.parse(mediaTypes));
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Template method for sub-classes to augment the module with desired
+	 * serializers and/or deserializers.  Sub-classes should call super()
+	 * to get default settings.
+	 * 
+	 * @param module a SimpleModule
+	 */
+	protected void initializeModule(SimpleModule module)
+	{
+		JacksonJsonProcessor.addDefaultSerializers(module);
+	}
+
+	/**
+	 * Template method for sub-classes to augment the mapper with desired
+	 * settings.  Sub-classes should call super() to get default settings.
+	 * 
+	 * @param mapper an ObjectMapper
+	 */
+	protected void initializeMapper(ObjectMapper mapper)
+	{
+		JacksonJsonProcessor.applyDefaultSettings(mapper);
+	}
+
+	/**
+	 * Binary payloads are not text. The string is expected to hold one byte per character (ISO-8859-1).
+	 */
+	@Override
+	public <T> T deserialize(String string, Class<T> type)
+	{
+		try
+		{
+			return (string == null || string.isEmpty() ? null : mapper.readValue(string.getBytes(StandardCharsets.ISO_8859_1), type));
+		}
+		catch (IOException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public <T> T deserialize(ByteBuf buffer, Class<T> type)
+	{
+		try
+		{
+			return (buffer == null || buffer.readableBytes() == 0 ? null : mapper.readValue((InputStream) new ByteBufInputStream(buffer), type));
+		}
+		catch (IOException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public ByteBuffer serialize(Object object)
+	{
+		if (object == null)
+		{
+			return ByteBuffer.wrap(EMPTY_BYTES);
+		}
+
+		try
+		{
+			ByteArrayOutputStream b = new ByteArrayOutputStream();
+			mapper.writeValue(b, object);
+			return ByteBuffer.wrap(b.toByteArray());
+		}
+		catch (IOException e)
+		{
+			throw new SerializationException(e);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.binary;
+
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * A SerializationProcessor to handle CBOR (RFC 8949) input/output.
+ */
+public class JacksonCborProcessor
+extends JacksonBinaryProcessor
+{
+	private static final String MEDIA_TYPES = ContentType.CBOR;
+
+	public JacksonCborProcessor()
+	{
+		this(Format.CBOR);
+	}
+
+	public JacksonCborProcessor(String format)
+	{
+		super(new CBORFactory(), format, MEDIA_TYPES);
+	}
+
+	/**
+	 * Use the given, pre-configured, ObjectMapper as-is.
+	 */
+	public JacksonCborProcessor(ObjectMapper mapper, String format)
+	{
+		super(mapper, format, MEDIA_TYPES);
+	}
+}
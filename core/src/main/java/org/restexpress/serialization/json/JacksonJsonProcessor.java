@@ -114,11 +114,7 @@ extends JsonSerializationProcessor
 	 */
 	protected void initializeModule(SimpleModule module)
     {
-		module
-			.addSerializer(Date.class, new JacksonTimepointSerializer())
-			.addDeserializer(Date.class, new JacksonTimepointDeserializer())
-			.addSerializer(LocalDate.class, new JacksonLocalDateSerializer())
-			.addDeserializer(LocalDate.class, new JacksonLocalDateDeserializer());
+		addDefaultSerializers(module);
 
 		if (shouldOutboundEncode)
 		{
@@ -136,7 +132,35 @@ extends JsonSerializationProcessor
 	 */
 	protected void initializeMapper(ObjectMapper mapper)
     {
-		mapper
+		applyDefaultSettings(mapper);
+    }
+
+	/**
+	 * Adds the date and LocalDate serializers and deserializers used by the Jackson processors.
+	 * Shared with the binary Jackson processors, so a client may switch formats without model changes.
+	 * 
+	 * @param module a SimpleModule
+	 * @return the module, for method chaining.
+	 */
+	public static SimpleModule addDefaultSerializers(SimpleModule module)
+	{
+		return module
+			.addSerializer(Date.class, new JacksonTimepointSerializer())
+			.addDeserializer(Date.class, new JacksonTimepointDeserializer())
+			.addSerializer(LocalDate.class, new JacksonLocalDateSerializer())
+			.addDeserializer(LocalDate.class, new JacksonLocalDateDeserializer());
+	}
+
+	/**
+	 * Applies the mapper settings used by the Jackson processors. Shared with the binary
+	 * Jackson processors.
+	 * 
+	 * @param mapper an ObjectMapper
+	 * @return the mapper, for method chaining.
+	 */
+	public static ObjectMapper applyDefaultSettings(ObjectMapper mapper)
+	{
+		return mapper
 //			.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
 			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
 
@@ -144,7 +168,7 @@ extends JsonSerializationProcessor
 			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
 			
 			// Only serialize populated properties (do no serialize nulls)
-			.setSerializationInclusion(JsonInclude.Include.NON_NULL)
+			.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.USE_DEFAULTS))
 			
 			// Use fields directly.
 			.setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
@@ -156,7 +180,15 @@ extends JsonSerializationProcessor
 			
 			// Set default date output format.
 			.setDateFormat(new SimpleDateFormat(DateAdapterConstants.TIME_POINT_OUTPUT_FORMAT));
-    }
+	}
+
+	/**
+	 * Provides sub-classes access to the configured ObjectMapper.
+	 */
+	protected ObjectMapper getMapper()
+	{
+		return mapper;
+	}
 
 	@Override
 	public <T> T deserialize(String string, Class<T> type)
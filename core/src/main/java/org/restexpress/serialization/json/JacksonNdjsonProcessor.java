@@ -0,0 +1,232 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+import org.restexpress.common.util.StringUtils;
+import org.restexpress.contenttype.MediaTypeParser;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.SerializationException;
+import org.restexpress.serialization.StreamingDeserializer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * A SerializationProcessor for newline-delimited JSON (NDJSON, a.k.a. JSON Lines), where
+ * each line of the body is a complete JSON record. It uses the same ObjectMapper
+ * configuration as {@link JacksonJsonProcessor}.
+ * <p/>
+ * Request bodies are best consumed with {@link org.restexpress.Request#getBodyAsIterator(Class)}
+ * (or getBodyAsRecordStream()), which parses one record at a time. Deserializing into a
+ * List, Set, Queue or Collection type returns all records; deserializing into any other type
+ * returns the first.
+ * Serializing an Iterable or array writes one line per element; any other object is written
+ * as a single line.
+ */
+public class JacksonNdjsonProcessor
+extends JacksonJsonProcessor
+implements StreamingDeserializer
+{
+	private static final String SUPPORTED_MEDIA_TYPES = StringUtils.join(",",
+		ContentType.NDJSON,
+		"application/jsonl" + ContentType.CHARSET_PARAMETER);
+	private static final byte[] NEWLINE = {'\n'};
+
+	public JacksonNdjsonProcessor()
+	{
+		this(true);
+	}
+
+	public JacksonNdjsonProcessor(boolean shouldOutboundEncode)
+	{
+		super(Format.NDJSON, shouldOutboundEncode);
+		setSupportedMediaRanges(MediaTypeParser.parse(SUPPORTED_MEDIA_TYPES));
+	}
+
+	public JacksonNdjsonProcessor(ObjectMapper mapper)
+	{
+		super(mapper);
+		setSupportedFormats(Arrays.asList(Format.NDJSON));
+		setSupportedMediaRanges(MediaTypeParser.parse(SUPPORTED_MEDIA_TYPES));
+	}
+
+	@Override
+	public <T> Iterator<T> deserializeRecords(InputStream input, Class<T> type)
+	{
+		try
+		{
+			MappingIterator<T> records = getMapper().readerFor(type).readValues(input);
+			return new RecordIterator<T>(records);
+		}
+		catch (IOException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public <T> T deserialize(String string, Class<T> type)
+	{
+		if (string == null || string.trim().isEmpty()) return null;
+
+		return deserialize(new ByteArrayInputStream(string.getBytes(ContentType.CHARSET)), type);
+	}
+
+	@Override
+	public <T> T deserialize(ByteBuf buffer, Class<T> type)
+	{
+		if (buffer == null || buffer.readableBytes() == 0) return null;
+
+		return deserialize(new ByteBufInputStream(buffer), type);
+	}
+
+	@Override
+	public ByteBuffer serialize(Object object)
+	{
+		if (object == null) return ByteBuffer.allocate(0);
+
+		Iterable<?> records;
+
+		if (object instanceof Iterable)
+		{
+			records = (Iterable<?>) object;
+		}
+		else if (object instanceof Object[])
+		{
+			records = Arrays.asList((Object[]) object);
+		}
+		else
+		{
+			records = Collections.singletonList(object);
+		}
+
+		try
+		{
+			ObjectWriter writer = getMapper().writer();
+			ByteArrayOutputStream b = new ByteArrayOutputStream();
+
+			for (Object record : records)
+			{
+				writer.writeValue(b, record);
+				b.write(NEWLINE);
+			}
+
+			return ByteBuffer.wrap(b.toByteArray());
+		}
+		catch (IOException e)
+		{
+			throw new SerializationException(e);
+		}
+	}
+
+	private <T> T deserialize(InputStream input, Class<T> type)
+	{
+		if (Collection.class.isAssignableFrom(type))
+		{
+			Collection<Object> all = newCollection(type);
+			deserializeRecords(input, Object.class).forEachRemaining(all::add);
+			return type.cast(all);
+		}
+
+		Iterator<T> records = deserializeRecords(input, type);
+		return (records.hasNext() ? records.next() : null);
+	}
+
+	/**
+	 * Answers an empty collection assignable to the requested type: an ArrayList for a List
+	 * (or Collection), a LinkedHashSet for a Set or an ArrayDeque for a Queue.
+	 */
+	private static Collection<Object> newCollection(Class<?> type)
+	{
+		if (type.isAssignableFrom(ArrayList.class)) return new ArrayList<>();
+
+		if (type.isAssignableFrom(LinkedHashSet.class)) return new LinkedHashSet<>();
+
+		if (type.isAssignableFrom(ArrayDeque.class)) return new ArrayDeque<>();
+
+		throw new DeserializationException("Cannot deserialize NDJSON records into " + type.getName()
+			+ ". Use a List, Set, Queue or Collection.");
+	}
+
+	// SECTION: INNER CLASS
+
+	/**
+	 * Adapts Jackson's MappingIterator, translating parse errors to DeserializationException
+	 * and closing the underlying parser when the records are exhausted.
+	 */
+	private static class RecordIterator<T>
+	implements Iterator<T>
+	{
+		private MappingIterator<T> records;
+
+		public RecordIterator(MappingIterator<T> records)
+		{
+			super();
+			this.records = records;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			try
+			{
+				if (records.hasNextValue()) return true;
+
+				records.close();
+				return false;
+			}
+			catch (IOException e)
+			{
+				throw new DeserializationException(e);
+			}
+		}
+
+		@Override
+		public T next()
+		{
+			if (!hasNext()) throw new NoSuchElementException();
+
+			try
+			{
+				return records.nextValue();
+			}
+			catch (IOException e)
+			{
+				throw new DeserializationException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.protobuf;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+
+import org.restexpress.ContentType;
+import org.restexpress.serialization.AbstractSerializationProcessor;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.SerializationException;
+import org.restexpress.serialization.SerializationProcessor;
+import org.restexpress.serialization.json.JacksonJsonProcessor;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * A JSON SerializationProcessor that renders protobuf {@link Message}s using the canonical
+ * protobuf-JSON mapping ({@link JsonFormat}) and delegates all other types to another JSON
+ * processor (by default, {@link JacksonJsonProcessor}). It takes on the formats and media
+ * types of its delegate, so it is registered in place of it:
+ * <pre>
+ * provider.add(new ProtobufJsonProcessor(), new RawResponseWrapper(), true);
+ * provider.add(new ProtobufProcessor(), new RawResponseWrapper());
+ * </pre>
+ * Controllers can then return protobuf Messages and have them negotiated as either
+ * application/x-protobuf or JSON.
+ */
+public class ProtobufJsonProcessor
+extends AbstractSerializationProcessor
+{
+	private final SerializationProcessor delegate;
+	private final JsonFormat.Printer printer;
+	private final JsonFormat.Parser parser;
+
+	public ProtobufJsonProcessor()
+	{
+		this(new JacksonJsonProcessor());
+	}
+
+	public ProtobufJsonProcessor(SerializationProcessor delegate)
+	{
+		this(delegate, JsonFormat.printer().omittingInsignificantWhitespace(), JsonFormat.parser().ignoringUnknownFields());
+	}
+
+	public ProtobufJsonProcessor(SerializationProcessor delegate, JsonFormat.Printer printer, JsonFormat.Parser parser)
+	{
+		super(delegate.getSupportedFormats(), delegate.getSupportedMediaRanges());
+		this.delegate = delegate;
+		this.printer = printer;
+		this.parser = parser;
+	}
+
+	@Override
+	public <T> T deserialize(String string, Class<T> type)
+	{
+		if (!ProtobufMessages.isMessage(type))
+		{
+			return delegate.deserialize(string, type);
+		}
+
+		if (string == null || string.trim().isEmpty()) return null;
+
+		Message.Builder builder = ProtobufMessages.getDefaultInstance(type).newBuilderForType();
+
+		try
+		{
+			parser.merge(string, builder);
+			return type.cast(builder.build());
+		}
+		catch (InvalidProtocolBufferException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public <T> T deserialize(ByteBuf buffer, Class<T> type)
+	{
+		if (!ProtobufMessages.isMessage(type))
+		{
+			return delegate.deserialize(buffer, type);
+		}
+
+		if (buffer == null || buffer.readableBytes() == 0) return null;
+
+		Message.Builder builder = ProtobufMessages.getDefaultInstance(type).newBuilderForType();
+
+		try
+		{
+			parser.merge(new InputStreamReader(new ByteBufInputStream(buffer), ContentType.CHARSET), builder);
+			return type.cast(builder.build());
+		}
+		catch (IOException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public ByteBuffer serialize(Object object)
+	{
+		if (!(object instanceof Message))
+		{
+			return delegate.serialize(object);
+		}
+
+		try
+		{
+			return ByteBuffer.wrap(printer.print((Message) object).getBytes(ContentType.CHARSET));
+		}
+		catch (InvalidProtocolBufferException e)
+		{
+			throw new SerializationException(e);
+		}
+	}
+}
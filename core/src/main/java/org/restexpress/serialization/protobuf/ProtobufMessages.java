@@ -0,0 +1,64 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.protobuf;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.restexpress.serialization.DeserializationException;
+
+import com.google.protobuf.Message;
+
+/**
+ * Looks up (and caches) the default instance of generated protobuf Message classes,
+ * from which parsers and builders are obtained.
+ */
+final class ProtobufMessages
+{
+	private static final Map<Class<?>, Message> DEFAULT_INSTANCES = new ConcurrentHashMap<>();
+
+	private ProtobufMessages()
+	{
+		// prevents instantiation.
+	}
+
+	static boolean isMessage(Class<?> type)
+	{
+		return Message.class.isAssignableFrom(type);
+	}
+
+	static Message getDefaultInstance(Class<?> type)
+	{
+		if (!isMessage(type))
+		{
+			throw new DeserializationException("Not a protobuf Message: " + type.getName());
+		}
+
+		return DEFAULT_INSTANCES.computeIfAbsent(type, ProtobufMessages::lookupDefaultInstance);
+	}
+
+	private static Message lookupDefaultInstance(Class<?> type)
+	{
+		try
+		{
+			return (Message) type.getMethod("getDefaultInstance").invoke(null);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.protobuf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+import org.restexpress.common.util.StringUtils;
+import org.restexpress.contenttype.MediaTypeParser;
+import org.restexpress.serialization.AbstractSerializationProcessor;
+import org.restexpress.serialization.ByteBufSerializer;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.SerializationException;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * A SerializationProcessor for Protocol Buffers binary payloads. Controllers return
+ * (and deserialize request bodies into) generated {@link Message} classes directly;
+ * other types are not supported.
+ * <p/>
+ * Register it with a SerializationProvider, for example:
+ * <pre>
+ * provider.add(new ProtobufProcessor(), new RawResponseWrapper());
+ * </pre>
+ * Responses are written straight into a buffer from the channel's allocator (see {@link ByteBufSerializer}),
+ * sized exactly from {@link Message#getSerializedSize()}.
+ */
+public class ProtobufProcessor
+extends AbstractSerializationProcessor
+implements ByteBufSerializer
+{
+	private static final String SUPPORTED_MEDIA_TYPES = StringUtils.join(",",
+		ContentType.PROTOBUF,
+		"application/protobuf",
+		"application/vnd.google.protobuf");
+
+	public ProtobufProcessor()
+	{
+		this(Format.PROTOBUF);
+	}
+
+	public ProtobufProcessor(String format)
+	{
+		super(Arrays.asList(format), MediaTypeParser.parse(SUPPORTED_MEDIA_TYPES));
+	}
+
+	/**
+	 * Binary payloads are not text. The string is expected to hold one byte per character (ISO-8859-1).
+	 */
+	@Override
+	public <T> T deserialize(String string, Class<T> type)
+	{
+		if (string == null || string.isEmpty()) return null;
+
+		try
+		{
+			return type.cast(ProtobufMessages.getDefaultInstance(type).getParserForType().parseFrom(string.getBytes(StandardCharsets.ISO_8859_1)));
+		}
+		catch (InvalidProtocolBufferException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public <T> T deserialize(ByteBuf buffer, Class<T> type)
+	{
+		if (buffer == null || buffer.readableBytes() == 0) return null;
+
+		try
+		{
+			return type.cast(ProtobufMessages.getDefaultInstance(type).getParserForType().parseFrom(buffer.nioBuffer()));
+		}
+		catch (InvalidProtocolBufferException e)
+		{
+			throw new DeserializationException(e);
+		}
+	}
+
+	@Override
+	public ByteBuffer serialize(Object object)
+	{
+		if (object == null) return ByteBuffer.allocate(0);
+
+		return ByteBuffer.wrap(asMessage(object).toByteArray());
+	}
+
+	@Override
+	public ByteBuf serialize(Object object, ByteBufAllocator allocator)
+	{
+		if (object == null) return allocator.buffer(0);
+
+		Message message = asMessage(object);
+		int size = message.getSerializedSize();
+		ByteBuf buffer = allocator.buffer(size, size);
+
+		try
+		{
+			CodedOutputStream output = CodedOutputStream.newInstance(buffer.nioBuffer(buffer.writerIndex(), size));
+			message.writeTo(output);
+			output.flush();
+			output.checkNoSpaceLeft();
+			buffer.writerIndex(buffer.writerIndex() + size);
+			return buffer;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			buffer.release();
+			throw new SerializationException(e);
+		}
+	}
+
+	private Message asMessage(Object object)
+	{
+		if (object instanceof Message)
+		{
+			return (Message) object;
+		}
+
+		throw new SerializationException("Not a protobuf Message: " + object.getClass().getName());
+	}
+}
@@ -15,8 +15,15 @@
  */
 package org.restexpress.settings;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.restexpress.pipeline.UploadSyncPolicy;
+
+import io.netty.buffer.ByteBufAllocator;
+
 /**
  * @author toddf
  * @since May 31, 2012
@@ -26,6 +33,7 @@ public class ServerSettings
 	private static final int DEFAULT_IO_THREAD_COUNT = 0;
 	private static final int DEFAULT_EXECUTOR_THREAD_POOL_SIZE = 10;
 	private static final int DEFAULT_MAX_CONTENT_SIZE = 25600;
+	private static final long DEFAULT_UPLOAD_MEMORY_THRESHOLD = 16384L;
 
 	private String name;
 	private int port;
@@ -37,6 +45,37 @@ public class ServerSettings
 	private TimeUnit readTimeoutUnit = TimeUnit.SECONDS;
 	private boolean supportFileUpload = false;
 
+	// Controls multipart file uploads (see FileUploadHandler). Parts larger than the memory
+	// threshold are written to the upload directory (null is java.io.tmpdir). A max upload
+	// size of -1 is unlimited. A non-null direct upload sync policy writes every file upload
+	// straight to the upload directory, regardless of the threshold.
+	private long uploadMemoryThreshold = DEFAULT_UPLOAD_MEMORY_THRESHOLD;
+	private long maxUploadSize = -1L;
+	private String uploadDirectory = null;
+	private List<String> uploadDigestAlgorithms = Collections.emptyList();
+	private UploadSyncPolicy directUploadSyncPolicy = null;
+
+	// Controls flush consolidation (write batching) on the channel pipeline.
+	// Zero (0) indicates no flush consolidation (the default).
+	private int flushConsolidationLimit = 0;
+	private boolean consolidateFlushesWhenNoReadInProgress = false;
+
+	// Controls recycling of per-message objects (see MessageContextPool).
+	private boolean usePooledMessages = false;
+	private boolean pooledMessageLeakDetection = false;
+
+	// Controls the ByteBuf allocator for client connections. A non-null allocator is used
+	// as-is (e.g. shared between servers). Otherwise, a PooledByteBufAllocator is created
+	// once per server with the given arena count and chunk size. Zero (0) indicates to
+	// use the Netty default.
+	private ByteBufAllocator allocator = null;
+	private int allocatorArenas = 0;
+	private int allocatorChunkSize = 0;
+
+	// Optional, cached response headers.
+	private boolean includeDateHeader = false;
+	private String serverHeader = null;
+
 	// This controls the number of concurrent connections the application can
 	// handle.
 	// Netty default is 2 * number of processors (or cores).
@@ -170,9 +209,154 @@ public class ServerSettings
 		return supportFileUpload;
 	}
 
+	public long getUploadMemoryThreshold()
+	{
+		return uploadMemoryThreshold;
+	}
+
+	public void setUploadMemoryThreshold(long bytes)
+	{
+		this.uploadMemoryThreshold = bytes;
+	}
+
+	public long getMaxUploadSize()
+	{
+		return maxUploadSize;
+	}
+
+	public void setMaxUploadSize(long bytes)
+	{
+		this.maxUploadSize = bytes;
+	}
+
+	public String getUploadDirectory()
+	{
+		return uploadDirectory;
+	}
+
+	public void setUploadDirectory(String directory)
+	{
+		this.uploadDirectory = directory;
+	}
+
+	public List<String> getUploadDigestAlgorithms()
+	{
+		return uploadDigestAlgorithms;
+	}
+
+	public void setUploadDigestAlgorithms(List<String> algorithms)
+	{
+		this.uploadDigestAlgorithms = Collections.unmodifiableList(new ArrayList<String>(algorithms));
+	}
+
+	public UploadSyncPolicy getDirectUploadSyncPolicy()
+	{
+		return directUploadSyncPolicy;
+	}
+
+	public void setDirectUploadSyncPolicy(UploadSyncPolicy policy)
+	{
+		this.directUploadSyncPolicy = policy;
+	}
+
 	public void setReadTimeoutSeconds(long timeout, TimeUnit unit)
 	{
 		this.readTimeout = timeout;
 		this.readTimeoutUnit = unit;
 	}
+
+	public int getFlushConsolidationLimit()
+	{
+		return flushConsolidationLimit;
+	}
+
+	public void setFlushConsolidationLimit(int explicitFlushAfterFlushes)
+	{
+		this.flushConsolidationLimit = explicitFlushAfterFlushes;
+	}
+
+	public boolean shouldConsolidateFlushes()
+	{
+		return (flushConsolidationLimit > 0);
+	}
+
+	public boolean shouldConsolidateFlushesWhenNoReadInProgress()
+	{
+		return consolidateFlushesWhenNoReadInProgress;
+	}
+
+	public void setConsolidateFlushesWhenNoReadInProgress(boolean value)
+	{
+		this.consolidateFlushesWhenNoReadInProgress = value;
+	}
+
+	public boolean shouldIncludeDateHeader()
+	{
+		return includeDateHeader;
+	}
+
+	public void setIncludeDateHeader(boolean value)
+	{
+		this.includeDateHeader = value;
+	}
+
+	public String getServerHeader()
+	{
+		return serverHeader;
+	}
+
+	public void setServerHeader(String value)
+	{
+		this.serverHeader = value;
+	}
+
+	public boolean shouldUsePooledMessages()
+	{
+		return usePooledMessages;
+	}
+
+	public void setUsePooledMessages(boolean value)
+	{
+		this.usePooledMessages = value;
+	}
+
+	public boolean isPooledMessageLeakDetection()
+	{
+		return pooledMessageLeakDetection;
+	}
+
+	public void setPooledMessageLeakDetection(boolean value)
+	{
+		this.pooledMessageLeakDetection = value;
+	}
+
+	public ByteBufAllocator getAllocator()
+	{
+		return allocator;
+	}
+
+	public void setAllocator(ByteBufAllocator allocator)
+	{
+		this.allocator = allocator;
+	}
+
+	public int getAllocatorArenas()
+	{
+		return allocatorArenas;
+	}
+
+	public void setAllocatorArenas(int arenas)
+	{
+		this.allocatorArenas = arenas;
+	}
+
+	public int getAllocatorChunkSize()
+	{
+		return allocatorChunkSize;
+	}
+
+	public void setAllocatorChunkSize(int bytes)
+	{
+		this.allocatorChunkSize = bytes;
+	}
 }
@@ -0,0 +1,43 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Prints each span on its own line, e.g. to System.out, for development and debugging.
+ */
+public class PrintStreamSpanExporter
+implements SpanExporter
+{
+	private final PrintStream out;
+
+	public PrintStreamSpanExporter(PrintStream out)
+	{
+		super();
+		this.out = out;
+	}
+
+	@Override
+	public void export(List<Span> spans)
+	{
+		for (Span span : spans)
+		{
+			out.println(span);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A finished span, as handed to a {@link SpanExporter}: the server span of a request, or one
+ * of its children, a span per pipeline phase.
+ */
+public class Span
+{
+	private final String traceId;
+	private final long spanId;
+	private final long parentSpanId;
+	private final String name;
+	private final long startEpochNanos;
+	private final long durationNanos;
+	private final Map<String, String> attributes;
+
+	public Span(String traceId, long spanId, long parentSpanId, String name, long startEpochNanos, long durationNanos,
+		Map<String, String> attributes)
+	{
+		super();
+		this.traceId = traceId;
+		this.spanId = spanId;
+		this.parentSpanId = parentSpanId;
+		this.name = name;
+		this.startEpochNanos = startEpochNanos;
+		this.durationNanos = durationNanos;
+		this.attributes = (attributes != null ? attributes : Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * @return the 32 hex digit trace ID.
+	 */
+	public String getTraceId()
+	{
+		return traceId;
+	}
+
+	public long getSpanId()
+	{
+		return spanId;
+	}
+
+	/**
+	 * @return the parent span ID, or zero for a root span.
+	 */
+	public long getParentSpanId()
+	{
+		return parentSpanId;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return the start time, in nanoseconds since the epoch.
+	 */
+	public long getStartEpochNanos()
+	{
+		return startEpochNanos;
+	}
+
+	public long getDurationNanos()
+	{
+		return durationNanos;
+	}
+
+	public Map<String, String> getAttributes()
+	{
+		return attributes;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Span " + name + " trace=" + traceId
+			+ " span=" + TraceContext.toHex(spanId)
+			+ (parentSpanId != 0L ? " parent=" + TraceContext.toHex(parentSpanId) : "")
+			+ " duration=" + (durationNanos / 1000L) + "us"
+			+ (attributes.isEmpty() ? "" : " " + attributes);
+	}
+}
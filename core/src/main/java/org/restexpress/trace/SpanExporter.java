@@ -0,0 +1,34 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.util.List;
+
+/**
+ * Sends finished spans to a tracing backend. Called in batches, on the {@link SpanQueue}'s
+ * background thread, so implementations may block on I/O.
+ */
+public interface SpanExporter
+{
+	public void export(List<Span> spans);
+
+	/**
+	 * Called once the queue is closed, after the last batch is exported.
+	 */
+	public default void shutdown()
+	{
+	}
+}
@@ -0,0 +1,158 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded queue between the request threads recording spans and a {@link SpanExporter}.
+ * A background thread takes the spans off in batches and exports them, so request threads
+ * never wait on the exporter. When the queue is full, spans are dropped and counted (see
+ * {@link #getDroppedCount()}).
+ */
+public class SpanQueue
+implements Closeable
+{
+	public static final int DEFAULT_CAPACITY = 8192;
+	public static final int DEFAULT_BATCH_SIZE = 512;
+
+	private static final long POLL_MILLIS = 100L;
+
+	private final SpanExporter exporter;
+	private final BlockingQueue<Span> queue;
+	private final int batchSize;
+	private final Thread exportThread;
+	private final LongAdder dropped = new LongAdder();
+	private volatile boolean isRunning = true;
+
+	public SpanQueue(SpanExporter exporter)
+	{
+		this(exporter, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * @param exporter where spans are sent.
+	 * @param capacity the number of spans that can wait to be exported before spans are dropped.
+	 * @param batchSize the maximum number of spans passed to the exporter at once.
+	 */
+	public SpanQueue(SpanExporter exporter, int capacity, int batchSize)
+	{
+		super();
+		this.exporter = exporter;
+		this.queue = new ArrayBlockingQueue<Span>(capacity);
+		this.batchSize = batchSize;
+		this.exportThread = new Thread(this::exportSpans, "span-exporter");
+		exportThread.setDaemon(true);
+		exportThread.start();
+	}
+
+	/**
+	 * Queues a span for export, without waiting.
+	 *
+	 * @return false if the queue is full (or closed) and the span was dropped.
+	 */
+	public boolean offer(Span span)
+	{
+		if (isRunning && queue.offer(span)) return true;
+
+		dropped.increment();
+		return false;
+	}
+
+	/**
+	 * @return the number of spans dropped because the queue was full.
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.sum();
+	}
+
+	/**
+	 * Exports the spans waiting in the queue, stops the export thread and shuts the exporter
+	 * down. Waits up to the export thread's poll interval (100ms) for it to notice.
+	 */
+	@Override
+	public void close()
+	{
+		if (!isRunning) return;
+
+		isRunning = false;
+
+		try
+		{
+			exportThread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		exporter.shutdown();
+	}
+
+
+	// SECTION: UTILITY - PRIVATE
+
+	private void exportSpans()
+	{
+		List<Span> batch = new ArrayList<Span>(batchSize);
+
+		while (isRunning)
+		{
+			try
+			{
+				Span first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (first == null) continue;
+
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				export(batch);
+			}
+			catch (InterruptedException e)
+			{
+				break;
+			}
+		}
+
+		while (queue.drainTo(batch, batchSize) > 0)
+		{
+			export(batch);
+		}
+	}
+
+	private void export(List<Span> batch)
+	{
+		try
+		{
+			exporter.export(batch);
+		}
+		catch (Throwable t)
+		{
+			System.err.println("Span export failed: " + t);
+		}
+		finally
+		{
+			batch.clear();
+		}
+	}
+}
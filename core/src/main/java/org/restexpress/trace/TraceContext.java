@@ -0,0 +1,268 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.restexpress.Request;
+
+/**
+ * The W3C Trace Context (https://www.w3.org/TR/trace-context/) of a request: the trace it
+ * belongs to, the span of this server's handling of it, the caller's span (its parent) and
+ * whether the trace is sampled, plus the opaque vendor tracestate, passed on untouched.
+ * <p/>
+ * Set on the request by the {@link TracingPreprocessor}, so controllers can propagate it
+ * to downstream calls:
+ * <pre>
+ * TraceContext trace = TraceContext.from(request);
+ * outgoing.setHeader(TraceContext.TRACEPARENT, trace.toTraceparent());
+ * </pre>
+ * IDs are generated from ThreadLocalRandom rather than UUID.randomUUID(), which contends on a
+ * shared SecureRandom.
+ */
+public class TraceContext
+{
+	public static final String TRACEPARENT = "traceparent";
+	public static final String TRACESTATE = "tracestate";
+	public static final String ATTACHMENT = TraceContext.class.getName();
+
+	private static final int TRACEPARENT_LENGTH = 55;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final long traceIdHigh;
+	private final long traceIdLow;
+	private final long spanId;
+	private final long parentSpanId;
+	private final boolean isSampled;
+	private final String traceState;
+
+	public TraceContext(long traceIdHigh, long traceIdLow, long spanId, long parentSpanId, boolean isSampled, String traceState)
+	{
+		super();
+		this.traceIdHigh = traceIdHigh;
+		this.traceIdLow = traceIdLow;
+		this.spanId = spanId;
+		this.parentSpanId = parentSpanId;
+		this.isSampled = isSampled;
+		this.traceState = traceState;
+	}
+
+	/**
+	 * @return the context set on the request by the TracingPreprocessor, or null.
+	 */
+	public static TraceContext from(Request request)
+	{
+		return (TraceContext) request.getAttachment(ATTACHMENT);
+	}
+
+	/**
+	 * Starts a new trace, with no parent.
+	 */
+	public static TraceContext newTrace(boolean isSampled)
+	{
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long high = random.nextLong();
+		long low = nextId(random);
+		return new TraceContext(high, low, nextId(random), 0L, isSampled, null);
+	}
+
+	/**
+	 * Parses a traceparent header. Future versions are accepted, as the specification requires,
+	 * by reading the fields they share with version 00.
+	 *
+	 * @param traceparent a traceparent header value. May be null.
+	 * @param traceState the accompanying tracestate header value, or null.
+	 * @return the caller's context (its span ID as the span ID), or null if the header is
+	 * missing or invalid.
+	 */
+	public static TraceContext parse(String traceparent, String traceState)
+	{
+		if (traceparent == null) return null;
+
+		String value = traceparent.trim();
+
+		if (value.length() < TRACEPARENT_LENGTH
+			|| value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-')
+		{
+			return null;
+		}
+
+		if (!isHex(value, 0, 2) || !isHex(value, 3, 35) || !isHex(value, 36, 52) || !isHex(value, 53, 55)) return null;
+
+		long version = parseHex(value, 0, 2);
+
+		if (version == 0xff) return null;
+
+		if (version == 0 ? value.length() != TRACEPARENT_LENGTH
+			: value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-')
+		{
+			return null;
+		}
+
+		long high = parseHex(value, 3, 19);
+		long low = parseHex(value, 19, 35);
+		long span = parseHex(value, 36, 52);
+		long flags = parseHex(value, 53, 55);
+
+		if ((high == 0L && low == 0L) || span == 0L) return null;
+
+		return new TraceContext(high, low, span, 0L, (flags & 1L) != 0L, traceState);
+	}
+
+	/**
+	 * @return a context for a new span in this trace, a child of this one's span.
+	 */
+	public TraceContext newChild()
+	{
+		return new TraceContext(traceIdHigh, traceIdLow, nextId(ThreadLocalRandom.current()), spanId, isSampled, traceState);
+	}
+
+	/**
+	 * @return a new span ID.
+	 */
+	public static long nextSpanId()
+	{
+		return nextId(ThreadLocalRandom.current());
+	}
+
+	public String getTraceId()
+	{
+		char[] chars = new char[32];
+		writeHex(traceIdHigh, chars, 0);
+		writeHex(traceIdLow, chars, 16);
+		return new String(chars);
+	}
+
+	public long getSpanId()
+	{
+		return spanId;
+	}
+
+	/**
+	 * @return the caller's span ID, or zero if this span has no parent.
+	 */
+	public long getParentSpanId()
+	{
+		return parentSpanId;
+	}
+
+	public boolean isSampled()
+	{
+		return isSampled;
+	}
+
+	/**
+	 * @return the tracestate header received, or null.
+	 */
+	public String getTraceState()
+	{
+		return traceState;
+	}
+
+	/**
+	 * @return the version 00 traceparent header value for this span.
+	 */
+	public String toTraceparent()
+	{
+		char[] chars = new char[TRACEPARENT_LENGTH];
+		chars[0] = '0';
+		chars[1] = '0';
+		chars[2] = '-';
+		writeHex(traceIdHigh, chars, 3);
+		writeHex(traceIdLow, chars, 19);
+		chars[35] = '-';
+		writeHex(spanId, chars, 36);
+		chars[52] = '-';
+		chars[53] = '0';
+		chars[54] = (isSampled ? '1' : '0');
+		return new String(chars);
+	}
+
+	@Override
+	public String toString()
+	{
+		return toTraceparent();
+	}
+
+	/**
+	 * @return the 16 lowercase hex digit form of a span ID.
+	 */
+	public static String toHex(long id)
+	{
+		char[] chars = new char[16];
+		writeHex(id, chars, 0);
+		return new String(chars);
+	}
+
+
+	// SECTION: UTILITY - PRIVATE
+
+	private static long nextId(ThreadLocalRandom random)
+	{
+		long id;
+
+		do
+		{
+			id = random.nextLong();
+		}
+		while (id == 0L);
+
+		return id;
+	}
+
+	private static void writeHex(long value, char[] chars, int offset)
+	{
+		for (int i = offset + 15; i >= offset; i--)
+		{
+			chars[i] = HEX[(int) (value & 0xf)];
+			value >>>= 4;
+		}
+	}
+
+	private static boolean isHex(String value, int start, int end)
+	{
+		for (int i = start; i < end; i++)
+		{
+			if (digit(value.charAt(i)) < 0) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the value of up to 16 hex digits, already validated with isHex().
+	 */
+	private static long parseHex(String value, int start, int end)
+	{
+		long result = 0L;
+
+		for (int i = start; i < end; i++)
+		{
+			result = (result << 4) | digit(value.charAt(i));
+		}
+
+		return result;
+	}
+
+	private static int digit(char c)
+	{
+		if (c >= '0' && c <= '9') return c - '0';
+
+		if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+
+		return -1;
+	}
+}
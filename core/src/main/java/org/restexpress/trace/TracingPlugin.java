@@ -0,0 +1,97 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import org.restexpress.RestExpress;
+import org.restexpress.plugin.AbstractPlugin;
+
+/**
+ * Adds W3C Trace Context propagation and span recording to a server: a
+ * {@link TracingPreprocessor} to read the caller's context and decide on sampling, and a
+ * {@link TracingPostprocessor}, as a finally processor, to set the response headers and queue
+ * sampled spans for the exporter. The {@link SpanQueue} is closed at shutdown.
+ * <p/>
+ * Usage:
+ * <pre>
+ * new TracingPlugin(new PrintStreamSpanExporter(System.out))
+ *     .sampleRatio(0.01)
+ *     .register(server);
+ * </pre>
+ */
+public class TracingPlugin
+extends AbstractPlugin
+{
+	private final SpanExporter exporter;
+	private double sampleRatio = 1.0;
+	private int queueCapacity = SpanQueue.DEFAULT_CAPACITY;
+	private SpanQueue queue;
+
+	public TracingPlugin(SpanExporter exporter)
+	{
+		super();
+		this.exporter = exporter;
+	}
+
+	/**
+	 * Sets the fraction of new traces sampled, from 0.0 to 1.0. Defaults to 1.0 (all).
+	 * Requests continuing a caller's trace follow the caller's decision.
+	 */
+	public TracingPlugin sampleRatio(double ratio)
+	{
+		this.sampleRatio = ratio;
+		return this;
+	}
+
+	/**
+	 * Sets the number of spans that can wait for export before spans are dropped.
+	 */
+	public TracingPlugin queueCapacity(int capacity)
+	{
+		this.queueCapacity = capacity;
+		return this;
+	}
+
+	/**
+	 * @return the span queue, or null before register().
+	 */
+	public SpanQueue getQueue()
+	{
+		return queue;
+	}
+
+	@Override
+	public TracingPlugin register(RestExpress server)
+	{
+		if (isRegistered()) return this;
+
+		super.register(server);
+		queue = new SpanQueue(exporter, queueCapacity, SpanQueue.DEFAULT_BATCH_SIZE);
+		server.addPreprocessor(new TracingPreprocessor(sampleRatio));
+		server.addFinallyProcessor(new TracingPostprocessor(queue));
+		return this;
+	}
+
+	@Override
+	public void shutdown(RestExpress server)
+	{
+		if (queue != null)
+		{
+			queue.close();
+		}
+
+		super.shutdown(server);
+	}
+}
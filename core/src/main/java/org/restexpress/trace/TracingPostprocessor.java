@@ -0,0 +1,109 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.pipeline.PhaseTimings;
+import org.restexpress.pipeline.Postprocessor;
+import org.restexpress.pipeline.RequestPhase;
+import org.restexpress.route.Route;
+
+/**
+ * Finishes the server span started by the {@link TracingPreprocessor}: sets the traceparent
+ * (and tracestate) of the span on the response and, if the trace is sampled, queues the
+ * request's span and a child span per pipeline phase (from Request.getPhaseTimings()) for
+ * export. Unsampled requests get the headers only.
+ * <p/>
+ * Register it as a finally processor (RestExpress.addFinallyProcessor()), so error responses
+ * are traced too. Finally processors run before the response is written, so the spans cover
+ * the request up to the finally processors.
+ */
+public class TracingPostprocessor
+implements Postprocessor
+{
+	private static final RequestPhase[] PHASES = RequestPhase.values();
+
+	private final SpanQueue queue;
+
+	public TracingPostprocessor(SpanQueue queue)
+	{
+		super();
+		this.queue = queue;
+	}
+
+	@Override
+	public void process(Request request, Response response)
+	{
+		TraceContext context = TraceContext.from(request);
+
+		if (context == null) return;
+
+		response.addHeader(TraceContext.TRACEPARENT, context.toTraceparent());
+
+		if (context.getTraceState() != null)
+		{
+			response.addHeader(TraceContext.TRACESTATE, context.getTraceState());
+		}
+
+		if (context.isSampled())
+		{
+			recordSpans(context, request, response);
+		}
+	}
+
+	private void recordSpans(TraceContext context, Request request, Response response)
+	{
+		PhaseTimings timings = request.getPhaseTimings();
+		Instant now = Instant.now();
+		long end = now.getEpochSecond() * 1000000000L + now.getNano();
+		long start = end - timings.getTotalNanos();
+		String traceId = context.getTraceId();
+		Route route = request.getResolvedRoute();
+		String method = request.getEffectiveHttpMethod().name();
+		String target = (route != null ? route.getPattern() : request.getPath());
+
+		Map<String, String> attributes = new LinkedHashMap<String, String>();
+		attributes.put("http.request.method", method);
+
+		if (route != null)
+		{
+			attributes.put("http.route", route.getPattern());
+		}
+
+		attributes.put("url.path", request.getPath());
+		attributes.put("http.response.status_code", String.valueOf(response.getResponseStatus().code()));
+		queue.offer(new Span(traceId, context.getSpanId(), context.getParentSpanId(), method + " " + target,
+			start, end - start, attributes));
+
+		long phaseStart = start;
+
+		for (RequestPhase phase : PHASES)
+		{
+			long nanos = timings.getNanos(phase);
+
+			if (nanos <= 0L) continue;
+
+			queue.offer(new Span(traceId, TraceContext.nextSpanId(), context.getSpanId(), phase.name().toLowerCase(),
+				phaseStart, nanos, null));
+			phaseStart += nanos;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.restexpress.Request;
+import org.restexpress.pipeline.Preprocessor;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * Starts the server span of each request: reads the caller's traceparent and tracestate
+ * headers, if any, and attaches a {@link TraceContext} for a new span in the caller's trace,
+ * or in a new trace, to the request (see TraceContext.from(Request)).
+ * <p/>
+ * The sampling decision is made here, once per trace: a request with a valid traceparent
+ * follows the caller's sampled flag, otherwise a new trace is sampled at the configured ratio.
+ * Nothing is recorded for an unsampled request; it only carries the context on.
+ * <p/>
+ * Preprocessors run once a route is resolved, so requests matching no route are not traced.
+ * Used with a {@link TracingPostprocessor}; see {@link TracingPlugin}.
+ */
+public class TracingPreprocessor
+implements Preprocessor
+{
+	private final double sampleRatio;
+
+	/**
+	 * @param sampleRatio the fraction of new traces sampled, from 0.0 (none) to 1.0 (all).
+	 */
+	public TracingPreprocessor(double sampleRatio)
+	{
+		super();
+		this.sampleRatio = sampleRatio;
+	}
+
+	@Override
+	public void process(Request request)
+	{
+		// Only the HTTP headers: getHeader() would also accept a query-string parameter.
+		HttpHeaders headers = request.getHttpHeaders();
+		TraceContext caller = TraceContext.parse(headers.get(TraceContext.TRACEPARENT),
+			headers.get(TraceContext.TRACESTATE));
+		TraceContext context = (caller != null ? caller.newChild() : TraceContext.newTrace(shouldSample()));
+		request.putAttachment(TraceContext.ATTACHMENT, context);
+	}
+
+	private boolean shouldSample()
+	{
+		if (sampleRatio >= 1.0) return true;
+
+		if (sampleRatio <= 0.0) return false;
+
+		return ThreadLocalRandom.current().nextDouble() < sampleRatio;
+	}
+}
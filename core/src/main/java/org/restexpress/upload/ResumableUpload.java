@@ -0,0 +1,256 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.restexpress.exception.BadRequestException;
+import org.restexpress.exception.ConflictException;
+import org.restexpress.exception.NotFoundException;
+
+/**
+ * A partially- or fully-received upload of a known length, appended to in any number of
+ * requests. Content is written to its file with positional FileChannel writes and the offset
+ * advances as each chunk is written, so whatever arrived before a disconnect is kept and the
+ * client resumes from there.
+ * <p/>
+ * Once completed, cancelled or expired, an upload is removed and can no longer be appended
+ * to. Removal and appending hold the same lock, so an upload is never removed (and its file
+ * deleted) while a request is appending to it.
+ */
+public class ResumableUpload
+{
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String id;
+	private final long length;
+	private final File file;
+	private final ReentrantLock lock = new ReentrantLock();
+	private volatile long offset = 0L;
+	private volatile long lastActivity = System.currentTimeMillis();
+	private boolean isRemoved = false;
+
+	public ResumableUpload(String id, long length, File file)
+	{
+		super();
+		this.id = id;
+		this.length = length;
+		this.file = file;
+	}
+
+	public String getId()
+	{
+		return id;
+	}
+
+	/**
+	 * @return the total length of the upload, in bytes.
+	 */
+	public long getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * @return the number of bytes received so far.
+	 */
+	public long getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * @return the file containing the bytes received so far.
+	 */
+	public File getFile()
+	{
+		return file;
+	}
+
+	public boolean isComplete()
+	{
+		return (offset == length);
+	}
+
+	/**
+	 * @return true if a request is currently appending to this upload.
+	 */
+	public boolean isInProgress()
+	{
+		return lock.isLocked();
+	}
+
+	public long getLastActivity()
+	{
+		return lastActivity;
+	}
+
+	/**
+	 * Append the content of the stream to the upload, starting at the given offset, which
+	 * must be the current offset. Only one request may append at a time.
+	 * 
+	 * @param content the content to append.
+	 * @param fromOffset the client's idea of the current offset.
+	 * @return true if this append completed the upload, which removes it.
+	 * @throws ConflictException if the offset does not match or another request is appending.
+	 * @throws NotFoundException if the upload has been completed, cancelled or expired.
+	 * @throws BadRequestException if the content goes beyond the length of the upload.
+	 * @throws IOException if reading the content or writing the file fails. Content written
+	 * before the failure is kept.
+	 */
+	public boolean append(InputStream content, long fromOffset)
+	throws IOException
+	{
+		if (!lock.tryLock())
+		{
+			throw new ConflictException("Upload " + id + " is in progress");
+		}
+
+		try
+		{
+			if (isRemoved)
+			{
+				throw new NotFoundException("Upload not found: " + id);
+			}
+
+			if (fromOffset != offset)
+			{
+				throw new ConflictException("Upload-Offset " + fromOffset + " does not match the current offset " + offset);
+			}
+
+			write(content);
+
+			if (isComplete())
+			{
+				isRemoved = true;
+				return true;
+			}
+
+			return false;
+		}
+		finally
+		{
+			lastActivity = System.currentTimeMillis();
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Marks an upload of zero length as completed.
+	 * 
+	 * @return true if the upload is empty and was not already completed or removed.
+	 */
+	boolean completeIfEmpty()
+	{
+		lock.lock();
+
+		try
+		{
+			return (length == 0L && markRemoved());
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Marks the upload as removed, so it can no longer be appended to.
+	 * 
+	 * @return true if this call removed the upload, false if it was already removed.
+	 * @throws ConflictException if a request is appending to the upload.
+	 */
+	boolean remove()
+	{
+		if (!lock.tryLock())
+		{
+			throw new ConflictException("Upload " + id + " is in progress");
+		}
+
+		try
+		{
+			return markRemoved();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Marks the upload as removed if there has been no activity since the given time and no
+	 * request is appending to it.
+	 * 
+	 * @param time a time, in milliseconds since the epoch.
+	 * @return true if this call removed the upload.
+	 */
+	boolean removeIfInactiveSince(long time)
+	{
+		if (!lock.tryLock()) return false;
+
+		try
+		{
+			return (lastActivity < time && markRemoved());
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private boolean markRemoved()
+	{
+		if (isRemoved) return false;
+
+		isRemoved = true;
+		return true;
+	}
+
+	private void write(InputStream content)
+	throws IOException
+	{
+		byte[] bytes = new byte[BUFFER_SIZE];
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+		{
+			int count;
+
+			while ((count = content.read(bytes)) >= 0)
+			{
+				if (count > length - offset)
+				{
+					throw new BadRequestException("Content exceeds Upload-Length " + length);
+				}
+
+				buffer.clear().limit(count);
+
+				while (buffer.hasRemaining())
+				{
+					offset += channel.write(buffer, offset);
+				}
+
+				lastActivity = System.currentTimeMillis();
+			}
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.exception.BadRequestException;
+import org.restexpress.exception.NotFoundException;
+import org.restexpress.exception.ServiceException;
+import org.restexpress.util.Callback;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * The routes of the {@link ResumableUploadPlugin}:
+ * <ul>
+ * <li>POST {base} with an Upload-Length header creates an upload and returns its URL in
+ * the Location header.</li>
+ * <li>PATCH {base}/{uploadId} with an Upload-Offset header appends the request body,
+ * which is streamed to the upload's file.</li>
+ * <li>HEAD {base}/{uploadId} returns the current Upload-Offset, from which an interrupted
+ * upload is resumed.</li>
+ * <li>DELETE {base}/{uploadId} cancels the upload, unless a PATCH is in progress (409).</li>
+ * </ul>
+ * Once the completion callback returns, a completed upload is removed and its file deleted,
+ * unless the callback moved it.
+ */
+public class ResumableUploadController
+{
+	public static final String UPLOAD_ID = "uploadId";
+	public static final String UPLOAD_LENGTH = "Upload-Length";
+	public static final String UPLOAD_OFFSET = "Upload-Offset";
+
+	private final ResumableUploadStore store;
+	private final String baseUri;
+	private final long maxUploadLength;
+	private final Callback<ResumableUpload> completionCallback;
+
+	/**
+	 * @param store the uploads in progress.
+	 * @param baseUri the URI of the create route, used to build the Location of new uploads.
+	 * @param maxUploadLength the maximum Upload-Length, or -1 for no limit.
+	 * @param completionCallback invoked once when an upload has been fully received. May be null.
+	 */
+	public ResumableUploadController(ResumableUploadStore store, String baseUri, long maxUploadLength, Callback<ResumableUpload> completionCallback)
+	{
+		super();
+		this.store = store;
+		this.baseUri = baseUri;
+		this.maxUploadLength = maxUploadLength;
+		this.completionCallback = completionCallback;
+	}
+
+	public Object create(Request request, Response response)
+	throws IOException
+	{
+		long length = parseLong(request, UPLOAD_LENGTH);
+
+		if (maxUploadLength >= 0 && length > maxUploadLength)
+		{
+			throw new ServiceException(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, UPLOAD_LENGTH + " exceeds the maximum of " + maxUploadLength);
+		}
+
+		ResumableUpload upload = store.create(length);
+		response.setResponseCreated();
+		response.addLocationHeader(request.getBaseUrl() + baseUri + "/" + upload.getId());
+		response.addHeader(UPLOAD_OFFSET, "0");
+
+		if (upload.completeIfEmpty())
+		{
+			complete(upload);
+		}
+
+		return null;
+	}
+
+	public Object offset(Request request, Response response)
+	{
+		ResumableUpload upload = getUpload(request);
+		response.addHeader(UPLOAD_OFFSET, String.valueOf(upload.getOffset()));
+		response.addHeader(UPLOAD_LENGTH, String.valueOf(upload.getLength()));
+		response.addHeader(HttpHeaderNames.CACHE_CONTROL.toString(), "no-store");
+		return null;
+	}
+
+	public Object append(Request request, Response response)
+	throws IOException
+	{
+		ResumableUpload upload = getUpload(request);
+		long offset = parseLong(request, UPLOAD_OFFSET);
+		boolean isCompleted;
+
+		try (InputStream content = request.getBodyAsStream())
+		{
+			isCompleted = upload.append(content, offset);
+		}
+
+		response.setResponseNoContent();
+		response.addHeader(UPLOAD_OFFSET, String.valueOf(upload.getOffset()));
+
+		if (isCompleted)
+		{
+			complete(upload);
+		}
+
+		return null;
+	}
+
+	public Object cancel(Request request, Response response)
+	{
+		String id = request.getHeader(UPLOAD_ID, "No upload ID supplied");
+
+		if (!store.remove(id))
+		{
+			throw new NotFoundException("Upload not found: " + id);
+		}
+
+		response.setResponseNoContent();
+		return null;
+	}
+
+	private ResumableUpload getUpload(Request request)
+	{
+		String id = request.getHeader(UPLOAD_ID, "No upload ID supplied");
+		ResumableUpload upload = store.get(id);
+
+		if (upload == null)
+		{
+			throw new NotFoundException("Upload not found: " + id);
+		}
+
+		return upload;
+	}
+
+	private long parseLong(Request request, String name)
+	{
+		String value = request.getHeader(name, name + " header is required");
+
+		try
+		{
+			long result = Long.parseLong(value.trim());
+
+			if (result >= 0) return result;
+		}
+		catch (NumberFormatException e)
+		{
+			// fall through
+		}
+
+		throw new BadRequestException("Invalid " + name + ": " + value);
+	}
+
+	private void complete(ResumableUpload upload)
+	{
+		try
+		{
+			if (completionCallback != null)
+			{
+				completionCallback.process(upload);
+			}
+		}
+		finally
+		{
+			store.discard(upload);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.restexpress.RestExpress;
+import org.restexpress.plugin.RoutePlugin;
+import org.restexpress.route.RouteBuilder;
+import org.restexpress.util.Callback;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Adds resumable uploads of large files to a RestExpress server. A client creates an upload
+ * of a known length, then PATCHes the content in as many requests as it takes, each starting
+ * at the Upload-Offset reported by the server. After a dropped connection, a HEAD request
+ * returns the offset from which to resume. See {@link ResumableUploadController} for the
+ * routes.
+ * <p/>
+ * PATCH bodies are streamed straight to the partial file (see RouteBuilder.streamRequestBody()),
+ * so the server must have executor threads. Uploads inactive for longer than the expiration
+ * time are removed, along with their partial files, by a periodic sweep. Upload state is held
+ * in memory only; uploads in progress do not survive a restart.
+ * <p/>
+ * Usage:
+ * <pre>
+ * new ResumableUploadPlugin("/uploads")
+ *     .uploadDirectory("/var/uploads")
+ *     .onComplete(upload -&gt; ...)
+ *     .register(server);
+ * </pre>
+ */
+public class ResumableUploadPlugin
+extends RoutePlugin
+{
+	private static final String DEFAULT_BASE_URI = "/uploads";
+	private static final long DEFAULT_EXPIRATION_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+	private final String baseUri;
+	private String uploadDirectory = null;
+	private long expirationMillis = DEFAULT_EXPIRATION_MILLIS;
+	private long maxUploadLength = -1L;
+	private Callback<ResumableUpload> completionCallback = null;
+	private ResumableUploadStore store;
+	private ScheduledExecutorService expirer;
+
+	public ResumableUploadPlugin()
+	{
+		this(DEFAULT_BASE_URI);
+	}
+
+	public ResumableUploadPlugin(String baseUri)
+	{
+		super();
+		this.baseUri = baseUri;
+	}
+
+	/**
+	 * @param directory the directory for partial upload files. Defaults to java.io.tmpdir.
+	 */
+	public ResumableUploadPlugin uploadDirectory(String directory)
+	{
+		this.uploadDirectory = directory;
+		return this;
+	}
+
+	/**
+	 * Sets the time after which an upload with no activity is removed. Defaults to 24 hours.
+	 */
+	public ResumableUploadPlugin expiration(long time, TimeUnit unit)
+	{
+		this.expirationMillis = unit.toMillis(time);
+		return this;
+	}
+
+	/**
+	 * @param length the largest Upload-Length accepted, in bytes. Defaults to -1 (no limit).
+	 */
+	public ResumableUploadPlugin maxUploadLength(long length)
+	{
+		this.maxUploadLength = length;
+		return this;
+	}
+
+	/**
+	 * @param callback invoked, on an executor thread, once an upload has been fully received.
+	 * The callback may move the upload's file; otherwise it is deleted once the callback returns.
+	 */
+	public ResumableUploadPlugin onComplete(Callback<ResumableUpload> callback)
+	{
+		this.completionCallback = callback;
+		return this;
+	}
+
+	/**
+	 * @return the uploads in progress, once registered.
+	 */
+	public ResumableUploadStore getStore()
+	{
+		return store;
+	}
+
+	@Override
+	public ResumableUploadPlugin register(RestExpress server)
+	{
+		if (isRegistered()) return this;
+
+		super.register(server);
+		File directory = new File(uploadDirectory != null ? uploadDirectory : System.getProperty("java.io.tmpdir"));
+		store = new ResumableUploadStore(directory, expirationMillis);
+		ResumableUploadController controller = new ResumableUploadController(store, baseUri, maxUploadLength, completionCallback);
+
+		RouteBuilder builder = server.uri(baseUri, controller)
+			.action("create", HttpMethod.POST)
+			.name("resumable.upload.create")
+			.noSerialization();
+		applyFlags(builder);
+		applyParameters(builder);
+
+		String uploadUri = baseUri + "/{" + ResumableUploadController.UPLOAD_ID + "}";
+		builder = server.uri(uploadUri, controller)
+			.action("offset", HttpMethod.HEAD)
+			.action("cancel", HttpMethod.DELETE)
+			.name("resumable.upload")
+			.noSerialization();
+		applyFlags(builder);
+		applyParameters(builder);
+
+		builder = server.uri(uploadUri, controller)
+			.action("append", HttpMethod.PATCH)
+			.streamRequestBody()
+			.noSerialization();
+		applyFlags(builder);
+		applyParameters(builder);
+		return this;
+	}
+
+	@Override
+	public void bind(RestExpress server)
+	{
+		long period = Math.max(1000L, expirationMillis / 4);
+		expirer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "resumable-upload-expirer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		expirer.scheduleWithFixedDelay(store::expire, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void shutdown(RestExpress server)
+	{
+		if (expirer != null)
+		{
+			expirer.shutdownNow();
+			expirer = null;
+		}
+
+		super.shutdown(server);
+	}
+}
@@ -0,0 +1,147 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.restexpress.exception.ConflictException;
+
+/**
+ * Keeps track of the {@link ResumableUpload}s in progress and their partial files in an
+ * upload directory. Uploads with no activity for longer than the expiration time are
+ * removed, along with their files, by expire(). An upload being appended to is never
+ * removed.
+ * <p/>
+ * Upload state is held in memory, so uploads do not survive a server restart.
+ */
+public class ResumableUploadStore
+{
+	private static final String FILE_SUFFIX = ".upload";
+
+	private final File directory;
+	private final long expirationMillis;
+	private final Map<String, ResumableUpload> uploads = new ConcurrentHashMap<String, ResumableUpload>();
+
+	/**
+	 * @param directory the directory for partial upload files.
+	 * @param expirationMillis the time, in milliseconds, after which an inactive upload is removed.
+	 */
+	public ResumableUploadStore(File directory, long expirationMillis)
+	{
+		super();
+		this.directory = directory;
+		this.expirationMillis = expirationMillis;
+	}
+
+	/**
+	 * Begin a new upload of the given length, with an empty file.
+	 * 
+	 * @param length the total length of the upload, in bytes.
+	 * @return a new ResumableUpload.
+	 * @throws IOException if the upload file cannot be created.
+	 */
+	public ResumableUpload create(long length)
+	throws IOException
+	{
+		String id = UUID.randomUUID().toString();
+		File file = new File(directory, id + FILE_SUFFIX);
+		Files.createFile(file.toPath());
+		ResumableUpload upload = new ResumableUpload(id, length, file);
+		uploads.put(id, upload);
+		return upload;
+	}
+
+	/**
+	 * @param id an upload ID.
+	 * @return the upload, or null if it does not exist or has expired.
+	 */
+	public ResumableUpload get(String id)
+	{
+		ResumableUpload upload = uploads.get(id);
+
+		if (upload != null && upload.removeIfInactiveSince(expirationCutoff()))
+		{
+			discard(upload);
+			return null;
+		}
+
+		return upload;
+	}
+
+	/**
+	 * Removes the upload and deletes its file.
+	 * 
+	 * @param id an upload ID.
+	 * @return true if the upload existed.
+	 * @throws ConflictException if a request is appending to the upload.
+	 */
+	public boolean remove(String id)
+	{
+		ResumableUpload upload = uploads.get(id);
+
+		if (upload == null || !upload.remove()) return false;
+
+		discard(upload);
+		return true;
+	}
+
+	/**
+	 * Forgets a removed (e.g. completed) upload and deletes its file, unless it has been moved.
+	 */
+	void discard(ResumableUpload upload)
+	{
+		uploads.remove(upload.getId(), upload);
+		upload.getFile().delete();
+	}
+
+	/**
+	 * Removes the uploads (and deletes the files) that have been inactive for longer than the
+	 * expiration time. Uploads being appended to are never expired.
+	 * 
+	 * @return the number of uploads removed.
+	 */
+	public int expire()
+	{
+		long cutoff = expirationCutoff();
+		int count = 0;
+
+		for (ResumableUpload upload : uploads.values())
+		{
+			if (upload.removeIfInactiveSince(cutoff))
+			{
+				discard(upload);
+				++count;
+			}
+		}
+
+		return count;
+	}
+
+	public int size()
+	{
+		return uploads.size();
+	}
+
+	private long expirationCutoff()
+	{
+		return System.currentTimeMillis() - expirationMillis;
+	}
+}
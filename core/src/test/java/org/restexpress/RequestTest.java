@@ -16,21 +16,28 @@
 package org.restexpress;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
 
 import java.net.URLEncoder;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.restexpress.exception.BadRequestException;
+import org.restexpress.serialization.DefaultSerializationProvider;
+import org.restexpress.serialization.KnownObject;
 
 /**
  * @author toddf
@@ -140,6 +147,54 @@ public class RequestTest
 		assertEquals(value, r.getHeader(key));
 	}
 
+	@Test
+	public void shouldReturnFirstOfRepeatedQueryStringParameter()
+	{
+		Request r = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/foo?a=1&b=two+words&a=2;c#a=fragment"), null);
+		assertEquals("1", r.getHeader("a"));
+		assertEquals("two words", r.getHeader("b"));
+		assertEquals("", r.getHeader("c"));
+		assertNull(r.getHeader("fragment"));
+
+		Map<String, String> m = r.getQueryStringMap();
+		assertEquals(3, m.size());
+		assertEquals("1", m.get("a"));
+		assertEquals("two words", m.get("b"));
+		assertEquals("", m.get("c"));
+	}
+
+	@Test
+	public void shouldCreateUniqueCorrelationIdOnDemand()
+	{
+		Request r = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/foo"), null);
+		String id = r.getCorrelationId();
+		assertNotNull(id);
+		assertEquals(id, r.getCorrelationId());
+		assertNotEquals(id, request.getCorrelationId());
+	}
+
+	@Test
+	public void shouldIterateNdjsonBody()
+	{
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/foo",
+			Unpooled.copiedBuffer("{\"integer\":1}\n{\"integer\":2}\n", ContentType.CHARSET));
+		httpRequest.headers().add(HttpHeaderNames.CONTENT_TYPE, "application/x-ndjson");
+		Request r = new Request(httpRequest, null, new DefaultSerializationProvider());
+		assertEquals(3, r.getBodyAsRecordStream(KnownObject.class).mapToInt(o -> o.integer).sum());
+	}
+
+	@Test
+	public void shouldIterateSingleJsonBody()
+	{
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/foo",
+			Unpooled.copiedBuffer("{\"integer\":5}", ContentType.CHARSET));
+		httpRequest.headers().add(HttpHeaderNames.CONTENT_TYPE, "application/json");
+		Request r = new Request(httpRequest, null, new DefaultSerializationProvider());
+		Iterator<KnownObject> records = r.getBodyAsIterator(KnownObject.class);
+		assertEquals(5, records.next().integer);
+		assertFalse(records.hasNext());
+	}
+
 	@Test
 	public void shouldSetAndGetHeader()
 	{
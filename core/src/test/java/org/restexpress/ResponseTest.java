@@ -16,6 +16,8 @@
 package org.restexpress;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.junit.Test;
@@ -117,4 +119,27 @@ public class ResponseTest
 		assertEquals(200, r.getResponseStatus().code());
 		assertEquals("items 0-0/*", r.getHeader(HttpHeaderNames.CONTENT_RANGE.toString()));
 	}
+
+	@Test
+	public void shouldGetHeadersIgnoringCase()
+	{
+		Response r = new Response();
+		r.addHeader("X-Custom", "one");
+		r.addHeader("x-custom", "two");
+		assertEquals("one", r.getHeader("X-CUSTOM"));
+		assertEquals(2, r.getHeaders("x-Custom").size());
+		assertTrue(r.hasHeader("x-custom"));
+		assertNull(r.getHeaders("X-Missing"));
+	}
+
+	@Test
+	public void shouldReplaceContentType()
+	{
+		Response r = new Response();
+		r.setContentType(ContentType.JSON);
+		r.setContentType(ContentType.XML);
+		assertEquals(1, r.getHeaders(HttpHeaderNames.CONTENT_TYPE.toString()).size());
+		assertEquals(ContentType.XML, r.getContentType());
+		assertEquals(ContentType.XML, r.getHttpHeaders().get(HttpHeaderNames.CONTENT_TYPE));
+	}
 }
@@ -477,7 +477,8 @@ public class RestExpressServerTest
 			assertTrue(entity.getContentLength() > 0l);
 			assertEquals(ContentType.JSON, entity.getContentType().getValue());
 			assertEquals(
-			    "\"Supported Media Types: application/json; charset=UTF-8, application/javascript; charset=UTF-8, text/javascript; charset=UTF-8\"",
+			    "\"Supported Media Types: application/json; charset=UTF-8, application/javascript; charset=UTF-8, text/javascript; charset=UTF-8, "
+			    + "application/x-ndjson; charset=UTF-8, application/jsonl; charset=UTF-8, application/cbor, application/x-jackson-smile, application/smile, application/msgpack, application/x-msgpack, application/vnd.msgpack\"",
 			    EntityUtils.toString(entity));
 		}
 		finally
@@ -550,7 +551,8 @@ public class RestExpressServerTest
 			assertEquals(ContentType.JSON, entity.getContentType().getValue());
 			assertNull(response.getFirstHeader(HttpHeaderNames.CONTENT_RANGE.toString()));
 			assertEquals(
-			    "\"Supported Media Types: application/json; charset=UTF-8, application/javascript; charset=UTF-8, text/javascript; charset=UTF-8\"",
+			    "\"Supported Media Types: application/json; charset=UTF-8, application/javascript; charset=UTF-8, text/javascript; charset=UTF-8, "
+			    + "application/x-ndjson; charset=UTF-8, application/jsonl; charset=UTF-8, application/cbor, application/x-jackson-smile, application/smile, application/msgpack, application/x-msgpack, application/vnd.msgpack\"",
 			    EntityUtils.toString(entity));
 		}
 		finally
@@ -20,10 +20,18 @@ import static org.junit.Assert.assertFalse;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.net.BindException;
+import java.net.Socket;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
@@ -35,17 +43,25 @@ import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.junit.AfterClass;
 import org.junit.Test;
+import org.restexpress.common.exception.ConfigurationException;
 import org.restexpress.exception.NoRoutesDefinedException;
 import org.restexpress.pipeline.FileUploadHandler;
+import org.restexpress.pipeline.UploadDigest;
+import org.restexpress.pipeline.UploadSyncPolicy;
 
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.util.concurrent.EventExecutorGroup;
 
 
 /**
@@ -93,6 +109,57 @@ public class RestExpressTest
 		re2.bind(port);
 	}
 
+	@Test
+	public void shouldCountConnectionsAcrossBinds()
+	throws Throwable
+	{
+		int port = nextPort();
+		int port2 = nextPort();
+		RestExpress re = new RestExpress();
+		re.uri(TEST_PATH, new NoopController());
+		re.bind(port);
+		re.bind(port2);
+
+		try (Socket socket = new Socket("localhost", port); Socket socket2 = new Socket("localhost", port2))
+		{
+			long deadline = System.currentTimeMillis() + 5000L;
+
+			while (re.getConnectionCount() < 2 && System.currentTimeMillis() < deadline)
+			{
+				Thread.sleep(10L);
+			}
+
+			assertEquals(2, re.getConnectionCount());
+		}
+		finally
+		{
+			re.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldShutDownExecutorGroupsOfEveryBind()
+	throws Throwable
+	{
+		RestExpress re = new RestExpress();
+		re.setExecutorThreadCount(2);
+		re.uri(TEST_PATH, new NoopController());
+		re.bind(nextPort());
+		re.bind(nextPort());
+
+		List<EventExecutorGroup> groups = new ArrayList<>(re.getExecutorGroups());
+		assertEquals(2, groups.size());
+		assertSame(groups.get(1), re.getExecutorGroup());
+		assertEquals(0, re.getPendingExecutorTaskCount());
+
+		re.shutdown(true);
+
+		for (EventExecutorGroup group : groups)
+		{
+			assertTrue(group.isTerminated());
+		}
+	}
+
 	@Test
 	public void shouldCallDefaultMethods()
 	throws Throwable
@@ -414,6 +481,39 @@ public class RestExpressTest
 		re.shutdown();
 	}
 
+	@Test
+	public void shouldRespondWithFlushConsolidation()
+	throws Throwable
+	{
+		int port = nextPort();
+		String testUrl = createUrl(TEST_URL_PATTERN, port);
+		RestExpress re = new RestExpress();
+		re.setFlushConsolidation(16);
+		assertTrue(re.isUsingFlushConsolidation());
+		NoopController controller = new NoopController();
+		re.uri(TEST_PATH, controller);
+		re.bind(port);
+
+		waitForStartup();
+
+		for (int i = 0; i < 3; i++)
+		{
+			HttpGet get = new HttpGet(testUrl);
+			try
+			{
+				HttpResponse response = (HttpResponse) CLIENT.execute(get);
+				assertEquals(200, response.getStatusLine().getStatusCode());
+			}
+			finally
+			{
+				get.releaseConnection();
+			}
+		}
+
+		assertEquals(3, controller.read);
+		re.shutdown(true);
+	}
+
 	@Test(expected=NoRoutesDefinedException.class)
 	public void shouldThrowNoRoutesDefinedException()
 	throws Throwable
@@ -433,15 +533,15 @@ public class RestExpressTest
 
 	@Test
 	public void shouldUploadFile() throws Throwable {
+		int port = nextPort();
 		RestExpress re = new RestExpress();
 		re.setSupportFileUpload(true);
 		NoopController controller = new NoopController();
 		re.uri(TEST_PATH, controller)
 			.action("upload", HttpMethod.POST);
-		re.bind(TEST_PORT);
+		re.bind(port);
 
 		HttpClient client = new DefaultHttpClient();
-		int port = nextPort();
 		String testUrl = createUrl(TEST_URL_PATTERN, port);
 		HttpPost post = new HttpPost(testUrl);
 		post.addHeader("log_id", UUID.randomUUID().toString());
@@ -463,10 +563,235 @@ public class RestExpressTest
 			assertTrue(f.exists());
 			assertTrue(f.canRead());
 			assertEquals((50*1024), f.length());
+			f.delete();
 		}
 		finally
 		{
 			post.releaseConnection();
+			f1.delete();
+			re.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldUploadMultipleParts() throws Throwable {
+		int port = nextPort();
+		RestExpress re = new RestExpress();
+		re.setSupportFileUpload(true);
+		re.setUploadMemoryThreshold(1024);
+		re.setUploadDigestAlgorithms("SHA-256");
+		NoopController controller = new NoopController();
+		re.uri(TEST_PATH, controller)
+			.action("uploadParts", HttpMethod.POST);
+		re.bind(port);
+
+		String testUrl = createUrl(TEST_URL_PATTERN, port);
+		HttpPost post = new HttpPost(testUrl);
+		MultipartEntityBuilder ab = MultipartEntityBuilder.create();
+		ab.addTextBody("description", "two files");
+		ab.addBinaryBody("small", new byte[100], org.apache.http.entity.ContentType.DEFAULT_BINARY, "small.bin");
+		ab.addBinaryBody("large", new byte[100 * 1024], org.apache.http.entity.ContentType.DEFAULT_BINARY, "large.bin");
+		post.setEntity(ab.build());
+
+		try
+		{
+			HttpResponse response = (HttpResponse) CLIENT.execute(post);
+			assertEquals(201, response.getStatusLine().getStatusCode());
+			assertEquals("two files", controller.description);
+			assertEquals(2, controller.uploadSizes.size());
+			assertEquals(Long.valueOf(100L), controller.uploadSizes.get("small.bin"));
+			assertEquals(Long.valueOf(100L * 1024), controller.uploadSizes.get("large.bin"));
+			assertEquals(2, controller.uploadDigests.size());
+			assertEquals(100L * 1024, controller.uploadDigests.get(1).getSize());
+			assertEquals(64, controller.uploadDigests.get(1).getHexDigest("SHA-256").length());
+		}
+		finally
+		{
+			post.releaseConnection();
+			re.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldRejectUploadOverMaxSize() throws Throwable {
+		int port = nextPort();
+		RestExpress re = new RestExpress();
+		re.setSupportFileUpload(true);
+		re.setMaxUploadSize(10 * 1024);
+		NoopController controller = new NoopController();
+		re.uri(TEST_PATH, controller)
+			.action("uploadParts", HttpMethod.POST);
+		re.bind(port);
+
+		String testUrl = createUrl(TEST_URL_PATTERN, port);
+		HttpPost post = new HttpPost(testUrl);
+		MultipartEntityBuilder ab = MultipartEntityBuilder.create();
+		ab.addBinaryBody("large", new byte[100 * 1024], org.apache.http.entity.ContentType.DEFAULT_BINARY, "large.bin");
+		post.setEntity(ab.build());
+
+		try
+		{
+			HttpResponse response = (HttpResponse) CLIENT.execute(post);
+			assertEquals(413, response.getStatusLine().getStatusCode());
+			assertNull(controller.uploadSizes);
+		}
+		finally
+		{
+			post.releaseConnection();
+			re.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldSyncDirectUploadsOffTheEventLoop() throws Throwable {
+		int port = nextPort();
+		AtomicBoolean isOnEventLoop = new AtomicBoolean(true);
+		RestExpress re = new RestExpress()
+		{
+			@Override
+			public FileUploadHandler buildFileUploadRequestHandler()
+			{
+				return new FileUploadHandler(16, -1, null, Collections.<String>emptyList(), UploadSyncPolicy.EVERY_CHUNK)
+				{
+					@Override
+					public void channelRead(ChannelHandlerContext ctx, Object msg)
+					throws Exception
+					{
+						// Direct writes, and each fsync, happen within channelRead().
+						if (msg instanceof HttpContent)
+						{
+							isOnEventLoop.set(ctx.channel().eventLoop().inEventLoop());
+						}
+
+						super.channelRead(ctx, msg);
+					}
+				};
+			}
+		};
+		re.setSupportFileUpload(true);
+		re.setExecutorThreadCount(2);
+		re.setDirectUploadWrites(UploadSyncPolicy.EVERY_CHUNK);
+		NoopController controller = new NoopController();
+		re.uri(TEST_PATH, controller)
+			.action("uploadParts", HttpMethod.POST);
+		re.bind(port);
+
+		HttpPost post = new HttpPost(createUrl(TEST_URL_PATTERN, port));
+		MultipartEntityBuilder ab = MultipartEntityBuilder.create();
+		ab.addBinaryBody("large", new byte[100 * 1024], org.apache.http.entity.ContentType.DEFAULT_BINARY, "large.bin");
+		post.setEntity(ab.build());
+
+		try
+		{
+			HttpResponse response = (HttpResponse) CLIENT.execute(post);
+			assertEquals(201, response.getStatusLine().getStatusCode());
+			assertEquals(Long.valueOf(100L * 1024), controller.uploadSizes.get("large.bin"));
+			assertFalse(isOnEventLoop.get());
+		}
+		finally
+		{
+			post.releaseConnection();
+			re.shutdown(true);
+		}
+	}
+
+	@Test(expected=ConfigurationException.class)
+	public void shouldRequireExecutorThreadsToSyncUploads() throws Throwable {
+		RestExpress re = new RestExpress();
+		re.setSupportFileUpload(true);
+		re.setExecutorThreadCount(0);
+		re.setDirectUploadWrites(UploadSyncPolicy.ON_COMPLETE);
+		re.uri(TEST_PATH, new NoopController())
+			.action("uploadParts", HttpMethod.POST);
+
+		try
+		{
+			re.bind(nextPort());
+		}
+		finally
+		{
+			re.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldStreamRequestBody()
+	throws Throwable
+	{
+		int port = nextPort();
+		String testUrl = createUrl(TEST_URL_PATTERN, port);
+		RestExpress re = new RestExpress();
+		re.setMaxContentSize(1024);
+		re.setExecutorThreadCount(2);
+		StreamingController controller = new StreamingController();
+		re.uri(TEST_PATH, controller)
+			.action("stream", HttpMethod.POST)
+			.streamRequestBody();
+		re.bind(port);
+
+		waitForStartup();
+
+		byte[] content = new byte[256 * 1024];
+		HttpPost post = new HttpPost(testUrl);
+		post.setEntity(new ByteArrayEntity(content));
+
+		try
+		{
+			HttpResponse response = (HttpResponse) CLIENT.execute(post);
+			assertEquals(200, response.getStatusLine().getStatusCode());
+			assertTrue(controller.isStreaming);
+			assertEquals(content.length, controller.length);
+		}
+		finally
+		{
+			post.releaseConnection();
+			re.shutdown(true);
+		}
+	}
+
+	@Test(expected=ConfigurationException.class)
+	public void shouldRequireExecutorThreadsForStreaming()
+	throws Throwable
+	{
+		RestExpress re = new RestExpress();
+		re.setExecutorThreadCount(0);
+		re.uri(TEST_PATH, new StreamingController())
+			.action("stream", HttpMethod.POST)
+			.streamRequestBody();
+
+		try
+		{
+			re.bind(nextPort());
+		}
+		finally
+		{
+			re.shutdown();
+		}
+	}
+
+	@Test(expected=ConfigurationException.class)
+	public void shouldRejectInvalidAllocatorChunkSize()
+	{
+		new RestExpress().setAllocatorChunkSize(3 * 1024 * 1024);
+	}
+
+	public class StreamingController
+	{
+		boolean isStreaming;
+		long length = 0;
+
+		public void stream(Request req, Response res)
+		throws IOException
+		{
+			isStreaming = req.isStreaming();
+			InputStream body = req.getBodyAsStream();
+			byte[] buffer = new byte[8192];
+			int count;
+
+			while ((count = body.read(buffer)) >= 0)
+			{
+				length += count;
+			}
 		}
 	}
 
@@ -475,6 +800,9 @@ public class RestExpressTest
 		int create, read, update, delete, options, head, patch = 0;
 		String outputMediaType;
 		File uploaded;
+		String description;
+		Map<String, Long> uploadSizes;
+		List<UploadDigest> uploadDigests;
 
 		public void create(Request req, Response res)
 		{
@@ -521,6 +849,21 @@ public class RestExpressTest
 			uploaded = req.getUploadedFileAttachment();
 			res.setResponseCreated();
 		}
+
+		public void uploadParts(Request req, Response res)
+		{
+			description = req.getFormAttributes().get("description");
+			uploadSizes = new HashMap<String, Long>();
+
+			for (FileUpload upload : req.getUploadedFiles())
+			{
+				uploadSizes.put(upload.getFilename(), upload.length());
+			}
+
+			uploadDigests = req.getUploadDigests();
+
+			res.setResponseCreated();
+		}
     }
 
 	public class AltController
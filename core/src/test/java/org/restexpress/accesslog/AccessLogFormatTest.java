@@ -0,0 +1,110 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.accesslog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.common.exception.ConfigurationException;
+import org.restexpress.route.Route;
+import org.restexpress.route.parameterized.ParameterizedRouteBuilder;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class AccessLogFormatTest
+{
+	@Test
+	public void shouldFormatDirectives()
+	{
+		AccessLogFormat format = new AccessLogFormat("%h %m %U %H %s %b %R %D %T %{User-Agent}i %{X-Missing}o 100%%");
+		StringBuilder out = new StringBuilder();
+
+		format.format(request(), response(), 1500000L, out);
+
+		assertEquals("- GET /things/1?x=y HTTP/1.1 201 42 /things/{id} 1500 1 curl - 100%", out.toString());
+	}
+
+	@Test
+	public void shouldFormatCommonLogFormat()
+	{
+		StringBuilder out = new StringBuilder();
+
+		new AccessLogFormat(AccessLogFormat.COMMON).format(request(), response(), 0L, out);
+
+		String entry = out.toString();
+		assertTrue(entry, entry.matches("- - - \\[\\d{2}/\\w{3}/\\d{4}:\\d{2}:\\d{2}:\\d{2} \\+0000\\] \"GET /things/1\\?x=y HTTP/1.1\" 201 42"));
+	}
+
+	@Test
+	public void shouldFormatMissingBodyAsDash()
+	{
+		Response response = response();
+		response.setBytesWritten(0L);
+		StringBuilder out = new StringBuilder();
+
+		new AccessLogFormat("%s %b").format(request(), response, 0L, out);
+
+		assertEquals("201 -", out.toString());
+	}
+
+	@Test(expected=ConfigurationException.class)
+	public void shouldRejectUnknownDirective()
+	{
+		new AccessLogFormat("%m %x");
+	}
+
+	@Test(expected=ConfigurationException.class)
+	public void shouldRejectUnterminatedHeader()
+	{
+		new AccessLogFormat("%{User-Agent");
+	}
+
+	private Request request()
+	{
+		List<Route> routes = new ParameterizedRouteBuilder("/things/{id}", new ThingController(), null)
+			.action("read", HttpMethod.GET)
+			.build();
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/things/1?x=y");
+		httpRequest.headers().set("User-Agent", "curl");
+		Request request = new Request(httpRequest, null);
+		request.setResolvedRoute(routes.get(0));
+		return request;
+	}
+
+	private Response response()
+	{
+		Response response = new Response();
+		response.setResponseStatus(HttpResponseStatus.CREATED);
+		response.setBytesWritten(42L);
+		return response;
+	}
+
+	@SuppressWarnings("unused")
+	private class ThingController
+	{
+		public void read(Request request, Response response)
+		{
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.accesslog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class AccessLogObserverTest
+{
+	@Test
+	public void shouldWriteEntriesInBackground()
+	throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AccessLogObserver observer = new AccessLogObserver(out, "%m %U %s", 4);
+
+		for (int i = 0; i < 3; i++)
+		{
+			exchange(observer, "/things/" + i, HttpResponseStatus.OK);
+		}
+
+		exchange(observer, "/failed", HttpResponseStatus.INTERNAL_SERVER_ERROR);
+		observer.close();
+
+		assertEquals("GET /things/0 200\nGET /things/1 200\nGET /things/2 200\nGET /failed 500\n",
+			out.toString(StandardCharsets.UTF_8));
+		assertEquals(4, observer.getWrittenCount());
+		assertEquals(0, observer.getDroppedCount());
+
+		exchange(observer, "/closed", HttpResponseStatus.OK);
+		assertEquals(4, observer.getWrittenCount());
+	}
+
+	@Test
+	public void shouldDropWhenFull()
+	{
+		AccessLogBuffer buffer = new AccessLogBuffer(3);
+		assertEquals(4, buffer.getCapacity());
+
+		for (int i = 0; i < 4; i++)
+		{
+			long claimed = buffer.claim();
+			assertEquals(i, claimed);
+			buffer.entry(claimed).append(i);
+			buffer.publish(claimed);
+		}
+
+		assertEquals(-1, buffer.claim());
+		assertEquals("0", buffer.peek().toString());
+		buffer.remove();
+
+		long claimed = buffer.claim();
+		assertEquals(4, claimed);
+		StringBuilder reused = buffer.entry(claimed);
+		assertEquals(0, reused.length());
+		buffer.publish(claimed);
+
+		for (int i = 1; i < 4; i++)
+		{
+			assertEquals(String.valueOf(i), buffer.peek().toString());
+			buffer.remove();
+		}
+
+		assertSame(reused, buffer.peek());
+		buffer.remove();
+		assertNull(buffer.peek());
+	}
+
+	@Test
+	public void shouldWriteEntriesClaimedBeforeClose()
+	throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AccessLogObserver observer = new AccessLogObserver(out, "%U %{X-Slow}i", 4);
+		CountDownLatch isFormatting = new CountDownLatch(1);
+		CountDownLatch canFinish = new CountDownLatch(1);
+		Request request = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/slow"), null)
+		{
+			@Override
+			public String getHeader(String name)
+			{
+				isFormatting.countDown();
+				await(canFinish);
+				return "done";
+			}
+		};
+		Thread producer = new Thread(() -> observer.onComplete(request, new Response()));
+		producer.start();
+		await(isFormatting);
+		Thread closer = new Thread(() -> closeQuietly(observer));
+		closer.start();
+
+		// The writer is now waiting for the claimed entry, which is written once published.
+		closer.join(100L);
+		canFinish.countDown();
+		producer.join();
+		closer.join();
+
+		assertEquals("/slow done\n", out.toString(StandardCharsets.UTF_8));
+		assertEquals(1, observer.getWrittenCount());
+		assertEquals(0, observer.getDroppedCount());
+	}
+
+	@Test
+	public void shouldRefuseClaimsOnceSealed()
+	{
+		AccessLogBuffer buffer = new AccessLogBuffer(4);
+		long claimed = buffer.claim();
+		assertEquals(1, buffer.seal());
+		assertEquals(-1, buffer.claim());
+		assertEquals(1, buffer.seal());
+		buffer.publish(claimed);
+		assertEquals(0, buffer.peek().length());
+		buffer.remove();
+		assertEquals(1, buffer.getHead());
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void closeQuietly(AccessLogObserver observer)
+	{
+		try
+		{
+			observer.close();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void exchange(AccessLogObserver observer, String path, HttpResponseStatus status)
+	{
+		Request request = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path), null);
+		Response response = new Response();
+		response.setResponseStatus(status);
+		observer.onComplete(request, response);
+	}
+}
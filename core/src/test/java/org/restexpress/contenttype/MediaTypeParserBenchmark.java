@@ -0,0 +1,140 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.contenttype;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares MediaTypeParser.parse() with the regular expression based parser it replaced,
+ * over typical Accept and Content-Type values. Not run as part of the build; run it with the
+ * test classpath:
+ * <pre>
+ * java -cp core/target/classes:core/target/test-classes org.restexpress.contenttype.MediaTypeParserBenchmark [iterations]
+ * </pre>
+ * Each parser is warmed up with the same number of iterations before it is timed. The
+ * result of every parse is folded into a checksum so the JIT cannot discard the work.
+ */
+public class MediaTypeParserBenchmark
+{
+	private static final String[] HEADERS =
+	{
+		"application/json",
+		"application/json; charset=UTF-8",
+		"text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8",
+		"application/hal+json;q=1.0, application/json;q=0.9, */*;q=0.1",
+		"multipart/form-data; boundary=----WebKitFormBoundary7MA4YWxkTrZu0gW"
+	};
+
+	public static void main(String[] args)
+	{
+		int iterations = (args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000);
+
+		for (int round = 0; round < 3; round++)
+		{
+			report("regex (previous)", iterations, RegexParser::parse);
+			report("single-pass", iterations, MediaTypeParser::parse);
+		}
+	}
+
+	private static void report(String label, int iterations, Parser parser)
+	{
+		run(iterations, parser);
+		long start = System.nanoTime();
+		long checksum = run(iterations, parser);
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%-18s %8.1f ns/parse (checksum %d)%n", label, (double) elapsed / iterations, checksum);
+	}
+
+	private static long run(int iterations, Parser parser)
+	{
+		long checksum = 0L;
+
+		for (int i = 0; i < iterations; i++)
+		{
+			List<MediaRange> ranges = parser.parse(HEADERS[i % HEADERS.length]);
+			checksum += ranges.size() + ranges.get(ranges.size() - 1).parameters.size();
+		}
+
+		return checksum;
+	}
+
+	private interface Parser
+	{
+		List<MediaRange> parse(String header);
+	}
+
+	/**
+	 * The parser MediaTypeParser and MediaRange used before the single-pass tokenizer.
+	 */
+	private static class RegexParser
+	{
+		private static final Pattern MEDIA_TYPE_PATTERN = Pattern.compile("(\\S+?|\\*)/(\\S+?|\\*)");
+		private static final Pattern PARAMETER_PATTERN = Pattern.compile("(\\w+?)(?:\\s*?=\\s*?(\\S+?))");
+
+		static List<MediaRange> parse(String mediaType)
+		{
+			String[] segments = mediaType.split("\\s*,\\s*");
+			List<MediaRange> items = new ArrayList<>();
+
+			for (String segment : segments)
+			{
+				items.add(parseRange(segment));
+			}
+
+			return items;
+		}
+
+		private static MediaRange parseRange(String segment)
+		{
+			MediaRange r = new MediaRange(segment);
+			r.parameters = new HashMap<>();
+			String[] pieces = segment.split("\\s*;\\s*");
+			Matcher x = MEDIA_TYPE_PATTERN.matcher(pieces[0]);
+
+			if (x.matches())
+			{
+				r.type = x.group(1);
+				r.subtype = x.group(2);
+			}
+
+			for (int i = 1; i < pieces.length; ++i)
+			{
+				Matcher p = PARAMETER_PATTERN.matcher(pieces[i]);
+
+				if (p.matches())
+				{
+					String token = p.group(1);
+					String value = p.group(2);
+
+					if ("q".equalsIgnoreCase(token))
+					{
+						r.qvalue = Float.parseFloat(value);
+					}
+					else
+					{
+						r.parameters.put(token, value);
+					}
+				}
+			}
+
+			return r;
+		}
+	}
+}
@@ -216,4 +216,46 @@ public class MediaTypeParserTest
 		List<MediaRange> requested = MediaTypeParser.parse("application/json;charset=UTF-8");
 		assertNull(MediaTypeParser.getBestMatch(supported, requested));
 	}
+
+	@Test
+	public void shouldParseQuotedStringParameters()
+	{
+		List<MediaRange> r = MediaTypeParser.parse("text/html;title=\"a, b; \\\"c\\\"\";q=0.5 , application/json");
+		assertEquals(2, r.size());
+
+		MediaRange m1 = r.get(0);
+		assertEquals("text", m1.type);
+		assertEquals("html", m1.subtype);
+		assertEquals(0.5, m1.qvalue, 0.01);
+		assertEquals("a, b; \"c\"", m1.parameters.get("title"));
+		assertEquals("text/html; title=\"a, b; \\\"c\\\"\"", m1.asMediaType());
+
+		assertEquals("application/json", r.get(1).asMediaType());
+	}
+
+	@Test
+	public void shouldIgnoreEmptyElementsAndMalformedParameters()
+	{
+		List<MediaRange> r = MediaTypeParser.parse(" , text/plain ; level ; =1 ; q = 0.4,, ");
+		assertEquals(1, r.size());
+		assertEquals("text/plain", r.get(0).asMediaType());
+		assertEquals(0.4, r.get(0).qvalue, 0.01);
+		assertTrue(r.get(0).parameters.isEmpty());
+		assertTrue(MediaTypeParser.parse("").isEmpty());
+	}
+
+	@Test
+	public void shouldNotParseTypeWithoutSubtype()
+	{
+		List<MediaRange> r = MediaTypeParser.parse("*; q=0.1, text /html, /json");
+		assertEquals(3, r.size());
+
+		for (MediaRange m : r)
+		{
+			assertNull(m.type);
+			assertNull(m.subtype);
+		}
+
+		assertEquals(0.1, r.get(0).qvalue, 0.01);
+	}
 }
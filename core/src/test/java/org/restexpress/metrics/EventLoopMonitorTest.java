@@ -0,0 +1,158 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+public class EventLoopMonitorTest
+{
+	private EventExecutorGroup group;
+	private EventLoopMonitor monitor;
+	private ByteArrayOutputStream output;
+
+	@Before
+	public void initialize()
+	{
+		group = new DefaultEventExecutorGroup(2);
+		output = new ByteArrayOutputStream();
+		monitor = new EventLoopMonitor(10, 50, TimeUnit.MILLISECONDS)
+			.logStalls(new PrintStream(output, true, StandardCharsets.UTF_8))
+			.monitor("executor", group)
+			.monitor("missing", null);
+	}
+
+	@After
+	public void shutdown()
+	{
+		monitor.stop();
+		group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+	}
+
+	@Test
+	public void shouldMeasureSchedulingDelay()
+	throws Exception
+	{
+		assertEquals(2, monitor.getProbes().size());
+		EventLoopProbe probe = monitor.getProbes().get(1);
+		assertEquals("executor", probe.getGroup());
+		assertEquals("1", probe.getIndex());
+
+		monitor.probe();
+		awaitIdle(probe);
+		monitor.probe();
+		awaitIdle(probe);
+
+		assertEquals(2, probe.getDelays().getCount());
+		assertTrue(probe.getLastDelayNanos() > 0);
+		assertEquals(0, probe.getPendingTasks());
+		assertEquals(0, monitor.getStallCount());
+	}
+
+	@Test
+	public void shouldDetectAndSampleStalls()
+	throws Exception
+	{
+		EventLoopProbe probe = monitor.getProbes().get(0);
+		monitor.probe();
+		awaitIdle(probe);
+
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		probe.getExecutor().execute(() -> {
+			blocking.countDown();
+			awaitQuietly(release);
+		});
+		blocking.await();
+
+		monitor.probe();
+		assertTrue(probe.isPending());
+		monitor.probe();
+		assertEquals(0, probe.getStallCount());
+
+		Thread.sleep(60);
+		monitor.probe();
+		monitor.probe();
+		assertEquals(1, probe.getStallCount());
+		assertEquals(1, probe.getPendingTasks());
+
+		Thread.sleep(60);
+		monitor.probe();
+		assertEquals(1, probe.getStallCount());
+
+		release.countDown();
+		awaitIdle(probe);
+		assertTrue(probe.getLastDelayNanos() >= TimeUnit.MILLISECONDS.toNanos(120));
+
+		String log = output.toString(StandardCharsets.UTF_8);
+		assertTrue(log, log.startsWith("Event loop executor-0 stalled for "));
+		assertTrue(log, log.contains("awaitQuietly"));
+		assertEquals(log, 2, log.split("stalled for ").length - 1);
+	}
+
+	@Test
+	public void shouldProbeWhenStarted()
+	throws Exception
+	{
+		monitor.start();
+		Thread.sleep(100);
+		monitor.stop();
+
+		for (EventLoopProbe probe : monitor.getProbes())
+		{
+			assertTrue(probe.getDelays().getCount() > 0);
+		}
+
+		assertFalse(output.toString(StandardCharsets.UTF_8).contains("stalled"));
+	}
+
+	private void awaitIdle(EventLoopProbe probe)
+	throws InterruptedException
+	{
+		for (int i = 0; i < 200 && probe.isPending(); i++)
+		{
+			Thread.sleep(5);
+		}
+
+		assertFalse(probe.isPending());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
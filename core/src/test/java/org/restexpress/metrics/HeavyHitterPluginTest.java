@@ -0,0 +1,116 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.RestExpress;
+import org.restexpress.metrics.HeavyHitterTracker.Dimension;
+import org.restexpress.util.TestHttpClient;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+public class HeavyHitterPluginTest
+{
+	private static final int PORT = 8806;
+	private static final String BASE_URL = "http://localhost:" + PORT;
+	private static final TestHttpClient CLIENT = new TestHttpClient();
+
+	@AfterClass
+	public static void closeClient()
+	throws Exception
+	{
+		CLIENT.close();
+	}
+
+	@Test
+	public void shouldReportTopTalkers()
+	throws Throwable
+	{
+		RestExpress server = new RestExpress();
+		server.uri("/things", new ThingController())
+			.action("read", HttpMethod.GET)
+			.noSerialization();
+		HeavyHitterPlugin plugin = new HeavyHitterPlugin().top(2).trustForwardedHeaders(true);
+		plugin.register(server);
+		new MetricsPlugin()
+			.heavyHitters(plugin.getTracker())
+			.register(server);
+		server.bind(PORT);
+
+		try
+		{
+			for (int i = 0; i < 5; i++)
+			{
+				CLIENT.send(get("/things", "203.0.113.7", "load-generator/1.0"), 200);
+			}
+
+			CLIENT.send(get("/things", "198.51.100.2", "browser"), 200);
+			CLIENT.send(get("/nothing", "198.51.100.2", "browser"), 404);
+
+			HeavyHitterTracker tracker = plugin.getTracker();
+			assertEquals(7, tracker.getRequestCount());
+			List<HeavyHitter> clients = tracker.getTop(Dimension.CLIENT);
+			assertEquals("203.0.113.7", clients.get(0).getKey());
+			assertEquals(5, clients.get(0).getCount());
+			assertEquals("GET /things", tracker.getTop(Dimension.ROUTE).get(0).getKey());
+			assertEquals("load-generator/1.0", tracker.getTop(Dimension.USER_AGENT).get(0).getKey());
+
+			String report = CLIENT.send(new HttpGet(BASE_URL + "/heavy-hitters"), 200);
+			assertTrue(report, report.startsWith("{\"windowSeconds\":60,\"current\":{\"requests\":7,\"route\":[{\"key\":\"GET /things\",\"count\":6}"));
+			assertTrue(report, report.contains("\"client\":[{\"key\":\"203.0.113.7\",\"count\":5},{\"key\":\"198.51.100.2\",\"count\":2}]"));
+			assertTrue(report, report.contains("\"previous\":{\"requests\":0,\"route\":[]"));
+
+			String metrics = CLIENT.send(new HttpGet(BASE_URL + "/metrics"), 200);
+			assertTrue(metrics, metrics.contains("restexpress_heavy_hitter_requests{dimension=\"client\",key=\"203.0.113.7\"} 5\n"));
+			assertTrue(metrics, metrics.contains("restexpress_heavy_hitter_requests{dimension=\"route\",key=\"unmatched\"} 1\n"));
+
+			// Only the DELETE itself is counted afterward.
+			CLIENT.send(new HttpDelete(BASE_URL + "/heavy-hitters"), 204);
+			assertEquals(1, tracker.getRequestCount());
+			assertEquals("DELETE /heavy-hitters", tracker.getTop(Dimension.ROUTE).get(0).getKey());
+		}
+		finally
+		{
+			server.shutdown(true);
+		}
+	}
+
+	private HttpGet get(String path, String client, String userAgent)
+	{
+		HttpGet get = new HttpGet(BASE_URL + path);
+		get.setHeader("X-Forwarded-For", client);
+		get.setHeader("User-Agent", userAgent);
+		return get;
+	}
+
+	public class ThingController
+	{
+		public String read(Request request, Response response)
+		{
+			return "thing";
+		}
+	}
+}
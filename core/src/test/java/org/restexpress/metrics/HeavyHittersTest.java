@@ -0,0 +1,163 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.restexpress.Request;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class HeavyHittersTest
+{
+	@Test
+	public void shouldFindMostFrequentKeys()
+	{
+		HeavyHitters hitters = new HeavyHitters(3, 4, 1024);
+
+		for (int i = 0; i < 10000; i++)
+		{
+			hitters.add("client-" + i);
+
+			if (i % 10 == 0) hitters.add("heavy");
+			if (i % 20 == 0) hitters.add("heavier-than-most");
+		}
+
+		List<HeavyHitter> top = hitters.list();
+		assertEquals(3, top.size());
+		assertEquals("heavy", top.get(0).getKey());
+		assertTrue(top.get(0).toString(), top.get(0).getCount() >= 1000);
+		assertEquals("heavier-than-most", top.get(1).getKey());
+		assertTrue(top.get(1).toString(), top.get(1).getCount() >= 500);
+		assertEquals(11500, hitters.getTotal());
+	}
+
+	@Test
+	public void shouldNeverUnderestimate()
+	{
+		CountMinSketch sketch = new CountMinSketch(4, 64);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			sketch.add("key-" + (i % 100));
+		}
+
+		for (int i = 0; i < 100; i++)
+		{
+			assertTrue(sketch.estimate("key-" + i) >= 10);
+		}
+
+		assertEquals(0, new CountMinSketch(4, 64).estimate("key-0"));
+	}
+
+	@Test
+	public void shouldSeparateKeysWithCollidingHashCodes()
+	{
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+		for (int i = 0; i < 100; i++)
+		{
+			sketch.add("Aa");
+		}
+
+		assertEquals(100, sketch.estimate("Aa"));
+		assertEquals(0, sketch.estimate("BB"));
+	}
+
+	@Test
+	public void shouldCountConcurrently()
+	throws InterruptedException
+	{
+		HeavyHitters hitters = new HeavyHitters(2, 4, 1024);
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 4; t++)
+		{
+			int thread = t;
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 5000; i++)
+				{
+					hitters.add((i % 2 == 0) ? "hot" : "cold-" + thread + "-" + i);
+				}
+			}));
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		List<HeavyHitter> top = hitters.list();
+		assertEquals("hot", top.get(0).getKey());
+		assertTrue(top.get(0).toString(), top.get(0).getCount() >= 10000);
+		assertEquals(20000, hitters.getTotal());
+	}
+
+	@Test
+	public void shouldFindClientAddress()
+	{
+		assertEquals(HeavyHitterTracker.UNKNOWN_CLIENT, HeavyHitterTracker.clientOf(request("/things", null, null), 1));
+		assertEquals("10.0.0.1", HeavyHitterTracker.clientOf(request("/things", "203.0.113.7 , 10.0.0.1", "for=192.0.2.1"), 1));
+		assertEquals("203.0.113.7", HeavyHitterTracker.clientOf(request("/things", "203.0.113.7 , 10.0.0.1", null), 2));
+		assertEquals("203.0.113.7", HeavyHitterTracker.clientOf(request("/things", "203.0.113.7", null), 3));
+		assertEquals("10.0.0.1", HeavyHitterTracker.clientOf(request("/things", null, "for=192.0.2.1:4711;proto=https, for=10.0.0.1"), 1));
+		assertEquals("192.0.2.1", HeavyHitterTracker.clientOf(request("/things", null, "for=192.0.2.1:4711;proto=https, for=10.0.0.1"), 2));
+		assertEquals(HeavyHitterTracker.UNKNOWN_CLIENT, HeavyHitterTracker.clientOf(request("/things", "203.0.113.7", null), 0));
+		assertEquals("2001:db8:cafe::17", HeavyHitterTracker.forwardedFor("For=\"[2001:db8:cafe::17]:4711\""));
+		assertEquals("_hidden", HeavyHitterTracker.forwardedFor("proto=http; for=_hidden"));
+		assertNull(HeavyHitterTracker.forwardedFor("by=203.0.113.43"));
+	}
+
+	@Test
+	public void shouldIgnoreForwardedForQueryParameter()
+	{
+		assertEquals(HeavyHitterTracker.UNKNOWN_CLIENT, HeavyHitterTracker.clientOf(request("/things?X-Forwarded-For=198.51.100.9", null, null), 1));
+		assertEquals("10.0.0.1", HeavyHitterTracker.clientOf(request("/things?X-Forwarded-For=198.51.100.9", "10.0.0.1", null), 1));
+	}
+
+	@Test
+	public void shouldFindElementsFromTheRight()
+	{
+		List<String> values = Arrays.asList("a, b", "c");
+		assertEquals("c", HeavyHitterTracker.fromRight(values, 1));
+		assertEquals("b", HeavyHitterTracker.fromRight(values, 2));
+		assertEquals("a", HeavyHitterTracker.fromRight(values, 3));
+		assertEquals("a", HeavyHitterTracker.fromRight(values, 4));
+		assertNull(HeavyHitterTracker.fromRight(Collections.<String>emptyList(), 1));
+	}
+
+	private Request request(String path, String forwardedFor, String forwarded)
+	{
+		FullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path);
+
+		if (forwardedFor != null) httpRequest.headers().set("X-Forwarded-For", forwardedFor);
+		if (forwarded != null) httpRequest.headers().set("Forwarded", forwarded);
+
+		return new Request(httpRequest, null);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest
+{
+	@Test
+	public void shouldBeEmptyUntilRecorded()
+	{
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertTrue(histogram.isEmpty());
+
+		histogram.recordNanos(1000L);
+		assertFalse(histogram.isEmpty());
+	}
+
+	@Test
+	public void shouldRoundStripesUpToAPowerOfTwoAtMost64()
+	{
+		assertEquals(1, new LatencyHistogram(0).getStripeCount());
+		assertEquals(4, new LatencyHistogram(3).getStripeCount());
+		assertEquals(64, new LatencyHistogram(64).getStripeCount());
+		assertEquals(64, new LatencyHistogram(100).getStripeCount());
+	}
+
+	@Test
+	public void shouldMapBucketsContiguously()
+	{
+		for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - 1; i++)
+		{
+			assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.lowestValueAt(i)));
+			assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.highestValueAt(i)));
+			assertEquals(LatencyHistogram.highestValueAt(i) + 1, LatencyHistogram.lowestValueAt(i + 1));
+		}
+
+		assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE));
+	}
+
+	@Test
+	public void shouldReportPercentilesWithinPrecision()
+	{
+		LatencyHistogram histogram = new LatencyHistogram(4);
+
+		for (int i = 1; i <= 10000; i++)
+		{
+			histogram.record(i, TimeUnit.MICROSECONDS);
+		}
+
+		LatencySnapshot snapshot = histogram.snapshot();
+		assertEquals(10000, snapshot.getCount());
+		assertEquals(10000, snapshot.getMax());
+		assertEquals(5000.5, snapshot.getMean(), 0.001);
+		assertWithin(5000, snapshot.getP50());
+		assertWithin(9900, snapshot.getP99());
+		assertWithin(9990, snapshot.getP999());
+		assertEquals(10000, snapshot.getValueAtPercentile(100.0));
+		assertEquals(63, snapshot.getCountAtOrBelow(63));
+		assertEquals(65, snapshot.getCountAtOrBelow(64));
+
+		long[] counts = new long[3];
+		histogram.getCumulativeCounts(new long[] {63, 1000, 20000}, counts);
+		assertEquals(63, counts[0]);
+		assertEquals(snapshot.getCountAtOrBelow(1000), counts[1]);
+		assertEquals(10000, counts[2]);
+		assertEquals(10000, histogram.getCount());
+		assertEquals(snapshot.getSum(), histogram.getSum());
+	}
+
+	@Test
+	public void shouldMergeStripesRecordedConcurrently()
+	throws Exception
+	{
+		LatencyHistogram histogram = new LatencyHistogram(8);
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 8; t++)
+		{
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 10000; i++)
+				{
+					histogram.recordNanos(1500000L);
+				}
+			}));
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		LatencySnapshot snapshot = histogram.snapshot();
+		assertEquals(80000, snapshot.getCount());
+		assertEquals(80000L * 1500, snapshot.getSum());
+		assertWithin(1500, snapshot.getP50());
+	}
+
+	@Test
+	public void shouldReportZeroWhenEmpty()
+	{
+		LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+		assertEquals(0, snapshot.getCount());
+		assertEquals(0, snapshot.getP99());
+		assertEquals(0.0, snapshot.getMean(), 0.0);
+	}
+
+	private void assertWithin(long expected, long actual)
+	{
+		assertTrue(expected + " vs. " + actual, actual >= expected && actual <= expected * 1.035);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPut;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.RestExpress;
+import org.restexpress.util.TestHttpClient;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.util.ResourceLeakDetector;
+
+public class MetricsPluginTest
+{
+	private static final int PORT = 8804;
+	private static final String BASE_URL = "http://localhost:" + PORT;
+	private static final TestHttpClient CLIENT = new TestHttpClient();
+
+	@AfterClass
+	public static void closeClient()
+	throws Exception
+	{
+		CLIENT.close();
+	}
+
+	@Test
+	public void shouldServeOpenMetrics()
+	throws Throwable
+	{
+		RestExpress server = new RestExpress();
+		server.uri("/things", new ThingController())
+			.action("read", HttpMethod.GET)
+			.noSerialization();
+		new MetricsPlugin()
+			.eventLoopMonitor(new EventLoopMonitor(10, 1000, TimeUnit.MILLISECONDS))
+			.register(server);
+		server.bind(PORT);
+
+		try
+		{
+			CLIENT.send(new HttpGet(BASE_URL + "/things"), 200);
+			CLIENT.send(new HttpGet(BASE_URL + "/things"), 200);
+			CLIENT.send(new HttpGet(BASE_URL + "/nothing"), 404);
+
+			String metrics = CLIENT.send(new HttpGet(BASE_URL + "/metrics"), 200);
+			String scraped = CLIENT.send(new HttpGet(BASE_URL + "/metrics"), 200);
+			assertTrue(metrics, metrics.contains("# TYPE restexpress_request_duration_seconds histogram\n"));
+			assertTrue(metrics, metrics.contains("restexpress_request_duration_seconds_count{method=\"GET\",route=\"/things\",status=\"2xx\"} 2\n"));
+			assertTrue(metrics, metrics.contains("restexpress_request_duration_seconds_bucket{method=\"GET\",route=\"/things\",status=\"2xx\",le=\"+Inf\"} 2\n"));
+			assertTrue(metrics, metrics.contains("restexpress_request_duration_seconds_count{method=\"\",route=\"unmatched\",status=\"4xx\"} 1\n"));
+			assertTrue(metrics, metrics.contains("restexpress_requests_in_flight 1\n"));
+			assertTrue(metrics, metrics.contains("restexpress_connections 1\n"));
+			assertTrue(metrics, metrics.contains("# TYPE restexpress_event_loop_delay_seconds histogram\n"));
+			assertTrue(metrics, metrics.contains("restexpress_event_loop_delay_seconds_count{group=\"worker\",loop=\"0\"} "));
+			assertTrue(metrics, metrics.contains("restexpress_event_loop_pending_tasks{group=\"boss\",loop=\"0\"} "));
+			assertTrue(metrics, metrics.contains("restexpress_event_loop_stalls_total{group=\"worker\",loop=\"0\"} 0\n"));
+			assertTrue(metrics, metrics.endsWith("# EOF\n"));
+			assertTrue(scraped, scraped.contains("restexpress_request_duration_seconds_count{method=\"GET\",route=\"/metrics\",status=\"2xx\"} 1\n"));
+			assertEquals(OpenMetricsWriter.CONTENT_TYPE,
+				CLIENT.execute(new HttpGet(BASE_URL + "/metrics"), 200).getFirstHeader("Content-Type").getValue());
+		}
+		finally
+		{
+			server.shutdown(true);
+		}
+	}
+
+	@Test
+	public void shouldReportAllocatorAndSwitchLeakDetection()
+	throws Throwable
+	{
+		ResourceLeakDetector.Level level = ResourceLeakDetector.getLevel();
+		RestExpress server = new RestExpress()
+			.setAllocatorArenas(2)
+			.setAllocatorChunkSize(1024 * 1024);
+		new MetricsPlugin()
+			.leakDetectionRoute()
+			.register(server);
+		server.bind(PORT);
+
+		try
+		{
+			assertTrue(server.getAllocator() instanceof PooledByteBufAllocator);
+			String metrics = CLIENT.send(new HttpGet(BASE_URL + "/metrics"), 200);
+			assertTrue(metrics, metrics.contains("restexpress_allocator_arenas{memory=\"direct\"} 2\n"));
+			assertTrue(metrics, metrics.contains("restexpress_allocator_chunk_size_bytes 1048576\n"));
+			assertTrue(metrics, metrics.contains("restexpress_allocator_arena_allocations_total{memory=\"direct\",size=\"small\"} "));
+			assertTrue(metrics, metrics.contains("restexpress_allocator_pinned_bytes{memory=\"direct\"} "));
+			assertTrue(metrics, metrics.contains("restexpress_leak_detection_level{level=\"" + level.name() + "\"} 1\n"));
+
+			assertEquals("{\"level\":\"PARANOID\"}", CLIENT.send(new HttpPut(BASE_URL + "/metrics/leak-detection?level=paranoid"), 200));
+			assertEquals(ResourceLeakDetector.Level.PARANOID, ResourceLeakDetector.getLevel());
+			CLIENT.send(new HttpPut(BASE_URL + "/metrics/leak-detection?level=sometimes"), 400);
+			assertTrue(CLIENT.send(new HttpGet(BASE_URL + "/metrics"), 200).contains("restexpress_leak_detection_level{level=\"PARANOID\"} 1\n"));
+		}
+		finally
+		{
+			ResourceLeakDetector.setLevel(level);
+			server.shutdown(true);
+		}
+	}
+
+	public class ThingController
+	{
+		public String read(Request request, Response response)
+		{
+			return "thing";
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class OpenMetricsWriterTest
+{
+	@Test
+	public void shouldWriteSamples()
+	{
+		ByteBuf buffer = Unpooled.buffer();
+		new OpenMetricsWriter().into(buffer)
+			.family("requests", "counter", "Requests served.")
+			.sample("requests", "_total").label("route", "/a/\"b\"\\c").label("le", "+Inf").value(-1234567890123L)
+			.sample("seconds").valueMicros(1500)
+			.sample("zero").value(0)
+			.eof();
+
+		assertEquals("# TYPE requests counter\n"
+			+ "# HELP requests Requests served.\n"
+			+ "requests_total{route=\"/a/\\\"b\\\"\\\\c\",le=\"+Inf\"} -1234567890123\n"
+			+ "seconds 1500e-6\n"
+			+ "zero 0\n"
+			+ "# EOF\n", buffer.toString(StandardCharsets.UTF_8));
+		buffer.release();
+	}
+}
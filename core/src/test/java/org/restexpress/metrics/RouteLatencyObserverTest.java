@@ -0,0 +1,105 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.route.Route;
+import org.restexpress.route.parameterized.ParameterizedRouteBuilder;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class RouteLatencyObserverTest
+{
+	private RouteLatencyObserver observer = new RouteLatencyObserver();
+
+	@Test
+	public void shouldRecordByRouteAndStatusClass()
+	{
+		List<Route> routes = new ParameterizedRouteBuilder("/things/{id}", new ThingController(), null)
+			.action("read", HttpMethod.GET)
+			.name("thing")
+			.build();
+		Route route = routes.get(0);
+
+		exchange(route, HttpResponseStatus.OK);
+		exchange(route, HttpResponseStatus.OK);
+		exchange(route, HttpResponseStatus.NOT_FOUND);
+
+		RouteLatency latency = observer.getRouteLatency(route);
+		assertEquals("GET", latency.getMethod());
+		assertEquals("/things/{id}", latency.getPattern());
+		assertEquals("thing", latency.getName());
+		assertEquals(2, latency.getSnapshot(2).getCount());
+		assertEquals(1, latency.getSnapshot(4).getCount());
+		assertNull(latency.getSnapshot(5));
+		assertEquals(3, latency.getSnapshot().getCount());
+		assertEquals(1, observer.getRouteLatencies().size());
+	}
+
+	@Test
+	public void shouldRecordUnmatchedRequests()
+	{
+		exchange(null, HttpResponseStatus.NOT_FOUND);
+
+		RouteLatency latency = observer.getRouteLatencies().iterator().next();
+		assertSame(RouteLatency.UNMATCHED, latency.getPattern());
+		assertEquals(1, latency.getSnapshot(4).getCount());
+	}
+
+	@Test
+	public void shouldReportUnmatchedOnlyOnceRecorded()
+	{
+		assertTrue(observer.getUnmatchedLatency().isEmpty());
+		assertTrue(observer.getRouteLatencies().isEmpty());
+
+		exchange(null, HttpResponseStatus.NOT_FOUND);
+
+		assertFalse(observer.getUnmatchedLatency().isEmpty());
+		assertTrue(observer.getMatchedRouteLatencies().isEmpty());
+		assertEquals(1, observer.getRouteLatencies().size());
+	}
+
+	private void exchange(Route route, HttpResponseStatus status)
+	{
+		Request request = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/things/1"), null);
+		Response response = new Response();
+		observer.onReceived(request, response);
+		request.setResolvedRoute(route);
+		response.setResponseStatus(status);
+		observer.onComplete(request, response);
+	}
+
+	@SuppressWarnings("unused")
+	private class ThingController
+	{
+		public void read(Request request, Response response)
+		{
+		}
+	}
+}
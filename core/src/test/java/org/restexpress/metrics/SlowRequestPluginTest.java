@@ -0,0 +1,122 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.RestExpress;
+import org.restexpress.util.TestHttpClient;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+public class SlowRequestPluginTest
+{
+	private static final int PORT = 8805;
+	private static final String BASE_URL = "http://localhost:" + PORT;
+	private static final TestHttpClient CLIENT = new TestHttpClient();
+
+	@AfterClass
+	public static void closeClient()
+	throws Exception
+	{
+		CLIENT.close();
+	}
+
+	@Test
+	public void shouldTrackSlowRequests()
+	throws Throwable
+	{
+		ByteArrayOutputStream dump = new ByteArrayOutputStream();
+		RestExpress server = new RestExpress();
+		server.uri("/things/{millis}", new ThingController())
+			.action("read", HttpMethod.GET)
+			.noSerialization();
+		SlowRequestPlugin plugin = new SlowRequestPlugin()
+			.threshold(200, TimeUnit.MILLISECONDS)
+			.recent(2)
+			.slowest(2)
+			.dumpTo(new PrintStream(dump, true, StandardCharsets.UTF_8))
+			.register(server);
+		server.bind(PORT);
+
+		try
+		{
+			// Warm up the connection and code paths so the first request isn't slow on its own.
+			CLIENT.send(new HttpGet(BASE_URL + "/things/0"), 200);
+			SlowRequestTracker tracker = plugin.getTracker();
+			tracker.clear();
+			dump.reset();
+
+			CLIENT.send(new HttpGet(BASE_URL + "/things/0"), 200);
+			CLIENT.send(new HttpGet(BASE_URL + "/things/300"), 200);
+			CLIENT.send(new HttpGet(BASE_URL + "/things/400"), 200);
+			CLIENT.send(new HttpGet(BASE_URL + "/things/350"), 200);
+
+			assertEquals(3, tracker.getSlowCount());
+			List<SlowRequest> recent = tracker.getRecent();
+			assertEquals(2, recent.size());
+			assertEquals("/things/350", recent.get(0).getUrl());
+			assertEquals("/things/400", recent.get(1).getUrl());
+
+			Map<String, List<SlowRequest>> slowest = tracker.getSlowest();
+			List<SlowRequest> things = slowest.get("GET /things/{millis}");
+			assertEquals(2, things.size());
+			assertEquals("/things/400", things.get(0).getUrl());
+			assertEquals("/things/350", things.get(1).getUrl());
+			assertTrue(things.get(0).getPhaseMicros().get("controller") >= 400000L);
+
+			String log = dump.toString(StandardCharsets.UTF_8);
+			assertEquals(log, 3, log.split("Slow request: ").length - 1);
+			assertTrue(log, log.contains("Slow request: GET /things/300 (route /things/{millis}) responded with 200 in "));
+
+			String report = CLIENT.send(new HttpGet(BASE_URL + "/slow-requests"), 200);
+			assertTrue(report, report.startsWith("{\"thresholdMillis\":200,\"slowCount\":3,\"recent\":[{"));
+			assertTrue(report, report.contains("\"slowest\":{\"GET /things/{millis}\":[{"));
+
+			CLIENT.send(new HttpDelete(BASE_URL + "/slow-requests"), 204);
+			assertEquals(0, tracker.getSlowCount());
+			assertTrue(tracker.getRecent().isEmpty());
+		}
+		finally
+		{
+			server.shutdown(true);
+		}
+	}
+
+	public class ThingController
+	{
+		public String read(Request request, Response response)
+		throws InterruptedException
+		{
+			Thread.sleep(Long.parseLong(request.getHeader("millis")));
+			return "thing";
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class SlowestRequestsTest
+{
+	@Test
+	public void shouldKeepSlowest()
+	{
+		SlowestRequests slowest = new SlowestRequests(2);
+		assertTrue(slowest.accepts(0));
+
+		for (long micros : new long[] {5, 3, 9, 1, 4})
+		{
+			slowest.offer(request(micros));
+		}
+
+		List<SlowRequest> requests = slowest.list();
+		assertEquals(2, requests.size());
+		assertEquals(9, requests.get(0).getDurationMicros());
+		assertEquals(5, requests.get(1).getDurationMicros());
+		assertFalse(slowest.accepts(5));
+		assertTrue(slowest.accepts(6));
+
+		slowest.clear();
+		assertTrue(slowest.list().isEmpty());
+		assertTrue(slowest.accepts(0));
+	}
+
+	@Test
+	public void shouldCaptureRequestDetails()
+	{
+		SlowRequest request = request(2500);
+		assertEquals("GET", request.getMethod());
+		assertEquals("/things/1?x=y", request.getUrl());
+		assertEquals(RouteLatency.UNMATCHED, request.getRoute());
+		assertEquals(200, request.getStatus());
+		assertEquals(0, request.getRequestBytes());
+		assertEquals(-1, request.getResponseBytes());
+		assertEquals(8, request.getPhaseMicros().size());
+		assertEquals(Long.valueOf(0), request.getPhaseMicros().get("controller"));
+		assertTrue(request.toString(), request.toString().startsWith("GET /things/1?x=y (route unmatched) responded with 200 in 2500us"));
+	}
+
+	private SlowRequest request(long micros)
+	{
+		Request request = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/things/1?x=y"), null);
+		return new SlowRequest(request, new Response(), micros * 1000L);
+	}
+}
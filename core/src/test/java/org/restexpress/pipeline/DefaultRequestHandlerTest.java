@@ -16,20 +16,31 @@
 package org.restexpress.pipeline;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.restexpress.ContentType;
 import org.restexpress.Format;
 import org.restexpress.Request;
 import org.restexpress.Response;
 import org.restexpress.exception.BadRequestException;
+import org.restexpress.jfr.ExceptionMappingEvent;
+import org.restexpress.jfr.RequestEvent;
+import org.restexpress.jfr.RouteMissEvent;
+import org.restexpress.jfr.SerializationEvent;
 import org.restexpress.response.DefaultHttpResponseWriter;
 import org.restexpress.response.JsendResponseWrapper;
 import org.restexpress.response.RawResponseWrapper;
@@ -39,16 +50,27 @@ import org.restexpress.route.RouteResolver;
 import org.restexpress.serialization.NullSerializationProvider;
 import org.restexpress.serialization.SerializationProvider;
 import org.restexpress.serialization.json.JacksonJsonProcessor;
+import org.restexpress.serialization.protobuf.ProtobufProcessor;
 import org.restexpress.settings.RouteDefaults;
 
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ResourceLeakDetector;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 
 /**
@@ -64,6 +86,21 @@ public class DefaultRequestHandlerTest
     private StringBuffer responseBody;
     private Map<String, List<String>> responseHeaders;
 	
+	private static ResourceLeakDetector.Level leakDetectionLevel;
+
+	@BeforeClass
+	public static void enableLeakDetection()
+	{
+		leakDetectionLevel = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterClass
+	public static void restoreLeakDetection()
+	{
+		ResourceLeakDetector.setLevel(leakDetectionLevel);
+	}
+
 	@Before
 	public void initialize()
 	throws Exception
@@ -358,6 +395,141 @@ public class DefaultRequestHandlerTest
 		assertEquals("application/json; charset=UTF-8", contentTypes.get(0));
 	}
 
+	@Test
+	public void shouldTimeRequestPhases()
+	throws Exception
+	{
+		sendGetEvent("/slow");
+		assertEquals(1, observer.getSuccessCount());
+		PhaseTimings timings = observer.getTimings();
+		assertEquals(RequestPhase.CONTROLLER, timings.getSlowestPhase());
+		assertTrue(timings.get(RequestPhase.CONTROLLER, TimeUnit.MILLISECONDS) >= 20);
+		assertTrue(timings.getNanos(RequestPhase.ROUTE) > 0);
+		assertTrue(timings.getNanos(RequestPhase.WRITE) > 0);
+		assertEquals(0, timings.getNanos(RequestPhase.QUEUE));
+		assertTrue(timings.getTotalNanos() >= timings.getNanos(RequestPhase.CONTROLLER));
+	}
+
+	@Test
+	public void shouldTimeFailedPhaseAndErrorResponse()
+	throws Exception
+	{
+		sendGetEvent("/bar");
+		assertEquals(1, observer.getExceptionCount());
+		PhaseTimings timings = observer.getTimings();
+		assertTrue(timings.getNanos(RequestPhase.CONTROLLER) > 0);
+		assertEquals(0, timings.getNanos(RequestPhase.POSTPROCESS));
+		assertTrue(timings.getNanos(RequestPhase.SERIALIZE) > 0);
+		assertTrue(timings.getNanos(RequestPhase.WRITE) > 0);
+	}
+
+	@Test
+	public void shouldTimeQueueWhenDispatched()
+	throws Exception
+	{
+		EmbeddedChannel dispatched = new EmbeddedChannel(DispatchTimer.INSTANCE, messageHandler);
+		dispatched.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/foo"));
+		assertEquals(1, observer.getSuccessCount());
+		assertTrue(observer.getTimings().getNanos(RequestPhase.QUEUE) > 0);
+		dispatched.finish();
+	}
+
+	@Test
+	public void shouldEmitFlightRecorderEvents()
+	throws Exception
+	{
+		List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+		Path dump = Files.createTempFile("restexpress", ".jfr");
+
+		try (Recording recording = new Recording())
+		{
+			recording.enable(RequestEvent.class);
+			recording.enable(SerializationEvent.class);
+			recording.enable(RouteMissEvent.class);
+			recording.enable(ExceptionMappingEvent.class);
+			recording.start();
+			sendGetEvent("/serializedString.json?returnValue=raw string");
+			sendGetEvent("/missing");
+			recording.stop();
+			recording.dump(dump);
+			events.addAll(RecordingFile.readAllEvents(dump));
+		}
+		finally
+		{
+			Files.delete(dump);
+		}
+
+		List<RecordedEvent> requests = eventsNamed(events, RequestEvent.NAME);
+		assertEquals(2, requests.size());
+		RecordedEvent found = requests.get(0);
+		assertEquals("GET", found.getString("method"));
+		assertEquals("/serializedString", found.getString("route"));
+		assertEquals(200, found.getInt("status"));
+		assertEquals("\"raw string\"".length(), found.getLong("responseBytes"));
+		RecordedEvent missing = requests.get(1);
+		assertEquals("/missing", missing.getString("path"));
+		assertEquals(null, missing.getString("route"));
+		assertEquals(404, missing.getInt("status"));
+
+		List<RecordedEvent> serializations = eventsNamed(events, SerializationEvent.NAME);
+		assertEquals(2, serializations.size());
+		assertEquals(JacksonJsonProcessor.class.getName(), serializations.get(0).getClass("processor").getName());
+		assertEquals(String.class.getName(), serializations.get(0).getClass("type").getName());
+		assertEquals("\"raw string\"".length(), serializations.get(0).getLong("bytes"));
+
+		List<RecordedEvent> misses = eventsNamed(events, RouteMissEvent.NAME);
+		assertEquals(1, misses.size());
+		assertEquals(404, misses.get(0).getInt("status"));
+
+		List<RecordedEvent> mappings = eventsNamed(events, ExceptionMappingEvent.NAME);
+		assertEquals(1, mappings.size());
+		assertEquals("org.restexpress.exception.NotFoundException", mappings.get(0).getClass("mapped").getName());
+	}
+
+	@Test
+	public void shouldReleaseSerializedBodyWhenFinallyProcessorSetsNoContent()
+	{
+		assertSerializedBodyReleased(HttpResponseStatus.NO_CONTENT);
+	}
+
+	@Test
+	public void shouldReleaseSerializedBodyWhenFinallyProcessorSetsNotModified()
+	{
+		assertSerializedBodyReleased(HttpResponseStatus.NOT_MODIFIED);
+	}
+
+	private void assertSerializedBodyReleased(HttpResponseStatus status)
+	{
+		SerializationProvider provider = new NullSerializationProvider();
+		provider.add(new ProtobufProcessor(), new RawResponseWrapper());
+		provider.setDefaultFormat(Format.PROTOBUF);
+		DummyRoutes routes = new DummyRoutes();
+		routes.defineRoutes();
+		DefaultRequestHandler handler = new DefaultRequestHandler(new RouteResolver(routes.createRouteMapping(new RouteDefaults())), provider, new DefaultHttpResponseWriter(), false);
+		StatusChangingPostprocessor finallyProcessor = new StatusChangingPostprocessor(status);
+		handler.addFinallyProcessor(finallyProcessor);
+		SerializedBodyObserver bodyObserver = new SerializedBodyObserver();
+		handler.addMessageObserver(bodyObserver);
+		EmbeddedChannel protobufChannel = new EmbeddedChannel(handler);
+		protobufChannel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/message.protobuf"));
+		FullHttpResponse httpResponse = protobufChannel.readOutbound();
+
+		try
+		{
+			assertEquals(status, httpResponse.status());
+			assertEquals(0, httpResponse.content().readableBytes());
+			assertTrue(finallyProcessor.getSerializedBody() != null);
+			assertEquals(0, finallyProcessor.getSerializedBody().refCnt());
+			assertTrue(bodyObserver.wasCalled());
+			assertNull(bodyObserver.getBody());
+		}
+		finally
+		{
+			httpResponse.release();
+			protobufChannel.finishAndReleaseAll();
+		}
+	}
+
 	@Test
 	public void shouldSetJSONContentTypeOnNullReturn()
 	throws Exception
@@ -374,6 +546,22 @@ public class DefaultRequestHandlerTest
 		assertEquals("null", responseBody.toString());
 	}
 
+	private List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name)
+	{
+		List<RecordedEvent> named = new ArrayList<RecordedEvent>();
+
+		for (RecordedEvent event : events)
+		{
+			if (name.equals(event.getEventType().getName()))
+			{
+				named.add(event);
+			}
+		}
+
+		named.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+		return named;
+	}
+
 	private void sendGetEvent(String path)
     {
 		try
@@ -430,6 +618,13 @@ public class DefaultRequestHandlerTest
         	uri("/serializedString.{format}", controller, defaults)
     		.action("serializedStringAction", HttpMethod.GET);
 
+        	uri("/slow", controller, defaults)
+        		.action("slowAction", HttpMethod.GET)
+        		.noSerialization();
+
+        	uri("/message.{format}", controller, defaults)
+        		.action("messageAction", HttpMethod.GET);
+
         	uri("/setBodyAction.html", controller, defaults)
         		.action("setBodyAction", HttpMethod.GET)
         		.format(Format.HTML);
@@ -483,6 +678,20 @@ public class DefaultRequestHandlerTest
 			return "<html><body>Wow! What a fabulous HTML body...</body></html>";
 		}
 
+		public String slowAction(Request request, Response response)
+		throws InterruptedException
+		{
+			Thread.sleep(20L);
+			return "slow";
+		}
+
+		public Struct messageAction(Request request, Response response)
+		{
+			return Struct.newBuilder()
+				.putFields("name", Value.newBuilder().setStringValue("todd").build())
+				.build();
+		}
+
 		public void setBodyAction(Request request, Response response)
 		{
 			response.setContentType(ContentType.HTML);
@@ -498,6 +707,7 @@ public class DefaultRequestHandlerTest
 		private int exceptionCount = 0;
 		private int successCount = 0;
 		private int completeCount = 0;
+		private PhaseTimings timings;
 
 		@Override
         protected void onReceived(Request request, Response response)
@@ -521,6 +731,7 @@ public class DefaultRequestHandlerTest
         protected void onComplete(Request request, Response response)
         {
 			++completeCount;
+			timings = request.getPhaseTimings();
         }
 
 		public int getReceivedCount()
@@ -542,6 +753,60 @@ public class DefaultRequestHandlerTest
         {
         	return completeCount;
         }
+
+		public PhaseTimings getTimings()
+		{
+			return timings;
+		}
+	}
+
+	private class StatusChangingPostprocessor
+	implements Postprocessor
+	{
+		private HttpResponseStatus status;
+		private ByteBuf serializedBody;
+
+		public StatusChangingPostprocessor(HttpResponseStatus status)
+		{
+			super();
+			this.status = status;
+		}
+
+		@Override
+		public void process(Request request, Response response)
+		{
+			serializedBody = (ByteBuf) response.getBody();
+			response.setResponseStatus(status);
+		}
+
+		public ByteBuf getSerializedBody()
+		{
+			return serializedBody;
+		}
+	}
+
+	private class SerializedBodyObserver
+	extends MessageObserver
+	{
+		private boolean wasCalled = false;
+		private Object body;
+
+		@Override
+		protected void onSuccess(Request request, Response response)
+		{
+			wasCalled = true;
+			body = response.getBody();
+		}
+
+		public boolean wasCalled()
+		{
+			return wasCalled;
+		}
+
+		public Object getBody()
+		{
+			return body;
+		}
 	}
 
 	private class NoopPostprocessor
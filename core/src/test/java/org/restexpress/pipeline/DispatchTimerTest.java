@@ -0,0 +1,68 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.restexpress.pipeline.DispatchTimer.Timestamps;
+
+public class DispatchTimerTest
+{
+	@Test
+	public void shouldPollTimestampsInOrder()
+	{
+		Timestamps timestamps = new Timestamps();
+		assertEquals(0L, timestamps.poll());
+
+		for (long i = 1; i <= 40; i++)
+		{
+			timestamps.offer(i);
+			timestamps.offer(i + 1000L);
+			assertEquals(i, timestamps.poll());
+			assertEquals(i + 1000L, timestamps.poll());
+		}
+
+		assertEquals(0L, timestamps.poll());
+	}
+
+	@Test
+	public void shouldNotPairOverflowWithAnotherRequest()
+	{
+		Timestamps timestamps = new Timestamps();
+
+		for (long i = 1; i <= 20; i++)
+		{
+			timestamps.offer(i);
+		}
+
+		for (long i = 1; i <= 16; i++)
+		{
+			assertEquals(i, timestamps.poll());
+		}
+
+		// Requests 17 through 20 arrived while the ring was full.
+		timestamps.offer(21L);
+
+		for (int i = 17; i <= 20; i++)
+		{
+			assertEquals(0L, timestamps.poll());
+		}
+
+		assertEquals(21L, timestamps.poll());
+		assertEquals(0L, timestamps.poll());
+	}
+}
@@ -0,0 +1,222 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.multipart.FileUpload;
+
+public class FileUploadHandlerTest
+{
+	private static final String BOUNDARY = "----RestExpressBoundary";
+
+	@Test
+	public void shouldDecodeInterleavedUploadsPerChannel()
+	throws Exception
+	{
+		EmbeddedChannel first = new EmbeddedChannel(new FileUploadHandler(16, -1, null));
+		EmbeddedChannel second = new EmbeddedChannel(new FileUploadHandler(16, -1, null));
+		byte[] firstBody = multipart("first", "a.txt", "first file content");
+		byte[] secondBody = multipart("second", "b.txt", "second file content, which is longer");
+		int half = firstBody.length / 2;
+
+		first.writeInbound(uploadRequest(firstBody.length));
+		second.writeInbound(uploadRequest(secondBody.length));
+		first.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(firstBody, 0, half)));
+		second.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(secondBody)));
+		first.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(firstBody, half, firstBody.length - half)));
+
+		assertUpload(first.readInbound(), "first", "a.txt", "first file content");
+		assertUpload(second.readInbound(), "second", "b.txt", "second file content, which is longer");
+		assertNull(first.readInbound());
+		first.finish();
+		second.finish();
+	}
+
+	@Test
+	public void shouldDigestUploadsWhileReceiving()
+	throws Exception
+	{
+		EmbeddedChannel channel = new EmbeddedChannel(new FileUploadHandler(16, -1, null, Arrays.asList("SHA-256", "MD5")));
+		String content = "file content long enough to be written to disk";
+		byte[] body = multipart("hashed", "c.txt", content);
+		int half = body.length / 2;
+
+		channel.writeInbound(uploadRequest(body.length));
+		channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(body, 0, half)));
+		channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(body, half, body.length - half)));
+
+		MultipartHttpRequest upload = channel.readInbound();
+		List<UploadDigest> digests = upload.getUploadDigests();
+		assertEquals(1, digests.size());
+		UploadDigest digest = digests.get(0);
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		assertEquals("file", digest.getName());
+		assertEquals("c.txt", digest.getFilename());
+		assertEquals(bytes.length, digest.getSize());
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(bytes), digest.getDigest("SHA-256"));
+		assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes)), digest.getHexDigest("MD5"));
+		assertNull(digest.getDigest("SHA-1"));
+		upload.destroy();
+		channel.finish();
+	}
+
+	@Test
+	public void shouldWriteUploadsDirectlyToDisk()
+	throws Exception
+	{
+		File directory = Files.createTempDirectory("direct").toFile();
+		EmbeddedChannel channel = new EmbeddedChannel(new FileUploadHandler(1024 * 1024, -1, directory.getAbsolutePath(),
+			Arrays.asList("SHA-256"), UploadSyncPolicy.EVERY_CHUNK));
+		String content = "small enough to be held in memory, but written straight to disk";
+		byte[] body = multipart("direct", "d.txt", content);
+		int half = body.length / 2;
+
+		channel.writeInbound(uploadRequest(body.length));
+		channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(body, 0, half)));
+		channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(body, half, body.length - half)));
+
+		MultipartHttpRequest upload = channel.readInbound();
+		FileUpload file = upload.getFileUploads().get(0);
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		assertFalse(file.isInMemory());
+		assertEquals(directory, file.getFile().getParentFile());
+		assertEquals(content, file.getString(StandardCharsets.UTF_8));
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(bytes), upload.getUploadDigests().get(0).getDigest("SHA-256"));
+
+		File kept = upload.keep(file);
+		upload.destroy();
+		assertTrue(kept.exists());
+		assertEquals(1, directory.listFiles().length);
+		kept.delete();
+		directory.delete();
+		channel.finish();
+	}
+
+	@Test
+	public void shouldDeleteDirectUploadsNotKept()
+	throws Exception
+	{
+		File directory = Files.createTempDirectory("direct").toFile();
+		EmbeddedChannel channel = new EmbeddedChannel(new FileUploadHandler(16, -1, directory.getAbsolutePath(),
+			Collections.<String>emptyList(), UploadSyncPolicy.NONE));
+		byte[] body = multipart("direct", "e.txt", "discarded at the end of the request");
+
+		channel.writeInbound(uploadRequest(body.length), new DefaultLastHttpContent(Unpooled.wrappedBuffer(body)));
+
+		MultipartHttpRequest upload = channel.readInbound();
+		assertTrue(upload.getFileUploads().get(0).getFile().exists());
+		upload.destroy();
+		assertEquals(0, directory.listFiles().length);
+		directory.delete();
+		channel.finish();
+	}
+
+	@Test
+	public void shouldPassThroughOtherRequests()
+	{
+		EmbeddedChannel channel = new EmbeddedChannel(new FileUploadHandler(16, -1, null));
+		HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/things");
+		request.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json");
+		LastHttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("{}", StandardCharsets.UTF_8));
+
+		channel.writeInbound(request, content);
+
+		assertSame(request, channel.readInbound());
+		assertSame(content, channel.readInbound());
+		content.release();
+		channel.finish();
+	}
+
+	@Test
+	public void shouldRejectOversizedUpload()
+	{
+		EmbeddedChannel channel = new EmbeddedChannel(new FileUploadHandler(16, 64, null));
+		byte[] body = multipart("big", "big.txt", "far more content than the sixty-four bytes allowed for this upload");
+		LastHttpContent content = new DefaultLastHttpContent(Unpooled.wrappedBuffer(body));
+
+		channel.writeInbound(uploadRequest(body.length), content);
+
+		assertNull(channel.readInbound());
+		assertEquals(0, content.refCnt());
+		FullHttpResponse response = channel.readOutbound();
+		assertEquals(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE, response.status());
+		response.release();
+		channel.finish();
+	}
+
+	private void assertUpload(Object message, String name, String filename, String content)
+	throws Exception
+	{
+		assertTrue(message instanceof MultipartHttpRequest);
+		MultipartHttpRequest upload = (MultipartHttpRequest) message;
+		assertEquals(name, upload.getAttributes().get("name"));
+		List<FileUpload> files = upload.getFileUploads();
+		assertEquals(1, files.size());
+		assertEquals(filename, files.get(0).getFilename());
+		assertEquals(content, files.get(0).getString(StandardCharsets.UTF_8));
+		upload.destroy();
+	}
+
+	private HttpRequest uploadRequest(int contentLength)
+	{
+		HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload");
+		request.headers().set(HttpHeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+		request.headers().set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+		return request;
+	}
+
+	private byte[] multipart(String value, String filename, String content)
+	{
+		String body = "--" + BOUNDARY + "\r\n"
+			+ "Content-Disposition: form-data; name=\"name\"\r\n\r\n"
+			+ value + "\r\n"
+			+ "--" + BOUNDARY + "\r\n"
+			+ "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+			+ "Content-Type: text/plain\r\n\r\n"
+			+ content + "\r\n"
+			+ "--" + BOUNDARY + "--\r\n";
+		return body.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,149 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.restexpress.Format;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.response.RawResponseWrapper;
+import org.restexpress.response.StringBufferHttpResponseWriter;
+import org.restexpress.route.RouteDeclaration;
+import org.restexpress.route.RouteResolver;
+import org.restexpress.serialization.NullSerializationProvider;
+import org.restexpress.serialization.SerializationProvider;
+import org.restexpress.serialization.json.JacksonJsonProcessor;
+import org.restexpress.settings.RouteDefaults;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class MessageContextPoolTest
+{
+	private RememberingController controller = new RememberingController();
+	private StringBuffer responseBody = new StringBuffer();
+
+	@Test
+	public void shouldProcessPooledMessages()
+	{
+		EmbeddedChannel channel = createChannel(new MessageContextPool());
+		sendGetEvent(channel, "/echo?value=one");
+		sendGetEvent(channel, "/echo?value=two");
+		assertEquals("\"one\"\"two\"", responseBody.toString());
+		assertTrue(controller.request.isReleased());
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	public void shouldDetectUseAfterCompletion()
+	{
+		EmbeddedChannel channel = createChannel(new MessageContextPool(true));
+		sendGetEvent(channel, "/echo?value=leaky");
+		assertEquals("\"leaky\"", responseBody.toString());
+
+		try
+		{
+			controller.request.getHeader("value");
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException e)
+		{
+			assertNotNull(e.getCause());
+		}
+
+		try
+		{
+			controller.response.setBody("too late");
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException e)
+		{
+			assertNotNull(e.getCause());
+		}
+
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	public void shouldGuardAllAccessorsAfterCompletion()
+	{
+		EmbeddedChannel channel = createChannel(new MessageContextPool(true));
+		sendGetEvent(channel, "/echo?value=leaky");
+		Request request = controller.request;
+		Response response = controller.response;
+		assertReleased(() -> request.getHeaders("value"));
+		assertReleased(() -> request.getHeaderNames());
+		assertReleased(() -> request.getResolvedRoute());
+		assertReleased(() -> request.getRemoteAddress());
+		assertReleased(() -> request.getCorrelationId());
+		assertReleased(() -> response.getHeaders("Content-Type"));
+		assertReleased(() -> response.getHttpHeaders());
+		assertReleased(() -> response.getContentType());
+		assertReleased(() -> response.getResponseStatus());
+		assertReleased(() -> response.getException());
+		channel.finishAndReleaseAll();
+	}
+
+	private void assertReleased(Runnable accessor)
+	{
+		try
+		{
+			accessor.run();
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException e)
+		{
+			assertNotNull(e.getCause());
+		}
+	}
+
+	private EmbeddedChannel createChannel(MessageContextPool pool)
+	{
+		SerializationProvider provider = new NullSerializationProvider();
+		provider.add(new JacksonJsonProcessor(Format.JSON), new RawResponseWrapper(), true);
+		RouteDeclaration routes = new RouteDeclaration();
+		routes.uri("/echo", controller, new RouteDefaults()).action("echo", HttpMethod.GET);
+		DefaultRequestHandler handler = new DefaultRequestHandler(new RouteResolver(routes.createRouteMapping(new RouteDefaults())),
+			provider, new StringBufferHttpResponseWriter(responseBody), false);
+		handler.setMessageContextPool(pool);
+		return new EmbeddedChannel(handler);
+	}
+
+	private void sendGetEvent(EmbeddedChannel channel, String path)
+	{
+		channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path));
+	}
+
+	public class RememberingController
+	{
+		private Request request;
+		private Response response;
+
+		public String echo(Request request, Response response)
+		{
+			this.request = request;
+			this.response = response;
+			return request.getHeader("value");
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.restexpress.RestExpress;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+public class PipelineInitializerTest
+{
+	@Test
+	public void shouldRunFileUploadHandlerOnExecutorGroup()
+	throws Exception
+	{
+		EventExecutorGroup group = new DefaultEventExecutorGroup(2);
+		NioSocketChannel channel = new NioSocketChannel();
+
+		try
+		{
+			new PipelineInitializer()
+				.setExecutionHandler(group)
+				.setFileUploadHandlerFactory(FileUploadHandler::new)
+				.initChannel(channel);
+
+			ChannelHandlerContext upload = channel.pipeline().context(RestExpress.FILEUPLOAD_HANDLER_NAME);
+			assertNotNull(upload);
+			assertTrue(isIn(upload.executor(), group));
+		}
+		finally
+		{
+			channel.unsafe().closeForcibly();
+			group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+		}
+	}
+
+	private boolean isIn(EventExecutor executor, EventExecutorGroup group)
+	{
+		for (EventExecutor member : group)
+		{
+			if (member == executor) return true;
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class StreamingRequestBodyTest
+{
+	private EmbeddedChannel channel;
+	private StreamingRequestBody body;
+
+	@Before
+	public void initialize()
+	{
+		channel = new EmbeddedChannel();
+		body = new StreamingRequestBody(channel, 1024, 256);
+	}
+
+	@Test
+	public void shouldApplyBackpressure()
+	throws IOException
+	{
+		body.offer(chunk(600), false);
+		assertTrue(channel.config().isAutoRead());
+		body.offer(chunk(600), false);
+		assertFalse(channel.config().isAutoRead());
+
+		byte[] bytes = new byte[1000];
+		assertEquals(600, body.read(bytes));
+		assertFalse(channel.config().isAutoRead());
+		assertEquals(600, body.read(bytes));
+		assertTrue(channel.config().isAutoRead());
+	}
+
+	@Test
+	public void shouldReadToEnd()
+	throws IOException
+	{
+		body.offer(chunk(10), false);
+		body.offer(chunk(5), true);
+		assertTrue(body.isComplete());
+
+		byte[] bytes = new byte[100];
+		assertEquals(10, body.read(bytes));
+		assertEquals(1, body.read());
+		assertEquals(4, body.read(bytes));
+		assertEquals(-1, body.read(bytes));
+	}
+
+	@Test
+	public void shouldReleaseOnClose()
+	{
+		ByteBuf first = chunk(600);
+		ByteBuf second = chunk(600);
+		body.offer(first, false);
+		body.offer(second, false);
+		assertFalse(channel.config().isAutoRead());
+
+		body.close();
+		assertEquals(0, first.refCnt());
+		assertEquals(0, second.refCnt());
+		assertTrue(channel.config().isAutoRead());
+
+		ByteBuf late = chunk(10);
+		body.offer(late, true);
+		assertEquals(0, late.refCnt());
+	}
+
+	@Test(expected=IOException.class)
+	public void shouldThrowOnFailure()
+	throws IOException
+	{
+		body.offer(chunk(10), false);
+		body.fail(new IOException("closed"));
+		assertEquals(10, body.read(new byte[100]));
+		body.read();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void shouldNotBlockEventLoop()
+	throws IOException
+	{
+		body.read();
+	}
+
+	private ByteBuf chunk(int length)
+	{
+		ByteBuf chunk = Unpooled.buffer(length);
+		chunk.writerIndex(length);
+		chunk.setByte(0, 1);
+		return chunk;
+	}
+}
@@ -0,0 +1,192 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.restexpress.Flags;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.RestExpress;
+import org.restexpress.route.Route;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class DefaultHttpResponseWriterTest
+{
+	private EmbeddedChannel channel;
+	private ChannelHandlerContext ctx;
+	private Request request;
+	private Response response;
+
+	@Before
+	public void initialize()
+	{
+		channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+		ctx = channel.pipeline().firstContext();
+		request = new Request(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/foo"), null);
+		response = new Response();
+	}
+
+	@After
+	public void cleanup()
+	{
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	public void shouldNotAddCachedHeadersByDefault()
+	{
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter());
+		assertFalse(httpResponse.headers().contains(HttpHeaderNames.DATE));
+		assertFalse(httpResponse.headers().contains(HttpHeaderNames.SERVER));
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldAddDateAndServerHeaders()
+	{
+		ResponseHeaderCache cache = new ResponseHeaderCache()
+			.setIncludeDate(true)
+			.setServer("RestExpress");
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter(cache));
+		assertNotNull(httpResponse.headers().get(HttpHeaderNames.DATE));
+		assertEquals("RestExpress", httpResponse.headers().get(HttpHeaderNames.SERVER));
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldReuseDateWithinTheSameSecond()
+	{
+		AtomicLong now = new AtomicLong(1_000_000_000_000L);
+		ResponseHeaderCache cache = new ResponseHeaderCache(now::get).setIncludeDate(true);
+		CharSequence first = cache.currentDate();
+		now.addAndGet(999L);
+		assertSame(first, cache.currentDate());
+
+		now.incrementAndGet();
+		CharSequence next = cache.currentDate();
+		assertNotSame(first, next);
+		assertEquals("Sun, 09 Sep 2001 01:46:41 GMT", next.toString());
+	}
+
+	@Test
+	public void shouldNotOverrideResponseHeaders()
+	{
+		response.addHeader(HttpHeaderNames.SERVER.toString(), "custom");
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter(new ResponseHeaderCache().setServer("RestExpress")));
+		List<String> servers = httpResponse.headers().getAll(HttpHeaderNames.SERVER);
+		assertEquals(1, servers.size());
+		assertEquals("custom", servers.get(0));
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldNotAlterResponseHeaders()
+	{
+		response.addHeader("X-Custom", "yes");
+		ResponseHeaderCache cache = new ResponseHeaderCache()
+			.setIncludeDate(true)
+			.setServer("RestExpress");
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter(cache));
+		assertEquals("yes", httpResponse.headers().get("X-Custom"));
+		assertEquals("0", httpResponse.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+		assertNotNull(httpResponse.headers().get(HttpHeaderNames.DATE));
+		assertEquals(1, response.getHttpHeaders().size());
+		assertFalse(response.hasHeader(HttpHeaderNames.CONTENT_LENGTH.toString()));
+		assertFalse(response.hasHeader(HttpHeaderNames.DATE.toString()));
+		assertFalse(response.hasHeader(HttpHeaderNames.SERVER.toString()));
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldRecordBytesWritten()
+	{
+		response.setBody("hello");
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter());
+		assertEquals(5L, response.getBytesWritten());
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldRecordBytesWrittenWhenClosing()
+	{
+		request.addHeader(HttpHeaderNames.CONNECTION.toString(), "close");
+		response.setBody("hello");
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter());
+		assertFalse(httpResponse.headers().contains(HttpHeaderNames.CONTENT_LENGTH));
+		assertEquals(5L, response.getBytesWritten());
+		httpResponse.release();
+	}
+
+	@Test
+	public void shouldAddStaticRouteHeaders()
+	{
+		RestExpress server = new RestExpress();
+		List<Route> routes = server.uri("/foo", new NoopController())
+			.header("X-Static", "yes")
+			.flag(Flags.Cache.DONT_CACHE)
+			.build();
+		request.setResolvedRoute(routes.get(0));
+		FullHttpResponse httpResponse = write(new DefaultHttpResponseWriter());
+		assertEquals("yes", httpResponse.headers().get("X-Static"));
+		assertEquals("no-cache", httpResponse.headers().get(HttpHeaderNames.CACHE_CONTROL));
+		httpResponse.release();
+	}
+
+	private FullHttpResponse write(HttpResponseWriter writer)
+	{
+		writer.write(ctx, request, response);
+		channel.flush();
+		return channel.readOutbound();
+	}
+
+	public static class NoopController
+	{
+		public void read(Request request, Response response)
+		{
+		}
+
+		public void create(Request request, Response response)
+		{
+		}
+
+		public void update(Request request, Response response)
+		{
+		}
+
+		public void delete(Request request, Response response)
+		{
+		}
+	}
+}
@@ -69,6 +69,7 @@ implements HttpResponseWriter
 		{
             ByteBuf buf = (ByteBuf) response.getBody();
 			body.append(buf.toString(ContentType.CHARSET));
+			response.setBytesWritten(buf.readableBytes());
 			return;
 		}
 
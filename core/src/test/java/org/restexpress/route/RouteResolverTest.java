@@ -16,6 +16,7 @@
 package org.restexpress.route;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -268,6 +269,15 @@ public class RouteResolverTest
 		}
 	}
 
+	@Test
+	public void shouldStreamTunneledPutRequestBody()
+	{
+		assertTrue(resolver.isStreamingRequestBody(HttpMethod.PUT, "/streams/s1.json"));
+		assertTrue(resolver.isStreamingRequestBody(HttpMethod.POST, "/streams/s1.json?_method=PUT"));
+		assertFalse(resolver.isStreamingRequestBody(HttpMethod.POST, "/streams/s1.json"));
+		assertFalse(resolver.isStreamingRequestBody(HttpMethod.POST, "/streams/s1.json?_method=DELETE"));
+	}
+
 	private static class Routes
 	extends RouteDeclaration
 	{
@@ -294,6 +304,10 @@ public class RouteResolverTest
     		uri("/foo/{fooId}.{format}", service, defaults)
     			.alias("/blah/foo/{fooId}.{format}")
     			.name("CRUD_ROUTE");
+
+    		uri("/streams/{streamId}.{format}", service, defaults)
+    			.action("update", HttpMethod.PUT)
+    			.streamRequestBody();
         }
 	}
 	
@@ -0,0 +1,82 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.restexpress.ContentType;
+import org.restexpress.Request;
+import org.restexpress.Response;
+import org.restexpress.exception.NotAcceptableException;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class AbstractSerializationProviderTest
+{
+	private DefaultSerializationProvider provider = new DefaultSerializationProvider();
+
+	@Test
+	public void shouldReuseNegotiatedResponseSettings()
+	{
+		SerializationSettings first = provider.resolveResponse(newRequest(HttpHeaderNames.ACCEPT.toString(), "text/html, application/json;q=0.9"), new Response(), false);
+		SerializationSettings second = provider.resolveResponse(newRequest(HttpHeaderNames.ACCEPT.toString(), "text/html, application/json;q=0.9"), new Response(), false);
+		assertEquals(ContentType.JSON, first.getMediaType());
+		assertSame(first, second);
+	}
+
+	@Test
+	public void shouldReuseNegotiatedRequestSettings()
+	{
+		SerializationSettings first = provider.resolveRequest(newRequest(HttpHeaderNames.CONTENT_TYPE.toString(), "application/json"));
+		SerializationSettings second = provider.resolveRequest(newRequest(HttpHeaderNames.CONTENT_TYPE.toString(), "application/json"));
+		assertSame(first, second);
+	}
+
+	@Test
+	public void shouldReuseSettingsForMissingHeaders()
+	{
+		SerializationSettings first = provider.resolveResponse(newRequest(null, null), new Response(), false);
+		SerializationSettings second = provider.resolveResponse(newRequest(null, null), new Response(), false);
+		assertEquals(ContentType.JSON, first.getMediaType());
+		assertSame(first, second);
+		assertSame(provider.resolveRequest(newRequest(null, null)), provider.resolveRequest(newRequest(null, null)));
+	}
+
+	@Test(expected=NotAcceptableException.class)
+	public void shouldRejectUnsupportedAcceptOnEachRequest()
+	{
+		SerializationSettings forced = provider.resolveResponse(newRequest(HttpHeaderNames.ACCEPT.toString(), "text/html"), new Response(), true);
+		assertEquals(ContentType.JSON, forced.getMediaType());
+		provider.resolveResponse(newRequest(HttpHeaderNames.ACCEPT.toString(), "text/html"), new Response(), false);
+	}
+
+	private Request newRequest(String header, String value)
+	{
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/foo");
+
+		if (header != null)
+		{
+			httpRequest.headers().add(header, value);
+		}
+
+		return new Request(httpRequest, null);
+	}
+}
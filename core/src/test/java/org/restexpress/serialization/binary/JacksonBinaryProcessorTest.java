@@ -0,0 +1,126 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.Test;
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+import org.restexpress.serialization.KnownObject;
+import org.restexpress.serialization.SerializationProcessor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import io.netty.buffer.Unpooled;
+
+public class JacksonBinaryProcessorTest
+{
+	@Test
+	public void shouldRoundTripCbor()
+	{
+		assertRoundTrip(new JacksonCborProcessor());
+	}
+
+	@Test
+	public void shouldRoundTripSmile()
+	{
+		assertRoundTrip(new JacksonSmileProcessor());
+	}
+
+	@Test
+	public void shouldRoundTripMessagePack()
+	{
+		assertRoundTrip(new JacksonMessagePackProcessor());
+	}
+
+	@Test
+	public void shouldSupportFormatAndMediaType()
+	{
+		SerializationProcessor processor = new JacksonCborProcessor();
+		assertEquals(Format.CBOR, processor.getSupportedFormats().get(0));
+		assertEquals(ContentType.CBOR, processor.getSupportedMediaRanges().get(0).asMediaType());
+		assertEquals(ContentType.SMILE, new JacksonSmileProcessor().getSupportedMediaRanges().get(0).asMediaType());
+		assertEquals(ContentType.MESSAGEPACK, new JacksonMessagePackProcessor().getSupportedMediaRanges().get(0).asMediaType());
+	}
+
+	@Test
+	public void shouldSerializeDatesAsTimePoints()
+	throws Exception
+	{
+		ByteBuffer bytes = new JacksonCborProcessor().serialize(new KnownObject());
+		JsonNode node = new ObjectMapper(new CBORFactory()).readTree(bytes.array());
+		assertEquals("1964-12-17T23:30:00.000Z", node.get("date").asText());
+	}
+
+	@Test
+	public void shouldRoundTripLocalDatesAndOmitNulls()
+	throws Exception
+	{
+		SerializationProcessor processor = new JacksonCborProcessor();
+		Dated original = new Dated();
+		original.day = LocalDate.of(2026, 10, 19);
+		ByteBuffer bytes = processor.serialize(original);
+
+		JsonNode node = new ObjectMapper(new CBORFactory()).readTree(bytes.array());
+		assertEquals("2026-10-19", node.get("day").asText());
+		assertFalse(node.has("nothing"));
+		assertEquals(original.day, processor.deserialize(Unpooled.wrappedBuffer(bytes), Dated.class).day);
+	}
+
+	@Test
+	public void shouldHandleNullAndEmpty()
+	{
+		SerializationProcessor processor = new JacksonSmileProcessor();
+		assertArrayEquals(new byte[0], processor.serialize(null).array());
+		assertNull(processor.deserialize(Unpooled.EMPTY_BUFFER, KnownObject.class));
+		assertNull(processor.deserialize((String) null, KnownObject.class));
+	}
+
+	private void assertRoundTrip(SerializationProcessor processor)
+	{
+		KnownObject original = new KnownObject();
+		original.integer = 42;
+		original.sa = new String[] {"a", "<b>"};
+		ByteBuffer bytes = processor.serialize(original);
+
+		KnownObject fromBuffer = processor.deserialize(Unpooled.wrappedBuffer(bytes), KnownObject.class);
+		assertEquals(42, fromBuffer.integer);
+		assertEquals(original.string, fromBuffer.string);
+		assertEquals(original.date, fromBuffer.date);
+		assertEquals(original.getP(), fromBuffer.getP());
+		assertArrayEquals(original.sa, fromBuffer.sa);
+
+		KnownObject fromString = processor.deserialize(new String(bytes.array(), StandardCharsets.ISO_8859_1), KnownObject.class);
+		assertEquals(42, fromString.integer);
+	}
+
+	private static class Dated
+	{
+		private LocalDate day;
+		@SuppressWarnings("unused")
+		private String nothing;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.KnownObject;
+
+import io.netty.buffer.Unpooled;
+
+public class JacksonNdjsonProcessorTest
+{
+	private static final String NDJSON = "{\"integer\":1,\"string\":\"one\"}\n{\"integer\":2,\"string\":\"two\"}\r\n\n{\"integer\":3}\n";
+
+	private JacksonNdjsonProcessor processor = new JacksonNdjsonProcessor();
+
+	@Test
+	public void shouldSupportNdjsonFormatAndMediaType()
+	{
+		assertEquals(Arrays.asList(Format.NDJSON), processor.getSupportedFormats());
+		assertEquals(ContentType.NDJSON, processor.getSupportedMediaRanges().get(0).asMediaType());
+	}
+
+	@Test
+	public void shouldIterateRecords()
+	{
+		Iterator<KnownObject> records = processor.deserializeRecords(new ByteArrayInputStream(NDJSON.getBytes(ContentType.CHARSET)), KnownObject.class);
+		assertTrue(records.hasNext());
+		assertEquals("one", records.next().string);
+		assertEquals(2, records.next().integer);
+		assertEquals(3, records.next().integer);
+		assertFalse(records.hasNext());
+	}
+
+	@Test(expected=DeserializationException.class)
+	public void shouldThrowOnMalformedRecord()
+	{
+		Iterator<KnownObject> records = processor.deserializeRecords(new ByteArrayInputStream("{\"integer\":1}\n{\"integer\":\n".getBytes(ContentType.CHARSET)), KnownObject.class);
+		assertEquals(1, records.next().integer);
+		records.next();
+	}
+
+	@Test
+	public void shouldDeserializeFirstRecordOrAll()
+	{
+		assertEquals("one", processor.deserialize(Unpooled.copiedBuffer(NDJSON, ContentType.CHARSET), KnownObject.class).string);
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> all = processor.deserialize(NDJSON, List.class);
+		assertEquals(3, all.size());
+		assertEquals("two", all.get(1).get("string"));
+		assertNull(processor.deserialize("", KnownObject.class));
+	}
+
+	@Test
+	public void shouldDeserializeAllIntoSet()
+	{
+		@SuppressWarnings("unchecked")
+		Set<Map<String, Object>> all = processor.deserialize(NDJSON + "{\"integer\":3}\n", Set.class);
+		assertEquals(3, all.size());
+		assertEquals("one", all.iterator().next().get("string"));
+	}
+
+	@Test(expected=DeserializationException.class)
+	public void shouldRejectUnsupportedCollectionType()
+	{
+		processor.deserialize(NDJSON, TreeSet.class);
+	}
+
+	@Test
+	public void shouldSerializeOneLinePerRecord()
+	{
+		KnownObject first = new KnownObject();
+		KnownObject second = new KnownObject();
+		second.integer = 2;
+		String ndjson = new String(processor.serialize(Arrays.asList(first, second)).array(), ContentType.CHARSET);
+		String[] lines = ndjson.split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("{\"integer\":1,"));
+		assertTrue(lines[1].startsWith("{\"integer\":2,"));
+		assertTrue(ndjson.endsWith("}\n"));
+		assertEquals(1, new String(processor.serialize(first).array(), ContentType.CHARSET).split("\n").length);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.serialization.protobuf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.restexpress.ContentType;
+import org.restexpress.Format;
+import org.restexpress.serialization.DeserializationException;
+import org.restexpress.serialization.KnownObject;
+import org.restexpress.serialization.SerializationException;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+public class ProtobufProcessorTest
+{
+	private static final Struct MESSAGE = Struct.newBuilder()
+		.putFields("name", Value.newBuilder().setStringValue("<b>bold</b>").build())
+		.putFields("count", Value.newBuilder().setNumberValue(42).build())
+		.build();
+
+	private ProtobufProcessor processor = new ProtobufProcessor();
+	private ProtobufJsonProcessor jsonProcessor = new ProtobufJsonProcessor();
+
+	@Test
+	public void shouldSupportProtobufFormatAndMediaType()
+	{
+		assertEquals(Format.PROTOBUF, processor.getSupportedFormats().get(0));
+		assertEquals(ContentType.PROTOBUF, processor.getSupportedMediaRanges().get(0).asMediaType());
+	}
+
+	@Test
+	public void shouldRoundTripMessage()
+	{
+		ByteBuffer bytes = processor.serialize(MESSAGE);
+		assertEquals(MESSAGE, processor.deserialize(Unpooled.wrappedBuffer(bytes), Struct.class));
+	}
+
+	@Test
+	public void shouldSerializeIntoAllocatedBuffer()
+	{
+		ByteBuf buffer = processor.serialize(MESSAGE, PooledByteBufAllocator.DEFAULT);
+
+		try
+		{
+			assertEquals(MESSAGE.getSerializedSize(), buffer.readableBytes());
+			assertEquals(MESSAGE, processor.deserialize(buffer, Struct.class));
+		}
+		finally
+		{
+			buffer.release();
+		}
+	}
+
+	@Test
+	public void shouldHandleNullAndEmpty()
+	{
+		assertEquals(0, processor.serialize(null).remaining());
+		assertNull(processor.deserialize(Unpooled.EMPTY_BUFFER, Struct.class));
+	}
+
+	@Test(expected=SerializationException.class)
+	public void shouldNotSerializeNonMessage()
+	{
+		processor.serialize(new KnownObject());
+	}
+
+	@Test(expected=DeserializationException.class)
+	public void shouldNotDeserializeNonMessage()
+	{
+		processor.deserialize(Unpooled.wrappedBuffer(new byte[] {1, 2}), KnownObject.class);
+	}
+
+	@Test(expected=DeserializationException.class)
+	public void shouldThrowOnInvalidPayload()
+	{
+		processor.deserialize(Unpooled.wrappedBuffer(new byte[] {(byte) 0xff, (byte) 0xff}), Struct.class);
+	}
+
+	@Test
+	public void shouldSerializeMessageAsProtobufJson()
+	{
+		String json = new String(jsonProcessor.serialize(MESSAGE).array(), ContentType.CHARSET);
+		assertTrue(json.contains("\"count\":42"));
+		assertTrue(json.contains("\"name\":\"\\u003cb\\u003ebold\\u003c/b\\u003e\""));
+		assertEquals(MESSAGE, jsonProcessor.deserialize(Unpooled.copiedBuffer(json, ContentType.CHARSET), Struct.class));
+		assertEquals(MESSAGE, jsonProcessor.deserialize(json, Struct.class));
+	}
+
+	@Test
+	public void shouldDelegateNonMessagesToJson()
+	{
+		assertEquals(Format.JSON, jsonProcessor.getSupportedFormats().get(0));
+		String json = new String(jsonProcessor.serialize(new KnownObject()).array(), ContentType.CHARSET);
+		assertTrue(json.contains("\"integer\":1"));
+		KnownObject o = jsonProcessor.deserialize("{\"integer\":2}", KnownObject.class);
+		assertEquals(2, o.integer);
+	}
+}
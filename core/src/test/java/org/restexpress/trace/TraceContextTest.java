@@ -0,0 +1,80 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TraceContextTest
+{
+	private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+	@Test
+	public void shouldParseTraceparent()
+	{
+		TraceContext context = TraceContext.parse(TRACEPARENT, "congo=t61rcWkgMzE");
+		assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+		assertEquals(0x00f067aa0ba902b7L, context.getSpanId());
+		assertTrue(context.isSampled());
+		assertEquals("congo=t61rcWkgMzE", context.getTraceState());
+		assertEquals(TRACEPARENT, context.toTraceparent());
+	}
+
+	@Test
+	public void shouldCreateChildSpan()
+	{
+		TraceContext caller = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00", null);
+		TraceContext child = caller.newChild();
+		assertEquals(caller.getTraceId(), child.getTraceId());
+		assertEquals(caller.getSpanId(), child.getParentSpanId());
+		assertNotEquals(caller.getSpanId(), child.getSpanId());
+		assertFalse(child.isSampled());
+		assertTrue(child.toTraceparent().matches("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-00"));
+	}
+
+	@Test
+	public void shouldStartNewTrace()
+	{
+		TraceContext trace = TraceContext.newTrace(true);
+		assertEquals(0L, trace.getParentSpanId());
+		assertNotEquals(0L, trace.getSpanId());
+		assertEquals(trace.toTraceparent(), TraceContext.parse(trace.toTraceparent(), null).toTraceparent());
+	}
+
+	@Test
+	public void shouldAcceptFutureVersions()
+	{
+		assertEquals(0x00f067aa0ba902b7L, TraceContext.parse("cc" + TRACEPARENT.substring(2) + "-extra", null).getSpanId());
+		assertNull(TraceContext.parse("ff" + TRACEPARENT.substring(2), null));
+		assertNull(TraceContext.parse(TRACEPARENT + "-extra", null));
+	}
+
+	@Test
+	public void shouldRejectInvalidTraceparent()
+	{
+		assertNull(TraceContext.parse(null, null));
+		assertNull(TraceContext.parse("garbage", null));
+		assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01", null));
+		assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01", null));
+		assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01", null));
+		assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7_01", null));
+	}
+}
@@ -0,0 +1,131 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.restexpress.Request;
+import org.restexpress.Response;
+
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class TracingPostprocessorTest
+{
+	private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+	private List<Span> exported;
+	private SpanQueue queue;
+
+	@Before
+	public void initialize()
+	{
+		exported = Collections.synchronizedList(new ArrayList<Span>());
+		queue = new SpanQueue(exported::addAll, 16, 4);
+	}
+
+	@Test
+	public void shouldContinueCallersTrace()
+	{
+		Request request = request(TRACEPARENT, "congo=t61rcWkgMzE");
+		Response response = new Response();
+
+		new TracingPreprocessor(0.0).process(request);
+		new TracingPostprocessor(queue).process(request, response);
+		queue.close();
+
+		TraceContext context = TraceContext.from(request);
+		assertEquals(0x00f067aa0ba902b7L, context.getParentSpanId());
+		assertEquals(context.toTraceparent(), response.getHeader(TraceContext.TRACEPARENT));
+		assertTrue(response.getHeader(TraceContext.TRACEPARENT).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-"));
+		assertEquals("congo=t61rcWkgMzE", response.getHeader(TraceContext.TRACESTATE));
+
+		assertEquals(1, exported.size());
+		Span span = exported.get(0);
+		assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.getTraceId());
+		assertEquals(context.getSpanId(), span.getSpanId());
+		assertEquals(0x00f067aa0ba902b7L, span.getParentSpanId());
+		assertEquals("GET /things/1", span.getName());
+		assertEquals("200", span.getAttributes().get("http.response.status_code"));
+	}
+
+	@Test
+	public void shouldIgnoreTraceparentQueryParameter()
+	{
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+			"/things/1?traceparent=" + TRACEPARENT + "&tracestate=congo%3Dt61rcWkgMzE");
+		Request request = new Request(httpRequest, null);
+
+		new TracingPreprocessor(0.0).process(request);
+
+		TraceContext context = TraceContext.from(request);
+		assertNotEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+		assertEquals(0L, context.getParentSpanId());
+		assertNull(context.getTraceState());
+		queue.close();
+	}
+
+	@Test
+	public void shouldSkipSpansWhenUnsampled()
+	{
+		Request request = request(null, null);
+		Response response = new Response();
+
+		new TracingPreprocessor(0.0).process(request);
+		new TracingPostprocessor(queue).process(request, response);
+		queue.close();
+
+		assertTrue(response.getHeader(TraceContext.TRACEPARENT).endsWith("-00"));
+		assertNull(response.getHeader(TraceContext.TRACESTATE));
+		assertTrue(exported.isEmpty());
+	}
+
+	@Test
+	public void shouldDropWhenQueueFull()
+	{
+		SpanQueue closed = new SpanQueue(exported::addAll, 1, 1);
+		closed.close();
+		Request request = request(null, null);
+
+		new TracingPreprocessor(1.0).process(request);
+		new TracingPostprocessor(closed).process(request, new Response());
+
+		assertEquals(1, closed.getDroppedCount());
+		assertTrue(exported.isEmpty());
+		queue.close();
+	}
+
+	private Request request(String traceparent, String traceState)
+	{
+		DefaultFullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/things/1");
+
+		if (traceparent != null) httpRequest.headers().set(TraceContext.TRACEPARENT, traceparent);
+
+		if (traceState != null) httpRequest.headers().set(TraceContext.TRACESTATE, traceState);
+
+		return new Request(httpRequest, null);
+	}
+}
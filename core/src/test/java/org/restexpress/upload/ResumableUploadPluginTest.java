@@ -0,0 +1,196 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.restexpress.RestExpress;
+import org.restexpress.util.TestHttpClient;
+
+public class ResumableUploadPluginTest
+{
+	private static final int PORT = 8803;
+	private static final String BASE_URL = "http://localhost:" + PORT;
+	private static final TestHttpClient CLIENT = new TestHttpClient();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private RestExpress server;
+	private ResumableUploadPlugin plugin;
+	private AtomicReference<byte[]> completed = new AtomicReference<byte[]>();
+
+	@Before
+	public void createServer()
+	throws Throwable
+	{
+		server = new RestExpress();
+		server.setExecutorThreadCount(2);
+		plugin = new ResumableUploadPlugin()
+			.uploadDirectory(folder.getRoot().getPath())
+			.onComplete(upload -> {
+				try
+				{
+					completed.set(Files.readAllBytes(upload.getFile().toPath()));
+				}
+				catch (Exception e)
+				{
+					throw new RuntimeException(e);
+				}
+			})
+			.register(server);
+		server.bind(PORT);
+	}
+
+	@After
+	public void shutdownServer()
+	{
+		server.shutdown(true);
+	}
+
+	@AfterClass
+	public static void closeClient()
+	throws Exception
+	{
+		CLIENT.close();
+	}
+
+	@Test
+	public void shouldResumeUploadAtOffset()
+	throws Exception
+	{
+		byte[] content = new byte[100 * 1024];
+		Arrays.fill(content, (byte) 'x');
+		content[content.length - 1] = 'y';
+
+		HttpPost create = new HttpPost(BASE_URL + "/uploads");
+		create.setHeader(ResumableUploadController.UPLOAD_LENGTH, String.valueOf(content.length));
+		HttpResponse response = CLIENT.execute(create, 201);
+		String location = response.getFirstHeader("Location").getValue();
+		assertEquals("0", response.getFirstHeader(ResumableUploadController.UPLOAD_OFFSET).getValue());
+
+		response = CLIENT.execute(patch(location, content, 0, 60 * 1024), 204);
+		assertEquals(String.valueOf(60 * 1024), response.getFirstHeader(ResumableUploadController.UPLOAD_OFFSET).getValue());
+		assertNull(completed.get());
+
+		response = CLIENT.execute(new HttpHead(location), 200);
+		assertEquals(String.valueOf(60 * 1024), response.getFirstHeader(ResumableUploadController.UPLOAD_OFFSET).getValue());
+		assertEquals(String.valueOf(content.length), response.getFirstHeader(ResumableUploadController.UPLOAD_LENGTH).getValue());
+
+		CLIENT.execute(patch(location, content, 1024, 2048), 409);
+		response = CLIENT.execute(patch(location, content, 60 * 1024, content.length), 204);
+		assertEquals(String.valueOf(content.length), response.getFirstHeader(ResumableUploadController.UPLOAD_OFFSET).getValue());
+		assertNotNull(completed.get());
+		assertArrayEquals(content, completed.get());
+		assertEquals(0, plugin.getStore().size());
+		assertEquals(0, folder.getRoot().list().length);
+		CLIENT.execute(new HttpHead(location), 404);
+	}
+
+	@Test
+	public void shouldResumeAfterDisconnect()
+	throws Exception
+	{
+		byte[] content = new byte[100 * 1024];
+		Arrays.fill(content, (byte) 'x');
+		content[content.length - 1] = 'y';
+
+		HttpPost create = new HttpPost(BASE_URL + "/uploads");
+		create.setHeader(ResumableUploadController.UPLOAD_LENGTH, String.valueOf(content.length));
+		String location = CLIENT.execute(create, 201).getFirstHeader("Location").getValue();
+		String id = location.substring(location.lastIndexOf('/') + 1);
+
+		// Promise the whole upload, but drop the connection part way through the body.
+		try (Socket socket = new Socket("localhost", PORT))
+		{
+			OutputStream out = socket.getOutputStream();
+			out.write(("PATCH /uploads/" + id + " HTTP/1.1\r\n"
+				+ "Host: localhost:" + PORT + "\r\n"
+				+ ResumableUploadController.UPLOAD_OFFSET + ": 0\r\n"
+				+ "Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(content, 0, 40 * 1024);
+			out.flush();
+		}
+
+		ResumableUpload upload = plugin.getStore().get(id);
+		long deadline = System.currentTimeMillis() + 5000L;
+
+		while ((upload.getOffset() == 0L || upload.isInProgress()) && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10L);
+		}
+
+		HttpResponse response = CLIENT.execute(new HttpHead(location), 200);
+		int offset = Integer.parseInt(response.getFirstHeader(ResumableUploadController.UPLOAD_OFFSET).getValue());
+		assertTrue(String.valueOf(offset), offset > 0 && offset <= 40 * 1024);
+		assertNull(completed.get());
+
+		CLIENT.execute(patch(location, content, offset, content.length), 204);
+		assertArrayEquals(content, completed.get());
+		assertEquals(0, folder.getRoot().list().length);
+	}
+
+	@Test
+	public void shouldRejectContentBeyondLength()
+	throws Exception
+	{
+		HttpPost create = new HttpPost(BASE_URL + "/uploads");
+		create.setHeader(ResumableUploadController.UPLOAD_LENGTH, "10");
+		String location = CLIENT.execute(create, 201).getFirstHeader("Location").getValue();
+
+		CLIENT.execute(patch(location, new byte[20], 0, 20), 400);
+		CLIENT.execute(new HttpDelete(location), 204);
+		CLIENT.execute(new HttpHead(location), 404);
+	}
+
+	@Test
+	public void shouldRequireUploadLength()
+	throws Exception
+	{
+		CLIENT.execute(new HttpPost(BASE_URL + "/uploads"), 400);
+	}
+
+	private HttpPatch patch(String location, byte[] content, int from, int to)
+	{
+		HttpPatch patch = new HttpPatch(location);
+		patch.setHeader(ResumableUploadController.UPLOAD_OFFSET, String.valueOf(from));
+		patch.setEntity(new ByteArrayEntity(content, from, to - from));
+		return patch;
+	}
+}
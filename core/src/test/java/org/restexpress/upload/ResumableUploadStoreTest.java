@@ -0,0 +1,240 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.upload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.restexpress.exception.BadRequestException;
+import org.restexpress.exception.ConflictException;
+import org.restexpress.exception.NotFoundException;
+
+public class ResumableUploadStoreTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File directory;
+
+	@Before
+	public void createDirectory()
+	{
+		directory = folder.getRoot();
+	}
+
+	@Test
+	public void shouldAppendAtOffset()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 60000L);
+		ResumableUpload upload = store.create(10);
+		assertSame(upload, store.get(upload.getId()));
+
+		assertFalse(upload.append(new ByteArrayInputStream("hello".getBytes()), 0));
+		assertEquals(5, upload.getOffset());
+		assertTrue(upload.append(new ByteArrayInputStream("world".getBytes()), 5));
+		assertTrue(upload.isComplete());
+		assertEquals("helloworld", new String(Files.readAllBytes(upload.getFile().toPath())));
+	}
+
+	@Test(expected=ConflictException.class)
+	public void shouldRejectWrongOffset()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 60000L);
+		store.create(10).append(new ByteArrayInputStream("hello".getBytes()), 3);
+	}
+
+	@Test
+	public void shouldKeepContentBeforeOverflow()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 60000L);
+		ResumableUpload upload = store.create(4);
+
+		try
+		{
+			upload.append(new ByteArrayInputStream("too long".getBytes()), 0);
+		}
+		catch (BadRequestException e)
+		{
+			// expected
+		}
+
+		assertEquals(0, upload.getOffset());
+		assertFalse(upload.isComplete());
+	}
+
+	@Test
+	public void shouldExpireInactiveUploads()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 0L);
+		ResumableUpload upload = store.create(10);
+		Thread.sleep(5L);
+
+		assertEquals(1, store.expire());
+		assertEquals(0, store.size());
+		assertFalse(upload.getFile().exists());
+		assertNull(store.get(upload.getId()));
+	}
+
+	@Test
+	public void shouldNotRemoveUploadWhileAppending()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 0L);
+		ResumableUpload upload = store.create(10);
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try
+		{
+			Future<Boolean> append = executor.submit(() -> upload.append(new BlockingInputStream(reading, release), 0));
+			assertTrue(reading.await(5, TimeUnit.SECONDS));
+			Thread.sleep(5L);
+
+			try
+			{
+				store.remove(upload.getId());
+				fail("Expected ConflictException");
+			}
+			catch (ConflictException e)
+			{
+				// expected
+			}
+
+			assertEquals(0, store.expire());
+			assertSame(upload, store.get(upload.getId()));
+			assertTrue(upload.getFile().exists());
+
+			release.countDown();
+			assertFalse(append.get(5, TimeUnit.SECONDS));
+			assertEquals(5, upload.getOffset());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdownNow();
+		}
+
+		assertTrue(store.remove(upload.getId()));
+		assertFalse(upload.getFile().exists());
+		assertFalse(store.remove(upload.getId()));
+	}
+
+	@Test(expected=NotFoundException.class)
+	public void shouldRefuseAppendAfterRemoval()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 60000L);
+		ResumableUpload upload = store.create(10);
+		assertTrue(store.remove(upload.getId()));
+		upload.append(new ByteArrayInputStream("hello".getBytes()), 0);
+	}
+
+	@Test
+	public void shouldRemoveUploadOnCompletion()
+	throws Exception
+	{
+		ResumableUploadStore store = new ResumableUploadStore(directory, 60000L);
+		ResumableUpload upload = store.create(5);
+		assertTrue(upload.append(new ByteArrayInputStream("hello".getBytes()), 0));
+
+		try
+		{
+			upload.append(new ByteArrayInputStream(new byte[0]), 5);
+			fail("Expected NotFoundException");
+		}
+		catch (NotFoundException e)
+		{
+			// expected
+		}
+
+		assertFalse(store.remove(upload.getId()));
+		store.discard(upload);
+		assertEquals(0, store.size());
+		assertFalse(upload.getFile().exists());
+	}
+
+	/**
+	 * Supplies "hello", then blocks until released, as a slow client would.
+	 */
+	private static class BlockingInputStream
+	extends InputStream
+	{
+		private final InputStream content = new ByteArrayInputStream("hello".getBytes());
+		private final CountDownLatch reading;
+		private final CountDownLatch release;
+
+		public BlockingInputStream(CountDownLatch reading, CountDownLatch release)
+		{
+			super();
+			this.reading = reading;
+			this.release = release;
+		}
+
+		@Override
+		public int read()
+		throws IOException
+		{
+			byte[] b = new byte[1];
+			return (read(b, 0, 1) < 0 ? -1 : b[0]);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len)
+		throws IOException
+		{
+			int count = content.read(b, off, len);
+
+			if (count >= 0) return count;
+
+			reading.countDown();
+
+			try
+			{
+				release.await();
+			}
+			catch (InterruptedException e)
+			{
+				throw new IOException(e);
+			}
+
+			return -1;
+		}
+	}
+}
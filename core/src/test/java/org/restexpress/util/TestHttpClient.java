@@ -0,0 +1,81 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package org.restexpress.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * An HTTP client for the plugin integration tests, which asserts the status of each response
+ * and always releases the connection. Create one per test class and close it in @AfterClass.
+ */
+public class TestHttpClient
+{
+	private final CloseableHttpClient client = new DefaultHttpClient();
+
+	/**
+	 * Executes the request, asserting the response status.
+	 *
+	 * @return the response, for its status line and headers. The body has been discarded.
+	 */
+	public HttpResponse execute(HttpRequestBase request, int expectedStatus)
+	throws IOException
+	{
+		try
+		{
+			HttpResponse response = client.execute(request);
+			assertEquals(expectedStatus, response.getStatusLine().getStatusCode());
+			return response;
+		}
+		finally
+		{
+			request.releaseConnection();
+		}
+	}
+
+	/**
+	 * Executes the request, asserting the response status.
+	 *
+	 * @return the response body, or null if there is none.
+	 */
+	public String send(HttpRequestBase request, int expectedStatus)
+	throws IOException
+	{
+		try
+		{
+			HttpResponse response = client.execute(request);
+			assertEquals(expectedStatus, response.getStatusLine().getStatusCode());
+			return (response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : null);
+		}
+		finally
+		{
+			request.releaseConnection();
+		}
+	}
+
+	public void close()
+	throws IOException
+	{
+		client.close();
+	}
+}